@@ -1,24 +1,18 @@
 package org.firstinspires.ftc.adithya.opmode;
 
-import com.qualcomm.hardware.bosch.BNO055IMU;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.Servo;
 
 import org.firstinspires.ftc.robotcore.external.ClassFactory;
-import org.firstinspires.ftc.robotcore.external.Func;
-import org.firstinspires.ftc.robotcore.external.navigation.Acceleration;
-import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
-import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
-import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
-import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
 import org.firstinspires.ftc.robotcore.external.tfod.Recognition;
 import org.firstinspires.ftc.robotcore.external.tfod.TFObjectDetector;
+import org.firstinspires.ftc.teamcode.src.AarreHeadingProvider;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
 
 import java.util.List;
-import java.util.Locale;
 
 
 @Autonomous
@@ -30,19 +24,9 @@ public class Auton2018 extends LinearOpMode {
 	private static final String               LABEL_SILVER_MINERAL = "Silver Mineral";
 	private static final String               VUFORIA_KEY          = "AQL3GSz/////AAABmU0iuBTYZUZyqsDIbBriyR5+fo3kTV9e8dpVguROyqV8Cfa//LkjRFXUIK22aroE9+JL+K6fSkFKoR7WmLw6Rh9+/726CK1FGzcdaZ62wVJlP2Ksex6H2FLpJevxHcfBLTsywxWuLYDGwxCywCmgb9zrzyjGWj8z9Qd+0wkg9GQolVdEaZVd1p8xNNHicFRyf5X5u1pna8F/GIm9xXBTtmURyo/msigPolDTqKLBIN+60S609XoVM4dE/d7NYNGILqj6WVZfPqRy+NyWMfuc3os1RiUWWxK7UbVE7yDrUJeRS5fy6ikVZJaSdn8+zkWDpPayrDVncwf9+kTL4aExzdjQwSbn32X5OWXWOOpoB3no";
 	//variables assositated with the IMU
-	private final        BNO055IMU.Parameters parameters           = new BNO055IMU.Parameters();//the parameters we will later set to inizialize the imu
+	private static final int                  MILLISECONDS_IMU_SAMPLE_PERIOD = 10;//how often the imu is read in the background
 	public               String               goldPosition;
 	public               int                  objectsDetected;
-	public               String               status;
-	public               String               calib;
-	public               String               heading;
-	public               String               roll;
-	public               String               pitch;
-	public               String               grvty;
-	public               String               mag;
-	public               String               robotVelocity;
-	public               Orientation          angles;
-	public               Acceleration         gravity;
 	//motors
 	private              DcMotor              left;
 	private              DcMotor              right;
@@ -51,7 +35,8 @@ public class Auton2018 extends LinearOpMode {
 	private              Servo                hook;
 	private              VuforiaLocalizer     vuforia;
 	private              TFObjectDetector     tfod;
-	private              BNO055IMU            imu;
+	private              AarreIMU             imu;
+	private              AarreHeadingProvider headingProvider;//the heading as a number that keeps counting past 180
 
 	public void wait(int milliseconds) {
 		sleep(milliseconds);
@@ -59,73 +44,54 @@ public class Auton2018 extends LinearOpMode {
 
 	public void persiseTurn(double degrees, double motorPower) {
 
-		//the groscope wraps at 179.9 and -179.9
-		if (degrees > 179.9) {
-			degrees = 179.9;
-		} else if (degrees < -179.9) {
-			degrees = -179.9;
-		}
-
-		telemetry.update();
-		double headingDouble = Double.parseDouble(heading);
+		double headingDouble = headingProvider.getDegreesHeading();
 
 
 		double goal = headingDouble + degrees;
 		if (degrees < 0)//we want to turn to the left
 		{
-			while (headingDouble >= goal) {
+			while (opModeIsActive() && headingDouble >= goal) {
 				left.setPower(-motorPower);//left is mounted backward
 				right.setPower(-motorPower);//we want the right motor to spin the oppisite diretion from the left motor
 
-				getImuDataAndOutputToTelemtry();
-				telemetry.update();
+				imu.updateTelemetry();
 
-				headingDouble = Double.parseDouble(heading);
+				headingDouble = headingProvider.getDegreesHeading();
 			}
 		} else if (degrees > 0)//we want ot turn to the right
 		{
-			while (headingDouble <= goal) {
+			while (opModeIsActive() && headingDouble <= goal) {
 				left.setPower(motorPower);
 				right.setPower(motorPower);
 
-				getImuDataAndOutputToTelemtry();
-				telemetry.update();
+				imu.updateTelemetry();
 
-				headingDouble = Double.parseDouble(heading);
+				headingDouble = headingProvider.getDegreesHeading();
 			}
 		}
 		left.setPower(0);
 		right.setPower(0);
-		imu.initialize(parameters);//reinialize the imu to set it to zero
+		headingProvider.resetHeading();//set the heading to zero without reinitializing the imu
 	}
 
 	public void persiseTurnTo(double degrees, double motorPower) {
 
-		//the groscope wraps at 179.9 and -179.9
-		if (degrees > 179.9) {
-			degrees = 179.9;
-		} else if (degrees < -179.9) {
-			degrees = -179.9;
-		}
-
-		telemetry.update();
-		double headingDouble = Double.parseDouble(heading);
+		double headingDouble = headingProvider.getDegreesHeading();
 
 		double goal = degrees;
 
 
-		while (headingDouble < goal) {
+		while (opModeIsActive() && headingDouble < goal) {
 			left.setPower(motorPower);
 			right.setPower(motorPower);
 
-			getImuDataAndOutputToTelemtry();
-			telemetry.update();
+			imu.updateTelemetry();
 
-			headingDouble = Double.parseDouble(heading);
+			headingDouble = headingProvider.getDegreesHeading();
 		}
 		left.setPower(0);
 		right.setPower(0);
-		imu.initialize(parameters);//reinialize the imu to set it to zero
+		headingProvider.resetHeading();//set the heading to zero without reinitializing the imu
 	}
 
 	public void persiseMove(double cm, double motorPower) {
@@ -209,20 +175,12 @@ public class Auton2018 extends LinearOpMode {
 	public void runOpMode() {
 		telemetry.addData("Loading. Wait three seconds before you run.", "");
 		telemetry.update();
-		//create an object paramters to pass to the inizialize function of BNO055IMU
-		parameters.angleUnit = BNO055IMU.AngleUnit.DEGREES;
-		parameters.accelUnit = BNO055IMU.AccelUnit.METERS_PERSEC_PERSEC;
-		parameters.calibrationDataFile = "BNO055IMUCalibration.json";
-		parameters.loggingEnabled = true;
-		parameters.loggingTag = "IMU";
-		parameters.accelerationIntegrationAlgorithm = null;
-
-		//map the imu object to the BNO055IMU in the configuration on the Robot Controller phone:
-		imu = hardwareMap.get(BNO055IMU.class, "imu");
-		//initialize the imu by passing the parameters object to it
-		imu.initialize(parameters);
-
-		getImuDataAndOutputToTelemtry();
+		//initialize the imu (named "imu" in the configuration on the Robot Controller phone), which also puts its data on the telemetry
+		imu = new AarreIMU(this);
+		//read the imu on a background thread, so reading the heading does not wait for the imu
+		imu.startSampling(MILLISECONDS_IMU_SAMPLE_PERIOD);
+		//the heading does not wrap at 180, so we can turn any number of degrees
+		headingProvider = new AarreHeadingProvider(imu);
 
 		//map the objects to different parts of the configuration
 		left = hardwareMap.get(DcMotor.class, "left");
@@ -260,7 +218,7 @@ public class Auton2018 extends LinearOpMode {
 			persiseMove(30.0, 0.8);
 
 			while (opModeIsActive()) {
-				getImuDataAndOutputToTelemtry();
+				imu.updateTelemetry();
 				checkForMinerals();
 			}
 		}
@@ -297,82 +255,4 @@ public class Auton2018 extends LinearOpMode {
 		tfod = ClassFactory.getInstance().createTFObjectDetector(tfodParameters, vuforia);
 		tfod.loadModelFromAsset(TFOD_MODEL_ASSET, LABEL_GOLD_MINERAL, LABEL_SILVER_MINERAL);
 	}
-
-	public String formatAngle(AngleUnit angleUnit, double angle) {
-		return formatDegrees(AngleUnit.DEGREES.fromUnit(angleUnit, angle));
-	}
-
-	public String formatDegrees(double degrees) {
-		return String.format(Locale.getDefault(), "%.1f", AngleUnit.DEGREES.normalize(degrees));
-	}
-
-	public void getImuDataAndOutputToTelemtry() {
-		telemetry.clearAll();//wipe the telemetry so we don't overload it
-
-		// get data from the IMU that we will then display in separate lines.
-		telemetry.addAction(new Runnable() {
-			@Override
-			public void run() {
-				//get the absolute rotation on all three axis from the imu
-				angles = imu.getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX, AngleUnit.DEGREES);
-				//get the gravity from the imu
-				gravity = imu.getGravity();
-			}
-		});
-
-		telemetry.addLine().addData("IMU status", new Func<String>() {
-			@Override
-			public String value() {
-				status = imu.getSystemStatus().toShortString();
-				return imu.getSystemStatus().toShortString();
-			}
-		}).addData("calib", new Func<String>() {
-			@Override
-			public String value() {
-				calib = imu.getCalibrationStatus().toString();
-				return imu.getCalibrationStatus().toString();
-			}
-		});
-
-		telemetry.addLine().addData("heading", new Func<String>() {
-			@Override
-			public String value() {
-				heading = formatAngle(angles.angleUnit, angles.firstAngle);
-				return formatAngle(angles.angleUnit, angles.firstAngle);
-			}
-		}).addData("roll", new Func<String>() {
-			@Override
-			public String value() {
-				roll = formatAngle(angles.angleUnit, angles.secondAngle);
-				return formatAngle(angles.angleUnit, angles.secondAngle);
-			}
-		}).addData("pitch", new Func<String>() {
-			@Override
-			public String value() {
-				pitch = formatAngle(angles.angleUnit, angles.secondAngle);
-				return formatAngle(angles.angleUnit, angles.thirdAngle);
-			}
-		});
-
-		telemetry.addLine().addData("grvty", new Func<String>() {
-			@Override
-			public String value() {
-				grvty = gravity.toString();
-				return gravity.toString();
-			}
-		}).addData("mag", new Func<String>() {
-			@Override
-			public String value() {
-				mag = String.format(Locale.getDefault(), "%.3f", Math.sqrt(gravity.xAccel * gravity.xAccel + gravity.yAccel * gravity.yAccel + gravity.zAccel * gravity.zAccel));
-				return String.format(Locale.getDefault(), "%.3f", Math.sqrt(gravity.xAccel * gravity.xAccel + gravity.yAccel * gravity.yAccel + gravity.zAccel * gravity.zAccel));
-			}
-		});
-		telemetry.addLine().addData("velocity", new Func<String>() {
-			@Override
-			public String value() {
-				robotVelocity = imu.getVelocity().toString();
-				return robotVelocity;
-			}
-		});
-	}
-}
\ No newline at end of file
+}
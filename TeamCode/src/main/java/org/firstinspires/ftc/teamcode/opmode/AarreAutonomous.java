@@ -30,10 +30,10 @@
 package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.util.ElapsedTime;
 import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -46,7 +46,7 @@ import java.util.logging.Logger;
  */
 @SuppressWarnings({"WeakerAccess", "unused"})
 @Autonomous(name = "Aarre Autonomous", group = "Aarre")
-public class AarreAutonomous extends LinearOpMode {
+public class AarreAutonomous extends AarreRobotOpMode {
 
 	private static final double              INCHES                = 12.0;
 	private static final double              TIMEOUT               = 5.0;
@@ -87,7 +87,7 @@ public class AarreAutonomous extends LinearOpMode {
 		if (hardwareMap == null) {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
@@ -110,8 +110,11 @@ public class AarreAutonomous extends LinearOpMode {
 
 			robot.drive(DRIVE_POWER_MAGNITUDE, -INCHES, -INCHES, TIMEOUT);
 
+			robot.updateCycleTelemetry();
 			betterTelemetry.log("Path", "Complete");
 		}
+
+		robot.reportCycleStatistics();
 	}
 
 }
@@ -2,8 +2,8 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -15,7 +15,7 @@ import java.util.logging.Logger;
 @SuppressWarnings("unused")
 @Autonomous(name = "Aarre Autonomous Arm Raise", group = "Aarre")
 @Disabled
-public class AarreAutonomousArmRaise extends LinearOpMode {
+public class AarreAutonomousArmRaise extends AarreRobotOpMode {
 
 	private AarreTelemetry betterTelemetry;
 	private AarreRobot     robot;
@@ -45,7 +45,7 @@ public class AarreAutonomousArmRaise extends LinearOpMode {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
 
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
@@ -59,10 +59,7 @@ public class AarreAutonomousArmRaise extends LinearOpMode {
 		betterTelemetry.log("-- Arm raised --");
 
 		// Wait until the driver presses STOP
-		//noinspection StatementWithEmptyBody
-		while (opModeIsActive()) {
-
-		}
+		waitForStop();
 
 	}
 
@@ -1,9 +1,9 @@
 package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -19,7 +19,7 @@ import java.util.logging.Logger;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 @Autonomous(name = "Aarre Autonomous Dance", group = "Aarre")
-public class AarreAutonomousDance extends LinearOpMode {
+public class AarreAutonomousDance extends AarreRobotOpMode {
 
     private AarreTelemetry betterTelemetry;
     private AarreRobot     robot;
@@ -51,7 +51,7 @@ public class AarreAutonomousDance extends LinearOpMode {
 
         if (hardwareMap == null)
             throw new AssertionError("Unexpected null object: hardwareMap");
-        robot = new AarreRobot(this);
+        robot = newRobot();
 
         betterTelemetry.log("Initializing robot");
 
@@ -32,10 +32,10 @@ package org.firstinspires.ftc.teamcode.opmode;
 import com.qualcomm.hardware.modernrobotics.ModernRoboticsI2cGyro;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
 import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -78,7 +78,7 @@ import java.util.logging.Logger;
 
 @Autonomous(name = "Aarre Autonomous Drive By Gyro", group = "Aarre")
 @Disabled
-public class AarreAutonomousDriveByGyro extends LinearOpMode {
+public class AarreAutonomousDriveByGyro extends AarreRobotOpMode {
 
 	// These constants define the desired driving/control characteristics
 	// The can/should be tweaked to suite the specific robot drive train.
@@ -100,7 +100,7 @@ public class AarreAutonomousDriveByGyro extends LinearOpMode {
 	public final void runOpMode() {
 
 		aarreTelemetry = new AarreTelemetry(telemetry);
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		// Send telemetry message to alert driver that we are calibrating;
 		telemetry.addData(">", "Calibrating Gyro");    //
@@ -140,6 +140,8 @@ public class AarreAutonomousDriveByGyro extends LinearOpMode {
 
 		telemetry.addData("Path", "Complete");
 		telemetry.update();
+
+		robot.reportCycleStatistics();
 	}
 
 
@@ -2,9 +2,9 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -16,7 +16,7 @@ import java.util.logging.Logger;
  */
 @Autonomous(name = "Aarre Autonomous Drive Test", group = "Aarre")
 @Disabled
-public class AarreAutonomousDriveTest extends LinearOpMode {
+public class AarreAutonomousDriveTest extends AarreRobotOpMode {
 
 	private AarreTelemetry betterTelemetry;
 	private AarreRobot     robot;
@@ -50,7 +50,7 @@ public class AarreAutonomousDriveTest extends LinearOpMode {
 		if (hardwareMap == null) {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
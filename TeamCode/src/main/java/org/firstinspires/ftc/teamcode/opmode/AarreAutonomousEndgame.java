@@ -2,8 +2,8 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -23,7 +23,7 @@ import java.util.logging.Logger;
 
 @Autonomous(name = "Aarre Autonomous Endgame", group = "Aarre")
 @Disabled
-public class AarreAutonomousEndgame extends LinearOpMode {
+public class AarreAutonomousEndgame extends AarreRobotOpMode {
 
 	private AarreTelemetry betterTelemetry;
 	private AarreRobot     robot;
@@ -55,7 +55,7 @@ public class AarreAutonomousEndgame extends LinearOpMode {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
 
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
@@ -67,10 +67,9 @@ public class AarreAutonomousEndgame extends LinearOpMode {
 		betterTelemetry.log("Reset complete - robot is ready for autonomous mode");
 
 		// Wait until the driver presses STOP
-		//noinspection StatementWithEmptyBody
-		while (opModeIsActive()) {
+		waitForStop();
 
-		}
+		robot.reportCycleStatistics();
 
 	}
 
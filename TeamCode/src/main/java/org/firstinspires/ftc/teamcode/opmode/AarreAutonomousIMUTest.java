@@ -2,8 +2,8 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -16,7 +16,7 @@ import java.util.logging.Logger;
  */
 @Autonomous(name = "Aarre Autonomous IMU Test", group = "Aarre")
 @Disabled
-public class AarreAutonomousIMUTest extends LinearOpMode {
+public class AarreAutonomousIMUTest extends AarreRobotOpMode {
 
 	AarreRobot     robot;
 	AarreTelemetry betterTelemetry;
@@ -40,12 +40,13 @@ public class AarreAutonomousIMUTest extends LinearOpMode {
 		if (hardwareMap == null) {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
 		while (opModeIsActive()) {
 			robot.updateIMUTelemetry();
+			idleRobot();
 		}
 
 	}
@@ -0,0 +1,85 @@
+package org.firstinspires.ftc.teamcode.opmode;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Autonomously measure the speed of the drive motors at each power, so that the robot no longer has to assume that
+ * speed is in proportion to power.
+ * <p>
+ * Put the robot up on blocks with its wheels off the ground before pressing PLAY. The results are saved on the phone
+ * and loaded whenever the robot starts, so this only needs to run again after the drive train changes. The arm and
+ * riser are not characterized, because they cannot turn freely for long before reaching the end of their travel.
+ */
+
+@SuppressWarnings("unused")
+@Autonomous(name = "Aarre Autonomous Motor Characterization", group = "Aarre")
+@Disabled
+public class AarreAutonomousMotorCharacterization extends AarreRobotOpMode {
+
+	// Enough power levels to follow the curve near the static friction threshold
+	private static final int NUMBER_OF_STEPS = 20;
+
+	// Long enough for an unloaded drive motor to reach a steady speed
+	private static final double SECONDS_PER_STEP = 1.5;
+
+	private AarreTelemetry betterTelemetry;
+	private AarreRobot     robot;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Properties inherited from LinearOpMode include:
+	 * <p>
+	 * hardwareMap telemetry
+	 */
+	@Override
+	public final void runOpMode() {
+
+		// 'telemetry' comes from FTC....
+		// It is only available in runOpMode
+
+		if (telemetry == null) {
+			throw new AssertionError("Unexpected null object: telemetry");
+		}
+		betterTelemetry = new AarreTelemetry(telemetry);
+
+		// 'hardwareMap comes from FTC....
+		// It is only available in runOpMode
+
+		if (hardwareMap == null) {
+			throw new AssertionError("Unexpected null object: hardwareMap");
+		}
+
+		robot = newRobot();
+
+		betterTelemetry.log("Initializing robot");
+		betterTelemetry.log("Put the robot up on blocks before pressing PLAY");
+
+		// Wait for the driver to press PLAY
+		waitForStart();
+
+		betterTelemetry.log("-- Characterizing drive motors --");
+
+		try {
+			if (robot.characterizeDriveMotors(NUMBER_OF_STEPS, SECONDS_PER_STEP)) {
+				betterTelemetry.log("-- Drive motors characterized --");
+			} else {
+				betterTelemetry.log("-- Characterization stopped; nothing saved for the remaining motors --");
+			}
+		} catch (IOException e) {
+			betterTelemetry.log("Cannot save characterization", e.getMessage());
+		}
+
+		// Wait until the driver presses STOP
+		waitForStop();
+
+	}
+
+}
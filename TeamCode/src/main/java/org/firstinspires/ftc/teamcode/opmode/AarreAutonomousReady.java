@@ -2,8 +2,8 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -19,7 +19,7 @@ import java.util.logging.Logger;
 
 @Autonomous(name = "Aarre Autonomous Ready", group = "Aarre")
 @Disabled
-public class AarreAutonomousReady extends LinearOpMode {
+public class AarreAutonomousReady extends AarreRobotOpMode {
 
     private AarreTelemetry betterTelemetry;
     private AarreRobot     robot;
@@ -48,7 +48,7 @@ public class AarreAutonomousReady extends LinearOpMode {
         if (hardwareMap == null)
             throw new AssertionError("Unexpected null object: hardwareMap");
 
-        robot = new AarreRobot(this);
+        robot = newRobot();
 
         betterTelemetry.log("Initializing robot");
 
@@ -60,10 +60,9 @@ public class AarreAutonomousReady extends LinearOpMode {
         betterTelemetry.log("Reset complete - robot is ready for autonomous mode");
 
         // Wait until the driver presses STOP
-        //noinspection StatementWithEmptyBody
-        while (opModeIsActive()) {
+        waitForStop();
 
-        }
+        robot.reportCycleStatistics();
 
     }
 
@@ -2,8 +2,8 @@ package org.firstinspires.ftc.teamcode.opmode;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
-import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreRobotOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
 
 import java.util.logging.Logger;
@@ -14,7 +14,7 @@ import java.util.logging.Logger;
 
 @Autonomous(name = "Aarre Autonomous Riser Lower", group = "Aarre")
 @Disabled
-public class AarreAutonomousRiserLower extends LinearOpMode {
+public class AarreAutonomousRiserLower extends AarreRobotOpMode {
 
 	private AarreTelemetry betterTelemetry;
 	private AarreRobot     robot;
@@ -45,7 +45,7 @@ public class AarreAutonomousRiserLower extends LinearOpMode {
 			throw new AssertionError("Unexpected null object: hardwareMap");
 		}
 
-		robot = new AarreRobot(this);
+		robot = newRobot();
 
 		betterTelemetry.log("Initializing robot");
 
@@ -57,10 +57,7 @@ public class AarreAutonomousRiserLower extends LinearOpMode {
 		betterTelemetry.log("Riser lowered");
 
 		// Wait until the driver presses STOP
-		//noinspection StatementWithEmptyBody
-		while (opModeIsActive()) {
-
-		}
+		waitForStop();
 
 	}
 
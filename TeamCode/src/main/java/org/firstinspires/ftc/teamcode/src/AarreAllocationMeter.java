@@ -0,0 +1,111 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.lang.reflect.Method;
+import java.util.logging.Logger;
+
+/**
+ * Measure how many bytes the current thread allocates on the heap, for example to check that a control cycle
+ * allocates nothing.
+ * <p>
+ * This uses the HotSpot extension of ThreadMXBean, which exists on desktop JVMs but not on Android, so it is reached
+ * by reflection and this class still compiles for the robot. Where it is missing, {@link #isSupported()} is {@code
+ * false} and the meter always reads zero.
+ * <p>
+ * Each reading goes through reflection, which allocates a little itself. The meter measures that cost when it is
+ * constructed and takes it off every {@link #getBytesSince(long)}, so that measuring nothing reads zero.
+ */
+public class AarreAllocationMeter {
+
+	// Enough readings to let the JIT settle before the cost of a reading is measured
+	private static final int NUMBER_OF_CALIBRATION_READINGS = 10000;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final Object threadBean;
+	private final Method getThreadAllocatedBytes;
+	private final long   bytesPerReading;
+
+	/**
+	 * Construct a meter, finding the thread bean and measuring the cost of a reading.
+	 */
+	public AarreAllocationMeter() {
+
+		Object threadBeanFound              = null;
+		Method getThreadAllocatedBytesFound = null;
+		try {
+			threadBeanFound = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean")
+					.invoke(null);
+			getThreadAllocatedBytesFound = Class.forName("com.sun.management.ThreadMXBean").getMethod
+					("getThreadAllocatedBytes", long.class);
+			if (!getThreadAllocatedBytesFound.getDeclaringClass().isInstance(threadBeanFound) || !((Boolean)
+					getThreadAllocatedBytesFound.getDeclaringClass().getMethod("isThreadAllocatedMemoryEnabled")
+							.invoke(threadBeanFound))) {
+				threadBeanFound = null;
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			threadBeanFound = null;
+		}
+
+		if (threadBeanFound == null) {
+			javaLog.info("Allocation meter not supported on this JVM");
+			getThreadAllocatedBytesFound = null;
+		}
+		threadBean = threadBeanFound;
+		getThreadAllocatedBytes = getThreadAllocatedBytesFound;
+
+		bytesPerReading = isSupported() ? calibrate() : 0L;
+	}
+
+	private long calibrate() {
+		long bytesPerReadingMinimum = Long.MAX_VALUE;
+		for (int reading = 0; reading < NUMBER_OF_CALIBRATION_READINGS; reading++) {
+			final long bytesStart = read();
+			final long bytesEnd   = read();
+			bytesPerReadingMinimum = Math.min(bytesPerReadingMinimum, bytesEnd - bytesStart);
+		}
+		return bytesPerReadingMinimum;
+	}
+
+	private long read() {
+		try {
+			return (Long) getThreadAllocatedBytes.invoke(threadBean, Thread.currentThread().getId());
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot read allocated bytes", e);
+		}
+	}
+
+	/**
+	 * @return {@code true} if this JVM can count the bytes each thread allocates.
+	 */
+	public boolean isSupported() {
+		return threadBean != null;
+	}
+
+	/**
+	 * Start measuring.
+	 *
+	 * @return The reading to pass to {@link #getBytesSince(long)}.
+	 */
+	public long getBytes() {
+		return isSupported() ? read() : 0L;
+	}
+
+	/**
+	 * Finish measuring.
+	 *
+	 * @param bytesStart
+	 * 		The reading {@link #getBytes()} returned at the start.
+	 *
+	 * @return How many bytes the current thread has allocated since then, not counting the meter itself.
+	 */
+	public long getBytesSince(final long bytesStart) {
+		return isSupported() ? Math.max(0L, (read() - bytesStart) - bytesPerReading) : 0L;
+	}
+
+	/**
+	 * @return How many bytes a reading of the meter allocates itself.
+	 */
+	public long getBytesPerReading() {
+		return bytesPerReading;
+	}
+}
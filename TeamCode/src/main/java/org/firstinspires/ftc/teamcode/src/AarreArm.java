@@ -12,7 +12,7 @@ public class AarreArm {
 	private static final AarrePowerMagnitude DEFAULT_POWER_MAGNITUDE        = new
 			AarrePowerMagnitude(0.5);
 	private static final double              SECONDS_TO_RUN_DEFAULT         = 1.0;
-	private static final double              SECONDS_BEFORE_TIMEOUT_DEFAULT = 0.1;
+	private static final double              SECONDS_BEFORE_TIMEOUT_DEFAULT = 2.0;
 
 	private AarreMotor     motor;
 	private AarreTelemetry telemetry;
@@ -21,7 +21,6 @@ public class AarreArm {
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
-	private double currentPosition;
 
 	/**
 	 * This empty constructor is useful for testing.
@@ -59,10 +58,12 @@ public class AarreArm {
 			motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(opMode, nameOfArmMotor);
 		}
 
-		motor.rampToPower(new AarrePowerVector(0.0));
-		motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+		motor.rampToPower(AarrePowerVector.ZERO);
 		motor.setDirection(DcMotorSimple.Direction.FORWARD);  // Positive power raises arm
-		motor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+
+		// The arm moves by encoder ticks without speed control, so it stays in this mode. The motor reset its
+		// encoder when it was initialized, so tick number zero is where the arm started.
+		motor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
 
 	}
 
@@ -93,4 +94,54 @@ public class AarreArm {
 		motor.rampToEncoderTicks(powerVector, numberOfTicksToRotate, SECONDS_BEFORE_TIMEOUT_DEFAULT);
 	}
 
+	/**
+	 * Get the position of the arm relative to where it was when the robot was initialized.
+	 *
+	 * @return The number of motor shaft revolutions the arm has turned since initialization. Positive values mean
+	 * 		that the arm is higher than it started.
+	 */
+	public double getRevolutions() {
+		return getTickNumber() / motor.getTicksPerRevolution();
+	}
+
+	/**
+	 * Get the position of the arm relative to where it was when the robot was initialized.
+	 *
+	 * @return The number of encoder ticks the arm has turned since initialization.
+	 */
+	public int getTickNumber() {
+		return motor.getAbsoluteTickNumber();
+	}
+
+	/**
+	 * @return The measured cycle periods and hardware and telemetry times of the arm motor, or {@code null} if
+	 * 		there is no arm motor.
+	 */
+	public AarreCycleStatistics getCycleStatistics() {
+		return (motor == null) ? null : motor.getCycleStatistics();
+	}
+
+	/**
+	 * Write the state of the arm motor to a flight recorder in every cycle.
+	 *
+	 * @param flightRecorder
+	 * 		The flight recorder, or {@code null} to stop recording.
+	 */
+	public void setFlightRecorder(final AarreFlightRecorder flightRecorder) {
+		if (motor != null) {
+			motor.setFlightRecorder(flightRecorder);
+		}
+	}
+
+	/**
+	 * Stop the arm immediately, without ramping down.
+	 * <p>
+	 * This is for stopping the arm after it has been interrupted, when there is no time to ramp.
+	 */
+	public final void stop() {
+		if (motor != null) {
+			motor.setPowerVector(AarrePowerVector.ZERO);
+		}
+	}
+
 }
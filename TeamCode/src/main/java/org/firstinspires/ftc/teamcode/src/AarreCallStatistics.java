@@ -0,0 +1,154 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Measure how long each kind of call to the robot (for example, {@code drive} or {@code raiseArm}) takes.
+ * <p>
+ * For each name, this keeps the number of calls, their total time and the longest one. Calls that contain other
+ * calls (such as a readiness routine that raises the arm) count the time of the calls inside them too.
+ * <p>
+ * Wrap each call with {@link #startTiming()} and {@link #record(String, long)}. Calls may be recorded from several
+ * threads at once, for example when mechanisms move in parallel.
+ */
+public class AarreCallStatistics {
+
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	// One entry per name, in the order the names were first recorded: the count, total and maximum time
+	private final List<String> names     = new ArrayList<>();
+	private final List<long[]> callTimes = new ArrayList<>();
+	private long               nanosecondsLastEnd;
+
+	private volatile AarreClock clock;
+
+	/**
+	 * Construct empty statistics.
+	 *
+	 * @param clock
+	 * 		The clock on which to measure time.
+	 */
+	public AarreCallStatistics(final AarreClock clock) {
+		setClock(clock);
+	}
+
+	/**
+	 * Start timing a call.
+	 *
+	 * @return The time to pass to {@link #record(String, long)}.
+	 */
+	public long startTiming() {
+		return clock.nanoTime();
+	}
+
+	/**
+	 * Count the time since {@link #startTiming()} as one call.
+	 *
+	 * @param name
+	 * 		The name of the call, for example the name of the method.
+	 * @param nanosecondsStart
+	 * 		The time {@link #startTiming()} returned at the start of the call.
+	 */
+	public synchronized void record(final String name, final long nanosecondsStart) {
+
+		final long nanosecondsEnd = clock.nanoTime();
+		final long nanoseconds    = nanosecondsEnd - nanosecondsStart;
+
+		int index = names.indexOf(name);
+		if (index < 0) {
+			names.add(name);
+			callTimes.add(new long[3]);
+			index = names.size() - 1;
+		}
+
+		final long[] times = callTimes.get(index);
+		times[0]++;
+		times[1] += nanoseconds;
+		times[2] = Math.max(times[2], nanoseconds);
+
+		nanosecondsLastEnd = Math.max(nanosecondsLastEnd, nanosecondsEnd);
+	}
+
+	/**
+	 * @return The names of the calls recorded so far, in the order they were first recorded.
+	 */
+	public synchronized List<String> getNames() {
+		return new ArrayList<>(names);
+	}
+
+	/**
+	 * @return How many times a call was recorded, or zero if it never was.
+	 */
+	public synchronized long getNumberOfCalls(final String name) {
+		final int index = names.indexOf(name);
+		return (index < 0) ? 0L : callTimes.get(index)[0];
+	}
+
+	/**
+	 * @return The total time spent in a call, in nanoseconds, or zero if it was never recorded.
+	 */
+	public synchronized long getNanosecondsTotal(final String name) {
+		final int index = names.indexOf(name);
+		return (index < 0) ? 0L : callTimes.get(index)[1];
+	}
+
+	/**
+	 * @return The longest single call, in nanoseconds, or zero if it was never recorded.
+	 */
+	public synchronized long getNanosecondsMaximum(final String name) {
+		final int index = names.indexOf(name);
+		return (index < 0) ? 0L : callTimes.get(index)[2];
+	}
+
+	/**
+	 * @return When the most recently finished call finished, on the clock, or zero if no call has been recorded.
+	 */
+	public synchronized long getNanosecondsLastEnd() {
+		return nanosecondsLastEnd;
+	}
+
+	/**
+	 * Summarize the statistics, one line per name.
+	 *
+	 * @return For each name, the number of calls and their total and longest times in seconds.
+	 */
+	public synchronized String getReport() {
+		final StringBuilder report = new StringBuilder();
+		for (int index = 0; index < names.size(); index++) {
+			final long[] times = callTimes.get(index);
+			if (index > 0) {
+				report.append('\n');
+			}
+			report.append(String.format(Locale.US, "%s - n=%d total %.2f s max %.2f s", names.get(index),
+					times[0], times[1] / NANOSECONDS_PER_SECOND, times[2] / NANOSECONDS_PER_SECOND));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Forget everything measured so far.
+	 */
+	public synchronized void reset() {
+		names.clear();
+		callTimes.clear();
+		nanosecondsLastEnd = 0L;
+	}
+
+	/**
+	 * Set the clock on which to measure time.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+	}
+}
@@ -0,0 +1,35 @@
+package org.firstinspires.ftc.teamcode.src;
+
+/**
+ * A source of monotonic time, and a way to let time pass.
+ * <p>
+ * On the robot, use {@link AarreRealClock}. Off-robot, use {@link AarreVirtualClock}, which only moves forward when
+ * something sleeps or idles, so that simulated routines run much faster than real time and always take the same
+ * (simulated) time.
+ * <p>
+ * Classes that wait for things to happen should measure time with an {@link AarreTimer} on their clock (rather than
+ * with an ElapsedTime) and wait by calling {@link #sleep(long)} or {@link #idle()} (rather than the methods of the
+ * opMode).
+ */
+public interface AarreClock {
+
+	/**
+	 * Get the current time.
+	 *
+	 * @return The current time in nanoseconds, measured from an arbitrary origin.
+	 */
+	long nanoTime();
+
+	/**
+	 * Let time pass.
+	 *
+	 * @param milliseconds
+	 * 		How many milliseconds to let pass. Must be non-negative.
+	 */
+	void sleep(long milliseconds);
+
+	/**
+	 * Give other threads a chance to run while polling in a loop.
+	 */
+	void idle();
+}
@@ -0,0 +1,283 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+import java.util.logging.Logger;
+
+/**
+ * Run a control loop at a fixed rate.
+ * <p>
+ * Each cycle has a deadline one period after the deadline of the cycle before, rather than one period after the
+ * cycle's work finished, so the time spent on the work does not make the loop drift slower than its period. If the
+ * work overruns by more than a whole period, the schedule starts again from now rather than running several cycles
+ * back to back to catch up; the cycles skipped this way are counted.
+ * <p>
+ * Waiting sleeps until shortly before the deadline and only spins for the last part, so that a waiting loop does not
+ * keep a whole core busy.
+ * <p>
+ * Typical use:
+ *
+ * <pre>
+ * scheduler.start();
+ * while (keepGoing) {
+ *     // do the work of one cycle
+ *     scheduler.awaitNextCycle();
+ * }
+ * </pre>
+ */
+public class AarreCycleScheduler {
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	// Sleep granularity on the phone is about a millisecond, so spin for the last two
+	private static final long DEFAULT_NANOSECONDS_SPIN = 2L * NANOSECONDS_PER_MILLISECOND;
+
+	private final LinearOpMode opMode;
+
+	private AarreClock           clock;
+	private AarreCycleStatistics cycleStatistics;
+	private AarreReadCache       readCache;
+	private AarrePoseEstimator   poseEstimator;
+	private AarreRampEngine      rampEngine;
+
+	private long    nanosecondsPeriod;
+	private long    nanosecondsSpin = DEFAULT_NANOSECONDS_SPIN;
+	private long    nanosecondsDeadline;
+	private boolean started;
+
+	private long numberOfCycles;
+	private long numberOfOverruns;
+	private long numberOfCyclesSkipped;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Construct a scheduler.
+	 *
+	 * @param opMode
+	 * 		The FTC opMode inside which the loop is running. Waiting stops when the opMode stops.
+	 * @param clock
+	 * 		The clock on which to schedule cycles.
+	 * @param millisecondsPeriod
+	 * 		The period of each cycle in milliseconds.
+	 */
+	public AarreCycleScheduler(final LinearOpMode opMode, final AarreClock clock, final int millisecondsPeriod) {
+
+		if (opMode == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: opMode");
+		}
+
+		this.opMode = opMode;
+		setClock(clock);
+		setMillisecondsPeriod(millisecondsPeriod);
+	}
+
+	/**
+	 * Start a new schedule, with the first deadline one period from now.
+	 * <p>
+	 * Call this before each loop, so that the pause between two loops is not counted as an overrun.
+	 */
+	public synchronized void start() {
+		nanosecondsDeadline = clock.nanoTime() + nanosecondsPeriod;
+		started = true;
+		if (cycleStatistics != null) {
+			cycleStatistics.startLoop();
+		}
+		if (readCache != null) {
+			readCache.invalidate();
+		}
+	}
+
+	/**
+	 * Wait for the deadline of the current cycle, then move the deadline on by one period.
+	 * <p>
+	 * If no schedule has been started, this starts one.
+	 *
+	 * @return {@code true} if the cycle finished its work before its deadline; {@code false} if it overran.
+	 */
+	public boolean awaitNextCycle() {
+
+		final long    nanosecondsWait;
+		final boolean onTime;
+
+		synchronized (this) {
+			if (!started) {
+				start();
+			}
+
+			final long nanosecondsNow = clock.nanoTime();
+			nanosecondsWait = nanosecondsDeadline;
+			onTime = nanosecondsNow <= nanosecondsDeadline;
+			numberOfCycles++;
+
+			if (!onTime) {
+				numberOfOverruns++;
+			}
+
+			nanosecondsDeadline += nanosecondsPeriod;
+			if (nanosecondsDeadline < nanosecondsNow) {
+				numberOfCyclesSkipped += (nanosecondsNow - nanosecondsDeadline) / nanosecondsPeriod + 1L;
+				nanosecondsDeadline = nanosecondsNow + nanosecondsPeriod;
+			}
+		}
+
+		sleepUntil(nanosecondsWait);
+
+		if (cycleStatistics != null) {
+			cycleStatistics.endCycle();
+		}
+		if (readCache != null) {
+			readCache.invalidate();
+		}
+		if (poseEstimator != null) {
+			poseEstimator.update();
+		}
+		if (rampEngine != null) {
+			rampEngine.tickIfDue();
+		}
+
+		return onTime;
+	}
+
+	/**
+	 * Wait until a time on the clock, sleeping for most of the wait and spinning only at the end.
+	 * <p>
+	 * Waiting ends early if the opMode stops.
+	 *
+	 * @param nanosecondsDeadline
+	 * 		The time on the clock until which to wait.
+	 */
+	public void sleepUntil(final long nanosecondsDeadline) {
+
+		long nanosecondsRemaining = nanosecondsDeadline - clock.nanoTime();
+
+		if ((nanosecondsRemaining > nanosecondsSpin) && opMode.opModeIsActive()) {
+			clock.sleep((nanosecondsRemaining - nanosecondsSpin) / NANOSECONDS_PER_MILLISECOND);
+			nanosecondsRemaining = nanosecondsDeadline - clock.nanoTime();
+		}
+
+		while ((nanosecondsRemaining > 0L) && opMode.opModeIsActive()) {
+			clock.idle();
+			nanosecondsRemaining = nanosecondsDeadline - clock.nanoTime();
+		}
+	}
+
+	/**
+	 * @return The number of cycles waited for since this scheduler was constructed or reset.
+	 */
+	public synchronized long getNumberOfCycles() {
+		return numberOfCycles;
+	}
+
+	/**
+	 * @return The number of cycles whose work finished after their deadline.
+	 */
+	public synchronized long getNumberOfOverruns() {
+		return numberOfOverruns;
+	}
+
+	/**
+	 * @return The number of cycles dropped from the schedule because the work overran by more than a whole period.
+	 */
+	public synchronized long getNumberOfCyclesSkipped() {
+		return numberOfCyclesSkipped;
+	}
+
+	public synchronized int getMillisecondsPeriod() {
+		return (int) (nanosecondsPeriod / NANOSECONDS_PER_MILLISECOND);
+	}
+
+	/**
+	 * Forget the counts of cycles, overruns and skipped cycles.
+	 */
+	public synchronized void reset() {
+		numberOfCycles = 0L;
+		numberOfOverruns = 0L;
+		numberOfCyclesSkipped = 0L;
+	}
+
+	/**
+	 * Set the clock on which to schedule cycles.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public synchronized void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+		started = false;
+	}
+
+	/**
+	 * Record the period of every cycle, from the end of one cycle to the end of the next.
+	 *
+	 * @param cycleStatistics
+	 * 		The statistics into which to record the periods, or {@code null} not to record them.
+	 */
+	public synchronized void setCycleStatistics(final AarreCycleStatistics cycleStatistics) {
+		this.cycleStatistics = cycleStatistics;
+	}
+
+	/**
+	 * Invalidate a read cache at the start of every cycle, so that each cycle reads the hardware afresh.
+	 *
+	 * @param readCache
+	 * 		The cache to invalidate, or {@code null} not to invalidate one.
+	 */
+	public synchronized void setReadCache(final AarreReadCache readCache) {
+		this.readCache = readCache;
+	}
+
+	/**
+	 * Update a pose estimator at the start of every cycle, after the read cache has been invalidated, so that the
+	 * pose is always at most one cycle old while a loop is running.
+	 *
+	 * @param poseEstimator
+	 * 		The estimator to update, or {@code null} not to update one.
+	 */
+	public synchronized void setPoseEstimator(final AarrePoseEstimator poseEstimator) {
+		this.poseEstimator = poseEstimator;
+	}
+
+	/**
+	 * Advance the ramps of a ramp engine at the start of every cycle, at the rate of the engine, so that they keep
+	 * moving while this loop runs.
+	 *
+	 * @param rampEngine
+	 * 		The engine to advance, which must be owned by the thread that runs this loop, or {@code null} not to
+	 * 		advance one.
+	 */
+	public synchronized void setRampEngine(final AarreRampEngine rampEngine) {
+		this.rampEngine = rampEngine;
+	}
+
+	/**
+	 * Set the period of each cycle. The new period applies from the next deadline on.
+	 *
+	 * @param millisecondsPeriod
+	 * 		The period in milliseconds.
+	 */
+	public synchronized void setMillisecondsPeriod(final int millisecondsPeriod) {
+		if (millisecondsPeriod <= 0) {
+			throw new IllegalArgumentException("millisecondsPeriod expected to be positive");
+		}
+		nanosecondsPeriod = millisecondsPeriod * NANOSECONDS_PER_MILLISECOND;
+	}
+
+	/**
+	 * Set how long before each deadline to stop sleeping and start spinning.
+	 * <p>
+	 * A longer spin makes the deadline more precise, but keeps the core busy for longer.
+	 *
+	 * @param millisecondsSpin
+	 * 		The spin time in milliseconds.
+	 */
+	public synchronized void setMillisecondsSpin(final int millisecondsSpin) {
+		if (millisecondsSpin < 0) {
+			throw new IllegalArgumentException("millisecondsSpin expected to be non-negative");
+		}
+		nanosecondsSpin = millisecondsSpin * NANOSECONDS_PER_MILLISECOND;
+	}
+}
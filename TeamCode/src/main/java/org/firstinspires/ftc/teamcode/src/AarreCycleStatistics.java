@@ -0,0 +1,147 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Measure how a control loop actually spends its time.
+ * <p>
+ * The ramp and drive loops assume a fixed cycle length (for example, 50 ms), but the real cycle is longer whenever
+ * hardware reads and writes or telemetry take longer than expected. This class keeps three histograms:
+ *
+ * <ul>
+ * <li>the period of each cycle, from the end of one cycle to the end of the next,</li>
+ * <li>the time spent in each hardware read or write, and</li>
+ * <li>the time spent in each telemetry call.</li>
+ * </ul>
+ * <p>
+ * Call {@link #startLoop()} before a loop and {@link #endCycle()} at the end of every cycle, so that the pause
+ * between two loops is not counted as a cycle. Wrap hardware and telemetry calls with {@link #startTiming()} and
+ * {@link #recordHardware(long)} or {@link #recordTelemetry(long)}.
+ */
+public class AarreCycleStatistics {
+
+	private static final double NANOSECONDS_PER_MILLISECOND = 1.0e6;
+
+	private final AarreHistogram cyclePeriod = new AarreHistogram();
+	private final AarreHistogram hardware    = new AarreHistogram();
+	private final AarreHistogram telemetry   = new AarreHistogram();
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile AarreClock clock;
+
+	private boolean loopStarted;
+	private long    nanosecondsCycleStart;
+
+	/**
+	 * Construct empty statistics.
+	 *
+	 * @param clock
+	 * 		The clock on which to measure time.
+	 */
+	public AarreCycleStatistics(final AarreClock clock) {
+		setClock(clock);
+	}
+
+	/**
+	 * Mark the start of a loop, so that the next cycle is measured from now.
+	 */
+	public void startLoop() {
+		nanosecondsCycleStart = clock.nanoTime();
+		loopStarted = true;
+	}
+
+	/**
+	 * Mark the end of a cycle, counting its period if a loop has been started.
+	 */
+	public void endCycle() {
+		final long nanosecondsNow = clock.nanoTime();
+		if (loopStarted) {
+			cyclePeriod.record(nanosecondsNow - nanosecondsCycleStart);
+		}
+		nanosecondsCycleStart = nanosecondsNow;
+		loopStarted = true;
+	}
+
+	/**
+	 * Start timing a hardware or telemetry call.
+	 *
+	 * @return The time to pass to {@link #recordHardware(long)} or {@link #recordTelemetry(long)}.
+	 */
+	public long startTiming() {
+		return clock.nanoTime();
+	}
+
+	/**
+	 * Count the time since {@link #startTiming()} as time spent reading or writing hardware.
+	 */
+	public void recordHardware(final long nanosecondsStart) {
+		hardware.record(clock.nanoTime() - nanosecondsStart);
+	}
+
+	/**
+	 * Count the time since {@link #startTiming()} as time spent on telemetry.
+	 */
+	public void recordTelemetry(final long nanosecondsStart) {
+		telemetry.record(clock.nanoTime() - nanosecondsStart);
+	}
+
+	public AarreHistogram getCyclePeriod() {
+		return cyclePeriod;
+	}
+
+	public AarreHistogram getHardware() {
+		return hardware;
+	}
+
+	public AarreHistogram getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * Summarize the statistics in one line.
+	 *
+	 * @param name
+	 * 		The name of the loop, for example "drive".
+	 *
+	 * @return For each histogram, the 50th and 99th percentiles and the maximum in milliseconds.
+	 */
+	public String getReport(final String name) {
+		return String.format(Locale.US, "%s - cycle %s; hardware %s; telemetry %s", name, summarize(cyclePeriod),
+				summarize(hardware), summarize(telemetry));
+	}
+
+	private static String summarize(final AarreHistogram histogram) {
+		return String.format(Locale.US, "p50 %.1f p99 %.1f max %.1f ms (n=%d)", milliseconds(histogram
+				.getValueAtPercentile(50.0)), milliseconds(histogram.getValueAtPercentile(99.0)), milliseconds
+				(histogram.getMaximum()), histogram.getCount());
+	}
+
+	private static double milliseconds(final long nanoseconds) {
+		return nanoseconds / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	/**
+	 * Forget everything measured so far.
+	 */
+	public void reset() {
+		cyclePeriod.reset();
+		hardware.reset();
+		telemetry.reset();
+		loopStarted = false;
+	}
+
+	/**
+	 * Set the clock on which to measure time.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+	}
+}
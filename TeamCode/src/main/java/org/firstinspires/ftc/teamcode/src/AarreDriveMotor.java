@@ -9,12 +9,17 @@ public class AarreDriveMotor extends AarreMotorTorqueNADO implements AarreMotorI
 	/*
 	 * This is 1.0 for direct-drive wheels
 	 */
-	private static final double DRIVE_GEAR_REDUCTION = 1.0;
+	static final double DRIVE_GEAR_REDUCTION = 1.0;
 
 	/*
 	 * We use the diameter for calculating circumference
 	 */
-	private static final double WHEEL_DIAMETER_INCHES = 5.5;
+	static final double WHEEL_DIAMETER_INCHES = 5.5;
+
+	/*
+	 * Distance between the centers of the left and right wheels, for working out turns from the encoders
+	 */
+	static final double TRACK_WIDTH_INCHES = 14.0;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
@@ -1,13 +1,14 @@
 package org.firstinspires.ftc.teamcode.src;
 
-import com.qualcomm.hardware.modernrobotics.ModernRoboticsI2cGyro;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
-import com.qualcomm.robotcore.util.ElapsedTime;
 import com.qualcomm.robotcore.util.Range;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -30,12 +31,27 @@ public class AarreDriveMotors {
 	private static AarrePowerMagnitude powerMagnitudeTolerance   = new AarrePowerMagnitude
 			(DEFAULT_PROPORTION_POWER_TOLERANCE);
 
-	private AarreDriveMotor       leftMotor;
-	private AarreDriveMotor       rightMotor;
-	private AarreTelemetry        telemetry;
-	private HardwareMap           hardwareMap;
-	private LinearOpMode          opMode;
-	private ModernRoboticsI2cGyro gyro;
+	private AarreClock           clock;
+	private AarreCycleScheduler  cycleScheduler;
+	private AarreCycleStatistics cycleStatistics;
+	private AarreReadCache       readCache;
+	private AarreWriteCache      writeCache;
+	private AarreDriveMotor      leftMotor;
+	private AarreDriveMotor rightMotor;
+	private AarreTelemetry  telemetry;
+	private AarreLogger     log;
+	private HardwareMap     hardwareMap;
+	private LinearOpMode    opMode;
+	private AarreIMU        imu;
+
+	// Continuous heading from the IMU, so that turns can be of any size
+	private AarreHeadingProvider headingProvider;
+
+	// Where the robot is on the field, updated every cycle of the drive loops
+	private AarrePoseEstimator poseEstimator;
+
+	// If set, the engine that ramps both motors to a stop together, and that the drive loops keep ticking
+	private AarreRampEngine rampEngine;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
@@ -44,6 +60,7 @@ public class AarreDriveMotors {
 		this.opMode = opMode;
 
 		telemetry = new AarreTelemetry(opMode.telemetry);
+		log = new AarreLogger(telemetry);
 
 
 
@@ -53,12 +70,35 @@ public class AarreDriveMotors {
 		  example).
 		 */
 		hardwareMap = opMode.hardwareMap;
+		clock = AarreSimulatedHardwareMap.clockFor(hardwareMap);
+
+		// Both drive motors record into the same statistics as the drive loops themselves
+		cycleStatistics = new AarreCycleStatistics(clock);
+		log.setCycleStatistics(cycleStatistics);
+
+		// Both drive motors keep their readings in one cache, which the drive loops invalidate every cycle
+		readCache = new AarreReadCache(clock);
+		writeCache = new AarreWriteCache();
+
+		cycleScheduler = new AarreCycleScheduler(opMode, clock, getCycleLengthInMilliseconds());
+		cycleScheduler.setCycleStatistics(cycleStatistics);
+		cycleScheduler.setReadCache(readCache);
+
 		if (hardwareMap == null) {
 			leftMotor = null;
 			rightMotor = null;
 		} else {
 			leftMotor = new AarreDriveMotor(opMode, "left");
 			rightMotor = new AarreDriveMotor(opMode, "right");
+			leftMotor.setCycleStatistics(cycleStatistics);
+			rightMotor.setCycleStatistics(cycleStatistics);
+			leftMotor.setReadCache(readCache);
+			rightMotor.setReadCache(readCache);
+			leftMotor.setWriteCache(writeCache);
+			rightMotor.setWriteCache(writeCache);
+
+			poseEstimator = new AarrePoseEstimator(leftMotor, rightMotor, AarreDriveMotor.TRACK_WIDTH_INCHES);
+			cycleScheduler.setPoseEstimator(poseEstimator);
 
 			this.setPowerIncrement(DEFAULT_POWER_INCREMENT_ABSOLUTE);
 
@@ -71,12 +111,10 @@ public class AarreDriveMotors {
 
 			// Set all motors to zero power
 
-			rampPowerTo(new AarrePowerVector(0.0));
+			rampPowerTo(AarrePowerVector.ZERO);
 
-			// This code REQUIRES that you have encoders on the wheel motors
-
-			leftMotor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
-			rightMotor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+			// This code REQUIRES that you have encoders on the wheel motors. The motors reset their encoders when
+			// they were initialized.
 
 			leftMotor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
 			rightMotor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
@@ -107,11 +145,9 @@ public class AarreDriveMotors {
 	 * 		Proportional Gain Coefficient
 	 *
 	 * @return Desired steering force.  +/- 1 range.  +ve = steer left
-	 * 		<p>
-	 * 		TODO: Eliminate use of Range.clip here
 	 */
 	public static AarrePowerVector getSteer(final double error, final double proportionalGainCoefficient) {
-		return new AarrePowerVector(Range.clip(error * proportionalGainCoefficient, -1.0, 1.0));
+		return AarrePowerVector.valueOfSaturated(error * proportionalGainCoefficient);
 	}
 
 	/**
@@ -146,7 +182,7 @@ public class AarreDriveMotors {
 		rightMotor.setMode(DcMotor.RunMode.RUN_TO_POSITION);
 
 		// reset the timeout time and start motion.
-		final ElapsedTime runtime = new ElapsedTime();
+		final AarreTimer runtime = new AarreTimer(clock);
 
 		int              leftPowerDirection  = (int) Math.signum(inchesTravelLeft);
 		int              rightPowerDirection = (int) Math.signum(inchesTravelRight);
@@ -160,19 +196,20 @@ public class AarreDriveMotors {
 		// always end the motion as soon as possible.
 		// However, if you require that BOTH motors have finished their moves before the robot continues
 		// onto the next step, use (isBusy() || isBusy()) in the loop test.
+		cycleScheduler.setMillisecondsPeriod(getCycleLengthInMilliseconds());
+		cycleScheduler.start();
 		while ((runtime.seconds() < secondsTimeout) && leftMotor.isBusy() && rightMotor.isBusy() && opMode
 				.opModeIsActive()) {
 
 			//telemetry.log("Path1", "Running to %7d :%7d", newLeftTarget, newRightTarget);
 			//telemetry.log("Path2",  "Running at %7d :%7d", leftMotor.getCurrentTickNumber(), rightMotor
 			// .getCurrentTickNumber());
-			opMode.idle();
+			cycleScheduler.awaitNextCycle();
 
 		}
 
 		// Stop all motion;
-		leftMotor.rampToPower(new AarrePowerVector(0.0));
-		rightMotor.rampToPower(new AarrePowerVector(0.0));
+		rampToStop();
 
 		// Turn off RUN_TO_POSITION
 		leftMotor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
@@ -195,7 +232,7 @@ public class AarreDriveMotors {
 		double robotError;
 
 		// calculate error in -179 to +180 range  (
-		robotError = targetAngle - gyro.getIntegratedZValue();
+		robotError = targetAngle - headingProvider.getDegreesHeading();
 		while (robotError > 180.0) {
 			robotError -= 360.0;
 		}
@@ -226,7 +263,6 @@ public class AarreDriveMotors {
 		final int        tickNumberTargetLeft;
 		final int        tickNumberTargetRight;
 		final int        numberOfTicksToMove;
-		double           max;
 		double           error;
 		AarrePowerVector steer;
 		AarrePowerVector leftPowerVector;
@@ -255,34 +291,34 @@ public class AarreDriveMotors {
 
 				// if driving in reverse, the motor correction also needs to be reversed
 				if (inchesTravelDistanceAndDirection < 0.0) {
-					steer.reverseDirection();
+					steer = steer.getReversed();
 				}
 
-				leftPowerVector = powerVectorAdjusted.subtract(steer);
-				rightPowerVector = powerVectorAdjusted.add(steer);
-
-				// Normalize speeds if either one exceeds +/- 1.0;
-				// TODO: Avoid allowing speeds to go outside the bounds of +/- 1.0
-				max = Math.max(leftPowerVector.asDouble(), rightPowerVector.asDouble());
-				if (max > 1.0) {
-					leftPowerVector = leftPowerVector.divideBy(max);
-					rightPowerVector = rightPowerVector.divideBy(max);
-				}
+				// The correction can push either side past full power, so clip it there
+				leftPowerVector = powerVectorAdjusted.subtractSaturated(steer);
+				rightPowerVector = powerVectorAdjusted.addSaturated(steer);
 
 				this.rampPowerTo(leftPowerVector, rightPowerVector);
 
 
 				// Display drive status for the driver.
-				telemetry.addData("Err/St", "%5.1f/%5.1f", error, steer);
-				telemetry.addData("Target", "%7d:%7d", tickNumberTargetLeft, tickNumberTargetRight);
-				telemetry.addData("Actual", "%7d:%7d", leftMotor.getCurrentTickNumber(), rightMotor
-						.getCurrentTickNumber());
-				telemetry.addData("Speed", "%5.2f:%5.2f", leftPowerVector, rightPowerVector);
+				final int  tickNumberCurrentLeft  = leftMotor.getCurrentTickNumber();
+				final int  tickNumberCurrentRight = rightMotor.getCurrentTickNumber();
+				final long nanosecondsStart       = cycleStatistics.startTiming();
+				telemetry.display("Err/St", "%5.1f/%5.1f", error, steer.asDouble());
+				telemetry.display("Target", "%7d:%7d", tickNumberTargetLeft, tickNumberTargetRight);
+				telemetry.display("Actual", "%7d:%7d", tickNumberCurrentLeft, tickNumberCurrentRight);
+				telemetry.display("Speed", "%5.2f:%5.2f", leftPowerVector.asDouble(), rightPowerVector.asDouble());
 				telemetry.update();
+				cycleStatistics.recordTelemetry(nanosecondsStart);
+				log.fine("Err/St: %5.1f/%5.1f", error, steer.asDouble());
+				log.fine("Target: %7d:%7d", tickNumberTargetLeft, tickNumberTargetRight);
+				log.fine("Actual: %7d:%7d", tickNumberCurrentLeft, tickNumberCurrentRight);
+				log.fine("Speed: %5.2f:%5.2f", leftPowerVector.asDouble(), rightPowerVector.asDouble());
 			}
 
 			// Stop all motion;
-			this.rampPowerTo(new AarrePowerVector(0.0));
+			this.rampPowerTo(AarrePowerVector.ZERO);
 
 			// Turn off RUN_TO_POSITION
 			leftMotor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
@@ -305,19 +341,18 @@ public class AarreDriveMotors {
 	 */
 	public void gyroHold(final AarrePowerVector powerVector, final double angle, final double holdTime) {
 
-		final ElapsedTime holdTimer = new ElapsedTime();
+		final AarreTimer holdTimer = new AarreTimer(clock);
 
 		// keep looping while we have time remaining.
 		holdTimer.reset();
-		while (opMode.opModeIsActive() && (holdTimer.time() < holdTime)) {
+		while (opMode.opModeIsActive() && (holdTimer.seconds() < holdTime)) {
 			// Update telemetry & Allow time for other processes to run.
 			isOnHeading(powerVector, angle, DEFAULT_P_TURN_COEFFICIENT);
-			telemetry.update();
+			updateTelemetry();
 		}
 
 		// Stop all motion;
-		leftMotor.rampToPower(new AarrePowerVector(0.0));
-		rightMotor.rampToPower(new AarrePowerVector(0.0));
+		rampToStop();
 	}
 
 	/**
@@ -336,10 +371,92 @@ public class AarreDriveMotors {
 		// keep looping while we are still active, and not on heading.
 		while (opMode.opModeIsActive() && !isOnHeading(powerVectorRequested, angle, DEFAULT_P_TURN_COEFFICIENT)) {
 			// Update telemetry & Allow time for other processes to run.
-			telemetry.update();
+			updateTelemetry();
+		}
+	}
+
+	/**
+	 * Method to spin on central axis by a number of degrees, which may be more than half a turn. Move will stop if
+	 * either of these conditions occur: 1) Move gets to the heading 2) Driver stops the opmode running.
+	 *
+	 * @param powerVectorRequested
+	 * 		Desired speed of turn.
+	 * @param degreesToTurn
+	 * 		How far to turn from the current heading, in degrees. +ve is CCW. -ve is CW.
+	 */
+	public void gyroTurnBy(final AarrePowerVector powerVectorRequested, final double degreesToTurn) {
+
+		final double degreesTarget = headingProvider.getDegreesHeading() + degreesToTurn;
+
+		// keep looping while we are still active, and not on heading.
+		while (opMode.opModeIsActive() && !isOnHeading(powerVectorRequested, degreesTarget, degreesTarget -
+				headingProvider.getDegreesHeading(), DEFAULT_P_TURN_COEFFICIENT)) {
+			// Update telemetry & Allow time for other processes to run.
+			updateTelemetry();
 		}
 	}
 
+	/**
+	 * Drive through a list of waypoints on the field in one continuous motion, steering by pure pursuit from the
+	 * pose estimate. Move will stop if any of three conditions occur: 1) Move gets to the last waypoint 2) Move runs
+	 * out of time 3) Driver stops the OpMode running.
+	 *
+	 * @param powerMagnitude
+	 * 		The power of the outer wheel. The robot only drives forward along the path.
+	 * @param waypoints
+	 * 		The points to drive through, in the coordinates of the pose estimator. The first is normally where the
+	 * 		robot is now.
+	 * @param inchesLookahead
+	 * 		How far ahead along the path to aim. About the track width is a good starting point.
+	 * @param secondsTimeout
+	 * 		How long to try before giving up.
+	 */
+	public void followPath(final AarrePowerMagnitude powerMagnitude, final List<AarrePoint> waypoints, final double
+			inchesLookahead, final double secondsTimeout) {
+
+		final AarrePurePursuit pursuit        = new AarrePurePursuit(waypoints, inchesLookahead, poseEstimator
+				.getInchesTrackWidth());
+		final AarreTimer       runtime        = new AarreTimer(clock);
+		final double           power          = powerMagnitude.asDouble();
+		final double           powerIncrement = getPowerIncrementAbsolute().asDouble();
+
+		double powerLeft  = leftMotor.getPower();
+		double powerRight = rightMotor.getPower();
+
+		cycleScheduler.setMillisecondsPeriod(getCycleLengthInMilliseconds());
+		cycleScheduler.start();
+		poseEstimator.update();
+		while ((runtime.seconds() < secondsTimeout) && opMode.opModeIsActive()) {
+
+			pursuit.update(poseEstimator.getInchesX(), poseEstimator.getInchesY(), poseEstimator
+					.getDegreesHeading(), power);
+			if (pursuit.isFinished()) {
+				break;
+			}
+
+			// Change power no faster than the ramps do, to avoid slipping
+			powerLeft += Range.clip(pursuit.getPowerLeft() - powerLeft, -powerIncrement, powerIncrement);
+			powerRight += Range.clip(pursuit.getPowerRight() - powerRight, -powerIncrement, powerIncrement);
+			leftMotor.setPower(powerLeft);
+			rightMotor.setPower(powerRight);
+
+			log.fine("Target: %5.1f:%5.1f", pursuit.getInchesXTarget(), pursuit.getInchesYTarget());
+			log.fine("Speed: %5.2f:%5.2f", powerLeft, powerRight);
+
+			cycleScheduler.awaitNextCycle();
+		}
+
+		// Stop all motion;
+		rampPowerTo(AarrePowerVector.ZERO);
+	}
+
+	/**
+	 * Make the current heading zero for the gyro methods, without reinitializing the IMU.
+	 */
+	public void resetHeading() {
+		headingProvider.resetHeading();
+	}
+
 	/**
 	 * Perform one cycle of closed loop heading control.
 	 *
@@ -357,35 +474,65 @@ public class AarreDriveMotors {
 	 */
 	boolean isOnHeading(final AarrePowerVector powerVector, final double angle, final double
 			proportionalGainCoefficient) {
-		final double           error;
-		final AarrePowerVector steer;
-
-		boolean                onTarget = false;
-		final AarrePowerVector leftPowerVector;
-		final AarrePowerVector rightPowerVector;
 
 		// determine turn power based on +/- error
-		error = getError(angle);
+		return isOnHeading(powerVector, angle, getError(angle), proportionalGainCoefficient);
+	}
+
+	/**
+	 * Perform one cycle of closed loop heading control, given the error.
+	 *
+	 * @param powerVector
+	 * 		Desired speed of turn.
+	 * @param angle
+	 * 		The target heading, for telemetry.
+	 * @param error
+	 * 		How far the robot still has to turn, in degrees. +ve means turn LEFT (CCW).
+	 * @param proportionalGainCoefficient
+	 * 		Proportional Gain coefficient
+	 *
+	 * @return {@code true} if the angular error is less than the heading threshold (i.e., the robot is on the right
+	 * 		heading). {@code false} otherwise.
+	 */
+	private boolean isOnHeading(final AarrePowerVector powerVector, final double angle, final double error, final
+	double proportionalGainCoefficient) {
+		return isOnHeading(powerVector.asDouble(), angle, error, proportionalGainCoefficient);
+	}
+
+	/**
+	 * Perform one cycle of closed loop heading control, given the error, without wrapping the powers in power
+	 * vectors.
+	 */
+	private boolean isOnHeading(final double power, final double angle, final double error, final double
+			proportionalGainCoefficient) {
+
+		boolean      onTarget = false;
+		final double powerLeft;
+		final double powerRight;
 
 		if (Math.abs(error) <= DEFAULT_HEADING_THRESHOLD) {
 			// Keep on truckin'...
-			leftPowerVector = powerVector;
-			rightPowerVector = powerVector;
+			powerLeft = power;
+			powerRight = power;
 			onTarget = true;
 		} else {
-			steer = getSteer(error, proportionalGainCoefficient);
-			rightPowerVector = powerVector.multiplyBy(steer);
-			leftPowerVector = new AarrePowerVector(rightPowerVector);
-			leftPowerVector.reverseDirection();
+			final double steer = Math.max(-1.0, Math.min(1.0, error * proportionalGainCoefficient));
+			powerRight = power * steer;
+			powerLeft = 0.0 - powerRight;
 		}
 
 		// Send desired speeds to motors.
-		this.rampPowerTo(leftPowerVector, rightPowerVector);
+		this.rampPowerTo(powerLeft, powerRight);
 
 		// Display it for the driver.
-		telemetry.addData("Target", "%5.2f", angle);
-		telemetry.addData("Err/St", "%5.2f/%5.2f", error, powerVector);
-		telemetry.addData("Speed.", "%5.2f:%5.2f", leftPowerVector, rightPowerVector);
+		final long nanosecondsStart = cycleStatistics.startTiming();
+		telemetry.display("Target", "%5.2f", angle);
+		telemetry.display("Err/St", "%5.2f/%5.2f", error, power);
+		telemetry.display("Speed.", "%5.2f:%5.2f", powerLeft, powerRight);
+		cycleStatistics.recordTelemetry(nanosecondsStart);
+		log.fine("Target: %5.2f", angle);
+		log.fine("Err/St: %5.2f/%5.2f", error, power);
+		log.fine("Speed.: %5.2f:%5.2f", powerLeft, powerRight);
 
 		return onTarget;
 	}
@@ -395,10 +542,87 @@ public class AarreDriveMotors {
 	 * Ramp the motors to the same power level using default parameters
 	 */
 	public void rampPowerTo(AarrePowerVector power) {
-		rampPowerTo(power, power);
+		rampPowerTo(power.asDouble(), power.asDouble());
+
+	}
+
 
+	/**
+	 * Get the cache from which both drive motors serve repeated readings within a cycle, for example to count hits.
+	 */
+	public AarreReadCache getReadCache() {
+		return readCache;
 	}
 
+	/**
+	 * Get the cache that suppresses redundant writes to both drive motors, for example to count them.
+	 */
+	public AarreWriteCache getWriteCache() {
+		return writeCache;
+	}
+
+	/**
+	 * Get the scheduler that paces the drive loops, for example to count overruns.
+	 */
+	public AarreCycleScheduler getCycleScheduler() {
+		return cycleScheduler;
+	}
+
+	/**
+	 * Get the measured cycle periods and hardware and telemetry times of the drive loops, including the ramps of
+	 * both drive motors.
+	 */
+	public AarreCycleStatistics getCycleStatistics() {
+		return cycleStatistics;
+	}
+
+	/**
+	 * Get the estimator that keeps track of where the robot is, which the drive loops update every cycle.
+	 *
+	 * @return The pose estimator, or {@code null} if there is no hardware map.
+	 */
+	public AarrePoseEstimator getPoseEstimator() {
+		return poseEstimator;
+	}
+
+	public AarreLogger getLogger() {
+		return log;
+	}
+
+	/**
+	 * Ramp both motors down to zero power.
+	 * <p>
+	 * With a ramp engine, both motors slow down together; otherwise, the left motor stops before the right one starts
+	 * to slow down.
+	 */
+	private void rampToStop() {
+		if (rampEngine == null) {
+			leftMotor.rampToPower(AarrePowerVector.ZERO);
+			rightMotor.rampToPower(AarrePowerVector.ZERO);
+		} else {
+			rampPowerToAsync(rampEngine, AarrePowerVector.ZERO, AarrePowerVector.ZERO).await();
+		}
+	}
+
+	/**
+	 * Start ramping the motors to potentially different power levels without waiting for the ramp to finish.
+	 * <p>
+	 * The engine advances both motors together, alongside any other mechanisms ramping at the same time.
+	 *
+	 * @param rampEngine
+	 * 		The engine that will advance the ramp.
+	 * @param powerVectorRequestedLeft
+	 * 		The power the left motor should reach by the end of the ramp.
+	 * @param powerVectorRequestedRight
+	 * 		The power the right motor should reach by the end of the ramp.
+	 *
+	 * @return A handle that is done when both motors have reached their requested power.
+	 */
+	public AarreRampHandle rampPowerToAsync(final AarreRampEngine rampEngine, final AarrePowerVector
+			powerVectorRequestedLeft, final AarrePowerVector powerVectorRequestedRight) {
+		return rampEngine.rampToPower(leftMotor, powerVectorRequestedLeft, rightMotor, powerVectorRequestedRight,
+				getPowerIncrementAbsolute());
+	}
 
 	/**
 	 * Ramp the motors gradually up (or down) to potentially different power levels.
@@ -423,59 +647,165 @@ public class AarreDriveMotors {
 	 */
 	public void rampPowerTo(final AarrePowerVector powerVectorRequestedLeft, final AarrePowerVector
 			powerVectorRequestedRight) {
+		rampPowerTo(powerVectorRequestedLeft.asDouble(), powerVectorRequestedRight.asDouble());
+	}
 
-		ElapsedTime runtime;
-
-		double millisecondsCycleLength = getCycleLengthInMilliseconds();
-
-		AarrePowerMagnitude powerMagnitudeTolerance = getPowerMagnitudeTolerance();
-
-		AarrePowerVector powerVectorCurrentLeft;
-		AarrePowerVector powerVectorCurrentRight;
+	/**
+	 * Ramp the motors gradually up (or down) to potentially different power levels, without allocating in any cycle
+	 * of the ramp.
+	 *
+	 * @param powerRequestedLeft
+	 * 		The power the left motor should reach by the end of the ramp, in the interval [-1, 1].
+	 * @param powerRequestedRight
+	 * 		The power the right motor should reach by the end of the ramp, in the interval [-1, 1].
+	 */
+	public void rampPowerTo(final double powerRequestedLeft, final double powerRequestedRight) {
 
-		AarrePowerVector powerDeltaLeftVector;
-		AarrePowerVector powerDeltaRightVector;
+		final double powerTolerance = getPowerMagnitudeTolerance().asDouble();
 
-		AarrePowerMagnitude powerDeltaLeftMagnitude;
-		AarrePowerMagnitude powerDeltaRightMagnitude;
+		double greatestPowerDelta = 1.0;
 
-		double              greatestPowerDeltaDouble;
-		AarrePowerMagnitude greatestPowerDeltaMagnitude;
+		cycleScheduler.setMillisecondsPeriod(getCycleLengthInMilliseconds());
+		cycleScheduler.start();
+		while ((greatestPowerDelta > powerTolerance) && opMode.opModeIsActive()) {
 
-		AarrePowerVector powerVectorNewLeft;
-		AarrePowerVector powerVectorNewRight;
+			final double powerCurrentLeft  = leftMotor.getPower();
+			final double powerCurrentRight = rightMotor.getPower();
 
-		double millisecondsSinceChange;
+			final double powerNewLeft  = leftMotor.getPowerVectorNew(powerCurrentLeft, powerRequestedLeft);
+			final double powerNewRight = rightMotor.getPowerVectorNew(powerCurrentRight, powerRequestedRight);
 
-		greatestPowerDeltaMagnitude = new AarrePowerMagnitude(1.0);
+			greatestPowerDelta = AarreRampMath.getGreatestPowerDelta(powerCurrentLeft, powerRequestedLeft,
+					powerCurrentRight, powerRequestedRight);
 
-		while ((greatestPowerDeltaMagnitude.isGreaterThan(powerMagnitudeTolerance)) && opMode.opModeIsActive()) {
+			leftMotor.setPower(powerNewLeft);
+			rightMotor.setPower(powerNewRight);
 
-			powerVectorCurrentLeft = leftMotor.getPowerVectorCurrent();
-			powerVectorCurrentRight = rightMotor.getPowerVectorCurrent();
+			cycleScheduler.awaitNextCycle();
 
-			powerVectorNewLeft = leftMotor.getPowerVectorNew(powerVectorRequestedLeft, powerVectorCurrentLeft);
-			powerVectorNewRight = rightMotor.getPowerVectorNew(powerVectorRequestedRight, powerVectorCurrentRight);
+		}
 
-			powerDeltaLeftVector = powerVectorRequestedLeft.subtract(powerVectorCurrentLeft);
-			powerDeltaRightVector = powerVectorRequestedRight.subtract(powerVectorCurrentRight);
+	}
 
-			powerDeltaLeftMagnitude = powerDeltaLeftVector.getMagnitude();
-			powerDeltaRightMagnitude = powerDeltaRightVector.getMagnitude();
 
-			greatestPowerDeltaDouble = Math.max(powerDeltaLeftMagnitude.asDouble(), powerDeltaRightMagnitude.asDouble
-					());
-			greatestPowerDeltaMagnitude = new AarrePowerMagnitude(greatestPowerDeltaDouble);
+	/**
+	 * Set the clock on which the drive motors measure time and wait.
+	 * <p>
+	 * By default, this is the clock of the simulated hardware map off-robot, or the real clock on the robot.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+		cycleStatistics.setClock(clock);
+		cycleScheduler.setClock(clock);
+		readCache.setClock(clock);
+		if (leftMotor != null) {
+			leftMotor.setClock(clock);
+			rightMotor.setClock(clock);
+		}
+	}
 
-			leftMotor.setPowerVector(powerVectorNewLeft);
-			rightMotor.setPowerVector(powerVectorNewRight);
+	/**
+	 * Measure the speed of each drive motor at each of a number of powers, and save the results where {@link
+	 * #loadCharacterizations(File)} will find them.
+	 * <p>
+	 * The motors are characterized one after the other, each turning forwards, so the robot must be up on blocks with
+	 * its wheels free to turn.
+	 *
+	 * @param directory
+	 * 		The directory in which to save the characterizations.
+	 * @param numberOfSteps
+	 * 		How many equal steps of power to take from zero to full power.
+	 * @param secondsPerStep
+	 * 		How long to run each motor at each power.
+	 *
+	 * @return {@code true} if both motors were characterized, or {@code false} if the opMode stopped first.
+	 *
+	 * @throws IOException
+	 * 		If a characterization cannot be saved.
+	 */
+	public boolean characterize(final File directory, final int numberOfSteps, final double secondsPerStep) throws
+			IOException {
+		if (leftMotor == null) {
+			return false;
+		}
+		for (final AarreDriveMotor motor : new AarreDriveMotor[]{leftMotor, rightMotor}) {
+			final AarreMotorCharacterization characterization = motor.characterize(numberOfSteps, secondsPerStep);
+			if (characterization == null) {
+				return false;
+			}
+			characterization.save(AarreMotorCharacterization.getFile(directory, motor.getName()));
+			motor.setCharacterization(characterization);
+		}
+		return true;
+	}
 
-			waitForNextIncrement();
+	/**
+	 * Use the measured speeds of the drive motors saved by {@link #characterize(File, int, double)}, for any motor that
+	 * has been characterized. A motor that has not keeps its nameplate speed.
+	 *
+	 * @param directory
+	 * 		The directory in which the characterizations were saved.
+	 *
+	 * @throws IOException
+	 * 		If a characterization exists but cannot be read.
+	 */
+	public void loadCharacterizations(final File directory) throws IOException {
+		if (leftMotor == null) {
+			return;
+		}
+		for (final AarreDriveMotor motor : new AarreDriveMotor[]{leftMotor, rightMotor}) {
+			final File file = AarreMotorCharacterization.getFile(directory, motor.getName());
+			if (file.exists()) {
+				motor.setCharacterization(AarreMotorCharacterization.load(file));
+			}
+		}
+	}
 
+	/**
+	 * Write the state of both drive motors to a flight recorder in every cycle.
+	 *
+	 * @param flightRecorder
+	 * 		The flight recorder, or {@code null} to stop recording.
+	 */
+	public void setFlightRecorder(final AarreFlightRecorder flightRecorder) {
+		if (leftMotor != null) {
+			leftMotor.setFlightRecorder(flightRecorder);
+			rightMotor.setFlightRecorder(flightRecorder);
 		}
+	}
 
+	/**
+	 * Set the IMU from which to read the heading of the robot for the gyro methods.
+	 *
+	 * @param imu
+	 * 		The IMU mounted on the robot.
+	 */
+	public void setIMU(final AarreIMU imu) {
+		this.imu = imu;
+		headingProvider = new AarreHeadingProvider(imu);
+		if (poseEstimator != null) {
+			poseEstimator.setHeadingProvider(headingProvider);
+		}
 	}
 
+	/**
+	 * Use a ramp engine to stop both motors together, and advance its ramps in every cycle of the drive loops, so
+	 * that other mechanisms keep ramping while the robot drives.
+	 *
+	 * @param rampEngine
+	 * 		The engine, which must be owned by the thread that runs the drive loops, or {@code null} to ramp without
+	 * 		one.
+	 */
+	public void setRampEngine(final AarreRampEngine rampEngine) {
+		this.rampEngine = rampEngine;
+		cycleScheduler.setRampEngine(rampEngine);
+	}
 
 	public void setPowerIncrement(double increment) {
 		AarrePowerMagnitude powerMagnitudeIncrement = new AarrePowerMagnitude(increment);
@@ -494,12 +824,9 @@ public class AarreDriveMotors {
 		this.powerMagnitudeTolerance = powerMagnitudeTolerance;
 	}
 
-	private void waitForNextIncrement() {
-		ElapsedTime elapsedTime             = new ElapsedTime();
-		double      millisecondsSinceChange = elapsedTime.milliseconds();
-		while ((millisecondsSinceChange < getCycleLengthInMilliseconds()) && opMode.opModeIsActive()) {
-			opMode.idle();
-			millisecondsSinceChange = elapsedTime.milliseconds();
-		}
+	private void updateTelemetry() {
+		final long nanosecondsStart = cycleStatistics.startTiming();
+		telemetry.update();
+		cycleStatistics.recordTelemetry(nanosecondsStart);
 	}
 }
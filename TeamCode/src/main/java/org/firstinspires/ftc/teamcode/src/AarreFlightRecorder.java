@@ -0,0 +1,252 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Record the state of every motor in every cycle to a file, so that we can find out afterward what a ramp did on
+ * the field.
+ * <p>
+ * The file is a header followed by a ring of fixed-width binary records. It is preallocated and memory-mapped, so
+ * writing a record is a handful of stores into memory, with no system call, no allocation and no lock. The operating
+ * system writes the pages to storage in the background, so the records survive even if the app is killed. When the
+ * ring is full, the newest record overwrites the oldest.
+ * <p>
+ * Use {@link AarreFlightRecorderDecoder} to turn the file into CSV.
+ * <p>
+ * Header layout (big-endian):
+ *
+ * <pre>
+ *   0  int   magic number
+ *   4  int   version
+ *   8  int   bytes per record
+ *  12  int   capacity (number of records)
+ *  16  long  number of records written so far
+ *  24  int   number of motors registered
+ *  64  ...   motor names, NAME_BYTES each, indexed by motor id
+ * </pre>
+ * <p>
+ * Record layout:
+ *
+ * <pre>
+ *   0  long   sequence number + 1 (zero means the slot is empty; written last)
+ *   8  long   timestamp in nanoseconds
+ *  16  int    tick number
+ *  20  float  commanded power
+ *  24  float  measured power (speed as a proportion of the free speed)
+ *  28  short  motor id
+ *  30  byte   run mode (ordinal of DcMotor.RunMode)
+ *  31  byte   flags (bit 0: stalled)
+ * </pre>
+ */
+public class AarreFlightRecorder implements Closeable {
+
+	static final int MAGIC        = 0x41415246;
+	static final int VERSION      = 1;
+	static final int HEADER_BYTES = 1024;
+	static final int RECORD_BYTES = 32;
+	static final int MAX_MOTORS   = 16;
+	static final int NAME_BYTES   = 32;
+
+	static final int OFFSET_MAGIC            = 0;
+	static final int OFFSET_VERSION          = 4;
+	static final int OFFSET_RECORD_BYTES     = 8;
+	static final int OFFSET_CAPACITY         = 12;
+	static final int OFFSET_NUMBER_RECORDED  = 16;
+	static final int OFFSET_NUMBER_OF_MOTORS = 24;
+	static final int OFFSET_NAMES            = 64;
+
+	static final int RECORD_OFFSET_SEQUENCE  = 0;
+	static final int RECORD_OFFSET_TIME      = 8;
+	static final int RECORD_OFFSET_TICK      = 16;
+	static final int RECORD_OFFSET_COMMANDED = 20;
+	static final int RECORD_OFFSET_MEASURED  = 24;
+	static final int RECORD_OFFSET_MOTOR     = 28;
+	static final int RECORD_OFFSET_RUN_MODE  = 30;
+	static final int RECORD_OFFSET_FLAGS     = 31;
+
+	static final int FLAG_STALLED = 1;
+
+	static final Charset NAME_CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * About a minute of records for four motors at 20 cycles per second, with room to spare.
+	 */
+	private static final int DEFAULT_CAPACITY = 65536;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int              capacity;
+	private final AtomicLong       sequence = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private int numberOfMotors;
+
+	/**
+	 * Open a flight recorder file with the default capacity, discarding anything already in it.
+	 *
+	 * @param path
+	 * 		The file to write.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be created or mapped.
+	 */
+	public AarreFlightRecorder(final File path) throws IOException {
+		this(path, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Open a flight recorder file, discarding anything already in it.
+	 *
+	 * @param path
+	 * 		The file to write.
+	 * @param capacity
+	 * 		The number of records the ring holds before it starts overwriting the oldest. Must be positive.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be created or mapped.
+	 */
+	public AarreFlightRecorder(final File path, final int capacity) throws IOException {
+
+		if (path == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: path");
+		}
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity expected to be positive");
+		}
+
+		this.capacity = capacity;
+
+		final long length = HEADER_BYTES + ((long) capacity * RECORD_BYTES);
+
+		file = new RandomAccessFile(path, "rw");
+		try {
+			// Truncate first so that records from an earlier match read back as empty slots
+			file.setLength(0L);
+			file.setLength(length);
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, length);
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+
+		buffer.putInt(OFFSET_MAGIC, MAGIC);
+		buffer.putInt(OFFSET_VERSION, VERSION);
+		buffer.putInt(OFFSET_RECORD_BYTES, RECORD_BYTES);
+		buffer.putInt(OFFSET_CAPACITY, capacity);
+		buffer.putLong(OFFSET_NUMBER_RECORDED, 0L);
+		buffer.putInt(OFFSET_NUMBER_OF_MOTORS, 0);
+	}
+
+	/**
+	 * Register a motor so that its name appears in the decoded records.
+	 *
+	 * @param name
+	 * 		The name of the motor. Names longer than {@link #NAME_BYTES} - 1 bytes are truncated.
+	 *
+	 * @return The id to pass to {@link #record}.
+	 */
+	public synchronized int registerMotor(final String name) {
+
+		if (name == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: name");
+		}
+		if (numberOfMotors >= MAX_MOTORS) {
+			throw new IllegalStateException("Too many motors for the flight recorder: " + MAX_MOTORS);
+		}
+
+		final int motorId = numberOfMotors;
+
+		final byte[] bytes  = name.getBytes(NAME_CHARSET);
+		final int    length = Math.min(bytes.length, NAME_BYTES - 1);
+		final int    offset = OFFSET_NAMES + (motorId * NAME_BYTES);
+		buffer.put(offset, (byte) length);
+		for (int i = 0; i < length; i++) {
+			buffer.put(offset + 1 + i, bytes[i]);
+		}
+
+		numberOfMotors++;
+		buffer.putInt(OFFSET_NUMBER_OF_MOTORS, numberOfMotors);
+		return motorId;
+	}
+
+	/**
+	 * Write one record.
+	 * <p>
+	 * Any thread may call this. Each call claims its own slot, so concurrent calls do not interfere.
+	 *
+	 * @param nanoseconds
+	 * 		When the state was observed, on the robot's clock.
+	 * @param motorId
+	 * 		The id returned by {@link #registerMotor(String)}.
+	 * @param tickNumber
+	 * 		The encoder tick number.
+	 * @param powerCommanded
+	 * 		The power most recently commanded.
+	 * @param powerMeasured
+	 * 		The measured speed as a proportion of the motor's free speed.
+	 * @param runModeOrdinal
+	 * 		The ordinal of the motor's run mode.
+	 * @param stalled
+	 * 		Whether the motor was found to be stalled.
+	 */
+	public void record(final long nanoseconds, final int motorId, final int tickNumber, final double powerCommanded,
+	                   final double powerMeasured, final int runModeOrdinal, final boolean stalled) {
+
+		final long recordNumber = sequence.getAndIncrement();
+		final int  offset       = HEADER_BYTES + ((int) (recordNumber % capacity) * RECORD_BYTES);
+
+		// Mark the slot empty while it is being rewritten, so a torn record is never decoded
+		buffer.putLong(offset + RECORD_OFFSET_SEQUENCE, 0L);
+		buffer.putLong(offset + RECORD_OFFSET_TIME, nanoseconds);
+		buffer.putInt(offset + RECORD_OFFSET_TICK, tickNumber);
+		buffer.putFloat(offset + RECORD_OFFSET_COMMANDED, (float) powerCommanded);
+		buffer.putFloat(offset + RECORD_OFFSET_MEASURED, (float) powerMeasured);
+		buffer.putShort(offset + RECORD_OFFSET_MOTOR, (short) motorId);
+		buffer.put(offset + RECORD_OFFSET_RUN_MODE, (byte) runModeOrdinal);
+		buffer.put(offset + RECORD_OFFSET_FLAGS, (byte) (stalled ? FLAG_STALLED : 0));
+		buffer.putLong(offset + RECORD_OFFSET_SEQUENCE, recordNumber + 1L);
+
+		buffer.putLong(OFFSET_NUMBER_RECORDED, recordNumber + 1L);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return The number of records written so far, including any that have since been overwritten.
+	 */
+	public long getNumberRecorded() {
+		return sequence.get();
+	}
+
+	/**
+	 * Write any records still in memory to storage.
+	 */
+	public void force() {
+		buffer.force();
+	}
+
+	/**
+	 * Write any records still in memory to storage and close the file.
+	 * <p>
+	 * Do not record after closing.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		file.close();
+	}
+}
@@ -0,0 +1,142 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Turn an {@link AarreFlightRecorder} file into CSV, one line per record, oldest first.
+ * <p>
+ * Copy the file off the robot controller phone after the match and run
+ *
+ * <pre>
+ *   java AarreFlightRecorderDecoder AarreFlightRecorder.bin &gt; flight.csv
+ * </pre>
+ */
+public class AarreFlightRecorderDecoder {
+
+	static final String CSV_HEADER = "sequence,seconds,motor,tick,power_commanded,power_measured,run_mode,stalled";
+
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Decode a flight recorder file.
+	 *
+	 * @param path
+	 * 		The flight recorder file.
+	 * @param writer
+	 * 		Where to write the CSV.
+	 *
+	 * @return The number of records decoded.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be read, or is not a flight recorder file.
+	 */
+	public static int decode(final File path, final Writer writer) throws IOException {
+
+		final ByteBuffer buffer = read(path);
+
+		if (buffer.getInt(AarreFlightRecorder.OFFSET_MAGIC) != AarreFlightRecorder.MAGIC) {
+			throw new IOException("Not a flight recorder file: " + path);
+		}
+		if (buffer.getInt(AarreFlightRecorder.OFFSET_VERSION) != AarreFlightRecorder.VERSION) {
+			throw new IOException("Unsupported flight recorder version: " + buffer.getInt(AarreFlightRecorder
+					.OFFSET_VERSION));
+		}
+
+		final int  recordBytes    = buffer.getInt(AarreFlightRecorder.OFFSET_RECORD_BYTES);
+		final int  capacity       = buffer.getInt(AarreFlightRecorder.OFFSET_CAPACITY);
+		final long numberRecorded = buffer.getLong(AarreFlightRecorder.OFFSET_NUMBER_RECORDED);
+		final int  numberOfMotors = buffer.getInt(AarreFlightRecorder.OFFSET_NUMBER_OF_MOTORS);
+
+		final String[] motorNames = new String[numberOfMotors];
+		for (int i = 0; i < numberOfMotors; i++) {
+			final int    offset = AarreFlightRecorder.OFFSET_NAMES + (i * AarreFlightRecorder.NAME_BYTES);
+			final int    length = buffer.get(offset);
+			final byte[] bytes  = new byte[length];
+			for (int j = 0; j < length; j++) {
+				bytes[j] = buffer.get(offset + 1 + j);
+			}
+			motorNames[i] = new String(bytes, AarreFlightRecorder.NAME_CHARSET);
+		}
+
+		final DcMotor.RunMode[] runModes = DcMotor.RunMode.values();
+
+		final PrintWriter out = new PrintWriter(writer);
+		out.println(CSV_HEADER);
+
+		// The ring holds the most recent records, oldest at the slot after the newest
+		final long first = Math.max(0L, numberRecorded - capacity);
+		int        count = 0;
+		for (long recordNumber = first; recordNumber < numberRecorded; recordNumber++) {
+
+			final int offset = AarreFlightRecorder.HEADER_BYTES + ((int) (recordNumber % capacity) * recordBytes);
+
+			// Skip slots that were being written when the file was copied
+			if (buffer.getLong(offset + AarreFlightRecorder.RECORD_OFFSET_SEQUENCE) != (recordNumber + 1L)) {
+				continue;
+			}
+
+			final long   nanoseconds    = buffer.getLong(offset + AarreFlightRecorder.RECORD_OFFSET_TIME);
+			final int    tickNumber     = buffer.getInt(offset + AarreFlightRecorder.RECORD_OFFSET_TICK);
+			final float  powerCommanded = buffer.getFloat(offset + AarreFlightRecorder.RECORD_OFFSET_COMMANDED);
+			final float  powerMeasured  = buffer.getFloat(offset + AarreFlightRecorder.RECORD_OFFSET_MEASURED);
+			final int    motorId        = buffer.getShort(offset + AarreFlightRecorder.RECORD_OFFSET_MOTOR);
+			final int    runModeOrdinal = buffer.get(offset + AarreFlightRecorder.RECORD_OFFSET_RUN_MODE);
+			final int    flags          = buffer.get(offset + AarreFlightRecorder.RECORD_OFFSET_FLAGS);
+			final String motorName      = ((motorId >= 0) && (motorId < numberOfMotors)) ? motorNames[motorId] :
+					Integer.toString(motorId);
+			final String runMode        = ((runModeOrdinal >= 0) && (runModeOrdinal < runModes.length)) ?
+					runModes[runModeOrdinal].name() : "";
+
+			out.println(String.format(Locale.US, "%d,%.6f,%s,%d,%.4f,%.4f,%s,%d", recordNumber, (double)
+					nanoseconds / NANOSECONDS_PER_SECOND, motorName, tickNumber, powerCommanded, powerMeasured,
+					runMode, flags & AarreFlightRecorder.FLAG_STALLED));
+			count++;
+		}
+
+		out.flush();
+		return count;
+	}
+
+	private static ByteBuffer read(final File path) throws IOException {
+
+		final RandomAccessFile file = new RandomAccessFile(path, "r");
+		try {
+			final long length = file.length();
+			if (length < AarreFlightRecorder.HEADER_BYTES) {
+				throw new IOException("Not a flight recorder file: " + path);
+			}
+			final byte[] bytes = new byte[(int) length];
+			file.readFully(bytes);
+			return ByteBuffer.wrap(bytes);
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Decode the flight recorder file named on the command line to standard output.
+	 */
+	public static void main(final String[] args) throws IOException {
+
+		if (args.length != 1) {
+			System.err.println("Usage: AarreFlightRecorderDecoder <flight recorder file>");
+			return;
+		}
+
+		final Writer writer = new OutputStreamWriter(System.out, AarreFlightRecorder.NAME_CHARSET);
+		decode(new File(args[0]), writer);
+		writer.flush();
+	}
+}
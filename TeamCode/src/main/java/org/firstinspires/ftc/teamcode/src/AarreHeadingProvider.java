@@ -0,0 +1,98 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * Turn the heading from the IMU, which wraps around at +/-180 degrees, into a continuous heading that can be zeroed in
+ * software.
+ * <p>
+ * Each reading is compared with the previous one, and the change (taken the short way round) is added to a running
+ * total, so that two full turns counterclockwise read 720 degrees rather than 0. This only works if the robot turns
+ * less than 180 degrees between readings, which it easily does when the heading is read every control cycle.
+ * <p>
+ * Zeroing just moves the offset from which the continuous heading is measured, so unlike reinitializing the IMU it
+ * takes no time and does not touch the bus.
+ */
+public class AarreHeadingProvider {
+
+	private static final double DEGREES_PER_TURN      = 360.0;
+	private static final double DEGREES_PER_HALF_TURN = 180.0;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final AarreIMU imu;
+
+	private boolean hasDegreesRaw;
+	private double  degreesRawPrevious;
+	private double  degreesContinuous;
+	private double  degreesZero;
+
+	/**
+	 * Construct a heading provider, with heading zero where the IMU's own heading is zero (where the robot was pointing
+	 * when the IMU was initialized).
+	 *
+	 * @param imu
+	 * 		The IMU from which to read the heading.
+	 */
+	public AarreHeadingProvider(final AarreIMU imu) {
+		if (imu == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: imu");
+		}
+		this.imu = imu;
+	}
+
+	/**
+	 * Read the IMU and get the continuous heading.
+	 *
+	 * @return The heading in degrees relative to the last zero. Positive values are counterclockwise, and values
+	 * 		beyond +/-180 mean the robot has turned more than half way round.
+	 */
+	public synchronized double getDegreesHeading() {
+		update(imu.getHeading());
+		return degreesContinuous - degreesZero;
+	}
+
+	/**
+	 * Make the current heading zero.
+	 */
+	public synchronized void resetHeading() {
+		setDegreesHeading(0.0);
+	}
+
+	/**
+	 * Make the current heading read as a given value, for example the heading at which the robot starts a match.
+	 *
+	 * @param degreesHeading
+	 * 		The heading the robot is now pointing, in degrees.
+	 */
+	public synchronized void setDegreesHeading(final double degreesHeading) {
+		update(imu.getHeading());
+		degreesZero = degreesContinuous - degreesHeading;
+	}
+
+	/**
+	 * Add a raw reading to the continuous heading.
+	 *
+	 * @param degreesRaw
+	 * 		The heading as reported by the IMU, in the range (-180, 180].
+	 */
+	void update(final double degreesRaw) {
+
+		if (!hasDegreesRaw) {
+			degreesRawPrevious = degreesRaw;
+			degreesContinuous = degreesRaw;
+			hasDegreesRaw = true;
+			return;
+		}
+
+		double degreesChange = degreesRaw - degreesRawPrevious;
+		if (degreesChange > DEGREES_PER_HALF_TURN) {
+			degreesChange -= DEGREES_PER_TURN;
+		} else if (degreesChange <= -DEGREES_PER_HALF_TURN) {
+			degreesChange += DEGREES_PER_TURN;
+		}
+
+		degreesContinuous += degreesChange;
+		degreesRawPrevious = degreesRaw;
+	}
+}
@@ -0,0 +1,132 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+/**
+ * Count non-negative values (such as durations in nanoseconds) in a fixed amount of memory.
+ * <p>
+ * Values below 16 each have their own bucket. Above that, each power of two is split into eight buckets of equal
+ * width, so a bucket is never wider than an eighth of the values in it. Percentiles are reported as the upper edge of
+ * their bucket (but never more than the largest value recorded), so they are at most 12.5% high. The histogram
+ * covers every non-negative long in 488 buckets.
+ * <p>
+ * Recording a value takes a few atomic increments and no allocation, so it is cheap enough to do in every cycle of a
+ * control loop, from any thread.
+ */
+public class AarreHistogram {
+
+	private static final int SUB_BUCKET_BITS   = 3;
+	private static final int SUB_BUCKETS       = 1 << SUB_BUCKET_BITS;
+	private static final int EXACT_BUCKETS     = 2 * SUB_BUCKETS;
+	private static final int FIRST_EXPONENT    = SUB_BUCKET_BITS + 1;
+	private static final int NUMBER_OF_BUCKETS = EXACT_BUCKETS + ((Long.SIZE - 1 - FIRST_EXPONENT) * SUB_BUCKETS);
+
+	private final AtomicLongArray counts  = new AtomicLongArray(NUMBER_OF_BUCKETS);
+	private final AtomicLong      count   = new AtomicLong(0L);
+	private final AtomicLong      maximum = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Find the bucket in which a value belongs.
+	 */
+	static int getBucketIndex(final long value) {
+		if (value < EXACT_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent  = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return EXACT_BUCKETS + ((exponent - FIRST_EXPONENT) * SUB_BUCKETS) + subBucket;
+	}
+
+	/**
+	 * Find the largest value that belongs in a bucket.
+	 */
+	static long getBucketUpperBound(final int index) {
+		if (index < EXACT_BUCKETS) {
+			return index;
+		}
+		final int  exponent   = FIRST_EXPONENT + ((index - EXACT_BUCKETS) / SUB_BUCKETS);
+		final int  subBucket  = (index - EXACT_BUCKETS) % SUB_BUCKETS;
+		final int  shift      = exponent - SUB_BUCKET_BITS;
+		final long lowerBound = ((long) (SUB_BUCKETS + subBucket)) << shift;
+		return lowerBound + ((1L << shift) - 1L);
+	}
+
+	/**
+	 * Count a value.
+	 *
+	 * @param value
+	 * 		The value to count. Negative values are counted as zero.
+	 */
+	public void record(final long value) {
+
+		final long nonNegative = Math.max(0L, value);
+
+		counts.incrementAndGet(getBucketIndex(nonNegative));
+		count.incrementAndGet();
+
+		long maximumSoFar = maximum.get();
+		while ((nonNegative > maximumSoFar) && !maximum.compareAndSet(maximumSoFar, nonNegative)) {
+			maximumSoFar = maximum.get();
+		}
+	}
+
+	/**
+	 * @return The number of values counted.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return The largest value counted, or zero if none have been.
+	 */
+	public long getMaximum() {
+		return maximum.get();
+	}
+
+	/**
+	 * Estimate a percentile of the values counted.
+	 *
+	 * @param percentile
+	 * 		The percentile, in the interval [0, 100]. For example, 50 is the median.
+	 *
+	 * @return A value at least as large as the requested percentile (and at most 12.5% larger), or zero if no
+	 * 		values have been counted.
+	 */
+	public long getValueAtPercentile(final double percentile) {
+
+		if ((percentile < 0.0) || (percentile > 100.0)) {
+			throw new IllegalArgumentException("percentile expected to be in the interval [0, 100]");
+		}
+
+		final long total = count.get();
+		if (total == 0L) {
+			return 0L;
+		}
+
+		final long rank       = Math.max(1L, (long) Math.ceil((percentile / 100.0) * total));
+		long       cumulative = 0L;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= rank) {
+				return Math.min(getBucketUpperBound(i), maximum.get());
+			}
+		}
+		return maximum.get();
+	}
+
+	/**
+	 * Forget all values counted so far.
+	 */
+	public void reset() {
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			counts.set(i, 0L);
+		}
+		count.set(0L);
+		maximum.set(0L);
+	}
+}
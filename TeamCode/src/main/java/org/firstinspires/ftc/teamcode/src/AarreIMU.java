@@ -36,6 +36,9 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import org.firstinspires.ftc.robotcore.external.navigation.*;
 
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -45,6 +48,12 @@ import java.util.logging.Logger;
  * Use Android Studio to Copy this Class, and Paste it into your team's code folder with a new name.
  * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
  *
+ * <p>
+ * Each read of the IMU is an I2C transaction that takes several milliseconds. By default, {@link #getHeading()} and
+ * the telemetry read the IMU when they are called, on the calling thread. After {@link #startSampling(int)}, a
+ * background thread reads the IMU at a fixed rate and publishes each reading as an {@link AarreIMUSnapshot}, and
+ * callers get the latest snapshot without waiting for the bus.
+ *
  * @see <a href="http://www.adafruit.com/products/2472">Adafruit IMU</a>
  */
 public class AarreIMU {
@@ -53,14 +62,24 @@ public class AarreIMU {
 	LinearOpMode   opMode;
 	AarreTelemetry telemetry;
 
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
 	// The IMU sensor object
 	BNO055IMU imu;
 
+	private final AarreClock clock;
+
+	// The latest reading, published by whichever thread made it
+	private final AtomicReference<AarreIMUSnapshot> snapshot = new AtomicReference<>();
+
+	// The background thread that reads the IMU, if sampling has been started
+	private volatile Thread samplingThread;
+	private volatile long   nanosecondsSamplePeriod;
+
 	// State used for updating telemetry
-	Orientation  angles;
-	Acceleration gravity;
+	private AarreIMUSnapshot telemetrySnapshot;
 
 	public AarreIMU(LinearOpMode opMode) {
 
@@ -89,6 +108,7 @@ public class AarreIMU {
 		 * still helpful to instantiate this object (rather than throwing an exception, for example).
 		 */
 		hardwareMap = opMode.hardwareMap;
+		clock = AarreSimulatedHardwareMap.clockFor(hardwareMap);
 		if (hardwareMap == null) {
 			imu = null;
 		} else {
@@ -103,6 +123,117 @@ public class AarreIMU {
 
 	}
 
+	/**
+	 * Get the heading of the robot relative to its heading when the IMU was initialized.
+	 *
+	 * @return The heading in degrees, in the range (-180, 180]. Positive values are counterclockwise.
+	 */
+	public double getHeading() {
+		if (samplingThread != null) {
+			return getSnapshot().getDegreesHeading();
+		}
+		final Orientation orientation = imu.getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX,
+				AngleUnit.DEGREES);
+		return orientation.firstAngle;
+	}
+
+	/**
+	 * Get the latest reading of the IMU.
+	 * <p>
+	 * While sampling, this returns the snapshot most recently published by the sampling thread, which is at most
+	 * about one sample period old; see {@link AarreIMUSnapshot#getNanoseconds()}. Otherwise, it reads the IMU now.
+	 *
+	 * @return The reading.
+	 */
+	public AarreIMUSnapshot getSnapshot() {
+		final AarreIMUSnapshot latest = snapshot.get();
+		if ((samplingThread != null) && (latest != null)) {
+			return latest;
+		}
+		return sample();
+	}
+
+	/**
+	 * Read the orientation, rate of turn and gravity from the IMU, and publish them as the latest snapshot.
+	 */
+	private AarreIMUSnapshot sample() {
+
+		final Orientation orientation = imu.getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX,
+				AngleUnit.DEGREES);
+		final AngularVelocity angularVelocity = imu.getAngularVelocity().toAngleUnit(AngleUnit.DEGREES);
+		final Acceleration    gravity         = imu.getGravity();
+
+		final AarreIMUSnapshot result = new AarreIMUSnapshot(clock.nanoTime(), orientation.firstAngle,
+				orientation.secondAngle, orientation.thirdAngle, angularVelocity.zRotationRate, gravity.xAccel,
+				gravity.yAccel, gravity.zAccel);
+		snapshot.set(result);
+		return result;
+	}
+
+	/**
+	 * Start reading the IMU on a background thread.
+	 * <p>
+	 * The thread stops when {@link #stopSampling()} is called or the opMode is asked to stop.
+	 *
+	 * @param millisecondsPeriod
+	 * 		How often to read the IMU, in milliseconds. Must be positive.
+	 */
+	public synchronized void startSampling(final int millisecondsPeriod) {
+
+		if (millisecondsPeriod <= 0) {
+			throw new IllegalArgumentException("millisecondsPeriod expected to be positive");
+		}
+		if (imu == null) {
+			throw new IllegalStateException("There is no IMU to sample");
+		}
+
+		nanosecondsSamplePeriod = millisecondsPeriod * NANOSECONDS_PER_MILLISECOND;
+		if (samplingThread == null) {
+			final Thread thread = new Thread(this::runSampling, "AarreIMU");
+			thread.setDaemon(true);
+			samplingThread = thread;
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stop reading the IMU on a background thread. Later calls read the IMU on the calling thread.
+	 */
+	public synchronized void stopSampling() {
+		final Thread thread = samplingThread;
+		samplingThread = null;
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	/**
+	 * @return {@code true} if a background thread is reading the IMU.
+	 */
+	public boolean isSampling() {
+		return samplingThread != null;
+	}
+
+	private void runSampling() {
+
+		final Thread self = Thread.currentThread();
+		while ((samplingThread == self) && !self.isInterrupted() && !opMode.isStopRequested()) {
+
+			final long nanosecondsStart = System.nanoTime();
+			try {
+				sample();
+			} catch (RuntimeException e) {
+				// Keep the last good snapshot, and try again next period
+				javaLog.log(Level.WARNING, "IMU read failed", e);
+			}
+
+			final long nanosecondsRemaining = nanosecondsSamplePeriod - (System.nanoTime() - nanosecondsStart);
+			if (nanosecondsRemaining > 0L) {
+				LockSupport.parkNanos(this, nanosecondsRemaining);
+			}
+		}
+	}
+
 	/**
 	 * Public method allows other objects to update the IMU telemetry.
 	 */
@@ -119,24 +250,22 @@ public class AarreIMU {
 		telemetry.addAction(() -> {
 			// Acquiring the angles is relatively expensive; we don't want
 			// to do that in each of the three items that need that info, as that's
-			// three times the necessary expense.
-			angles = imu.getAngularOrientation(AxesReference.INTRINSIC, AxesOrder.ZYX, AngleUnit
-					.DEGREES);
-			gravity = imu.getGravity();
+			// three times the necessary expense. While sampling, this is just the latest snapshot.
+			telemetrySnapshot = getSnapshot();
 		});
 
 		telemetry.addLine().addData("status", () -> imu.getSystemStatus().toShortString()).addData
 				("Calibration", () -> imu.getCalibrationStatus().toString());
 
-		telemetry.addLine().addData("heading", () -> formatAngle(angles.angleUnit, angles
-				.firstAngle)).addData("roll", () -> formatAngle(angles.angleUnit, angles
-				.secondAngle)).addData("pitch", () -> formatAngle(angles.angleUnit, angles
-				.thirdAngle));
+		telemetry.addLine().addData("heading", () -> formatDegrees(telemetrySnapshot.getDegreesHeading()))
+				.addData("roll", () -> formatDegrees(telemetrySnapshot.getDegreesRoll())).addData("pitch", () ->
+				formatDegrees(telemetrySnapshot.getDegreesPitch()));
 
-		telemetry.addLine().addData("Gravity", () -> gravity.toString()).addData("mag", () ->
-				String.format(Locale.getDefault(), "%.3f", Math.sqrt(
-				gravity.xAccel * gravity.xAccel + gravity.yAccel * gravity.yAccel +
-				gravity.zAccel * gravity.zAccel)));
+		telemetry.addLine().addData("Gravity", () -> String.format(Locale.getDefault(), "(%.3f %.3f %.3f)m/s^2",
+				telemetrySnapshot.getMetersPerSecondSquaredGravityX(), telemetrySnapshot
+						.getMetersPerSecondSquaredGravityY(), telemetrySnapshot.getMetersPerSecondSquaredGravityZ()))
+				.addData("mag", () -> String.format(Locale.getDefault(), "%.3f", telemetrySnapshot
+						.getMetersPerSecondSquaredGravity()));
 	}
 
 	String formatAngle(AngleUnit angleUnit, double angle) {
@@ -0,0 +1,93 @@
+package org.firstinspires.ftc.teamcode.src;
+
+/**
+ * The orientation and rate of turn of the robot as read from the IMU at one moment.
+ * <p>
+ * Snapshots never change after they are made, so one thread can publish them and any number of others can read them
+ * without locks.
+ */
+public final class AarreIMUSnapshot {
+
+	private final long   nanoseconds;
+	private final double degreesHeading;
+	private final double degreesRoll;
+	private final double degreesPitch;
+	private final double degreesPerSecondHeading;
+	private final double metersPerSecondSquaredGravityX;
+	private final double metersPerSecondSquaredGravityY;
+	private final double metersPerSecondSquaredGravityZ;
+
+	/**
+	 * Construct a snapshot.
+	 *
+	 * @param nanoseconds
+	 * 		When the IMU was read, on the clock of the robot.
+	 * @param degreesHeading
+	 * 		The heading in degrees, in the range (-180, 180]. Positive values are counterclockwise.
+	 * @param degreesRoll
+	 * 		The roll in degrees.
+	 * @param degreesPitch
+	 * 		The pitch in degrees.
+	 * @param degreesPerSecondHeading
+	 * 		How fast the heading is changing, in degrees per second.
+	 * @param metersPerSecondSquaredGravityX
+	 * 		The x component of gravity as measured by the IMU.
+	 * @param metersPerSecondSquaredGravityY
+	 * 		The y component of gravity as measured by the IMU.
+	 * @param metersPerSecondSquaredGravityZ
+	 * 		The z component of gravity as measured by the IMU.
+	 */
+	public AarreIMUSnapshot(final long nanoseconds, final double degreesHeading, final double degreesRoll, final
+	double degreesPitch, final double degreesPerSecondHeading, final double metersPerSecondSquaredGravityX, final
+	                        double metersPerSecondSquaredGravityY, final double metersPerSecondSquaredGravityZ) {
+		this.nanoseconds = nanoseconds;
+		this.degreesHeading = degreesHeading;
+		this.degreesRoll = degreesRoll;
+		this.degreesPitch = degreesPitch;
+		this.degreesPerSecondHeading = degreesPerSecondHeading;
+		this.metersPerSecondSquaredGravityX = metersPerSecondSquaredGravityX;
+		this.metersPerSecondSquaredGravityY = metersPerSecondSquaredGravityY;
+		this.metersPerSecondSquaredGravityZ = metersPerSecondSquaredGravityZ;
+	}
+
+	public long getNanoseconds() {
+		return nanoseconds;
+	}
+
+	public double getDegreesHeading() {
+		return degreesHeading;
+	}
+
+	public double getDegreesRoll() {
+		return degreesRoll;
+	}
+
+	public double getDegreesPitch() {
+		return degreesPitch;
+	}
+
+	public double getDegreesPerSecondHeading() {
+		return degreesPerSecondHeading;
+	}
+
+	public double getMetersPerSecondSquaredGravityX() {
+		return metersPerSecondSquaredGravityX;
+	}
+
+	public double getMetersPerSecondSquaredGravityY() {
+		return metersPerSecondSquaredGravityY;
+	}
+
+	public double getMetersPerSecondSquaredGravityZ() {
+		return metersPerSecondSquaredGravityZ;
+	}
+
+	/**
+	 * @return The magnitude of gravity as measured by the IMU, which should be close to 9.8 when it is working.
+	 */
+	public double getMetersPerSecondSquaredGravity() {
+		return Math.sqrt((metersPerSecondSquaredGravityX * metersPerSecondSquaredGravityX) +
+				(metersPerSecondSquaredGravityY * metersPerSecondSquaredGravityY) + (metersPerSecondSquaredGravityZ *
+				metersPerSecondSquaredGravityZ));
+	}
+}
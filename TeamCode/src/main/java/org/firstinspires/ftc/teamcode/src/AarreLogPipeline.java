@@ -0,0 +1,277 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.IllegalFormatException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Carry log messages from the threads that log them to a background thread that formats them and writes them out.
+ * <p>
+ * Formatting a message and writing it to the console, the driver station log and the Java log takes far longer than
+ * a control loop can spare. So {@link AarreTelemetry#log(String)} and its relatives only put the raw format string
+ * and arguments in a {@link AarreRingBuffer}, and this pipeline's thread does the rest. The arguments are formatted
+ * when the message is written, not when it is logged, so they should not be objects that change afterward.
+ * <p>
+ * The queue is bounded. If messages come in faster than they can be written, the overflow policy decides which ones
+ * to drop, and the drops are counted.
+ */
+public class AarreLogPipeline {
+
+	private static final int  DEFAULT_CAPACITY            = 1024;
+	private static final long MILLISECONDS_DEFAULT_FLUSH  = 1000L;
+	private static final long MILLISECONDS_FLUSH_INTERVAL = 1L;
+	private static final long NANOSECONDS_MAXIMUM_PARK    = 10000000L;
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	private final AarreRingBuffer<Entry> ring;
+	private final AtomicLong             numberLogged  = new AtomicLong(0L);
+	private final AtomicLong             numberWritten = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile Thread  thread;
+	private volatile boolean waiting;
+
+	/**
+	 * Construct a pipeline with the default capacity.
+	 */
+	public AarreLogPipeline() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct a pipeline.
+	 *
+	 * @param capacity
+	 * 		The maximum number of messages waiting to be written. Must be a positive power of two.
+	 */
+	public AarreLogPipeline(final int capacity) {
+		ring = new AarreRingBuffer<>(capacity);
+	}
+
+	/**
+	 * Queue a message to be formatted and written to a telemetry.
+	 *
+	 * @return {@code true} if the message was queued; {@code false} if it was dropped.
+	 */
+	boolean enqueue(final AarreTelemetry target, final String caption, final String message, final Object[] args) {
+		return enqueue(new Entry(target, caption, message, args));
+	}
+
+	/**
+	 * Queue a message with up to two primitive arguments, without boxing them.
+	 * <p>
+	 * Each argument is passed as the bits of a long. The corresponding bit of {@code doubleMask} says whether those
+	 * bits hold a double (see {@link Double#doubleToRawLongBits(double)}) or a long.
+	 *
+	 * @return {@code true} if the message was queued; {@code false} if it was dropped.
+	 */
+	boolean enqueue(final AarreTelemetry target, final String message, final int numberPrimitives, final long
+			primitive0, final long primitive1, final int doubleMask) {
+		return enqueue(new Entry(target, message, numberPrimitives, primitive0, primitive1, doubleMask));
+	}
+
+	private boolean enqueue(final Entry entry) {
+
+		if (thread == null) {
+			start();
+		}
+
+		numberLogged.incrementAndGet();
+		final boolean queued = ring.offer(entry);
+
+		if (waiting) {
+			LockSupport.unpark(thread);
+		}
+		return queued;
+	}
+
+	private synchronized void start() {
+		if (thread == null) {
+			final Thread drainThread = new Thread(this::drain, "AarreLogPipeline");
+			drainThread.setDaemon(true);
+			drainThread.start();
+			thread = drainThread;
+		}
+	}
+
+	private void drain() {
+
+		while (true) {
+
+			Entry entry = ring.poll();
+			while (entry != null) {
+				write(entry);
+				numberWritten.incrementAndGet();
+				entry = ring.poll();
+			}
+
+			// Check the queue once more after announcing that we are waiting, so that a message queued just before
+			// the announcement is not left waiting for the next timeout
+			waiting = true;
+			if (ring.size() == 0) {
+				LockSupport.parkNanos(this, NANOSECONDS_MAXIMUM_PARK);
+			}
+			waiting = false;
+		}
+	}
+
+	private void write(final Entry entry) {
+
+		final Object[] args = entry.getArgs();
+
+		String text;
+		try {
+			text = ((args == null) || (args.length == 0)) ? entry.message : String.format(entry.message, args);
+		} catch (IllegalFormatException e) {
+			// A bad format string must not stop the pipeline, so log it as it is
+			text = entry.message + " [" + e + "]";
+		}
+		if (entry.caption != null) {
+			text = entry.caption + ": " + text;
+		}
+
+		try {
+			entry.target.write(text);
+		} catch (RuntimeException e) {
+			javaLog.severe("Unable to write log message: " + e);
+		}
+	}
+
+	/**
+	 * Wait until every message logged so far has been written or dropped, for up to a second.
+	 *
+	 * @return {@code true} if every message has been written or dropped; {@code false} if time ran out first.
+	 */
+	public boolean flush() {
+		return flush(MILLISECONDS_DEFAULT_FLUSH);
+	}
+
+	/**
+	 * Wait until every message logged so far has been written or dropped.
+	 *
+	 * @param millisecondsTimeout
+	 * 		The maximum number of milliseconds to wait.
+	 *
+	 * @return {@code true} if every message has been written or dropped; {@code false} if time ran out first.
+	 */
+	public boolean flush(final long millisecondsTimeout) {
+
+		final long nanosecondsDeadline = System.nanoTime() + (millisecondsTimeout * NANOSECONDS_PER_MILLISECOND);
+		final long target              = numberLogged.get();
+
+		while ((numberWritten.get() + ring.getNumberDropped()) < target) {
+			if (System.nanoTime() > nanosecondsDeadline) {
+				return false;
+			}
+			final Thread drainThread = thread;
+			if (drainThread != null) {
+				LockSupport.unpark(drainThread);
+			}
+			try {
+				Thread.sleep(MILLISECONDS_FLUSH_INTERVAL);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return The number of messages dropped because they came in faster than they could be written.
+	 */
+	public long getNumberDropped() {
+		return ring.getNumberDropped();
+	}
+
+	/**
+	 * @return The number of messages logged, whether or not they were written.
+	 */
+	public long getNumberLogged() {
+		return numberLogged.get();
+	}
+
+	/**
+	 * @return The number of messages written.
+	 */
+	public long getNumberWritten() {
+		return numberWritten.get();
+	}
+
+	public AarreRingBuffer.OverflowPolicy getOverflowPolicy() {
+		return ring.getOverflowPolicy();
+	}
+
+	/**
+	 * Choose which messages to drop when they come in faster than they can be written.
+	 *
+	 * @param overflowPolicy
+	 * 		{@link AarreRingBuffer.OverflowPolicy#DROP_OLDEST} (the default) to keep the most recent messages, or
+	 * 		{@link AarreRingBuffer.OverflowPolicy#DROP_NEWEST} to keep the earliest ones.
+	 */
+	public void setOverflowPolicy(final AarreRingBuffer.OverflowPolicy overflowPolicy) {
+		ring.setOverflowPolicy(overflowPolicy);
+	}
+
+	/**
+	 * A message waiting to be written.
+	 */
+	private static final class Entry {
+
+		final AarreTelemetry target;
+		final String         caption;
+		final String         message;
+		final Object[]       args;
+		final int            numberPrimitives;
+		final long           primitive0;
+		final long           primitive1;
+		final int            doubleMask;
+
+		Entry(final AarreTelemetry target, final String caption, final String message, final Object[] args) {
+			this.target = target;
+			this.caption = caption;
+			this.message = message;
+			this.args = args;
+			this.numberPrimitives = 0;
+			this.primitive0 = 0L;
+			this.primitive1 = 0L;
+			this.doubleMask = 0;
+		}
+
+		Entry(final AarreTelemetry target, final String message, final int numberPrimitives, final long primitive0,
+		      final long primitive1, final int doubleMask) {
+			this.target = target;
+			this.caption = null;
+			this.message = message;
+			this.args = null;
+			this.numberPrimitives = numberPrimitives;
+			this.primitive0 = primitive0;
+			this.primitive1 = primitive1;
+			this.doubleMask = doubleMask;
+		}
+
+		/**
+		 * Get the arguments to format, boxing any primitive arguments (on the pipeline thread).
+		 */
+		Object[] getArgs() {
+			if (numberPrimitives == 0) {
+				return args;
+			}
+			final Object[] boxed = new Object[numberPrimitives];
+			boxed[0] = box(primitive0, 0);
+			if (numberPrimitives > 1) {
+				boxed[1] = box(primitive1, 1);
+			}
+			return boxed;
+		}
+
+		private Object box(final long bits, final int index) {
+			if ((doubleMask & (1 << index)) != 0) {
+				return Double.longBitsToDouble(bits);
+			}
+			return bits;
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log messages from code that runs inside control loops, such as the motor ramps.
+ * <p>
+ * Each method checks the level before doing anything else, so a message below the level costs one comparison and
+ * nothing more. The messages are printf-style format strings with their arguments. The methods that take one or two
+ * {@code long} or {@code double} arguments pass them to the {@link AarreLogPipeline} without boxing them, and the
+ * pipeline formats the message on its own thread. Messages at or above the level are written to the telemetry (and
+ * from there to the robot controller log and the Java log).
+ * <p>
+ * Messages are written at {@link Level#INFO} and above by default. Use {@link #setLevel(Level)} to see more.
+ */
+public class AarreLogger {
+
+	private static final Level DEFAULT_LEVEL = Level.INFO;
+
+	private static final int DOUBLE_FIRST  = 1;
+	private static final int DOUBLE_SECOND = 2;
+
+	private final AarreTelemetry telemetry;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile int                  levelValue = DEFAULT_LEVEL.intValue();
+	private volatile AarreCycleStatistics cycleStatistics;
+
+	/**
+	 * Construct a logger at the default level.
+	 *
+	 * @param telemetry
+	 * 		The telemetry to which to write messages.
+	 */
+	public AarreLogger(final AarreTelemetry telemetry) {
+
+		if (telemetry == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: telemetry");
+		}
+
+		this.telemetry = telemetry;
+	}
+
+	/**
+	 * Determine whether messages at a level would be written.
+	 *
+	 * @param level
+	 * 		The level of the message.
+	 *
+	 * @return {@code true} if messages at this level are written; {@code false} if they are discarded.
+	 */
+	public boolean isLoggable(final Level level) {
+		return level.intValue() >= levelValue;
+	}
+
+	/**
+	 * Set the lowest level of message to write.
+	 *
+	 * @param level
+	 * 		The level. For example, {@link Level#FINEST} writes everything and {@link Level#OFF} writes nothing.
+	 */
+	public void setLevel(final Level level) {
+		if (level == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: level");
+		}
+		levelValue = level.intValue();
+	}
+
+	public void log(final Level level, final String message) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, null, message, null);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	public void log(final Level level, final String format, final long argument) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, format, 1, argument, 0L, 0);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	public void log(final Level level, final String format, final double argument) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, format, 1, Double.doubleToRawLongBits(argument), 0L,
+					DOUBLE_FIRST);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	public void log(final Level level, final String format, final long first, final long second) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, format, 2, first, second, 0);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	public void log(final Level level, final String format, final double first, final double second) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, format, 2, Double.doubleToRawLongBits(first), Double
+					.doubleToRawLongBits(second), DOUBLE_FIRST | DOUBLE_SECOND);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	/**
+	 * Log a message with any arguments.
+	 * <p>
+	 * The varargs array and any boxing happen before the level check, so prefer the primitive overloads in loops.
+	 */
+	public void log(final Level level, final String format, final Object... arguments) {
+		if (isLoggable(level)) {
+			final long nanosecondsStart = startTiming();
+			telemetry.getPipeline().enqueue(telemetry, null, format, arguments);
+			recordTiming(nanosecondsStart);
+		}
+	}
+
+	/**
+	 * Count the time spent handing loggable messages to the pipeline as telemetry time.
+	 *
+	 * @param cycleStatistics
+	 * 		The statistics into which to record the time, or {@code null} not to record it.
+	 */
+	public void setCycleStatistics(final AarreCycleStatistics cycleStatistics) {
+		this.cycleStatistics = cycleStatistics;
+	}
+
+	private long startTiming() {
+		final AarreCycleStatistics statistics = cycleStatistics;
+		return (statistics == null) ? 0L : statistics.startTiming();
+	}
+
+	private void recordTiming(final long nanosecondsStart) {
+		final AarreCycleStatistics statistics = cycleStatistics;
+		if (statistics != null) {
+			statistics.recordTelemetry(nanosecondsStart);
+		}
+	}
+
+	public void info(final String message) {
+		log(Level.INFO, message);
+	}
+
+	public void info(final String format, final long argument) {
+		log(Level.INFO, format, argument);
+	}
+
+	public void info(final String format, final double argument) {
+		log(Level.INFO, format, argument);
+	}
+
+	public void fine(final String message) {
+		log(Level.FINE, message);
+	}
+
+	public void fine(final String format, final long argument) {
+		log(Level.FINE, format, argument);
+	}
+
+	public void fine(final String format, final double argument) {
+		log(Level.FINE, format, argument);
+	}
+
+	public void fine(final String format, final long first, final long second) {
+		log(Level.FINE, format, first, second);
+	}
+
+	public void fine(final String format, final double first, final double second) {
+		log(Level.FINE, format, first, second);
+	}
+
+	public void finest(final String message) {
+		log(Level.FINEST, message);
+	}
+
+	public void finest(final String format, final long argument) {
+		log(Level.FINEST, format, argument);
+	}
+
+	public void finest(final String format, final double argument) {
+		log(Level.FINEST, format, argument);
+	}
+}
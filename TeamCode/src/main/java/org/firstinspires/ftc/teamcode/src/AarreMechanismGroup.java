@@ -0,0 +1,394 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Move several mechanically independent mechanisms (such as the arm, riser and hook) at the same time.
+ * <p>
+ * Each mechanism runs on its own thread. {@link #run()} starts them all, then waits for each of them up to its own
+ * timeout, measured on the clock from the moment the group started. A mechanism that is still moving when its
+ * timeout runs out is interrupted (which makes {@code opModeIsActive()} return false on its thread, so its loops
+ * exit), and stops itself on its own thread once its loops have exited. The group waits for that, interrupting the
+ * mechanism again if it is slow to leave its loops, so nothing can move the mechanism after it has been stopped.
+ * <p>
+ * After the group finishes, it reports how long the mechanisms took together and how much time that saved compared
+ * with running them one after another.
+ * <p>
+ * On a {@link AarreVirtualClock}, each mechanism lets time pass on a timeline of its own, starting from the moment the
+ * group started, so that one mechanism sleeping does not move time on for the others. A mechanism that is still
+ * moving when its own time reaches its timeout is interrupted and stopped on its own thread, at the same point on
+ * every run. The group then waits for all the mechanisms, however long that takes in real time, and moves the clock
+ * on by as long as the slowest of them took.
+ */
+public class AarreMechanismGroup {
+
+	// How long to give an interrupted mechanism to leave its loop before interrupting it again
+	private static final long MILLISECONDS_INTERRUPT_GRACE = 100L;
+
+	// How often to check whether the mechanisms are done
+	private static final long MILLISECONDS_JOIN_INTERVAL = 1L;
+
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
+	private final String          name;
+	private final AarreClock      clock;
+	private final AarreTelemetry  telemetry;
+	private final List<Mechanism> mechanisms = new ArrayList<>();
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private double secondsElapsed;
+	private double secondsSequential;
+
+	/**
+	 * Construct a group of mechanisms.
+	 *
+	 * @param name
+	 * 		The name of the group, for telemetry.
+	 * @param clock
+	 * 		The clock on which to measure timeouts and elapsed time.
+	 * @param telemetry
+	 * 		The telemetry on which to report the time saved.
+	 */
+	public AarreMechanismGroup(final String name, final AarreClock clock, final AarreTelemetry telemetry) {
+
+		if (name == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: name");
+		}
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		if (telemetry == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: telemetry");
+		}
+
+		this.name = name;
+		this.clock = clock;
+		this.telemetry = telemetry;
+	}
+
+	/**
+	 * Add a mechanism to the group.
+	 *
+	 * @param mechanismName
+	 * 		The name of the mechanism, for telemetry.
+	 * @param secondsTimeout
+	 * 		Interrupt the mechanism if it is still moving after this many seconds.
+	 * @param action
+	 * 		How to move the mechanism.
+	 * @param stopAction
+	 * 		How to stop the mechanism if it times out, or {@code null} if there is nothing to stop.
+	 */
+	public void add(final String mechanismName, final double secondsTimeout, final Runnable action, final Runnable
+			stopAction) {
+
+		if (mechanismName == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: mechanismName");
+		}
+		if (action == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: action");
+		}
+		if (secondsTimeout < 0.0) {
+			throw new IllegalArgumentException("secondsTimeout expected to be non-negative");
+		}
+
+		mechanisms.add(new Mechanism(mechanismName, secondsTimeout, action, stopAction));
+	}
+
+	/**
+	 * Move all the mechanisms at once and wait for them to finish or time out.
+	 *
+	 * @return The number of seconds saved compared with moving the mechanisms one after another.
+	 *
+	 * @throws RuntimeException
+	 * 		The first exception thrown by any of the mechanisms, after all of them have finished.
+	 */
+	public double run() {
+
+		if (clock instanceof AarreVirtualClock) {
+			runOnTimelines((AarreVirtualClock) clock);
+		} else {
+			runOnClock();
+		}
+
+		secondsSequential = 0.0;
+		RuntimeException failure = null;
+		for (final Mechanism mechanism : mechanisms) {
+			// A mechanism that timed out would have taken at least as long if run on its own
+			secondsSequential += mechanism.timedOut ? Math.max(mechanism.secondsRunning, mechanism.secondsTimeout) :
+					mechanism.secondsRunning;
+			if (mechanism.timedOut) {
+				telemetry.log(name, "%s timed out after %.2f seconds", mechanism.name, mechanism.secondsTimeout);
+			}
+			if ((failure == null) && (mechanism.failure != null)) {
+				failure = mechanism.failure;
+			}
+		}
+
+		telemetry.log(name, "done in %.2f seconds, %.2f seconds saved by moving mechanisms in parallel",
+				secondsElapsed, getSecondsSaved());
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		return getSecondsSaved();
+	}
+
+	/**
+	 * Move the mechanisms on a clock that all of them share, timing them out from this thread.
+	 */
+	private void runOnClock() {
+
+		final AarreTimer timer = new AarreTimer(clock);
+
+		for (final Mechanism mechanism : mechanisms) {
+			mechanism.start();
+		}
+
+		boolean interrupted = false;
+		for (final Mechanism mechanism : mechanisms) {
+			try {
+				while (mechanism.thread.isAlive() && !interrupted && (timer.seconds() < mechanism.secondsTimeout)) {
+					mechanism.thread.join(MILLISECONDS_JOIN_INTERVAL);
+				}
+			} catch (InterruptedException e) {
+				// The opMode is stopping, so stop every mechanism that is still moving
+				interrupted = true;
+			}
+			if (mechanism.thread.isAlive()) {
+				mechanism.timeOut();
+			}
+		}
+
+		secondsElapsed = timer.seconds();
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Move each mechanism on a timeline of its own, letting each of them time itself out.
+	 *
+	 * @param virtualClock
+	 * 		The simulated clock.
+	 */
+	private void runOnTimelines(final AarreVirtualClock virtualClock) {
+
+		final long nanosecondsStart = virtualClock.nanoTime();
+
+		for (final Mechanism mechanism : mechanisms) {
+			mechanism.startOnTimeline(virtualClock, nanosecondsStart);
+		}
+
+		boolean interrupted = false;
+		for (final Mechanism mechanism : mechanisms) {
+			while (mechanism.thread.isAlive()) {
+				try {
+					mechanism.thread.join();
+				} catch (InterruptedException e) {
+					// The opMode is stopping, so stop every mechanism that is still moving
+					interrupted = true;
+					for (final Mechanism other : mechanisms) {
+						other.stopRequested = true;
+						other.thread.interrupt();
+					}
+				}
+			}
+		}
+
+		long nanosecondsEnd = nanosecondsStart;
+		for (final Mechanism mechanism : mechanisms) {
+			nanosecondsEnd = Math.max(nanosecondsEnd, mechanism.nanosecondsEnd);
+		}
+		virtualClock.advance(nanosecondsEnd - nanosecondsStart);
+		secondsElapsed = (double) (nanosecondsEnd - nanosecondsStart) / NANOSECONDS_PER_SECOND;
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return The number of seconds the mechanisms took together in the last {@link #run()}.
+	 */
+	public double getSecondsElapsed() {
+		return secondsElapsed;
+	}
+
+	/**
+	 * @return The number of seconds saved in the last {@link #run()}, compared with moving the mechanisms one after
+	 * 		another.
+	 */
+	public double getSecondsSaved() {
+		return Math.max(0.0, secondsSequential - secondsElapsed);
+	}
+
+	/**
+	 * @return The sum of the number of seconds each mechanism took in the last {@link #run()}.
+	 */
+	public double getSecondsSequential() {
+		return secondsSequential;
+	}
+
+	/**
+	 * Determine whether any mechanism timed out in the last {@link #run()}.
+	 *
+	 * @return {@code true} if any mechanism timed out; {@code false} otherwise.
+	 */
+	public boolean isAnyTimedOut() {
+		for (final Mechanism mechanism : mechanisms) {
+			if (mechanism.timedOut) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * One mechanism in the group, and the thread that moves it.
+	 */
+	private final class Mechanism implements Runnable {
+
+		final String   name;
+		final double   secondsTimeout;
+		final Runnable action;
+		final Runnable stopAction;
+
+		Thread thread;
+
+		// Only on a virtual clock: the clock, and when the mechanism's own timeline started and ended
+		AarreVirtualClock virtualClock;
+		long              nanosecondsStart;
+		volatile long     nanosecondsEnd;
+
+		volatile boolean stopRequested;
+
+		// Set, under the lock of the mechanism, once the mechanism has started to stop itself
+		boolean stopping;
+
+		volatile double           secondsRunning;
+		volatile boolean          timedOut;
+		volatile RuntimeException failure;
+
+		Mechanism(final String name, final double secondsTimeout, final Runnable action, final Runnable stopAction) {
+			this.name = name;
+			this.secondsTimeout = secondsTimeout;
+			this.action = action;
+			this.stopAction = stopAction;
+		}
+
+		void start() {
+			stopRequested = false;
+			stopping = false;
+			secondsRunning = 0.0;
+			timedOut = false;
+			failure = null;
+			virtualClock = null;
+			thread = new Thread(this, AarreMechanismGroup.this.name + " - " + name);
+			thread.start();
+		}
+
+		void startOnTimeline(final AarreVirtualClock virtualClock, final long nanosecondsStart) {
+			this.virtualClock = virtualClock;
+			this.nanosecondsStart = nanosecondsStart;
+			nanosecondsEnd = nanosecondsStart;
+			stopRequested = false;
+			stopping = false;
+			secondsRunning = 0.0;
+			timedOut = false;
+			failure = null;
+			thread = new Thread(this, AarreMechanismGroup.this.name + " - " + name);
+			thread.start();
+		}
+
+		@Override
+		public void run() {
+			if (virtualClock == null) {
+				runAction();
+				if (stopRequested) {
+					stop();
+				}
+				return;
+			}
+
+			final long nanosecondsTimeout = (long) (secondsTimeout * NANOSECONDS_PER_SECOND);
+			virtualClock.startTimeline(nanosecondsStart, nanosecondsStart + nanosecondsTimeout);
+			try {
+				runAction();
+				if (virtualClock.isTimelineDeadlinePassed() || stopRequested) {
+					timedOut = true;
+					stop();
+				}
+			} finally {
+				nanosecondsEnd = virtualClock.endTimeline();
+			}
+		}
+
+		/**
+		 * Stop the mechanism, on its own thread, after its action has returned.
+		 */
+		private void stop() {
+			synchronized (this) {
+				stopping = true;
+				// Clear the interrupt, so that stopping the mechanism is not cut short too
+				Thread.interrupted();
+			}
+			if (stopAction == null) {
+				return;
+			}
+			try {
+				stopAction.run();
+			} catch (RuntimeException e) {
+				javaLog.severe(String.format("%s - %s failed to stop: %s", AarreMechanismGroup.this.name, name, e));
+				if (failure == null) {
+					failure = e;
+				}
+			}
+		}
+
+		private void runAction() {
+			final AarreTimer timer = new AarreTimer(clock);
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				javaLog.severe(String.format("%s - %s failed: %s", AarreMechanismGroup.this.name, name, e));
+				failure = e;
+			} finally {
+				secondsRunning = timer.seconds();
+			}
+		}
+
+		/**
+		 * Interrupt the mechanism on the real clock, and wait until it has left its loops and stopped itself.
+		 */
+		void timeOut() {
+			timedOut = true;
+			stopRequested = true;
+			thread.interrupt();
+
+			boolean interrupted = false;
+			while (thread.isAlive()) {
+				try {
+					thread.join(MILLISECONDS_INTERRUPT_GRACE);
+				} catch (InterruptedException e) {
+					// Keep waiting, so that the mechanism is stopped before the group returns
+					interrupted = true;
+				}
+				synchronized (this) {
+					// A loop can clear the interrupt and carry on, so interrupt it again until it starts to stop
+					if (thread.isAlive() && !stopping) {
+						thread.interrupt();
+					}
+				}
+			}
+
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
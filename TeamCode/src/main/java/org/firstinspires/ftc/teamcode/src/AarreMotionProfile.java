@@ -0,0 +1,254 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * A motion profile for moving a motor a given number of encoder ticks, computed once before the move starts.
+ * <p>
+ * The profile is a time-indexed table with one entry per control cycle: the power to apply during the cycle and the
+ * tick number the motor should have reached by the end of it. A loop that follows the profile just looks up its cycle
+ * number, so no arithmetic about when to start slowing down is left for the loop to do.
+ * <p>
+ * Without a jerk limit, the profile is trapezoidal: the power rises at a constant rate to the maximum, holds there,
+ * and falls at the same rate to zero. If the move is too short to reach the maximum power, the profile is a triangle.
+ * <p>
+ * With a jerk limit, the profile is an S-curve. It is made by taking a moving average of the trapezoidal power over a
+ * window as long as it takes to reach full acceleration at the jerk limit. This rounds the corners of the trapezoid
+ * so that the acceleration never changes faster than the limit, adds the length of the window to the duration, and
+ * moves the motor exactly the same number of ticks.
+ * <p>
+ * Powers are proportions of full power and are all non-negative; the caller applies the direction of travel.
+ */
+public class AarreMotionProfile {
+
+	private static final double MILLISECONDS_PER_SECOND = 1000.0;
+
+	private final int      ticks;
+	private final int      millisecondsPerCycle;
+	private final double[] powers;
+	private final double[] tickNumbers;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Compute a trapezoidal profile.
+	 *
+	 * @param ticks
+	 * 		The number of ticks to move. Must be positive.
+	 * @param powerMaximum
+	 * 		The largest proportion of full power to apply, in the interval (0, 1].
+	 * @param powerPerSecond
+	 * 		How quickly the power may rise or fall, as a proportion of full power per second. Must be positive.
+	 * @param ticksPerSecondAtFullPower
+	 * 		How fast the motor turns at full power. Must be positive.
+	 * @param millisecondsPerCycle
+	 * 		The length of each control cycle in milliseconds. Must be positive.
+	 */
+	public AarreMotionProfile(final int ticks, final double powerMaximum, final double powerPerSecond, final double
+			ticksPerSecondAtFullPower, final int millisecondsPerCycle) {
+		this(ticks, powerMaximum, powerPerSecond, 0.0, ticksPerSecondAtFullPower, millisecondsPerCycle);
+	}
+
+	/**
+	 * Compute a profile, which is an S-curve if there is a jerk limit.
+	 *
+	 * @param ticks
+	 * 		The number of ticks to move. Must be positive.
+	 * @param powerMaximum
+	 * 		The largest proportion of full power to apply, in the interval (0, 1].
+	 * @param powerPerSecond
+	 * 		How quickly the power may rise or fall, as a proportion of full power per second. Must be positive.
+	 * @param powerPerSecondSquared
+	 * 		How quickly the rate of change of power may itself change, as a proportion of full power per second per
+	 * 		second. Zero means no jerk limit, which gives a trapezoidal profile. Must be non-negative.
+	 * @param ticksPerSecondAtFullPower
+	 * 		How fast the motor turns at full power. Must be positive.
+	 * @param millisecondsPerCycle
+	 * 		The length of each control cycle in milliseconds. Must be positive.
+	 */
+	public AarreMotionProfile(final int ticks, final double powerMaximum, final double powerPerSecond, final double
+			powerPerSecondSquared, final double ticksPerSecondAtFullPower, final int millisecondsPerCycle) {
+
+		if (ticks <= 0) {
+			throw new IllegalArgumentException("ticks expected to be positive");
+		}
+		if ((powerMaximum <= 0.0) || (powerMaximum > 1.0)) {
+			throw new IllegalArgumentException("powerMaximum expected to be in the interval (0, 1]");
+		}
+		if (powerPerSecond <= 0.0) {
+			throw new IllegalArgumentException("powerPerSecond expected to be positive");
+		}
+		if (powerPerSecondSquared < 0.0) {
+			throw new IllegalArgumentException("powerPerSecondSquared expected to be non-negative");
+		}
+		if (ticksPerSecondAtFullPower <= 0.0) {
+			throw new IllegalArgumentException("ticksPerSecondAtFullPower expected to be positive");
+		}
+		if (millisecondsPerCycle <= 0) {
+			throw new IllegalArgumentException("millisecondsPerCycle expected to be positive");
+		}
+
+		this.ticks = ticks;
+		this.millisecondsPerCycle = millisecondsPerCycle;
+
+		final double secondsPerCycle = millisecondsPerCycle / MILLISECONDS_PER_SECOND;
+
+		double[] trapezoid = getTrapezoidalPowers(ticks, powerMaximum * ticksPerSecondAtFullPower, powerPerSecond *
+				ticksPerSecondAtFullPower, secondsPerCycle, ticksPerSecondAtFullPower);
+
+		int cyclesInWindow = 1;
+		if (powerPerSecondSquared > 0.0) {
+			final double secondsInWindow = powerPerSecond / powerPerSecondSquared;
+			cyclesInWindow = Math.max(1, (int) Math.round(secondsInWindow / secondsPerCycle));
+		}
+		powers = getMovingAverage(trapezoid, cyclesInWindow);
+
+		// Integrate the powers, so that each tick number is where the motor should be at the end of its cycle
+		final double ticksPerCycleAtFullPower = ticksPerSecondAtFullPower * secondsPerCycle;
+		tickNumbers = new double[powers.length];
+		double tickNumber = 0.0;
+		for (int cycle = 0; cycle < powers.length; cycle++) {
+			tickNumber += powers[cycle] * ticksPerCycleAtFullPower;
+			tickNumbers[cycle] = tickNumber;
+		}
+
+		// Do not let rounding leave the end of the move a fraction of a tick short or long
+		tickNumbers[tickNumbers.length - 1] = ticks;
+	}
+
+	/**
+	 * Compute the power in each cycle of a trapezoidal profile, as the average speed over the cycle.
+	 * <p>
+	 * Averaging over each cycle (rather than sampling at its start) makes the cycles add up to exactly the right
+	 * number of ticks.
+	 */
+	private static double[] getTrapezoidalPowers(final int ticks, final double ticksPerSecondMaximum, final double
+			ticksPerSecondSquared, final double secondsPerCycle, final double ticksPerSecondAtFullPower) {
+
+		double ticksPerSecondPeak     = ticksPerSecondMaximum;
+		double secondsAccelerating    = ticksPerSecondPeak / ticksPerSecondSquared;
+		double ticksWhileAccelerating = 0.5 * ticksPerSecondPeak * secondsAccelerating;
+
+		// Too short to reach the maximum speed, so the profile is a triangle
+		if ((2.0 * ticksWhileAccelerating) > ticks) {
+			ticksPerSecondPeak = Math.sqrt(ticks * ticksPerSecondSquared);
+			secondsAccelerating = ticksPerSecondPeak / ticksPerSecondSquared;
+			ticksWhileAccelerating = 0.5 * ticks;
+		}
+
+		final double secondsCruising = (ticks - (2.0 * ticksWhileAccelerating)) / ticksPerSecondPeak;
+		final double secondsTotal    = (2.0 * secondsAccelerating) + secondsCruising;
+
+		final int      numberOfCycles = Math.max(1, (int) Math.ceil(secondsTotal / secondsPerCycle));
+		final double[] result         = new double[numberOfCycles];
+
+		double tickNumberAtStartOfCycle = 0.0;
+		for (int cycle = 0; cycle < numberOfCycles; cycle++) {
+			final double tickNumberAtEndOfCycle = getTrapezoidalTickNumber((cycle + 1) * secondsPerCycle,
+					ticks, ticksPerSecondPeak, ticksPerSecondSquared, secondsAccelerating, secondsCruising);
+			result[cycle] = (tickNumberAtEndOfCycle - tickNumberAtStartOfCycle) / (secondsPerCycle *
+					ticksPerSecondAtFullPower);
+			tickNumberAtStartOfCycle = tickNumberAtEndOfCycle;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Get how far a trapezoidal profile has moved after a given time.
+	 */
+	private static double getTrapezoidalTickNumber(final double seconds, final int ticks, final double
+			ticksPerSecondPeak, final double ticksPerSecondSquared, final double secondsAccelerating, final double
+			secondsCruising) {
+
+		final double secondsDecelerating = secondsAccelerating + secondsCruising;
+		final double secondsTotal        = secondsDecelerating + secondsAccelerating;
+
+		final double tickNumber;
+		if (seconds <= secondsAccelerating) {
+			tickNumber = 0.5 * ticksPerSecondSquared * seconds * seconds;
+		} else if (seconds <= secondsDecelerating) {
+			tickNumber = (0.5 * ticksPerSecondPeak * secondsAccelerating) + (ticksPerSecondPeak * (seconds -
+					secondsAccelerating));
+		} else if (seconds < secondsTotal) {
+			final double secondsRemaining = secondsTotal - seconds;
+			tickNumber = ticks - (0.5 * ticksPerSecondSquared * secondsRemaining * secondsRemaining);
+		} else {
+			tickNumber = ticks;
+		}
+		return tickNumber;
+	}
+
+	/**
+	 * Take the moving average of a series over a window of cycles. The result is longer than the series by one cycle
+	 * less than the window, and has the same sum.
+	 */
+	private static double[] getMovingAverage(final double[] series, final int cyclesInWindow) {
+
+		if (cyclesInWindow == 1) {
+			return series;
+		}
+
+		final double[] result = new double[(series.length + cyclesInWindow) - 1];
+		double         sum    = 0.0;
+		for (int cycle = 0; cycle < result.length; cycle++) {
+			if (cycle < series.length) {
+				sum += series[cycle];
+			}
+			if (cycle >= cyclesInWindow) {
+				sum -= series[cycle - cyclesInWindow];
+			}
+			result[cycle] = sum / cyclesInWindow;
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of control cycles the profile lasts.
+	 */
+	public int getNumberOfCycles() {
+		return powers.length;
+	}
+
+	public int getMillisecondsPerCycle() {
+		return millisecondsPerCycle;
+	}
+
+	/**
+	 * Get the power to apply during a cycle.
+	 *
+	 * @param cycle
+	 * 		The number of the cycle, counting from zero at the start of the move.
+	 *
+	 * @return The proportion of full power to apply during the cycle; zero once the profile has finished.
+	 */
+	public double getPower(final int cycle) {
+		if (cycle < 0) {
+			throw new IllegalArgumentException("cycle expected to be non-negative");
+		}
+		return (cycle < powers.length) ? powers[cycle] : 0.0;
+	}
+
+	/**
+	 * Get where the motor should be at the end of a cycle.
+	 *
+	 * @param cycle
+	 * 		The number of the cycle, counting from zero at the start of the move.
+	 *
+	 * @return The number of ticks the motor should have moved by the end of the cycle; the whole move once the
+	 * 		profile has finished.
+	 */
+	public double getTickNumber(final int cycle) {
+		if (cycle < 0) {
+			throw new IllegalArgumentException("cycle expected to be non-negative");
+		}
+		return (cycle < tickNumbers.length) ? tickNumbers[cycle] : ticks;
+	}
+
+	/**
+	 * @return The number of ticks the profile moves.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+}
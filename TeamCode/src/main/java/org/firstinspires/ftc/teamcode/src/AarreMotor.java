@@ -4,10 +4,7 @@ import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
-import com.qualcomm.robotcore.util.ElapsedTime;
 
-import java.util.Date;
-import java.util.logging.*;
 
 
 /**
@@ -31,10 +28,12 @@ public class AarreMotor implements AarreMotorInterface {
 
 	private static final int MILLISECONDS_PER_SECOND = 1000;
 
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
 	private static final int MILLISECONDS_PER_CYCLE = 50;
 
 	// How much to increment the motor power in each cycle of power ramping (slowing down / speeding up)
-	private static final AarrePowerMagnitude DEFAULT_POWER_INCREMENT_PER_CYCLE = new AarrePowerMagnitude(0.1);
+	private static final AarrePowerMagnitude DEFAULT_POWER_INCREMENT_PER_CYCLE = AarrePowerMagnitude.DEFAULT_INCREMENT;
 
 	// How much tolerance to allow when deciding whether we have reached a requested motor power
 	private static final AarrePowerMagnitude DEFAULT_PROPORTION_POWER_TOLERANCE = new AarrePowerMagnitude(0.01);
@@ -42,50 +41,68 @@ public class AarreMotor implements AarreMotorInterface {
 	// How long to allow a motor operation to continue before timing out
 	private static final double DEFAULT_SECONDS_TIMEOUT = 5.0;
 
+	// What proportion of the distance between the motor and its motion profile to make up in one cycle at full power
+	private static final double DEFAULT_PROFILE_POSITION_GAIN = 0.5;
+
 	private final  DcMotor             motor;
-	static private AarreTelemetry      telemetry;
+	private final  AarreTelemetry      telemetry;
+	private final  AarreLogger         log;
 	private final  LinearOpMode        opMode;
 	private final  HardwareMap         hardwareMap;
+	private        AarreClock          clock;
 	private        AarrePowerMagnitude powerMagnitudeIncrementPerCycle = DEFAULT_POWER_INCREMENT_PER_CYCLE;
 	private        AarrePowerMagnitude powerMagnitudeTolerance         = DEFAULT_PROPORTION_POWER_TOLERANCE;
-	private        int                 oldTickNumber                   = 0;
+	private        double              powerPerSecondSquared           = 0.0;
 	private        int                 stallTimeLimitInMilliseconds;
 	private        int                 stallDetectionToleranceInTicks;
-	private        ElapsedTime         timeStalledInMilliseconds       = null;
+	private final  String              motorName;
+	private        DcMotor.RunMode     runMode                         = DcMotor.RunMode.STOP_AND_RESET_ENCODER;
 
-	private double revolutionsPerMinute;
-	private double ticksPerRevolution;
+	// The encoder reading that counts as tick number zero. Resetting the tick number moves this rather than
+	// switching the motor to STOP_AND_RESET_ENCODER, which stops the motor and costs several bus round trips.
+	private volatile int tickNumberZero;
 
-	static Logger log;
+	private AarreCycleScheduler  cycleScheduler;
+	private AarreCycleStatistics cycleStatistics;
+	private AarreReadCache       readCache;
 
-	static {
-		log = Logger.getLogger(AarreMotor.class.getName());
-		log.setUseParentHandlers(false);
-		ConsoleHandler handler = new ConsoleHandler();
-		handler.setLevel(Level.ALL);
-		handler.setFormatter(new SimpleFormatter() {
+	// The values of this motor kept in the read cache
+	private final AarreReadCache.Slot tickNumberSlot = new AarreReadCache.Slot();
+	private final AarreReadCache.Slot powerSlot      = new AarreReadCache.Slot();
+	private final AarreReadCache.Slot busySlot       = new AarreReadCache.Slot();
 
-			private static final String format = "%1$tF %1$tT [%2$s] %3$s : %4$s %n";
+	// The last values written to this motor, kept in the write cache
+	private       AarreWriteCache      writeCache;
+	private final AarreWriteCache.Slot powerWriteSlot             = new AarreWriteCache.Slot();
+	private final AarreWriteCache.Slot modeWriteSlot              = new AarreWriteCache.Slot();
+	private final AarreWriteCache.Slot directionWriteSlot         = new AarreWriteCache.Slot();
+	private final AarreWriteCache.Slot targetPositionWriteSlot    = new AarreWriteCache.Slot();
+	private final AarreWriteCache.Slot zeroPowerBehaviorWriteSlot = new AarreWriteCache.Slot();
 
-			@Override
-			public synchronized String format(LogRecord lr) {
-				String formattedLogRecord = String.format(format, new Date(lr.getMillis()), lr.getLevel()
-						.getLocalizedName(), lr
-						.getLoggerName(), lr.getMessage());
-				telemetry.log(formattedLogRecord);
-				return formattedLogRecord;
-			}
+	// Fed with every encoder reading, and shared by stall detection, velocity control and the flight recorder
+	private final AarreVelocityEstimator velocityEstimator;
 
-		});
-		log.addHandler(handler);
-		log.setLevel(Level.ALL);
-	}
+	// Closed-loop velocity control, which is off (open-loop power) unless a controller has been set
+	private AarreVelocityController velocityController;
+	private long                    velocityNanoseconds;
+
+	// State for the flight recorder, which is off unless a recorder has been set
+	private AarreFlightRecorder flightRecorder;
+	private int                 flightRecorderMotorId;
+
+	private double revolutionsPerMinute;
+	private double ticksPerRevolution;
+
+	// Measured speeds at each power, which replace the nameplate speed unless they are null
+	private AarreMotorCharacterization characterization;
 
 	public AarreMotor(LinearOpMode opMode, final String motorName) {
 
 		this.opMode = opMode;
+		this.motorName = motorName;
 
 		telemetry = new AarreTelemetry(opMode.telemetry);
+		log = new AarreLogger(telemetry);
 
 		/*
 		  hardwareMap will be null if we are running off-robot, but for testing purposes it is
@@ -100,10 +117,71 @@ public class AarreMotor implements AarreMotorInterface {
 			motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
 		}
 
+		clock = AarreSimulatedHardwareMap.clockFor(hardwareMap);
+
+		cycleStatistics = new AarreCycleStatistics(clock);
+		log.setCycleStatistics(cycleStatistics);
+
+		readCache = new AarreReadCache(clock);
+		writeCache = new AarreWriteCache();
+
+		cycleScheduler = new AarreCycleScheduler(opMode, clock, MILLISECONDS_PER_CYCLE);
+		cycleScheduler.setCycleStatistics(cycleStatistics);
+		cycleScheduler.setReadCache(readCache);
+
 		// These are defaults. The user should customize them
 		stallDetectionToleranceInTicks = 5;
 		stallTimeLimitInMilliseconds = 100;
 
+		velocityEstimator = new AarreVelocityEstimator(getMillisecondsVelocityWindow());
+
+	}
+
+	/**
+	 * Get the cache from which this motor serves repeated readings within a cycle, for example to count hits.
+	 */
+	public AarreReadCache getReadCache() {
+		return readCache;
+	}
+
+	/**
+	 * Get the cache that suppresses redundant writes to this motor, for example to count them.
+	 */
+	public AarreWriteCache getWriteCache() {
+		return writeCache;
+	}
+
+	/**
+	 * Get the scheduler that paces this motor's ramp loops, for example to count overruns.
+	 */
+	public AarreCycleScheduler getCycleScheduler() {
+		return cycleScheduler;
+	}
+
+	/**
+	 * Get the measured cycle periods and hardware and telemetry times of this motor's ramp loops.
+	 */
+	public AarreCycleStatistics getCycleStatistics() {
+		return cycleStatistics;
+	}
+
+	/**
+	 * Get the logger for this motor, for example to set its level.
+	 * <p>
+	 * The motor logs its progress through ramps at {@link java.util.logging.Level#FINE} and its stall detection at
+	 * {@link java.util.logging.Level#FINEST}, so by default neither costs anything in the control loop.
+	 */
+	public AarreLogger getLogger() {
+		return log;
+	}
+
+	/**
+	 * Get the controller that chooses power from measured velocity.
+	 *
+	 * @return The controller, or {@code null} if velocity control is off.
+	 */
+	public AarreVelocityController getVelocityController() {
+		return velocityController;
 	}
 
 	public double getRevolutionsPerMinute() {
@@ -143,12 +221,41 @@ public class AarreMotor implements AarreMotorInterface {
 		return ticksPerRevolution;
 	}
 
+	/**
+	 * Get the speed of the motor at full power.
+	 * <p>
+	 * This is the measured speed if the motor has been characterized, or the nameplate speed otherwise.
+	 *
+	 * @return The speed in encoder ticks per second.
+	 */
 	public double getTicksPerSecond() {
+		if (characterization != null) {
+			return characterization.getTicksPerSecond(1.0);
+		}
 		return getTicksPerMinute() / SECONDS_PER_MINUTE;
 	}
 
 	public double getTicksPerSecond(AarrePowerMagnitude powerMagnitude) {
-		return getTicksPerMinute(powerMagnitude) / SECONDS_PER_MINUTE;
+		return getTicksPerSecond(powerMagnitude.asDouble());
+	}
+
+	/**
+	 * Get the speed of the motor at a power.
+	 * <p>
+	 * If the motor has been characterized, this interpolates between the measured speeds, which takes static friction
+	 * and load into account. Otherwise, it assumes that the speed is in proportion to the power, which overestimates
+	 * the speed at low power.
+	 *
+	 * @param powerMagnitude
+	 * 		The magnitude of the power, in the interval [0, 1].
+	 *
+	 * @return The speed in encoder ticks per second.
+	 */
+	public double getTicksPerSecond(double powerMagnitude) {
+		if (characterization != null) {
+			return characterization.getTicksPerSecond(powerMagnitude);
+		}
+		return (getTicksPerRevolution() * (revolutionsPerMinute * powerMagnitude)) / SECONDS_PER_MINUTE;
 	}
 
 	public double getTicksPerMillisecond() {
@@ -164,7 +271,11 @@ public class AarreMotor implements AarreMotorInterface {
 	}
 
 	public double getTicksPerCycle(AarrePowerMagnitude powerMagnitude) {
-		return getTicksPerMillisecond(powerMagnitude) * getMillisecondsPerCycle();
+		return getTicksPerCycle(powerMagnitude.asDouble());
+	}
+
+	public double getTicksPerCycle(double powerMagnitude) {
+		return (getTicksPerSecond(powerMagnitude) / MILLISECONDS_PER_SECOND) * getMillisecondsPerCycle();
 	}
 
 	/**
@@ -172,11 +283,34 @@ public class AarreMotor implements AarreMotorInterface {
 	 * <p>
 	 * Despite its name, the {@link DcMotor} method {@code getCurrentPosition} provides almost no information about
 	 * position. Therefore, we use a different name here.
+	 * <p>
+	 * The reading is relative to the last {@link #resetTickNumber()}.
 	 *
 	 * @return The current reading of the encoder for this motor, in ticks.
 	 */
 	public final int getCurrentTickNumber() {
-		return motor.getCurrentPosition();
+		return getAbsoluteTickNumber() - tickNumberZero;
+	}
+
+	/**
+	 * Get the reading of the encoder since the motor was initialized, unaffected by {@link #resetTickNumber()}.
+	 * <p>
+	 * Within one cycle of a ramp loop, the reading comes from the read cache after the first time.
+	 *
+	 * @return The absolute position of the motor shaft, in ticks.
+	 */
+	public final int getAbsoluteTickNumber() {
+		synchronized (tickNumberSlot) {
+			if (readCache.isFresh(tickNumberSlot)) {
+				return (int) AarreReadCache.getValue(tickNumberSlot);
+			}
+			final long nanosecondsStart = cycleStatistics.startTiming();
+			final int  tickNumber       = motor.getCurrentPosition();
+			cycleStatistics.recordHardware(nanosecondsStart);
+			readCache.store(tickNumberSlot, tickNumber);
+			velocityEstimator.add(clock.nanoTime(), tickNumber);
+			return tickNumber;
+		}
 	}
 
 	/**
@@ -189,40 +323,13 @@ public class AarreMotor implements AarreMotorInterface {
 	public int getNumberOfCycles(int ticksToMove, AarrePowerVector powerVectorCurrent, AarrePowerVector
 			powerVectorRequested) {
 
-		// The magnitude of the current and requested power
-		AarrePowerMagnitude powerMagnitudeCurrent   = powerVectorCurrent.getMagnitude();
-		AarrePowerMagnitude powerMagnitudeRequested = powerVectorRequested.getMagnitude();
-
-		// The average number of ticks per cycle during the ramp
-		double              currentMagnitude      = powerMagnitudeCurrent.asDouble();
-		double              requestedMagnitude    = powerMagnitudeRequested.asDouble();
-		double              averageMagnitude      = (currentMagnitude + requestedMagnitude) / 2;
-		AarrePowerMagnitude averagePowerMagnitude = new AarrePowerMagnitude(averageMagnitude);
-		double              averageTicksPerCycle  = averageMagnitude * getTicksPerCycle(averagePowerMagnitude);
-
-		// The magnitude of the power change over the ramp
-		AarrePowerVector    powerVectorChangeOverRamp    = powerVectorRequested.subtract(powerVectorCurrent);
-		AarrePowerMagnitude powerMagnitudeChangeOverRamp = powerVectorChangeOverRamp.getMagnitude();
-
-		// The number of cycles required to change power as much as requested
-		double numCyclesRequiredToChangePower = powerMagnitudeChangeOverRamp.divideBy
-				(DEFAULT_POWER_INCREMENT_PER_CYCLE);
-
-		// The number of ticks the motor would move if we changed the power that much
-		double potentialTicksInRamp = averageTicksPerCycle * numCyclesRequiredToChangePower;
-
-		// Return the number of cycles to change power or number of cycles to reach ticks,
-		// whichever is lower
-		double cyclesToChange = numCyclesRequiredToChangePower;
-		if (potentialTicksInRamp > ticksToMove) {
-			// TODO: Doesn't this assume that the motor is operating at full power?
-			double numCyclesRequiredToMoveTicks = ticksToMove / getTicksPerCycle();
-			cyclesToChange = numCyclesRequiredToMoveTicks;
-		}
-
-		int wholeCyclesToChange = (int) Math.round(cyclesToChange);
-		return wholeCyclesToChange;
+		// How far the motor turns in a cycle at the average power of the ramp
+		double averageMagnitude = (Math.abs(powerVectorCurrent.asDouble()) + Math.abs(powerVectorRequested.asDouble
+				())) / 2;
+		double ticksPerCycleAtAveragePower = getTicksPerCycle(averageMagnitude);
 
+		return AarreRampMath.getNumberOfCycles(ticksToMove, powerVectorCurrent, powerVectorRequested,
+				DEFAULT_POWER_INCREMENT_PER_CYCLE, ticksPerCycleAtAveragePower, getTicksPerCycle());
 	}
 
 
@@ -230,85 +337,52 @@ public class AarreMotor implements AarreMotorInterface {
 		return this.powerMagnitudeIncrementPerCycle;
 	}
 
+	public final AarrePowerMagnitude getPowerMagnitudeTolerance() {
+		return this.powerMagnitudeTolerance;
+	}
+
 	public AarrePowerVector getPowerVectorCurrent() {
-		return new AarrePowerVector(motor.getPower());
+		return new AarrePowerVector(getPower());
 	}
 
 	public final AarrePowerVector getPowerVectorNew(AarrePowerVector powerVectorCurrent, AarrePowerVector
 			powerVectorRequested) {
+		return AarreRampMath.getPowerVectorNew(powerVectorCurrent, powerVectorRequested,
+				getPowerMagnitudeIncrementPerCycle());
+	}
 
-		AarrePowerVector powerVectorNew;
-
-		/*
-		 * Use a double here because the power change can be outside the range of a power vector.
-		 * For example, if the power requested is -1 and the current power is 1, then the power
-		 * change is -1 - 1 = -2.
-		 *
-		 * TODO: Create "AarrePowerChange" class???
-		 */
-		double powerChangeDouble = powerVectorRequested.asDouble() - powerVectorCurrent.asDouble();
-
-		// The magnitude by which the power must change to reach the requested power
-		double powerChangeMagnitude = Math.abs(powerChangeDouble);
-		int    powerChangeDirection = (int) Math.signum(powerChangeDouble);
-
-		if (powerChangeMagnitude <= getPowerMagnitudeIncrementPerCycle().asDouble()) {
-			// Within one cycle, give them what they really want...
-			powerVectorNew = powerVectorRequested;
-		} else {
-			// Otherwise, give them what they need...
-			AarrePowerVector powerIncrementVector = new AarrePowerVector(getPowerMagnitudeIncrementPerCycle(),
-					powerChangeDirection);
-			powerVectorNew = powerVectorCurrent.add(powerIncrementVector);
-		}
-
-		return powerVectorNew;
-
+	public final double getPowerVectorNew(final double powerCurrent, final double powerRequested) {
+		return AarreRampMath.getPowerNew(powerCurrent, powerRequested, powerMagnitudeIncrementPerCycle.asDouble());
 	}
 
 	final public double getPower() {
-		return motor.getPower();
+		synchronized (powerSlot) {
+			if (readCache.isFresh(powerSlot)) {
+				return Double.longBitsToDouble(AarreReadCache.getValue(powerSlot));
+			}
+			final long   nanosecondsStart = cycleStatistics.startTiming();
+			final double power            = motor.getPower();
+			cycleStatistics.recordHardware(nanosecondsStart);
+			readCache.store(powerSlot, Double.doubleToRawLongBits(power));
+			return power;
+		}
 	}
 
 	final public double getTickNumberToStartSlowDown(final int tickNumberAtStartOfPeriod, final AarrePositiveInteger
 			numberOfTicksInPeriod, final AarrePowerVector powerVectorAtStartOfPeriod, final AarrePowerVector
 			powerVectorAtEndOfPeriod) {
-
-		AarrePowerMagnitude powerMagnitudeAtStartOfPeriod = powerVectorAtStartOfPeriod.getMagnitude();
-		AarrePowerMagnitude powerMagnitudeAtEndOfPeriod   = powerVectorAtEndOfPeriod.getMagnitude();
-		if (powerMagnitudeAtStartOfPeriod.asDouble() <= powerMagnitudeAtEndOfPeriod.asDouble()) {
-			throw new IllegalArgumentException("When slowing down, the absolute value of the " + "power at the start "
-					+ "of the slowdown must be greater " + "than the absolute value of the power at the end " + "of "
-					+ "the " + "slowdown" + ".");
-		}
-
-		AarrePowerVector    powerChangeVector      = powerVectorAtStartOfPeriod.subtract(powerVectorAtEndOfPeriod);
-		AarrePowerMagnitude magnitudeOfPowerChange = powerChangeVector.getMagnitude();
-		int                 powerChangeDirection   = powerChangeVector.getDirection();
-
-		final double numberOfCyclesInSlowDown = magnitudeOfPowerChange.divideBy(getPowerMagnitudeIncrementPerCycle());
-		final double numberOfTicksInSlowDown  = numberOfCyclesInSlowDown * getTicksPerCycle();
-		final double numberOfTicksToChange    = powerChangeDirection * numberOfTicksInSlowDown;
-		final double tickNumberAtEndOfPeriod = tickNumberAtStartOfPeriod + (numberOfTicksInPeriod.intValue() *
-				powerChangeDirection);
-		final double tickNumberToStartSlowDown = tickNumberAtEndOfPeriod - numberOfTicksToChange;
-
-		return tickNumberToStartSlowDown;
+		return AarreRampMath.getTickNumberToStartSlowDown(tickNumberAtStartOfPeriod, numberOfTicksInPeriod,
+				powerVectorAtStartOfPeriod, powerVectorAtEndOfPeriod, getPowerMagnitudeIncrementPerCycle(),
+				getTicksPerCycle());
 	}
 
 
 	/**
-	 * Get the number of milliseconds for which the motor has been stalled.
-	 *
-	 * @return The integer number of milliseconds during which the motor speed has been lowerUntilStalled than the
-	 * stall
-	 * 		detection tolerance.
+	 * Get how far back the velocity estimator looks: long enough to cover the stall time limit however the readings
+	 * happen to fall in time.
 	 */
-	private int getTimeStalledInMilliseconds() {
-
-		// Take the time stalled in (double) milliseconds, round to nearest long and cast to int
-		final double msStalledDbl = timeStalledInMilliseconds.time();
-		return (int) Math.round(msStalledDbl);
+	private int getMillisecondsVelocityWindow() {
+		return stallTimeLimitInMilliseconds + MILLISECONDS_PER_CYCLE;
 	}
 
 
@@ -317,14 +391,10 @@ public class AarreMotor implements AarreMotorInterface {
 
 		boolean valueToReturn = false;
 
-		log.finest(String.format("ticksMaximum: %f", ticksMaximum.doubleValue()));
-		log.finest(String.format("secondsTimeout: %f", secondsTimeout));
-		log.finest(String.format("secondsRunning: %f", secondsRunning));
-		log.finest(String.format("ticksMoved: %f", ticksMoved.doubleValue()));
-		telemetry.log(String.format("ticksMaximum: %f", ticksMaximum.doubleValue()));
-		telemetry.log(String.format("secondsTimeout: %f", secondsTimeout));
-		telemetry.log(String.format("secondsRunning: %f", secondsRunning));
-		telemetry.log(String.format("ticksMoved: %f", ticksMoved.doubleValue()));
+		log.finest("ticksMaximum: %d", ticksMaximum.intValue());
+		log.finest("secondsTimeout: %f", secondsTimeout);
+		log.finest("secondsRunning: %f", secondsRunning);
+		log.finest("ticksMoved: %d", ticksMoved.intValue());
 
 
 		if (Math.abs(ticksMoved.intValue()) >= Math.abs(ticksMaximum.intValue())) {
@@ -379,7 +449,16 @@ public class AarreMotor implements AarreMotorInterface {
 	 * @return Returns true if the motor is currently advancing or retreating to a target position.
 	 */
 	final boolean isBusy() {
-		return motor.isBusy();
+		synchronized (busySlot) {
+			if (readCache.isFresh(busySlot)) {
+				return AarreReadCache.getValue(busySlot) != 0L;
+			}
+			final long    nanosecondsStart = cycleStatistics.startTiming();
+			final boolean busy             = motor.isBusy();
+			cycleStatistics.recordHardware(nanosecondsStart);
+			readCache.store(busySlot, busy ? 1L : 0L);
+			return busy;
+		}
 	}
 
 
@@ -387,48 +466,35 @@ public class AarreMotor implements AarreMotorInterface {
 	 * Detect whether the motor is stalled.
 	 * <p>
 	 * The motor must not have moved more than a certain number of encoder clicks during a period of at least so many
-	 * milliseconds before we consider it stalled.
+	 * milliseconds before we consider it stalled. How far it has moved comes from the velocity estimated over that
+	 * period, so one noisy reading does not cause or hide a stall, and the stall is detected within the time limit
+	 * (plus a cycle) however fast the loop runs.
 	 *
 	 * @return {@code true} if the motor is stalled; {@code false} otherwise.
 	 */
 	private boolean isStalled() {
 
-		// TODO: Implement logging framework to allow logging by severity level
-		telemetry.log("Time stalled = ", "%d ms", getTimeStalledInMilliseconds());
-		telemetry.log("Stall time limit = ", "%d ms", stallTimeLimitInMilliseconds);
-
-		boolean   stalled       = false;
-		final int newTickNumber = getCurrentTickNumber();
-
-		//telemetry.log("checking for a stall", "!");
-
-		if (Math.abs(newTickNumber - oldTickNumber) < stallDetectionToleranceInTicks) {
-
-			// The motor has not moved since the last time the position was read.
-
-			if (timeStalledInMilliseconds.time() > stallTimeLimitInMilliseconds) {
-
-				// The motor has been stalled for more than the time limit
-
-				telemetry.log("Motor stalled");
-				stalled = true;
-
-			}
-
-		} else {
-
-			// The motor has moved since the last time we checked the position
+		// Reading the encoder feeds the estimator
+		getAbsoluteTickNumber();
 
-			// Reset the timer
+		final long nanosecondsStallTimeLimit = stallTimeLimitInMilliseconds * 1000000L;
+		if (velocityEstimator.getNanosecondsSpanned() < nanosecondsStallTimeLimit) {
 
-			timeStalledInMilliseconds.reset();
+			// Not enough history yet to tell
+			return false;
 		}
 
-		// Save the new tick number as baseline for the next iteration
+		final double ticksPerSecond = velocityEstimator.getTicksPerSecond();
+		final double ticksMoved     = Math.abs(ticksPerSecond) * stallTimeLimitInMilliseconds /
+				MILLISECONDS_PER_SECOND;
+		log.finest("Ticks moved in stall time limit = %f", ticksMoved);
 
-		oldTickNumber = newTickNumber;
-
-		// Notify caller whether or not the motor is not stalled
+		boolean stalled = false;
+		if (ticksMoved < stallDetectionToleranceInTicks) {
+			log.info("Motor stalled");
+			stalled = true;
+			record(getPower(), true);
+		}
 
 		return stalled;
 
@@ -439,15 +505,15 @@ public class AarreMotor implements AarreMotorInterface {
 	 * Rotate this motor a certain number of ticks from its current position, speeding up at the beginning and slowing
 	 * down at the end.
 	 * <p>
-	 * We want to speed up and hold max speed for half of the ticks and then slow down and hold min speed for the other
-	 * half of the ticks.
-	 * <p>
-	 * In other words, ideally, the power profile should look something like this:
+	 * The whole move is planned as an {@link AarreMotionProfile} before it starts, so that the power profile looks
+	 * something like this:
 	 * <p>
 	 * ___/---\___
 	 * <p>
-	 * Things are complicated, however, because there may not be enough ticks to do a full speed up and slow down.
-	 * </p>
+	 * If there are not enough ticks to reach full speed, the profile is a triangle instead. Each cycle applies the
+	 * power from the profile, corrected in proportion to how far the motor is behind or ahead of where the profile
+	 * says it should be. When the profile has finished, the motor keeps correcting until it is within tolerance of
+	 * the target or the move times out.
 	 *
 	 * @param powerVector
 	 * 		The power at which to rotate, in the interval [-1.0, 1.0]. Positive values indicate rotation forward
@@ -464,230 +530,337 @@ public class AarreMotor implements AarreMotorInterface {
 			throw new IllegalArgumentException("secondsTimeout must non-negative");
 		}
 
+		final int direction = powerVector.getDirection();
+		if (direction == 0) {
+			return;
+		}
+
 		setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+		resetTickNumber();
 
-		double               ticksToSpeedUpDouble = ticksToRotate.doubleValue() / 2.0;
-		int                  ticksToSpeedUpInt    = (int) Math.round(ticksToSpeedUpDouble);
-		AarrePositiveInteger ticksToSpeedUp       = new AarrePositiveInteger(ticksToSpeedUpInt);
+		final double powerPerSecond = getPowerMagnitudeIncrementPerCycle().asDouble() * (double)
+				MILLISECONDS_PER_SECOND / (double) MILLISECONDS_PER_CYCLE;
+		final AarreMotionProfile profile = new AarreMotionProfile(ticksToRotate.intValue(), powerVector.getMagnitude()
+				.asDouble(), powerPerSecond, powerPerSecondSquared, getTicksPerSecond(), MILLISECONDS_PER_CYCLE);
 
-		int                  ticksToSlowDownInt = ticksToRotate.intValue() - ticksToSpeedUp.intValue();
-		AarrePositiveInteger ticksToSlowDown    = new AarrePositiveInteger(ticksToSlowDownInt);
+		log.fine("Motor - Ramp to encoder ticks(3), power: %f", powerVector.asDouble());
+		log.fine("Motor - Ramp to encoder ticks(3), ticks: %d, cycles: %d", ticksToRotate.intValue(), profile
+				.getNumberOfCycles());
 
-		log.fine(String.format("Motor - Ramp to encoder ticks(3), target power UP: %f" + powerVector.asDouble()));
-		rampToPower(powerVector, ticksToSpeedUp, secondsTimeout);
+		followMotionProfile(profile, direction, secondsTimeout);
 
-		log.fine(String.format("Motor - Ramp to encoder ticks(3), target power DOWN: %f", 0.0));
-		rampToPower(new AarrePowerVector(0.0), ticksToSlowDown, secondsTimeout);
+		setPowerVector(AarrePowerVector.ZERO);
+		setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+	}
 
-		motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
-		motor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+	/**
+	 * Follow a motion profile from the current tick number until the motor reaches the end of the profile, the
+	 * operation times out, or the opMode stops.
+	 *
+	 * @param profile
+	 * 		The profile to follow.
+	 * @param direction
+	 * 		{@link AarrePowerVector#FORWARD} to move toward higher tick numbers; {@link AarrePowerVector#REVERSE} to
+	 * 		move toward lower ones.
+	 * @param secondsTimeout
+	 * 		Maximum number of seconds to run.
+	 */
+	private void followMotionProfile(final AarreMotionProfile profile, final int direction, final double
+			secondsTimeout) {
+
+		final double ticksPerSecondAtFullPower = getTicksPerSecond();
+		final double secondsPerCycle           = profile.getMillisecondsPerCycle() / (double) MILLISECONDS_PER_SECOND;
+		final double tickNumberTarget          = direction * profile.getTicks();
+		final AarreTimer runtimeTotal          = new AarreTimer(clock);
+
+		int    cycle              = 0;
+		double tickNumberSetPoint = 0.0;
+
+		cycleScheduler.setMillisecondsPeriod(profile.getMillisecondsPerCycle());
+		cycleScheduler.start();
+		startVelocityMeasurement();
+		while (opMode.opModeIsActive() && (runtimeTotal.seconds() < secondsTimeout)) {
+
+			final int tickNumberCurrent = getCurrentTickNumber();
+			if ((cycle >= profile.getNumberOfCycles()) && (Math.abs(tickNumberTarget - tickNumberCurrent) <=
+					stallDetectionToleranceInTicks)) {
+				break;
+			}
+
+			final double ticksBehind          = tickNumberSetPoint - tickNumberCurrent;
+			final double ticksPerSecondTarget = (direction * profile.getPower(cycle) * ticksPerSecondAtFullPower) +
+					((DEFAULT_PROFILE_POSITION_GAIN * ticksBehind) / secondsPerCycle);
+			setPower(getPowerForVelocity(ticksPerSecondTarget));
+
+			log.finest("Motor::followMotionProfile - Tick number: %d", tickNumberCurrent);
+			log.finest("Motor::followMotionProfile - Set point: %f", tickNumberSetPoint);
+
+			tickNumberSetPoint = direction * profile.getTickNumber(cycle);
+			cycle++;
+
+			cycleScheduler.awaitNextCycle();
+		}
 	}
 
 
 	/**
-	 * Ramp the motor power up (or down) gradually to the requested proportion.
+	 * Choose the power that should turn the motor at a velocity.
 	 * <p>
-	 * The idea is to prevent slipping, sliding, jerking, wheelies, etc. due to excessive acceleration/deceleration.
-	 * <p>
-	 * This method uses default values for parameters that are likely not of interest to most callers.
+	 * With velocity control on, the controller chooses the power from the measured velocity. Otherwise the power is
+	 * the one that gives the velocity with no load: looked up in the characterization if the motor has one, or just
+	 * the proportion of full speed if not.
 	 *
-	 * @param powerVectorRequested
+	 * @param ticksPerSecondTarget
+	 * 		The velocity at which to turn the motor. Negative values turn it backward.
+	 *
+	 * @return The power to apply, in the interval [-1, 1].
 	 */
-	public void rampToPower(final AarrePowerVector powerVectorRequested) {
-		rampToPower(powerVectorRequested, DEFAULT_POWER_INCREMENT_PER_CYCLE, MILLISECONDS_PER_CYCLE,
-				DEFAULT_PROPORTION_POWER_TOLERANCE, DEFAULT_SECONDS_TIMEOUT);
+	private double getPowerForVelocity(final double ticksPerSecondTarget) {
+
+		// Reading the encoder feeds the estimator, which telemetry reads even without velocity control
+		getAbsoluteTickNumber();
+
+		if (velocityController == null) {
+			return getPowerFeedforward(ticksPerSecondTarget);
+		}
+
+		final long   nanoseconds    = clock.nanoTime();
+		final double secondsElapsed = (nanoseconds - velocityNanoseconds) / NANOSECONDS_PER_SECOND;
+		velocityNanoseconds = nanoseconds;
+		if (characterization == null) {
+			return velocityController.update(ticksPerSecondTarget, velocityEstimator.getTicksPerSecond(),
+					secondsElapsed);
+		}
+		return velocityController.update(ticksPerSecondTarget, velocityEstimator.getTicksPerSecond(),
+				secondsElapsed, getPowerFeedforward(ticksPerSecondTarget));
 	}
 
 	/**
-	 * Ramp the motor power up (or down) gradually to the requested amount until ticksMaximum or secondsTimeout has
-	 * been
-	 * reached.
+	 * Get the power that turns the motor at a velocity with no load.
 	 *
-	 * @param powerVectorRequested
-	 * 		The power to which the caller would like to ramp the motor at the end of the ramp time. Positive values
-	 * 		indicate forward power; Negative values indicate reverse power. The value is expected to be in the interval
-	 * 		[-1, 1].
-	 * @param ticksToMove
-	 * 		The number of encoder ticks to move. The method will stop when this number has been reached, unless it
-	 * 		times
-	 * 		out first.
-	 * @param secondsTimeout
-	 * 		The maximum number of seconds to run. The method will stop when this number has been reached, unless it
-	 * 		moves
-	 * 		enough ticks first.
+	 * @param ticksPerSecondTarget
+	 * 		The velocity at which to turn the motor. Negative values turn it backward.
+	 *
+	 * @return The power, in the interval [-1, 1].
 	 */
-	private void rampToPower(final AarrePowerVector powerVectorRequested, final AarrePositiveInteger ticksToMove,
-	                         final double secondsTimeout) {
+	private double getPowerFeedforward(final double ticksPerSecondTarget) {
+		if (characterization == null) {
+			return Math.max(-1.0, Math.min(1.0, ticksPerSecondTarget / getTicksPerSecond()));
+		}
+		return Math.signum(ticksPerSecondTarget) * characterization.getPowerMagnitudeForTicksPerSecond(Math.abs
+				(ticksPerSecondTarget));
+	}
 
-		AarrePowerVector powerVectorCurrent = this.getPowerVectorCurrent();
-		AarrePowerVector powerVectorChange  = powerVectorCurrent.subtract(powerVectorRequested);
+	/**
+	 * Forget the state of the velocity controller before a new move.
+	 */
+	private void startVelocityMeasurement() {
+		velocityNanoseconds = clock.nanoTime();
+		if (velocityController != null) {
+			velocityController.reset();
+		}
+	}
 
-		int powerChangeDirection = powerVectorChange.getDirection();
+	/**
+	 * Get the velocity of the motor, estimated from the encoder readings of the recent past.
+	 *
+	 * @return The velocity in ticks per second.
+	 */
+	public double getTicksPerSecondMeasured() {
+		return velocityEstimator.getTicksPerSecond();
+	}
 
-		if (powerChangeDirection == AarrePowerVector.FORWARD) {
-			speedUpToPower(powerVectorRequested, ticksToMove, secondsTimeout);
-		} else if (powerChangeDirection == AarrePowerVector.REVERSE) {
-			slowDownToPower(powerVectorRequested, ticksToMove, secondsTimeout);
-		} else {
-			//No change
-			if (powerChangeDirection != 0) {
-				throw new RuntimeException("Power change direction should be -1, 0, or 1");
-			}
-		}
+	/**
+	 * Get the estimator that turns encoder readings of this motor into velocity and acceleration.
+	 */
+	public AarreVelocityEstimator getVelocityEstimator() {
+		return velocityEstimator;
+	}
 
+	/**
+	 * @return The name of this motor in the hardware map.
+	 */
+	public String getName() {
+		return motorName;
 	}
 
 	/**
-	 * When ramping "down", the power change starts at the beginning of the motion, something like this:
+	 * Get the measured speeds of this motor at each power.
 	 *
-	 * <pre>
-	 * >_____
-	 *       \
-	 *        \
-	 *         \
-	 *          -|
-	 * </pre>
-	 * <p>
-	 * TODO: This is seriously buggy, does not distinguish +/- from increase/decrease
+	 * @return The characterization, or {@code null} if the motor uses its nameplate speed.
 	 */
-	private void slowDownToPower(final AarrePowerVector powerVectorAtEnd, final AarrePositiveInteger ticksToMove,
-	                             final double secondsTimeout) {
-
-		telemetry.log("Motor::slowDownToPower(3) - Target power: %f", powerVectorAtEnd);
+	public AarreMotorCharacterization getCharacterization() {
+		return characterization;
+	}
 
-		boolean keepWaiting;
-		boolean keepGoing;
-		int     tickNumberStart;
-		int     tickNumberCurrent;
+	/**
+	 * Use measured speeds for this motor instead of its nameplate speed, for example ones loaded from the file that
+	 * {@link #characterize(int, double)} produced.
+	 *
+	 * @param characterization
+	 * 		The characterization, or {@code null} to go back to the nameplate speed.
+	 */
+	public void setCharacterization(final AarreMotorCharacterization characterization) {
+		this.characterization = characterization;
+	}
 
-		AarrePowerVector powerVectorCurrent;
-		AarrePowerVector powerVectorNew;
-		double           millisecondsSinceChange;
+	/**
+	 * Measure how fast this motor turns, and how quickly it gets there, at each of a number of evenly spaced powers.
+	 * <p>
+	 * From rest, the motor runs at each power in turn for a fixed time, long enough for it to reach a steady speed.
+	 * The speed at the end of that time and the greatest acceleration during it are the measurements for that power.
+	 * The motor is then stopped and allowed to come to rest before the next power. The motor must be free to turn in
+	 * its positive direction for the whole time, so put the robot up on blocks before characterizing a drive motor.
+	 * The motor stays in its current run mode, which should be the one it will be driven in, because the motor
+	 * controller regulates speed in RUN_USING_ENCODER but not in RUN_WITHOUT_ENCODER.
+	 * <p>
+	 * This does not change which speeds the motor uses; pass the result to {@link
+	 * #setCharacterization(AarreMotorCharacterization)} for that.
+	 *
+	 * @param numberOfSteps
+	 * 		How many equal steps of power to take from zero to full power. Must be positive.
+	 * @param secondsPerStep
+	 * 		How long to run the motor at each power. Must be positive.
+	 *
+	 * @return The characterization, or {@code null} if the opMode stopped before it was finished.
+	 */
+	public AarreMotorCharacterization characterize(final int numberOfSteps, final double secondsPerStep) {
 
-		ElapsedTime runtimeFromStart;
-		ElapsedTime runtimeSinceChange;
+		if (numberOfSteps <= 0) {
+			throw new IllegalArgumentException("numberOfSteps expected to be positive");
+		}
+		if (secondsPerStep <= 0.0) {
+			throw new IllegalArgumentException("secondsPerStep expected to be positive");
+		}
 
-		runtimeFromStart = new ElapsedTime();
-		tickNumberStart = getCurrentTickNumber();
+		final long     nanosecondsPerStep    = (long) (secondsPerStep * NANOSECONDS_PER_SECOND);
+		final double[] ticksPerSecond        = new double[numberOfSteps + 1];
+		final double[] ticksPerSecondSquared = new double[numberOfSteps + 1];
 
-		waitForSlowDown(powerVectorAtEnd, ticksToMove, tickNumberStart);
+		cycleScheduler.setMillisecondsPeriod(MILLISECONDS_PER_CYCLE);
+		cycleScheduler.start();
 
-		/*
-		 * Ramp down
-		 */
-		keepGoing = true;
-		while (keepGoing && opMode.opModeIsActive()) {
+		// At zero power, the motor does not move at all
+		for (int step = 1; step <= numberOfSteps; step++) {
 
-			opMode.idle();
-			tickNumberCurrent = getCurrentTickNumber();
+			final double power = (double) step / numberOfSteps;
 
-			powerVectorCurrent = getPowerVectorCurrent();
-			powerVectorNew = getPowerVectorNew(powerVectorCurrent, powerVectorAtEnd);
+			awaitRest(nanosecondsPerStep);
 
-			setPowerVector(powerVectorNew);
+			// Only the readings at this power belong in the estimates
+			velocityEstimator.reset();
+			setPower(power);
 
-			telemetry.log("Motor::slowDownToPower(3) - Milliseconds elapsed %f", runtimeFromStart.milliseconds());
-			telemetry.log("Motor::slowDownToPower(3) - Current tick number: %d", tickNumberCurrent);
-			telemetry.log("Motor::slowDownToPower(3) - New power: %f", powerVectorNew);
+			double       ticksPerSecondSquaredMaximum = 0.0;
+			final long   nanosecondsDeadline          = clock.nanoTime() + nanosecondsPerStep;
+			while (opMode.opModeIsActive() && (clock.nanoTime() < nanosecondsDeadline)) {
 
-			/*
-			 * Wait for next power change
-			 */
-			runtimeSinceChange = new ElapsedTime();
-			millisecondsSinceChange = 0.0;
-			while ((millisecondsSinceChange < (double) MILLISECONDS_PER_CYCLE) && opMode.opModeIsActive()) {
-				// Wait until it is time for next power increment
-				//opMode.idle();
-				millisecondsSinceChange = runtimeSinceChange.milliseconds();
+				// Reading the encoder feeds the estimator
+				getAbsoluteTickNumber();
+				ticksPerSecondSquaredMaximum = Math.max(ticksPerSecondSquaredMaximum, Math.abs(velocityEstimator
+						.getTicksPerSecondSquared()));
+				cycleScheduler.awaitNextCycle();
 			}
 
-			keepGoing = isSlowDownToEncoderTicksRunning(tickNumberStart, tickNumberCurrent, ticksToMove,
-					powerVectorCurrent, powerVectorAtEnd);
+			getAbsoluteTickNumber();
+			ticksPerSecond[step] = Math.abs(velocityEstimator.getTicksPerSecond());
+			ticksPerSecondSquared[step] = ticksPerSecondSquaredMaximum;
+
+			log.fine("Motor - Characterize, power: %f, ticks per second: %f", power, ticksPerSecond[step]);
+		}
+
+		setPower(0.0);
 
+		if (!opMode.opModeIsActive()) {
+			return null;
 		}
+		return new AarreMotorCharacterization(ticksPerSecond, ticksPerSecondSquared);
 	}
 
 	/**
-	 * Wait until it is time to begin slowing down power to the motor.
+	 * Wait until the motor has moved less than the stall detection tolerance during the stall time limit, after
+	 * stopping it.
 	 *
-	 * @param powerVectorAtEnd
-	 * @param ticksToMove
-	 * @param tickNumberStart
+	 * @param nanosecondsTimeout
+	 * 		How long to wait at most.
 	 */
-	private void waitForSlowDown(AarrePowerVector powerVectorAtEnd, AarrePositiveInteger ticksToMove, int tickNumberStart) {
-		boolean          keepWaiting;
-		int              tickNumberCurrent;
-		AarrePowerVector powerVectorCurrent;
-
-		/*
-		 * Wait for the right time to start slowing down
-		 */
-		keepWaiting = true;
-		while (keepWaiting && opMode.opModeIsActive()) {
-			opMode.idle();
-			tickNumberCurrent = getCurrentTickNumber();
-			powerVectorCurrent = getPowerVectorCurrent();
-			keepWaiting = !isSlowDownToEncoderTicksRunning(tickNumberStart, tickNumberCurrent, ticksToMove,
-					powerVectorCurrent, powerVectorAtEnd);
+	private void awaitRest(final long nanosecondsTimeout) {
+
+		setPower(0.0);
+		velocityEstimator.reset();
+
+		final long nanosecondsStallTimeLimit = stallTimeLimitInMilliseconds * 1000000L;
+		final long nanosecondsDeadline       = clock.nanoTime() + nanosecondsTimeout;
+		while (opMode.opModeIsActive() && (clock.nanoTime() < nanosecondsDeadline)) {
+
+			getAbsoluteTickNumber();
+			if (velocityEstimator.getNanosecondsSpanned() >= nanosecondsStallTimeLimit) {
+				final double ticksMoved = Math.abs(velocityEstimator.getTicksPerSecond()) *
+						stallTimeLimitInMilliseconds / MILLISECONDS_PER_SECOND;
+				if (ticksMoved < stallDetectionToleranceInTicks) {
+					return;
+				}
+			}
+			cycleScheduler.awaitNextCycle();
 		}
 	}
 
 	/**
-	 * When speeding up, the power change starts at the beginning of the motion, something like this:
+	 * Turn the motor at a constant velocity for a fixed amount of time.
+	 * <p>
+	 * This is most useful with velocity control on (see {@link #setVelocityController(AarreVelocityController)}),
+	 * which keeps the velocity up under load. Without it, the motor gets the power that would give the velocity with
+	 * no load.
 	 *
-	 * <pre>
-	 *          _____>
-	 *         /
-	 *        /
-	 *     |_/
-	 * </pre>
+	 * @param ticksPerSecond
+	 * 		The velocity at which to turn the motor. Negative values turn it backward.
+	 * @param secondsToRun
+	 * 		Number of seconds for which to run the motor. Must be non-negative.
 	 */
-	private void speedUpToPower(final AarrePowerVector powerVectorRequested, final AarrePositiveInteger ticksToMove,
-	                            final double secondsTimeout) {
-
-		telemetry.log("Motor::speedUpToPower(3) - Target power: %f", powerVectorRequested);
-		telemetry.log("Motor::speedUpToPower(3) - Target ticks: %d", ticksToMove);
-
-		ElapsedTime runtimeSinceChange;
-		ElapsedTime runtimeTotal;
-
-		double secondsRunning;
-		int    tickNumberCurrent;
-		int    tickNumberStart;
-
-		AarrePowerVector powerVectorNew;
-		double           millisecondsSinceChange;
-
-		tickNumberStart = getCurrentTickNumber();
-		telemetry.log("Motor::speedUpToPower(3) - Starting tick number: %d", tickNumberStart);
+	public final void runAtVelocity(final double ticksPerSecond, final double secondsToRun) {
 
-		secondsRunning = 0.0;
-		AarreNonNegativeInteger ticksMoved = new AarreNonNegativeInteger(0);
-
-		runtimeTotal = new ElapsedTime();
+		if (secondsToRun < 0.0) {
+			throw new IllegalArgumentException("secondsToRun expected to be non-negative");
+		}
 
-		while (!isSpeedUpToEncoderTicksDone(ticksToMove, secondsTimeout, secondsRunning, ticksMoved)) {
+		setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
 
-			AarrePowerVector powerVectorCurrent = this.getPowerVectorCurrent();
-			powerVectorNew = getPowerVectorNew(powerVectorCurrent, powerVectorRequested);
-			setPowerVector(powerVectorNew);
+		final AarreTimer runtimeTotal = new AarreTimer(clock);
 
-			runtimeSinceChange = new ElapsedTime();
-			millisecondsSinceChange = 0.0;
+		cycleScheduler.setMillisecondsPeriod(MILLISECONDS_PER_CYCLE);
+		cycleScheduler.start();
+		startVelocityMeasurement();
+		while (opMode.opModeIsActive() && (runtimeTotal.seconds() < secondsToRun)) {
+			setPower(getPowerForVelocity(ticksPerSecond));
+			cycleScheduler.awaitNextCycle();
+		}
 
-			while ((millisecondsSinceChange < (double) MILLISECONDS_PER_CYCLE) && opMode.opModeIsActive()) {
-				// Wait until it is time for next power increment
-				opMode.idle();
-				millisecondsSinceChange = runtimeSinceChange.milliseconds();
-			}
+		rampToPower(AarrePowerVector.ZERO);
+	}
 
-			tickNumberCurrent = getCurrentTickNumber();
-			ticksMoved = new AarreNonNegativeInteger(tickNumberCurrent - tickNumberStart);
-			telemetry.log("Motor::speedUpToPower(3) - Milliseconds elapsed %f", runtimeTotal.milliseconds());
-			telemetry.log("Motor::speedUpToPower(3) - Current tick number: %d", tickNumberCurrent);
-			telemetry.log("Motor::speedUpToPower(3) - New power: %f", powerVectorNew);
+	/**
+	 * Ramp the motor power up (or down) gradually to the requested proportion.
+	 * <p>
+	 * The idea is to prevent slipping, sliding, jerking, wheelies, etc. due to excessive acceleration/deceleration.
+	 * <p>
+	 * This method uses default values for parameters that are likely not of interest to most callers.
+	 *
+	 * @param powerVectorRequested
+	 */
+	public void rampToPower(final AarrePowerVector powerVectorRequested) {
+		rampToPower(powerVectorRequested.asDouble());
+	}
 
-		}
+	/**
+	 * Ramp the motor power up (or down) gradually to the requested proportion, using default values for the other
+	 * parameters.
+	 *
+	 * @param powerRequested
+	 * 		The power at the end of the ramp, in the interval [-1, 1].
+	 */
+	public void rampToPower(final double powerRequested) {
+		rampToPower(powerRequested, powerMagnitudeIncrementPerCycle.asDouble(), MILLISECONDS_PER_CYCLE,
+				DEFAULT_PROPORTION_POWER_TOLERANCE.asDouble(), DEFAULT_SECONDS_TIMEOUT);
 	}
 
 	/**
@@ -713,55 +886,76 @@ public class AarreMotor implements AarreMotorInterface {
 	public void rampToPower(final AarrePowerVector powerVectorRequested, final AarrePowerMagnitude
 			powerIncrementMagnitude, final int millisecondsCycleLength, final AarrePowerMagnitude
 			powerToleranceMagnitude, final double secondsTimeout) {
+		rampToPower(powerVectorRequested.asDouble(), powerIncrementMagnitude.asDouble(), millisecondsCycleLength,
+				powerToleranceMagnitude.asDouble(), secondsTimeout);
+	}
 
-		telemetry.log("Motor - Ramp to power (5), total target power: %f", powerVectorRequested.asDouble());
+	/**
+	 * Ramp the motor power up (or down) gradually to the requested amount, without allocating in any cycle of the
+	 * ramp.
+	 *
+	 * @param powerRequested
+	 * 		The power at the end of the ramp, in the interval [-1, 1].
+	 * @param powerIncrement
+	 * 		How much to increase or decrease the power during each cycle, in the interval [0, 1].
+	 * @param millisecondsCycleLength
+	 * 		The length of each cycle in milliseconds.
+	 * @param powerTolerance
+	 * 		If the actual motor power is at least this close to the requested motor power, then we stop incrementing
+	 * 		the power.
+	 * @param secondsTimeout
+	 * 		How long to allow the ramp to run.
+	 */
+	public void rampToPower(final double powerRequested, final double powerIncrement, final int
+			millisecondsCycleLength, final double powerTolerance, final double secondsTimeout) {
 
-		AarrePowerVector    powerVectorCurrent;
-		AarrePowerVector    powerVectorNew;
-		AarrePowerVector    vectorOfLastPowerChange;
-		AarrePowerMagnitude magnitudeOfLastPowerChange;
-		double              millisecondsSinceChange;
+		log.fine("Motor - Ramp to power (5), total target power: %f", powerRequested);
 
-		magnitudeOfLastPowerChange = new AarrePowerMagnitude(1.0);
+		final long nanosecondsDeadline = clock.nanoTime() + (long) (secondsTimeout * NANOSECONDS_PER_SECOND);
+		double     powerChange         = 1.0;
 
-		while ((magnitudeOfLastPowerChange.isGreaterThan(powerToleranceMagnitude)) && opMode.opModeIsActive()) {
+		cycleScheduler.setMillisecondsPeriod(millisecondsCycleLength);
+		cycleScheduler.start();
+		while ((powerChange > powerTolerance) && opMode.opModeIsActive() && (clock.nanoTime() <
+				nanosecondsDeadline)) {
 
-			powerVectorCurrent = getPowerVectorCurrent();
+			final double powerCurrent = getPower();
 
-			vectorOfLastPowerChange = powerVectorRequested.subtract(powerVectorCurrent);
-			magnitudeOfLastPowerChange = vectorOfLastPowerChange.getMagnitude();
+			powerChange = Math.abs(powerRequested - powerCurrent);
 
-			powerVectorNew = getPowerVectorNew(powerVectorCurrent, powerVectorRequested);
+			final double powerNew = AarreRampMath.getPowerNew(powerCurrent, powerRequested, powerIncrement);
 
-			telemetry.log("Motor - Ramp to power, current power target: %f", powerVectorNew.asDouble());
+			log.fine("Motor - Ramp to power, current power target: %f", powerNew);
 
-			setPowerVector(powerVectorNew);
+			setPower(powerNew);
 
 			/*
-			 * Wait for: (1) the cycle period to elapse, (2) the Op Mode to go inactive, (3) the
-			 * motor to stop, or (4) the timeout period to expire.
+			 * Wait for the cycle period to elapse or the Op Mode to go inactive.
 			 */
-
-			ElapsedTime elapsedTimeTotal       = new ElapsedTime();
-			ElapsedTime elapsedTimeSinceChange = new ElapsedTime();
-
-			millisecondsSinceChange = 0.0;
-			double  secondsRunning = 0.0;
-			boolean isMotorBusy    = true;
-
-			while ((millisecondsSinceChange < (double) millisecondsCycleLength) && opMode.opModeIsActive() &&
-					isMotorBusy && (secondsRunning < secondsTimeout)) {
-
-				//opMode.idle();
-				millisecondsSinceChange = elapsedTimeSinceChange.milliseconds();
-				secondsRunning = elapsedTimeTotal.seconds();
-				isMotorBusy = isBusy();
-			}
+			cycleScheduler.awaitNextCycle();
 
 		}
 
 	}
 
+	/**
+	 * Start ramping the motor power to the requested amount without waiting for the ramp to finish.
+	 * <p>
+	 * The engine advances the ramp by this motor's power increment in each of its cycles, alongside any other motors
+	 * ramping at the same time.
+	 *
+	 * @param rampEngine
+	 * 		The engine that will advance the ramp.
+	 * @param powerVectorRequested
+	 * 		The power to which the caller would like to ramp the motor.
+	 *
+	 * @return A handle with which to wait for the ramp to finish.
+	 */
+	public AarreRampHandle rampToPowerAsync(final AarreRampEngine rampEngine, final AarrePowerVector
+			powerVectorRequested) {
+		return rampEngine.rampToPower(this, powerVectorRequested);
+	}
+
 	/**
 	 * Run the motor a certain number of revolutions.
 	 *
@@ -776,7 +970,7 @@ public class AarreMotor implements AarreMotorInterface {
 
 		final int numberOfTicksToRunInt = (int) Math.round(getTicksPerRevolution() * targetNumberOfRevolutions);
 		final AarrePositiveInteger numberOfTicksToRun = new AarrePositiveInteger(numberOfTicksToRunInt);
-		telemetry.log("Motor - Run by revolutions, power: %f", proportionMotorPower.asDouble());
+		log.fine("Motor - Run by revolutions, power: %f", proportionMotorPower.asDouble());
 		rampToEncoderTicks(proportionMotorPower, numberOfTicksToRun, secondsTimeout);
 	}
 
@@ -795,21 +989,12 @@ public class AarreMotor implements AarreMotorInterface {
 			throw new IllegalArgumentException("secondsTimeout expected to be non-negative");
 		}
 
-		final ElapsedTime runtime;
-		double            secondsRunning;
-
 		setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
 
 		rampToPower(powerVector);
-		runtime = new ElapsedTime();
-		secondsRunning = runtime.seconds();
-
-		while (secondsRunning < secondsToRun && opMode.opModeIsActive()) {
-			secondsRunning = runtime.seconds();
-		}
+		cycleScheduler.sleepUntil(clock.nanoTime() + (long) (secondsToRun * NANOSECONDS_PER_SECOND));
 
-		rampToPower(new AarrePowerVector(0.0));
-		setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+		rampToPower(AarrePowerVector.ZERO);
 
 	}
 
@@ -821,13 +1006,45 @@ public class AarreMotor implements AarreMotorInterface {
 	 * 		How much power to apply to the motor, in the interval [-1,1].
 	 */
 	void runUntilStalled(final AarrePowerVector power) {
-		timeStalledInMilliseconds = new ElapsedTime(ElapsedTime.Resolution.MILLISECONDS);
 		rampToPower(power);
+
+		// The motor was standing still on purpose before the ramp, so that is not a stall
+		velocityEstimator.reset();
+		cycleScheduler.setMillisecondsPeriod(MILLISECONDS_PER_CYCLE);
+		cycleScheduler.start();
 		while (!(isStalled()) && opMode.opModeIsActive()) {
 			//telemetry.log("Not stalled yet...");
-			opMode.idle();
+			cycleScheduler.awaitNextCycle();
 		}
-		rampToPower(new AarrePowerVector(0.0));
+		rampToPower(AarrePowerVector.ZERO);
+	}
+
+	/**
+	 * Make the current position of the motor shaft tick number zero.
+	 * <p>
+	 * This is a local subtraction, so unlike STOP_AND_RESET_ENCODER mode it neither stops the motor nor changes its
+	 * run mode, and {@link #getAbsoluteTickNumber()} still reports the position since the motor was initialized.
+	 */
+	public final void resetTickNumber() {
+		tickNumberZero = getAbsoluteTickNumber();
+	}
+
+	/**
+	 * Set the clock on which this motor measures time and waits.
+	 * <p>
+	 * By default, this is the clock of the simulated hardware map off-robot, or the real clock on the robot.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+		cycleStatistics.setClock(clock);
+		cycleScheduler.setClock(clock);
+		readCache.setClock(clock);
 	}
 
 	/**
@@ -838,7 +1055,13 @@ public class AarreMotor implements AarreMotorInterface {
 	 */
 	public void setDirection(final DcMotorSimple.Direction direction) {
 		if (motor != null) {
-			motor.setDirection(direction);
+			synchronized (directionWriteSlot) {
+				if (writeCache.shouldWrite(directionWriteSlot, direction.ordinal())) {
+					motor.setDirection(direction);
+					// The hub applies the direction when power is written, so the next power must be written
+					clearPowerWriteSlot();
+				}
+			}
 		}
 	}
 
@@ -849,7 +1072,16 @@ public class AarreMotor implements AarreMotorInterface {
 	 * 		the new current run mode for this motor
 	 */
 	void setMode(final DcMotor.RunMode mode) {
-		motor.setMode(mode);
+		synchronized (modeWriteSlot) {
+			if (!writeCache.shouldWrite(modeWriteSlot, mode.ordinal())) {
+				return;
+			}
+			motor.setMode(mode);
+		}
+		runMode = mode;
+		clearReadCache();
+		// Changing the mode can stop the motor
+		clearPowerWriteSlot();
 	}
 
 	public void setPowerMagnitudeTolerance(AarrePowerMagnitude powerMagnitude) {
@@ -860,8 +1092,169 @@ public class AarreMotor implements AarreMotorInterface {
 		powerMagnitudeIncrementPerCycle = powerMagnitude;
 	}
 
+	/**
+	 * Limit how quickly the acceleration may change during moves by encoder ticks, which rounds the corners of their
+	 * motion profiles into S-curves.
+	 *
+	 * @param powerPerSecondSquared
+	 * 		The jerk limit, as a proportion of full power per second per second. Zero (the default) means no limit,
+	 * 		which gives trapezoidal profiles.
+	 */
+	public void setPowerPerSecondSquared(final double powerPerSecondSquared) {
+		if (powerPerSecondSquared < 0.0) {
+			throw new IllegalArgumentException("powerPerSecondSquared expected to be non-negative");
+		}
+		this.powerPerSecondSquared = powerPerSecondSquared;
+	}
+
 	public void setPowerVector(final AarrePowerVector powerVector) {
-		motor.setPower(powerVector.asDouble());
+		setPower(powerVector.asDouble());
+	}
+
+	/**
+	 * Set the power level of the motor without ramping, and without wrapping the power in a power vector.
+	 *
+	 * @param power
+	 * 		The new power level of the motor, a value in the interval [-1.0, 1.0]
+	 */
+	public void setPower(final double power) {
+		if (!((power >= -1.0) && (power <= 1.0))) {
+			throw new IllegalArgumentException("power expected to be in the interval [-1, 1]");
+		}
+		synchronized (powerWriteSlot) {
+			if (writeCache.shouldWrite(powerWriteSlot, power)) {
+				final long nanosecondsStart = cycleStatistics.startTiming();
+				motor.setPower(power);
+				cycleStatistics.recordHardware(nanosecondsStart);
+			}
+		}
+		synchronized (powerSlot) {
+			readCache.store(powerSlot, Double.doubleToRawLongBits(power));
+		}
+		record(power, false);
+	}
+
+	/**
+	 * Write the state of this motor to the flight recorder, if there is one.
+	 * <p>
+	 * The measured power is the speed since the last record, as a proportion of the free speed of the motor.
+	 *
+	 * @param powerCommanded
+	 * 		The power most recently commanded.
+	 * @param stalled
+	 * 		Whether the motor has just been found to be stalled.
+	 */
+	private void record(final double powerCommanded, final boolean stalled) {
+
+		if (flightRecorder == null) {
+			return;
+		}
+
+		final long nanoseconds = clock.nanoTime();
+		final int  tickNumber  = getAbsoluteTickNumber();
+
+		final double ticksPerSecondFree = (revolutionsPerMinute * ticksPerRevolution) / SECONDS_PER_MINUTE;
+		double       powerMeasured      = 0.0;
+		if (ticksPerSecondFree > 0.0) {
+			powerMeasured = velocityEstimator.getTicksPerSecond() / ticksPerSecondFree;
+		}
+
+		flightRecorder.record(nanoseconds, flightRecorderMotorId, tickNumber, powerCommanded, powerMeasured, runMode
+				.ordinal(), stalled);
+	}
+
+	/**
+	 * Record timings into shared statistics, for example so that both drive motors report into one set.
+	 *
+	 * @param cycleStatistics
+	 * 		The statistics into which to record this motor's timings.
+	 */
+	public void setCycleStatistics(final AarreCycleStatistics cycleStatistics) {
+		if (cycleStatistics == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: cycleStatistics");
+		}
+		this.cycleStatistics = cycleStatistics;
+		log.setCycleStatistics(cycleStatistics);
+		cycleScheduler.setCycleStatistics(cycleStatistics);
+	}
+
+	/**
+	 * Keep this motor's readings in a shared cache, for example so that one invalidation at the start of a drive
+	 * cycle covers both drive motors.
+	 *
+	 * @param readCache
+	 * 		The cache in which to keep readings.
+	 */
+	public void setReadCache(final AarreReadCache readCache) {
+		if (readCache == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: readCache");
+		}
+		this.readCache = readCache;
+		cycleScheduler.setReadCache(readCache);
+		clearReadCache();
+	}
+
+	/**
+	 * Keep the last values written to this motor in a shared cache, for example so that the counts of suppressed
+	 * writes cover both drive motors.
+	 *
+	 * @param writeCache
+	 * 		The cache in which to keep the values written.
+	 */
+	public void setWriteCache(final AarreWriteCache writeCache) {
+		if (writeCache == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: writeCache");
+		}
+		this.writeCache = writeCache;
+		for (final AarreWriteCache.Slot slot : new AarreWriteCache.Slot[]{powerWriteSlot, modeWriteSlot,
+				directionWriteSlot, targetPositionWriteSlot, zeroPowerBehaviorWriteSlot}) {
+			synchronized (slot) {
+				AarreWriteCache.clear(slot);
+			}
+		}
+	}
+
+	private void clearPowerWriteSlot() {
+		synchronized (powerWriteSlot) {
+			AarreWriteCache.clear(powerWriteSlot);
+		}
+	}
+
+	private void clearReadCache() {
+		synchronized (tickNumberSlot) {
+			AarreReadCache.clear(tickNumberSlot);
+		}
+		synchronized (powerSlot) {
+			AarreReadCache.clear(powerSlot);
+		}
+		synchronized (busySlot) {
+			AarreReadCache.clear(busySlot);
+		}
+	}
+
+	/**
+	 * Turn closed-loop velocity control on or off for moves by encoder ticks and {@link #runAtVelocity}.
+	 * <p>
+	 * For a controller whose feedforward suits this motor, construct it with {@link #getTicksPerSecond()}.
+	 *
+	 * @param velocityController
+	 * 		The controller that chooses the power from the measured velocity, or {@code null} to apply open-loop power.
+	 */
+	public void setVelocityController(final AarreVelocityController velocityController) {
+		this.velocityController = velocityController;
+	}
+
+	/**
+	 * Write the state of this motor to a flight recorder in every cycle.
+	 *
+	 * @param flightRecorder
+	 * 		The flight recorder, or {@code null} to stop recording.
+	 */
+	public void setFlightRecorder(final AarreFlightRecorder flightRecorder) {
+		if (flightRecorder != null) {
+			flightRecorderMotorId = flightRecorder.registerMotor(motorName);
+		}
+		this.flightRecorder = flightRecorder;
 	}
 
 
@@ -886,7 +1279,11 @@ public class AarreMotor implements AarreMotorInterface {
 	 * 		before we call it a stall.
 	 */
 	void setStallTimeLimitInMilliseconds(final int milliseconds) {
+		if (milliseconds <= 0) {
+			throw new IllegalArgumentException("milliseconds expected to be positive");
+		}
 		stallTimeLimitInMilliseconds = milliseconds;
+		velocityEstimator.setMillisecondsWindow(getMillisecondsVelocityWindow());
 	}
 
 	/**
@@ -902,13 +1299,32 @@ public class AarreMotor implements AarreMotorInterface {
 		setStallTimeLimitInMilliseconds(milliseconds);
 	}
 
+	/**
+	 * Set the target position for RUN_TO_POSITION mode.
+	 *
+	 * @param targetPositionTicks
+	 * 		The target, as a tick number relative to the last {@link #resetTickNumber()}.
+	 */
 	void setTargetPosition(final int targetPositionTicks) {
-		motor.setTargetPosition(targetPositionTicks);
+		final int targetPositionAbsolute = targetPositionTicks + tickNumberZero;
+		synchronized (targetPositionWriteSlot) {
+			if (!writeCache.shouldWrite(targetPositionWriteSlot, targetPositionAbsolute)) {
+				return;
+			}
+			motor.setTargetPosition(targetPositionAbsolute);
+		}
+		synchronized (busySlot) {
+			AarreReadCache.clear(busySlot);
+		}
 	}
 
 
 	void setZeroPowerBehavior(DcMotor.ZeroPowerBehavior zeroPowerBehavior) {
-		motor.setZeroPowerBehavior(zeroPowerBehavior);
+		synchronized (zeroPowerBehaviorWriteSlot) {
+			if (writeCache.shouldWrite(zeroPowerBehaviorWriteSlot, zeroPowerBehavior.ordinal())) {
+				motor.setZeroPowerBehavior(zeroPowerBehavior);
+			}
+		}
 	}
 
 }
@@ -0,0 +1,292 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How fast a particular motor actually turns, and how quickly it gets up to speed, at each level of power.
+ * <p>
+ * The nameplate speed of a motor is its speed at full power with no load, and the speed at lower power is usually
+ * taken to be in proportion. That is wrong at low power, where static friction holds the shaft still or slows it
+ * down, and wrong at any power once the motor has a mechanism to drive. A characterization replaces that assumption
+ * with measurements, made by {@link AarreMotor#characterize(int, double)}: for each of a number of evenly spaced power
+ * levels from zero to full, the steady-state velocity and the greatest acceleration on the way there.
+ * <p>
+ * Because the power levels are evenly spaced, finding the two that bracket a power is a multiplication rather than a
+ * search, so {@link #getTicksPerSecond(double)} takes constant time and allocates nothing, and can be called in every
+ * cycle of a control loop.
+ * <p>
+ * Going the other way, {@link #getPowerMagnitudeForTicksPerSecond(double)} finds the power that turns the motor at a
+ * speed, which is what a motor needs to apply to reach a commanded speed. Because the speeds are not evenly spaced,
+ * that is a binary search, which takes a handful of comparisons and also allocates nothing. The search runs over the
+ * speeds made monotone (each no less than the one below it), so that a noisy measurement cannot make it ambiguous.
+ * <p>
+ * A characterization is saved as CSV, one line per power level, so that it can be measured once on the robot and
+ * loaded whenever the robot starts; see {@link #getFile(File, String)}.
+ */
+public final class AarreMotorCharacterization {
+
+	static final String CSV_HEADER = "power,ticks_per_second,ticks_per_second_squared";
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	// How far a power level in a file may be from where it is expected before the file is rejected
+	private static final double POWER_TOLERANCE = 1.0e-6;
+
+	// Indexed by step: step k is at power k / numberOfSteps
+	private final double[] ticksPerSecond;
+	private final double[] ticksPerSecondSquared;
+	private final int      numberOfSteps;
+
+	// The same speeds, each raised if need be to the one below it, so that they can be searched
+	private final double[] ticksPerSecondMonotone;
+
+	/**
+	 * Construct a characterization from measurements at evenly spaced power levels.
+	 *
+	 * @param ticksPerSecond
+	 * 		The steady-state speed at each power level, in encoder ticks per second, from zero power at index 0 to full
+	 * 		power at the last index. There must be at least two levels, and the speed at full power must be positive.
+	 * @param ticksPerSecondSquared
+	 * 		The greatest acceleration on the way to each of the same speeds, in encoder ticks per second per second.
+	 */
+	public AarreMotorCharacterization(final double[] ticksPerSecond, final double[] ticksPerSecondSquared) {
+
+		if ((ticksPerSecond == null) || (ticksPerSecondSquared == null)) {
+			throw new IllegalArgumentException("Unexpected null parameter: ticksPerSecond or ticksPerSecondSquared");
+		}
+		if (ticksPerSecond.length < 2) {
+			throw new IllegalArgumentException("ticksPerSecond expected to have at least two power levels");
+		}
+		if (ticksPerSecondSquared.length != ticksPerSecond.length) {
+			throw new IllegalArgumentException("ticksPerSecondSquared expected to have one value per power level");
+		}
+		for (int step = 0; step < ticksPerSecond.length; step++) {
+			if (!(ticksPerSecond[step] >= 0.0) || !(ticksPerSecondSquared[step] >= 0.0)) {
+				throw new IllegalArgumentException("Speeds and accelerations expected to be non-negative numbers");
+			}
+		}
+		if (ticksPerSecond[ticksPerSecond.length - 1] <= 0.0) {
+			throw new IllegalArgumentException("ticksPerSecond at full power expected to be positive");
+		}
+
+		this.ticksPerSecond = ticksPerSecond.clone();
+		this.ticksPerSecondSquared = ticksPerSecondSquared.clone();
+		this.numberOfSteps = ticksPerSecond.length - 1;
+
+		this.ticksPerSecondMonotone = ticksPerSecond.clone();
+		for (int step = 1; step <= numberOfSteps; step++) {
+			ticksPerSecondMonotone[step] = Math.max(ticksPerSecondMonotone[step], ticksPerSecondMonotone[step - 1]);
+		}
+	}
+
+	/**
+	 * Get the file in which to keep the characterization of a motor.
+	 *
+	 * @param directory
+	 * 		The directory in which characterizations are kept.
+	 * @param motorName
+	 * 		The name of the motor in the hardware map.
+	 *
+	 * @return The file.
+	 */
+	public static File getFile(final File directory, final String motorName) {
+		if ((directory == null) || (motorName == null)) {
+			throw new IllegalArgumentException("Unexpected null parameter: directory or motorName");
+		}
+		return new File(directory, "AarreMotorCharacterization-" + motorName + ".csv");
+	}
+
+	/**
+	 * Read a characterization that was saved with {@link #save(File)}.
+	 *
+	 * @param path
+	 * 		The file to read.
+	 *
+	 * @return The characterization.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be read, or is not a characterization.
+	 */
+	public static AarreMotorCharacterization load(final File path) throws IOException {
+
+		final List<double[]> rows = new ArrayList<>();
+
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(path), CHARSET));
+		try {
+			final String header = reader.readLine();
+			if (!CSV_HEADER.equals(header)) {
+				throw new IOException("Not a motor characterization file: " + path);
+			}
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				final String[] fields = line.split(",");
+				if (fields.length != 3) {
+					throw new IOException("Expected three values in line: " + line);
+				}
+				final double[] row = new double[3];
+				for (int field = 0; field < 3; field++) {
+					try {
+						row[field] = Double.parseDouble(fields[field].trim());
+					} catch (NumberFormatException e) {
+						throw new IOException("Expected a number in line: " + line, e);
+					}
+				}
+				rows.add(row);
+			}
+		} finally {
+			reader.close();
+		}
+
+		final int      numberOfLevels        = rows.size();
+		final double[] ticksPerSecond        = new double[numberOfLevels];
+		final double[] ticksPerSecondSquared = new double[numberOfLevels];
+		for (int step = 0; step < numberOfLevels; step++) {
+			final double[] row = rows.get(step);
+			if (Math.abs(row[0] - ((double) step / (numberOfLevels - 1))) > POWER_TOLERANCE) {
+				throw new IOException("Power levels expected to be evenly spaced from 0 to 1 in: " + path);
+			}
+			ticksPerSecond[step] = row[1];
+			ticksPerSecondSquared[step] = row[2];
+		}
+
+		try {
+			return new AarreMotorCharacterization(ticksPerSecond, ticksPerSecondSquared);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Not a valid motor characterization: " + path, e);
+		}
+	}
+
+	/**
+	 * Write this characterization to a file, replacing whatever was there.
+	 *
+	 * @param path
+	 * 		The file to write.
+	 *
+	 * @throws IOException
+	 * 		If the file cannot be written.
+	 */
+	public void save(final File path) throws IOException {
+
+		final PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(path), CHARSET));
+		try {
+			writer.println(CSV_HEADER);
+			for (int step = 0; step <= numberOfSteps; step++) {
+				writer.println(String.format(Locale.US, "%.6f,%.3f,%.3f", getPowerMagnitude(step),
+						ticksPerSecond[step], ticksPerSecondSquared[step]));
+			}
+		} finally {
+			writer.close();
+		}
+		if (writer.checkError()) {
+			throw new IOException("Cannot write motor characterization: " + path);
+		}
+	}
+
+	/**
+	 * @return How many equal steps of power the characterization takes from zero to full power.
+	 */
+	public int getNumberOfSteps() {
+		return numberOfSteps;
+	}
+
+	/**
+	 * Get the power level at which one of the measurements was made.
+	 *
+	 * @param step
+	 * 		The step, from 0 (zero power) to {@link #getNumberOfSteps()} (full power).
+	 *
+	 * @return The power magnitude.
+	 */
+	public double getPowerMagnitude(final int step) {
+		return (double) step / numberOfSteps;
+	}
+
+	/**
+	 * Get the steady-state speed of the motor at a power, interpolating between the measured power levels.
+	 *
+	 * @param powerMagnitude
+	 * 		The magnitude of the power, in the interval [0, 1]. Values outside it are clipped.
+	 *
+	 * @return The speed in encoder ticks per second.
+	 */
+	public double getTicksPerSecond(final double powerMagnitude) {
+		return interpolate(ticksPerSecond, powerMagnitude);
+	}
+
+	/**
+	 * Get the greatest acceleration of the motor on the way to its speed at a power, interpolating between the
+	 * measured power levels.
+	 *
+	 * @param powerMagnitude
+	 * 		The magnitude of the power, in the interval [0, 1]. Values outside it are clipped.
+	 *
+	 * @return The acceleration in encoder ticks per second per second.
+	 */
+	public double getTicksPerSecondSquared(final double powerMagnitude) {
+		return interpolate(ticksPerSecondSquared, powerMagnitude);
+	}
+
+	/**
+	 * Get the least power at which the motor turns at a speed, interpolating between the measured power levels.
+	 * <p>
+	 * Where static friction holds the motor still at low power, any speed above zero needs at least the power at
+	 * which the motor starts to turn.
+	 *
+	 * @param ticksPerSecond
+	 * 		The magnitude of the speed, in encoder ticks per second. Speeds beyond the speed at full power give full
+	 * 		power.
+	 *
+	 * @return The power magnitude, in the interval [0, 1].
+	 */
+	public double getPowerMagnitudeForTicksPerSecond(final double ticksPerSecond) {
+
+		if (ticksPerSecond <= ticksPerSecondMonotone[0]) {
+			return 0.0;
+		}
+		if (ticksPerSecond >= ticksPerSecondMonotone[numberOfSteps]) {
+			return 1.0;
+		}
+
+		// Find the first step at least as fast, which is above step 0 and has a slower step below it
+		int low  = 1;
+		int high = numberOfSteps;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (ticksPerSecondMonotone[middle] < ticksPerSecond) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		final double ticksPerSecondBelow = ticksPerSecondMonotone[low - 1];
+		final double proportion          = (ticksPerSecond - ticksPerSecondBelow) / (ticksPerSecondMonotone[low] -
+				ticksPerSecondBelow);
+		return ((low - 1) + proportion) / numberOfSteps;
+	}
+
+	private double interpolate(final double[] values, final double powerMagnitude) {
+
+		final double position = Math.max(0.0, Math.min(1.0, powerMagnitude)) * numberOfSteps;
+
+		// At full power, interpolate within the last step rather than past the end of the table
+		final int    step       = Math.min((int) position, numberOfSteps - 1);
+		final double proportion = position - step;
+
+		return values[step] + ((values[step + 1] - values[step]) * proportion);
+	}
+}
@@ -29,6 +29,8 @@ abstract interface AarreMotorInterface {
 
 	double getTicksPerSecond(AarrePowerMagnitude powerMagnitude);
 
+	double getTicksPerSecond(double powerMagnitude);
+
 	/**
 	 * @return The number of ticks in a millisecond at maximum power.
 	 */
@@ -58,8 +60,31 @@ abstract interface AarreMotorInterface {
 	 */
 	double getTicksPerCycle(AarrePowerMagnitude powerMagnitude);
 
+	/**
+	 * Get the number of ticks in a power change cycle at a given power magnitude, without allocating.
+	 *
+	 * @param powerMagnitude
+	 * 		The magnitude of motor power, in the interval [0, 1].
+	 *
+	 * @return The number of ticks in a power change cycle when the motor is operating at powerMagnitude.
+	 */
+	double getTicksPerCycle(double powerMagnitude);
+
 	int getCurrentTickNumber();
 
+	/**
+	 * Get the reading of the encoder since the motor was initialized, unaffected by {@link #resetTickNumber()}.
+	 *
+	 * @return The absolute position of the motor shaft, in ticks.
+	 */
+	int getAbsoluteTickNumber();
+
+	/**
+	 * Make the current position of the motor shaft tick number zero, without stopping the motor or changing its
+	 * run mode.
+	 */
+	void resetTickNumber();
+
 	int getNumberOfCycles(int ticksToMove, AarrePowerVector powerVectorCurrent, AarrePowerVector powerVectorRequested);
 
 	/**
@@ -85,6 +110,18 @@ abstract interface AarreMotorInterface {
 	 */
 	AarrePowerVector getPowerVectorNew(AarrePowerVector powerVectorCurrent, AarrePowerVector powerVectorRequested);
 
+	/**
+	 * Get the power to which to change the motor when ramping, without allocating. The powers must be in [-1, 1].
+	 *
+	 * @param powerCurrent
+	 * 		The current power.
+	 * @param powerRequested
+	 * 		The power that the caller has requested.
+	 *
+	 * @return The new power to apply to the motor.
+	 */
+	double getPowerVectorNew(double powerCurrent, double powerRequested);
+
 	double getPower();
 
 	/**
@@ -163,9 +200,14 @@ abstract interface AarreMotorInterface {
 
 	void rampToPower(AarrePowerVector powerVectorRequested);
 
+	void rampToPower(double powerRequested);
+
 	void rampToPower(AarrePowerVector powerVectorRequested, AarrePowerMagnitude powerIncrementMagnitude, int
 			millisecondsCycleLength, AarrePowerMagnitude powerToleranceMagnitude, double secondsTimeout);
 
+	void rampToPower(double powerRequested, double powerIncrement, int millisecondsCycleLength, double
+			powerTolerance, double secondsTimeout);
+
 	/**
 	 * Set the magnitude by which the motor power will increment when ramping power up or down.
 	 *
@@ -202,6 +244,14 @@ abstract interface AarreMotorInterface {
 	 */
 	void setPowerVector(AarrePowerVector powerVector);
 
+	/**
+	 * Set the power level of the motor without ramping, and without allocating.
+	 *
+	 * @param power
+	 * 		The new power level of the motor, a value in the interval [-1.0, 1.0]
+	 */
+	void setPower(double power);
+
 	void setStallDetectionToleranceInTicks(int ticks);
 
 }
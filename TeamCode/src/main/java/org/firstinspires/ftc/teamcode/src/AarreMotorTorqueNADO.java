@@ -6,14 +6,27 @@ import java.util.logging.Logger;
 
 public class AarreMotorTorqueNADO extends AarreMotor implements AarreMotorInterface {
 
-	private static final double TORQUENADO_REVOLUTIONS_PER_MINUTE = 100;
+	/*
+	 * How many revolutions the shaft turns in one minute under no load
+	 */
+	static final double TORQUENADO_REVOLUTIONS_PER_MINUTE = 100;
 
-	private static final int TORQUENADO_TICKS_PER_REVOLUTION = 1440;
+	/*
+	 * How many encoder ticks in one revolution of the motor shaft
+	 */
+	static final int TORQUENADO_TICKS_PER_REVOLUTION = 1440;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
 	public AarreMotorTorqueNADO(LinearOpMode opMode, String motorName) {
 		super(opMode, motorName);
+
+		/*
+		 * Subclasses such as AarreDriveMotor (and AarreRiser) use this constructor directly rather than the
+		 * factory method, so the motor properties must be set here or they will be left at zero.
+		 */
+		setRevolutionsPerMinute(TORQUENADO_REVOLUTIONS_PER_MINUTE);
+		setTicksPerRevolution(TORQUENADO_TICKS_PER_REVOLUTION);
 	}
 
 	public static AarreMotorTorqueNADO createAarreMotorTorqueNADO(LinearOpMode opMode, String
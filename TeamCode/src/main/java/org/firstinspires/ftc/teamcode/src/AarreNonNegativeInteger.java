@@ -1,34 +1,42 @@
 package org.firstinspires.ftc.teamcode.src;
 
-import java.util.logging.Logger;
-
 /**
- * Wrapper class for Integer ensures the value is positive.
+ * Wrapper class for int ensures the value is non-negative.
  * <p>
  * Not all operations are supported.
  */
-public class AarreNonNegativeInteger {
-
-	private Integer value;
+public final class AarreNonNegativeInteger {
 
-	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+	private final int value;
 
 	public AarreNonNegativeInteger(int value) {
 		if (value < 0) {
 			throw new IllegalArgumentException("Value must be non-negative");
 		}
-		this.value = new Integer(value);
+		this.value = value;
 	}
 
 	public double doubleValue() {
-		return value.doubleValue();
+		return value;
 	}
 
 	public int intValue() {
-		return value.intValue();
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof AarreNonNegativeInteger) && (this.value == ((AarreNonNegativeInteger) other).value);
 	}
 
+	@Override
+	public int hashCode() {
+		return value;
+	}
+
+	@Override
 	public String toString() {
-		return String.format("%f", this.value);
+		return String.valueOf(this.value);
 	}
+
 }
@@ -0,0 +1,38 @@
+package org.firstinspires.ftc.teamcode.src;
+
+/**
+ * A point on the field, in the same coordinates as {@link AarrePose}.
+ * <p>
+ * Points never change after they are made.
+ */
+public final class AarrePoint {
+
+	private final double inchesX;
+	private final double inchesY;
+
+	/**
+	 * Construct a point.
+	 *
+	 * @param inchesX
+	 * 		The distance along the x axis, in inches.
+	 * @param inchesY
+	 * 		The distance along the y axis, in inches.
+	 */
+	public AarrePoint(final double inchesX, final double inchesY) {
+		this.inchesX = inchesX;
+		this.inchesY = inchesY;
+	}
+
+	public double getInchesX() {
+		return inchesX;
+	}
+
+	public double getInchesY() {
+		return inchesY;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("(%.1f, %.1f)", inchesX, inchesY);
+	}
+}
@@ -0,0 +1,64 @@
+package org.firstinspires.ftc.teamcode.src;
+
+/**
+ * Where the robot is on the field and which way it is pointing.
+ * <p>
+ * The x axis points the way the robot was facing when the pose was last set, and the y axis points to its left, so
+ * that headings are measured counterclockwise from the x axis, as they are for the IMU.
+ * <p>
+ * Poses never change after they are made, so they can be handed from one thread to another without locks.
+ */
+public final class AarrePose {
+
+	private final double inchesX;
+	private final double inchesY;
+	private final double degreesHeading;
+
+	/**
+	 * Construct a pose.
+	 *
+	 * @param inchesX
+	 * 		The distance along the x axis, in inches.
+	 * @param inchesY
+	 * 		The distance along the y axis, in inches.
+	 * @param degreesHeading
+	 * 		The heading in degrees, counterclockwise from the x axis. Values beyond +/-180 mean the robot has turned
+	 * 		more than half way round.
+	 */
+	public AarrePose(final double inchesX, final double inchesY, final double degreesHeading) {
+		this.inchesX = inchesX;
+		this.inchesY = inchesY;
+		this.degreesHeading = degreesHeading;
+	}
+
+	public double getInchesX() {
+		return inchesX;
+	}
+
+	public double getInchesY() {
+		return inchesY;
+	}
+
+	public double getDegreesHeading() {
+		return degreesHeading;
+	}
+
+	/**
+	 * Get the straight-line distance from this pose to a point, ignoring heading.
+	 *
+	 * @param inchesX
+	 * 		The x coordinate of the point, in inches.
+	 * @param inchesY
+	 * 		The y coordinate of the point, in inches.
+	 *
+	 * @return The distance in inches.
+	 */
+	public double getInchesTo(final double inchesX, final double inchesY) {
+		return Math.hypot(inchesX - this.inchesX, inchesY - this.inchesY);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("(%.1f, %.1f) %.1f", inchesX, inchesY, degreesHeading);
+	}
+}
@@ -0,0 +1,180 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * Keep track of where a differential-drive robot is on the field, from its wheel encoders and (if it has one) its
+ * IMU.
+ * <p>
+ * Each update reads how far each wheel has moved since the previous update. The robot is taken to have moved the
+ * average of the two distances along the heading half way between the old and new headings, which is exact for an
+ * arc of constant curvature and very close for the short arcs of one control cycle.
+ * <p>
+ * The wheels slip when the robot turns, so when there is an IMU its heading is used rather than the heading worked
+ * out from the difference between the wheels. Without an IMU, the difference between the wheels divided by the track
+ * width gives the change in heading.
+ * <p>
+ * The pose is kept in primitive fields, so updating it allocates nothing. Updates and reads are synchronized, so
+ * one thread can update the pose every control cycle while others read it.
+ */
+public class AarrePoseEstimator {
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final AarreDriveMotor leftMotor;
+	private final AarreDriveMotor rightMotor;
+	private final double          inchesTrackWidth;
+
+	private AarreHeadingProvider headingProvider;
+
+	private boolean hasTickNumbers;
+	private int     tickNumberLeftPrevious;
+	private int     tickNumberRightPrevious;
+	private double  degreesHeadingSourcePrevious;
+
+	private double inchesX;
+	private double inchesY;
+	private double degreesHeading;
+	private long   numberOfUpdates;
+
+	/**
+	 * Construct a pose estimator, with the robot at the origin and heading zero.
+	 *
+	 * @param leftMotor
+	 * 		The left drive motor, configured so that its encoder counts up when the robot moves forward.
+	 * @param rightMotor
+	 * 		The right drive motor, configured so that its encoder counts up when the robot moves forward.
+	 * @param inchesTrackWidth
+	 * 		The distance between the centers of the left and right drive wheels. Must be positive.
+	 */
+	public AarrePoseEstimator(final AarreDriveMotor leftMotor, final AarreDriveMotor rightMotor, final double
+			inchesTrackWidth) {
+
+		if (leftMotor == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: leftMotor");
+		}
+		if (rightMotor == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: rightMotor");
+		}
+		if (inchesTrackWidth <= 0.0) {
+			throw new IllegalArgumentException("inchesTrackWidth expected to be positive");
+		}
+
+		this.leftMotor = leftMotor;
+		this.rightMotor = rightMotor;
+		this.inchesTrackWidth = inchesTrackWidth;
+	}
+
+	/**
+	 * Read the encoders (and the IMU, if there is one) and move the pose on by however far the robot has moved since
+	 * the previous update.
+	 * <p>
+	 * Call this once every control cycle. Calling it less often is safe, but curves are followed less closely.
+	 */
+	public synchronized void update() {
+
+		final int    tickNumberLeft      = leftMotor.getAbsoluteTickNumber();
+		final int    tickNumberRight     = rightMotor.getAbsoluteTickNumber();
+		final double degreesHeadingSource;
+
+		final double inchesLeft  = (tickNumberLeft - tickNumberLeftPrevious) / leftMotor.getTicksPerInch();
+		final double inchesRight = (tickNumberRight - tickNumberRightPrevious) / rightMotor.getTicksPerInch();
+
+		if (headingProvider == null) {
+			degreesHeadingSource = degreesHeadingSourcePrevious + Math.toDegrees((inchesRight - inchesLeft) /
+					inchesTrackWidth);
+		} else {
+			degreesHeadingSource = headingProvider.getDegreesHeading();
+		}
+
+		if (hasTickNumbers) {
+			final double degreesChange     = degreesHeadingSource - degreesHeadingSourcePrevious;
+			final double radiansHeadingMid = Math.toRadians(degreesHeading + (degreesChange / 2.0));
+			final double inchesForward     = (inchesLeft + inchesRight) / 2.0;
+
+			inchesX += inchesForward * Math.cos(radiansHeadingMid);
+			inchesY += inchesForward * Math.sin(radiansHeadingMid);
+			degreesHeading += degreesChange;
+		}
+
+		tickNumberLeftPrevious = tickNumberLeft;
+		tickNumberRightPrevious = tickNumberRight;
+		degreesHeadingSourcePrevious = degreesHeadingSource;
+		hasTickNumbers = true;
+		numberOfUpdates++;
+	}
+
+	/**
+	 * Get the latest pose as one consistent snapshot.
+	 *
+	 * @return The pose as of the latest update.
+	 */
+	public synchronized AarrePose getPose() {
+		return new AarrePose(inchesX, inchesY, degreesHeading);
+	}
+
+	public synchronized double getInchesX() {
+		return inchesX;
+	}
+
+	public synchronized double getInchesY() {
+		return inchesY;
+	}
+
+	/**
+	 * @return The heading in degrees, counterclockwise from the x axis. Values beyond +/-180 mean the robot has
+	 * 		turned more than half way round.
+	 */
+	public synchronized double getDegreesHeading() {
+		return degreesHeading;
+	}
+
+	public double getInchesTrackWidth() {
+		return inchesTrackWidth;
+	}
+
+	/**
+	 * @return How many times the pose has been updated, for example to check that the control loop is updating it.
+	 */
+	public synchronized long getNumberOfUpdates() {
+		return numberOfUpdates;
+	}
+
+	/**
+	 * Use an IMU for the heading rather than the difference between the wheels.
+	 *
+	 * @param headingProvider
+	 * 		The continuous heading of the IMU, or {@code null} to go back to using the wheels.
+	 */
+	public synchronized void setHeadingProvider(final AarreHeadingProvider headingProvider) {
+		this.headingProvider = headingProvider;
+
+		// Take the next heading as the starting point, so that changing the source does not make the pose jump
+		hasTickNumbers = false;
+	}
+
+	/**
+	 * Tell the estimator where the robot is, for example at the start of a match or when it is squared up against a
+	 * known wall.
+	 * <p>
+	 * Only the pose changes. The encoders and the heading of the IMU are not reset, so the gyro methods of the drive
+	 * motors keep their own zero.
+	 *
+	 * @param pose
+	 * 		Where the robot now is.
+	 */
+	public synchronized void setPose(final AarrePose pose) {
+
+		if (pose == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: pose");
+		}
+
+		inchesX = pose.getInchesX();
+		inchesY = pose.getInchesY();
+		degreesHeading = pose.getDegreesHeading();
+
+		// Measure movement from here on
+		hasTickNumbers = false;
+		update();
+	}
+}
@@ -1,36 +1,42 @@
 package org.firstinspires.ftc.teamcode.src;
 
-import java.util.logging.Logger;
-
 /**
- * Wrapper class for Integer ensures the value is positive.
+ * Wrapper class for int ensures the value is positive.
  * <p>
  * Not all operations are supported.
  */
-public class AarrePositiveInteger {
-
-	private Integer value;
+public final class AarrePositiveInteger {
 
-	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+	private final int value;
 
 	public AarrePositiveInteger(int value) {
 		if (value < 1) {
 			throw new IllegalArgumentException("Value must be positive");
 		}
-		this.value = new Integer(value);
+		this.value = value;
 	}
 
 	public double doubleValue() {
-		return value.doubleValue();
+		return value;
 	}
 
 	public int intValue() {
-		return value.intValue();
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof AarrePositiveInteger) && (this.value == ((AarrePositiveInteger) other).value);
+	}
+
+	@Override
+	public int hashCode() {
+		return value;
 	}
 
 	@Override
 	public String toString() {
-		return String.format(this.value.toString());
+		return String.valueOf(this.value);
 	}
 
 }
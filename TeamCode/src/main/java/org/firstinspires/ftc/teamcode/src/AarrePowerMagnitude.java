@@ -1,23 +1,68 @@
 package org.firstinspires.ftc.teamcode.src;
 
-import java.util.logging.Logger;
+/**
+ * The size of a motor power, regardless of direction, in the interval [0, 1].
+ * <p>
+ * Power magnitudes are immutable, so the common ones are shared as constants ({@link #ZERO}, {@link #FULL}, {@link
+ * #DEFAULT_INCREMENT}) and {@link #valueOf(double)} hands out the constants for zero and full power instead of new
+ * instances. As with {@link AarrePowerVector}, {@link #subtract(AarrePowerMagnitude)} throws if the result is out of
+ * range, and {@link #subtractSaturated(AarrePowerMagnitude)} clips it.
+ */
+public final class AarrePowerMagnitude implements Comparable<AarrePowerMagnitude> {
 
-public class AarrePowerMagnitude implements Comparable<AarrePowerMagnitude> {
+	public static final AarrePowerMagnitude ZERO = new AarrePowerMagnitude(0.0);
+	public static final AarrePowerMagnitude FULL = new AarrePowerMagnitude(1.0);
 
-	private double magnitude;
+	// How much the power changes in each cycle of a ramp, unless a mechanism sets its own increment
+	public static final AarrePowerMagnitude DEFAULT_INCREMENT = new AarrePowerMagnitude(0.1);
 
-	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+	private final double magnitude;
 
 	public AarrePowerMagnitude(double magnitude) {
-		setProportion(magnitude);
+		checkMagnitude(magnitude);
+
+		// Adding zero turns -0.0 into 0.0, so that equal magnitudes are equal
+		this.magnitude = magnitude + 0.0;
 	}
 
 	public AarrePowerMagnitude(AarrePowerVector powerVector) {
-		double magnitude = powerVector.asDouble();
-		setProportion(magnitude);
+		this(powerVector.asDouble());
+	}
+
+	/**
+	 * Get a power magnitude, sharing the constant for zero or full power rather than making a new one.
+	 *
+	 * @param magnitude
+	 * 		The magnitude, in the interval [0, 1].
+	 *
+	 * @return The power magnitude.
+	 */
+	public static AarrePowerMagnitude valueOf(double magnitude) {
+		if (magnitude == 0.0) {
+			return ZERO;
+		} else if (magnitude == 1.0) {
+			return FULL;
+		} else {
+			return new AarrePowerMagnitude(magnitude);
+		}
 	}
 
-	private void checkMagnitude(double magnitude) {
+	/**
+	 * Get a power magnitude, clipping the magnitude to the interval [0, 1].
+	 *
+	 * @param magnitude
+	 * 		The magnitude, which may be out of range. Must be a number.
+	 *
+	 * @return The nearest power magnitude.
+	 */
+	public static AarrePowerMagnitude valueOfSaturated(double magnitude) {
+		if (Double.isNaN(magnitude)) {
+			throw new IllegalArgumentException("Magnitude expected to be a number.");
+		}
+		return valueOf(Math.max(0.0, Math.min(1.0, magnitude)));
+	}
+
+	private static void checkMagnitude(double magnitude) {
 		if (magnitude < 0.0) {
 			throw new IllegalArgumentException("Magnitude expected to be >= 0.");
 		}
@@ -25,6 +70,10 @@ public class AarrePowerMagnitude implements Comparable<AarrePowerMagnitude> {
 		if (magnitude > 1.0) {
 			throw new IllegalArgumentException("Magnitude expected to be <= 1.");
 		}
+
+		if (Double.isNaN(magnitude)) {
+			throw new IllegalArgumentException("Magnitude expected to be a number.");
+		}
 	}
 
 	@Override
@@ -61,14 +110,24 @@ public class AarrePowerMagnitude implements Comparable<AarrePowerMagnitude> {
 		return this.magnitude < comparator.asDouble();
 	}
 
-	private void setProportion(double magnitude) {
-		checkMagnitude(magnitude);
-		this.magnitude = magnitude;
+	public AarrePowerMagnitude subtract(AarrePowerMagnitude other) {
+		return valueOf(this.magnitude - other.asDouble());
 	}
 
-	public AarrePowerMagnitude subtract(AarrePowerMagnitude other) {
-		double difference = this.magnitude - other.asDouble();
-		return new AarrePowerMagnitude(difference);
+	public AarrePowerMagnitude subtractSaturated(AarrePowerMagnitude other) {
+		return valueOfSaturated(this.magnitude - other.asDouble());
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof AarrePowerMagnitude) && (Double.compare(this.magnitude, ((AarrePowerMagnitude)
+				other).magnitude) == 0);
+	}
+
+	@Override
+	public int hashCode() {
+		final long bits = Double.doubleToLongBits(this.magnitude);
+		return (int) (bits ^ (bits >>> 32));
 	}
 
 	@Override
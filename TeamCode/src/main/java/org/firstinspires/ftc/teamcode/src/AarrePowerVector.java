@@ -1,44 +1,97 @@
 package org.firstinspires.ftc.teamcode.src;
 
-import java.util.logging.Logger;
-
-public class AarrePowerVector {
-
-	private double proportion;
+/**
+ * A motor power with a direction, in the interval [-1, 1]. Positive values are forward power; negative values are
+ * reverse power.
+ * <p>
+ * Power vectors are immutable, so the common ones are shared as constants ({@link #ZERO}, {@link #FULL_FORWARD},
+ * {@link #FULL_REVERSE}) and {@link #valueOf(double)} hands them out instead of new instances.
+ * <p>
+ * The arithmetic comes in two modes. The plain methods ({@link #add(AarrePowerVector)}, {@link
+ * #subtract(AarrePowerVector)}, {@link #divideBy(double)}) throw an IllegalArgumentException if the result is out
+ * of range, which catches mistakes in calculations that should never leave it. The saturating methods ({@link
+ * #addSaturated(AarrePowerVector)}, {@link #subtractSaturated(AarrePowerVector)}, {@link #divideBySaturated(double)})
+ * clip the result to [-1, 1] instead, which is what a control loop wants when a correction pushes the power past
+ * full.
+ */
+public final class AarrePowerVector {
 
 	public static final int FORWARD = 1;
 	public static final int REVERSE = -1;
 
-	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+	public static final AarrePowerVector ZERO         = new AarrePowerVector(0.0);
+	public static final AarrePowerVector FULL_FORWARD = new AarrePowerVector(1.0);
+	public static final AarrePowerVector FULL_REVERSE = new AarrePowerVector(-1.0);
 
-	public AarrePowerVector() {
+	private final double proportion;
 
+	public AarrePowerVector() {
+		this(0.0);
 	}
 
 	public AarrePowerVector(int proportion) {
-		setProportion((double) proportion);
+		this((double) proportion);
 	}
 
 	public AarrePowerVector(double proportion) {
-		setProportion(proportion);
+		checkProportion(proportion);
+
+		// Adding zero turns -0.0 into 0.0, so that equal powers are equal
+		this.proportion = proportion + 0.0;
 	}
 
 	public AarrePowerVector(AarrePowerMagnitude powerMagnitude, int direction) {
-		double proportion = powerMagnitude.asDouble() * direction;
-		setProportion(proportion);
+		this(powerMagnitude.asDouble() * direction);
 	}
 
 	public AarrePowerVector(AarrePowerVector powerVector) {
-		double proportion = powerVector.asDouble();
-		setProportion(proportion);
+		this(powerVector.asDouble());
+	}
+
+	/**
+	 * Get a power vector, sharing the constant for zero or full power rather than making a new one.
+	 *
+	 * @param proportion
+	 * 		The power, in the interval [-1, 1].
+	 *
+	 * @return The power vector.
+	 */
+	public static AarrePowerVector valueOf(double proportion) {
+		if (proportion == 0.0) {
+			return ZERO;
+		} else if (proportion == 1.0) {
+			return FULL_FORWARD;
+		} else if (proportion == -1.0) {
+			return FULL_REVERSE;
+		} else {
+			return new AarrePowerVector(proportion);
+		}
+	}
+
+	/**
+	 * Get a power vector, clipping the power to the interval [-1, 1].
+	 *
+	 * @param proportion
+	 * 		The power, which may be out of range. Must be a number.
+	 *
+	 * @return The nearest power vector.
+	 */
+	public static AarrePowerVector valueOfSaturated(double proportion) {
+		if (Double.isNaN(proportion)) {
+			throw new IllegalArgumentException("Proportion expected to be a number.");
+		}
+		return valueOf(Math.max(-1.0, Math.min(1.0, proportion)));
 	}
 
 	public AarrePowerVector add(AarrePowerVector other) {
-		double sum = this.proportion + other.asDouble();
-		return new AarrePowerVector(sum);
+		return valueOf(this.proportion + other.asDouble());
 	}
 
-	private void checkProportion(double proportion) {
+	public AarrePowerVector addSaturated(AarrePowerVector other) {
+		return valueOfSaturated(this.proportion + other.asDouble());
+	}
+
+	private static void checkProportion(double proportion) {
 
 		if (proportion < -1.0) {
 			throw new IllegalArgumentException("Proportion expected to be greater than -1.");
@@ -48,20 +101,26 @@ public class AarrePowerVector {
 			throw new IllegalArgumentException("Proportion expected to be less than 1.");
 		}
 
+		if (Double.isNaN(proportion)) {
+			throw new IllegalArgumentException("Proportion expected to be a number.");
+		}
+
 	}
 
 	public AarrePowerVector divideBy(AarrePowerVector divisor) {
-		double quotient = this.proportion / divisor.asDouble();
-		return new AarrePowerVector(quotient);
+		return valueOf(this.proportion / divisor.asDouble());
 	}
 
 	public AarrePowerVector divideBy(double divisor) {
-		double quotient = this.proportion / divisor;
-		return new AarrePowerVector(quotient);
+		return valueOf(this.proportion / divisor);
+	}
+
+	public AarrePowerVector divideBySaturated(double divisor) {
+		return valueOfSaturated(this.proportion / divisor);
 	}
 
 	int getDirection() {
-		return (int)Math.signum(this.proportion);
+		return (int) Math.signum(this.proportion);
 	}
 
 	public boolean isGreaterThan(AarrePowerVector comparator) {
@@ -73,31 +132,40 @@ public class AarrePowerVector {
 	}
 
 	AarrePowerMagnitude getMagnitude() {
-
-		return new AarrePowerMagnitude(Math.abs(this.proportion));
-
+		return AarrePowerMagnitude.valueOf(Math.abs(this.proportion));
 	}
 
 	AarrePowerVector multiplyBy(AarrePowerVector multiplicand) {
-		double product = this.proportion * multiplicand.asDouble();
-		return new AarrePowerVector(product);
+		return valueOf(this.proportion * multiplicand.asDouble());
 	}
 
 	/**
-	 * Reverse the direction of this power vector
+	 * Get the power of the same magnitude in the opposite direction.
+	 *
+	 * @return The reversed power vector. This power vector does not change.
 	 */
-	public void reverseDirection() {
-		this.setProportion(-1*this.asDouble());
+	public AarrePowerVector getReversed() {
+		return valueOf(-this.proportion);
 	}
 
-	private void setProportion(double proportion) {
-		checkProportion(proportion);
-		this.proportion = proportion;
+	public AarrePowerVector subtract(AarrePowerVector other) {
+		return valueOf(this.proportion - other.asDouble());
 	}
 
-	public AarrePowerVector subtract(AarrePowerVector other) {
-		double difference = this.proportion - other.asDouble();
-		return new AarrePowerVector(difference);
+	public AarrePowerVector subtractSaturated(AarrePowerVector other) {
+		return valueOfSaturated(this.proportion - other.asDouble());
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return (other instanceof AarrePowerVector) && (Double.compare(this.proportion, ((AarrePowerVector) other)
+				.proportion) == 0);
+	}
+
+	@Override
+	public int hashCode() {
+		final long bits = Double.doubleToLongBits(this.proportion);
+		return (int) (bits ^ (bits >>> 32));
 	}
 
 	@Override
@@ -0,0 +1,309 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Steer a differential-drive robot along a path of waypoints by pure pursuit.
+ * <p>
+ * Every cycle, the follower picks the point on the path that is one lookahead distance away from the robot, as far
+ * along the path as possible, and works out the arc that takes the robot from where it is (pointing the way it is
+ * pointing) through that point. The curvature of the arc sets how much faster the outer wheel turns than the inner
+ * one. Because the target keeps moving along the path ahead of the robot, the robot sweeps smoothly round corners
+ * instead of stopping to turn, and steers back onto the path if it has drifted off.
+ * <p>
+ * A longer lookahead gives smoother, wider corners; a shorter one follows the path more tightly but is more prone
+ * to weaving. About the track width of the robot is a good starting point.
+ * <p>
+ * The robot only drives forward along the path. Near the end of the path, the target is the last waypoint and the
+ * power tapers off, so that the robot arrives without overshooting far.
+ * <p>
+ * The waypoints are copied into primitive arrays, so a cycle of following allocates nothing.
+ */
+public class AarrePurePursuit {
+
+	private static final double DEFAULT_INCHES_TOLERANCE = 1.0;
+
+	// The power never tapers below this proportion of the requested power, so the robot does not stall short
+	private static final double PROPORTION_OF_POWER_MINIMUM = 0.25;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final double[] inchesX;
+	private final double[] inchesY;
+	private final double   inchesTrackWidth;
+
+	private double inchesLookahead;
+	private double inchesTolerance = DEFAULT_INCHES_TOLERANCE;
+
+	// The segment of the path the robot has reached, which only ever moves forward
+	private int     segment;
+	private boolean finished;
+
+	private double inchesXTarget;
+	private double inchesYTarget;
+	private double curvature;
+	private double powerLeft;
+	private double powerRight;
+
+	/**
+	 * Construct a follower.
+	 *
+	 * @param waypoints
+	 * 		The points to drive through, in order. There must be at least two; the first is normally where the robot
+	 * 		starts.
+	 * @param inchesLookahead
+	 * 		How far ahead along the path to aim. Must be positive.
+	 * @param inchesTrackWidth
+	 * 		The distance between the centers of the left and right drive wheels. Must be positive.
+	 */
+	public AarrePurePursuit(final List<AarrePoint> waypoints, final double inchesLookahead, final double
+			inchesTrackWidth) {
+
+		if (waypoints == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: waypoints");
+		}
+		if (waypoints.size() < 2) {
+			throw new IllegalArgumentException("waypoints expected to have at least two points");
+		}
+		if (inchesTrackWidth <= 0.0) {
+			throw new IllegalArgumentException("inchesTrackWidth expected to be positive");
+		}
+
+		inchesX = new double[waypoints.size()];
+		inchesY = new double[waypoints.size()];
+		for (int index = 0; index < waypoints.size(); index++) {
+			final AarrePoint waypoint = waypoints.get(index);
+			if (waypoint == null) {
+				throw new IllegalArgumentException("Unexpected null waypoint");
+			}
+			inchesX[index] = waypoint.getInchesX();
+			inchesY[index] = waypoint.getInchesY();
+		}
+
+		this.inchesTrackWidth = inchesTrackWidth;
+		setInchesLookahead(inchesLookahead);
+	}
+
+	/**
+	 * Work out the powers for the next cycle from where the robot is now.
+	 *
+	 * @param inchesXRobot
+	 * 		The x coordinate of the robot.
+	 * @param inchesYRobot
+	 * 		The y coordinate of the robot.
+	 * @param degreesHeadingRobot
+	 * 		The heading of the robot, counterclockwise from the x axis.
+	 * @param power
+	 * 		The power at which to drive, in the interval [0, 1]. The outer wheel gets this power in corners.
+	 */
+	public void update(final double inchesXRobot, final double inchesYRobot, final double degreesHeadingRobot,
+	                   final double power) {
+
+		if ((power < 0.0) || (power > 1.0)) {
+			throw new IllegalArgumentException("power expected to be in the interval [0, 1]");
+		}
+
+		final int    last        = inchesX.length - 1;
+		final double inchesToEnd = Math.hypot(inchesX[last] - inchesXRobot, inchesY[last] - inchesYRobot);
+
+		if ((inchesToEnd <= inchesTolerance) || ((segment == (last - 1)) && (getProjection(segment, inchesXRobot,
+				inchesYRobot) >= 1.0))) {
+			finished = true;
+		}
+		if (finished) {
+			powerLeft = 0.0;
+			powerRight = 0.0;
+			return;
+		}
+
+		findTarget(inchesXRobot, inchesYRobot, inchesToEnd);
+
+		// Curvature of the arc through the target, tangent to the heading of the robot
+		final double radiansHeading = Math.toRadians(degreesHeadingRobot);
+		final double inchesXChange  = inchesXTarget - inchesXRobot;
+		final double inchesYChange  = inchesYTarget - inchesYRobot;
+		final double inchesSideways = (-Math.sin(radiansHeading) * inchesXChange) + (Math.cos(radiansHeading) *
+				inchesYChange);
+		final double inchesSquared  = (inchesXChange * inchesXChange) + (inchesYChange * inchesYChange);
+		curvature = (inchesSquared > 0.0) ? ((2.0 * inchesSideways) / inchesSquared) : 0.0;
+
+		// Taper off over the last lookahead distance
+		final double proportionOfPower = Math.max(PROPORTION_OF_POWER_MINIMUM, Math.min(1.0, inchesToEnd /
+				inchesLookahead));
+		final double powerCenter       = power * proportionOfPower;
+
+		// The outer wheel gets the power, and the inner wheel as much less as the curvature needs
+		final double turn  = (curvature * inchesTrackWidth) / 2.0;
+		final double scale = 1.0 + Math.abs(turn);
+		powerLeft = (powerCenter * (1.0 - turn)) / scale;
+		powerRight = (powerCenter * (1.0 + turn)) / scale;
+	}
+
+	/**
+	 * Find the point one lookahead distance away that is furthest along the path, moving on to later segments as the
+	 * robot reaches them.
+	 */
+	private void findTarget(final double inchesXRobot, final double inchesYRobot, final double inchesToEnd) {
+
+		final int last = inchesX.length - 1;
+
+		if (inchesToEnd <= inchesLookahead) {
+			segment = last - 1;
+			inchesXTarget = inchesX[last];
+			inchesYTarget = inchesY[last];
+			return;
+		}
+
+		boolean found = false;
+		for (int index = segment; index < last; index++) {
+
+			final double t = getIntersection(index, inchesXRobot, inchesYRobot);
+			if (t >= 0.0) {
+				segment = index;
+				inchesXTarget = inchesX[index] + (t * (inchesX[index + 1] - inchesX[index]));
+				inchesYTarget = inchesY[index] + (t * (inchesY[index + 1] - inchesY[index]));
+				found = true;
+			}
+
+			// Later segments start beyond the lookahead circle, so cannot hold the target
+			if (Math.hypot(inchesX[index + 1] - inchesXRobot, inchesY[index + 1] - inchesYRobot) > inchesLookahead) {
+				break;
+			}
+		}
+
+		// Too far off the path for the circle to reach it, so head for the end of the current segment
+		if (!found) {
+			inchesXTarget = inchesX[segment + 1];
+			inchesYTarget = inchesY[segment + 1];
+		}
+	}
+
+	/**
+	 * Intersect the lookahead circle around the robot with a segment of the path.
+	 *
+	 * @return How far along the segment the further intersection is, from 0 at its start to 1 at its end, or -1 if
+	 * 		the circle does not cross the segment.
+	 */
+	private double getIntersection(final int index, final double inchesXRobot, final double inchesYRobot) {
+
+		final double inchesXAlong = inchesX[index + 1] - inchesX[index];
+		final double inchesYAlong = inchesY[index + 1] - inchesY[index];
+		final double inchesXFrom  = inchesX[index] - inchesXRobot;
+		final double inchesYFrom  = inchesY[index] - inchesYRobot;
+
+		final double a = (inchesXAlong * inchesXAlong) + (inchesYAlong * inchesYAlong);
+		final double b = 2.0 * ((inchesXFrom * inchesXAlong) + (inchesYFrom * inchesYAlong));
+		final double c = ((inchesXFrom * inchesXFrom) + (inchesYFrom * inchesYFrom)) - (inchesLookahead *
+				inchesLookahead);
+
+		final double discriminant = (b * b) - (4.0 * a * c);
+		if ((a <= 0.0) || (discriminant < 0.0)) {
+			return -1.0;
+		}
+
+		final double t = (-b + Math.sqrt(discriminant)) / (2.0 * a);
+		return ((t >= 0.0) && (t <= 1.0)) ? t : -1.0;
+	}
+
+	/**
+	 * Project the robot onto a segment of the path.
+	 *
+	 * @return How far along the segment the robot is, from 0 at its start to 1 at its end; may be outside [0, 1].
+	 */
+	private double getProjection(final int index, final double inchesXRobot, final double inchesYRobot) {
+
+		final double inchesXAlong = inchesX[index + 1] - inchesX[index];
+		final double inchesYAlong = inchesY[index + 1] - inchesY[index];
+		final double a            = (inchesXAlong * inchesXAlong) + (inchesYAlong * inchesYAlong);
+		if (a <= 0.0) {
+			return 1.0;
+		}
+		return (((inchesXRobot - inchesX[index]) * inchesXAlong) + ((inchesYRobot - inchesY[index]) * inchesYAlong))
+				/ a;
+	}
+
+	/**
+	 * Start following the path again from the beginning.
+	 */
+	public void reset() {
+		segment = 0;
+		finished = false;
+		curvature = 0.0;
+		powerLeft = 0.0;
+		powerRight = 0.0;
+	}
+
+	/**
+	 * @return {@code true} once the robot has reached (or driven past) the last waypoint.
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return The curvature of the arc the robot is steering along, in 1/inches. Positive values turn left.
+	 */
+	public double getCurvature() {
+		return curvature;
+	}
+
+	public double getInchesLookahead() {
+		return inchesLookahead;
+	}
+
+	/**
+	 * @return The power for the left wheel for the next cycle. Positive values drive it forward.
+	 */
+	public double getPowerLeft() {
+		return powerLeft;
+	}
+
+	/**
+	 * @return The power for the right wheel for the next cycle. Positive values drive it forward.
+	 */
+	public double getPowerRight() {
+		return powerRight;
+	}
+
+	/**
+	 * @return The number of the segment the robot has reached, counting from zero at the first waypoint.
+	 */
+	public int getSegment() {
+		return segment;
+	}
+
+	public double getInchesXTarget() {
+		return inchesXTarget;
+	}
+
+	public double getInchesYTarget() {
+		return inchesYTarget;
+	}
+
+	/**
+	 * Set how far ahead along the path to aim.
+	 *
+	 * @param inchesLookahead
+	 * 		The lookahead distance in inches. Must be positive.
+	 */
+	public void setInchesLookahead(final double inchesLookahead) {
+		if (inchesLookahead <= 0.0) {
+			throw new IllegalArgumentException("inchesLookahead expected to be positive");
+		}
+		this.inchesLookahead = inchesLookahead;
+	}
+
+	/**
+	 * Set how close to the last waypoint counts as having reached it.
+	 *
+	 * @param inchesTolerance
+	 * 		The distance in inches. Must be positive.
+	 */
+	public void setInchesTolerance(final double inchesTolerance) {
+		if (inchesTolerance <= 0.0) {
+			throw new IllegalArgumentException("inchesTolerance expected to be positive");
+		}
+		this.inchesTolerance = inchesTolerance;
+	}
+}
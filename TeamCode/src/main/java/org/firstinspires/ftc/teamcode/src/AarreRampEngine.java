@@ -0,0 +1,331 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Ramp the power of many motors at once from a single control loop.
+ * <p>
+ * The blocking methods {@link AarreMotor#rampToPower(AarrePowerVector)} and
+ * {@link AarreDriveMotors#rampPowerTo(AarrePowerVector, AarrePowerVector)} hold the opMode thread until one motor
+ * (or one pair of motors) reaches its target power, so no other mechanism can move in the meantime. Instead, a motor
+ * can register a ramp with this engine, which returns immediately with an {@link AarreRampHandle}. Each call to
+ * {@link #tick()} then advances every active ramp by one power increment, and {@link #runCycle()} does that at a
+ * fixed rate on the clock. Waiting on a handle runs cycles until it is done, which also advances every other active
+ * ramp, so the arm, riser and drive can all ramp at the same time.
+ * <p>
+ * The engine does not start a thread of its own. Instead, the thread that constructed it owns it, and only that
+ * thread may advance the ramps, whether by waiting on a handle or from a control loop of its own: a {@link
+ * AarreCycleScheduler} given the engine calls {@link #tickIfDue()} every cycle, so ramps keep moving while that loop
+ * runs. Any thread may register a ramp or check whether it is done. Because each tick is stamped on the clock and
+ * {@link #tickIfDue()} only ticks once a whole cycle has passed since the last one, the ramps advance at the rate of
+ * the engine no matter how many loops call it or how fast they run.
+ */
+public class AarreRampEngine {
+
+	private static final int DEFAULT_MILLISECONDS_CYCLE_LENGTH = 50;
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	// How much earlier than a whole cycle after the last tick a loop may tick, so that jitter does not skip a tick
+	private static final long NANOSECONDS_TICK_TOLERANCE = NANOSECONDS_PER_MILLISECOND;
+
+	private final LinearOpMode         opMode;
+	private final AarreClock           clock;
+	private final AarreCycleScheduler  cycleScheduler;
+	private final AarreCycleStatistics cycleStatistics;
+	private final List<Ramp>           ramps = new ArrayList<>();
+	private final Thread               ownerThread;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private int  millisecondsCycleLength = DEFAULT_MILLISECONDS_CYCLE_LENGTH;
+	private long nanosecondsLastTick     = Long.MIN_VALUE;
+
+	/**
+	 * Construct a ramp engine, owned by the calling thread.
+	 *
+	 * @param opMode
+	 * 		The FTC opMode inside which the engine is running. Waiting stops when the opMode stops.
+	 * @param clock
+	 * 		The clock on which to run cycles.
+	 */
+	public AarreRampEngine(final LinearOpMode opMode, final AarreClock clock) {
+
+		if (opMode == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: opMode");
+		}
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+
+		this.opMode = opMode;
+		this.clock = clock;
+		ownerThread = Thread.currentThread();
+		cycleStatistics = new AarreCycleStatistics(clock);
+		cycleScheduler = new AarreCycleScheduler(opMode, clock, millisecondsCycleLength);
+		cycleScheduler.setCycleStatistics(cycleStatistics);
+	}
+
+	/**
+	 * Register a ramp of the power of one motor, using the power increment and tolerance of the motor.
+	 *
+	 * @param motor
+	 * 		The motor whose power to ramp.
+	 * @param powerVectorRequested
+	 * 		The power the motor should reach at the end of the ramp.
+	 *
+	 * @return A handle with which to wait for the ramp to finish.
+	 */
+	public AarreRampHandle rampToPower(final AarreMotor motor, final AarrePowerVector powerVectorRequested) {
+		return rampToPower(motor, powerVectorRequested, motor.getPowerMagnitudeIncrementPerCycle());
+	}
+
+	/**
+	 * Register a ramp of the power of one motor.
+	 * <p>
+	 * Any ramp the motor already had is cancelled.
+	 *
+	 * @param motor
+	 * 		The motor whose power to ramp.
+	 * @param powerVectorRequested
+	 * 		The power the motor should reach at the end of the ramp.
+	 * @param powerMagnitudeIncrementPerCycle
+	 * 		How much to change the power in each cycle (the slew rate).
+	 *
+	 * @return A handle with which to wait for the ramp to finish.
+	 */
+	public AarreRampHandle rampToPower(final AarreMotor motor, final AarrePowerVector powerVectorRequested, final
+	AarrePowerMagnitude powerMagnitudeIncrementPerCycle) {
+		final Ramp ramp = register(motor, powerVectorRequested, powerMagnitudeIncrementPerCycle);
+		return new AarreRampHandle(this, new Ramp[]{ramp});
+	}
+
+	/**
+	 * Register ramps of the power of two motors (such as the left and right drive motors) that finish together.
+	 *
+	 * @return A handle that is done when both ramps are done.
+	 */
+	public AarreRampHandle rampToPower(final AarreMotor firstMotor, final AarrePowerVector firstPowerVectorRequested,
+	                                   final AarreMotor secondMotor, final AarrePowerVector
+			                                   secondPowerVectorRequested, final AarrePowerMagnitude
+			                                   powerMagnitudeIncrementPerCycle) {
+		final Ramp firstRamp  = register(firstMotor, firstPowerVectorRequested, powerMagnitudeIncrementPerCycle);
+		final Ramp secondRamp = register(secondMotor, secondPowerVectorRequested, powerMagnitudeIncrementPerCycle);
+		return new AarreRampHandle(this, new Ramp[]{firstRamp, secondRamp});
+	}
+
+	private synchronized Ramp register(final AarreMotor motor, final AarrePowerVector powerVectorRequested, final
+	AarrePowerMagnitude powerMagnitudeIncrementPerCycle) {
+
+		if (motor == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: motor");
+		}
+		if (powerMagnitudeIncrementPerCycle.asDouble() <= 0.0) {
+			throw new IllegalArgumentException("powerMagnitudeIncrementPerCycle expected to be positive");
+		}
+
+		// A motor can only ramp toward one target at a time
+		final Iterator<Ramp> iterator = ramps.iterator();
+		while (iterator.hasNext()) {
+			final Ramp ramp = iterator.next();
+			if (ramp.motor == motor) {
+				ramp.cancelled = true;
+				ramp.done = true;
+				iterator.remove();
+			}
+		}
+
+		final Ramp ramp = new Ramp(motor, powerVectorRequested.asDouble(), powerMagnitudeIncrementPerCycle.asDouble
+				(), motor.getPowerMagnitudeTolerance().asDouble());
+		ramps.add(ramp);
+		return ramp;
+	}
+
+	/**
+	 * Advance every active ramp by one power increment.
+	 * <p>
+	 * Each motor's read cache is invalidated first, so that every tick starts from fresh readings.
+	 *
+	 * @return {@code true} if any ramp is still active afterward; {@code false} otherwise.
+	 *
+	 * @throws IllegalStateException
+	 * 		If called from any thread but the one that owns the engine.
+	 */
+	public synchronized boolean tick() {
+
+		checkOwner();
+		nanosecondsLastTick = clock.nanoTime();
+
+		// Index rather than iterate, so that a tick allocates nothing
+		for (int index = 0; index < ramps.size(); index++) {
+			ramps.get(index).motor.getReadCache().invalidate();
+		}
+
+		for (int index = ramps.size() - 1; index >= 0; index--) {
+			final Ramp ramp = ramps.get(index);
+			if (ramp.advance()) {
+				ramp.done = true;
+				ramps.remove(index);
+			}
+		}
+
+		return !ramps.isEmpty();
+	}
+
+	/**
+	 * Advance every active ramp by one power increment, if a whole cycle has passed since the last time they were
+	 * advanced.
+	 * <p>
+	 * A control loop that runs at its own rate can call this every cycle to keep the ramps moving at the rate of the
+	 * engine.
+	 *
+	 * @return {@code true} if the ramps were advanced; {@code false} if it was too soon, or there were none.
+	 *
+	 * @throws IllegalStateException
+	 * 		If called from any thread but the one that owns the engine.
+	 */
+	public synchronized boolean tickIfDue() {
+
+		checkOwner();
+		if (ramps.isEmpty()) {
+			return false;
+		}
+		if ((nanosecondsLastTick != Long.MIN_VALUE) && (clock.nanoTime() < (getNanosecondsNextTick() -
+				NANOSECONDS_TICK_TOLERANCE))) {
+			return false;
+		}
+		tick();
+		return true;
+	}
+
+	/**
+	 * Advance every active ramp by one power increment, then wait for the start of the next cycle.
+	 * <p>
+	 * Cycles start at fixed intervals (rather than a fixed time after the previous cycle ended), so time spent
+	 * advancing the ramps does not make the cycles drift. If a cycle overruns by more than a whole cycle, the schedule
+	 * starts again from now rather than running several cycles back to back to catch up.
+	 */
+	public void runCycle() {
+
+		tick();
+		cycleScheduler.awaitNextCycle();
+	}
+
+	/**
+	 * Run cycles until a ramp is done, the opMode stops, or time runs out.
+	 *
+	 * @param handle
+	 * 		The handle of the ramp for which to wait.
+	 * @param secondsTimeout
+	 * 		The maximum number of seconds to wait.
+	 *
+	 * @return {@code true} if the ramp is done; {@code false} otherwise.
+	 */
+	boolean await(final AarreRampHandle handle, final double secondsTimeout) {
+		checkOwner();
+		final AarreTimer timer = new AarreTimer(clock);
+
+		// If a control loop has just ticked, let the rest of its cycle pass before this loop ticks again
+		if (nanosecondsLastTick != Long.MIN_VALUE) {
+			cycleScheduler.sleepUntil(getNanosecondsNextTick());
+		}
+		cycleScheduler.start();
+		while (!handle.isDone() && opMode.opModeIsActive() && (timer.seconds() < secondsTimeout)) {
+			runCycle();
+		}
+		return handle.isDone();
+	}
+
+	private long getNanosecondsNextTick() {
+		return nanosecondsLastTick + (millisecondsCycleLength * NANOSECONDS_PER_MILLISECOND);
+	}
+
+	private void checkOwner() {
+		if (Thread.currentThread() != ownerThread) {
+			throw new IllegalStateException("Only " + ownerThread.getName() + ", which owns the ramp engine, may " +
+					"advance its ramps");
+		}
+	}
+
+	/**
+	 * Stop ramping a motor, leaving it at its current power.
+	 */
+	synchronized void cancel(final Ramp ramp) {
+		if (ramps.remove(ramp)) {
+			ramp.cancelled = true;
+			ramp.done = true;
+		}
+	}
+
+	/**
+	 * Get the scheduler that paces the cycles of this engine, for example to count overruns.
+	 */
+	public AarreCycleScheduler getCycleScheduler() {
+		return cycleScheduler;
+	}
+
+	/**
+	 * Get the measured periods of the cycles run by this engine.
+	 */
+	public AarreCycleStatistics getCycleStatistics() {
+		return cycleStatistics;
+	}
+
+	public synchronized int getNumberOfActiveRamps() {
+		return ramps.size();
+	}
+
+	public int getMillisecondsCycleLength() {
+		return millisecondsCycleLength;
+	}
+
+	public void setMillisecondsCycleLength(final int millisecondsCycleLength) {
+		if (millisecondsCycleLength <= 0) {
+			throw new IllegalArgumentException("millisecondsCycleLength expected to be positive");
+		}
+		this.millisecondsCycleLength = millisecondsCycleLength;
+		cycleScheduler.setMillisecondsPeriod(millisecondsCycleLength);
+	}
+
+	/**
+	 * The state of the ramp of one motor.
+	 */
+	static final class Ramp {
+
+		final AarreMotor motor;
+		final double     powerTarget;
+		final double     powerIncrement;
+		final double     powerTolerance;
+
+		volatile boolean done;
+		volatile boolean cancelled;
+
+		Ramp(final AarreMotor motor, final double powerTarget, final double powerIncrement, final double
+				powerTolerance) {
+			this.motor = motor;
+			this.powerTarget = powerTarget;
+			this.powerIncrement = powerIncrement;
+			this.powerTolerance = powerTolerance;
+		}
+
+		/**
+		 * Move the power of the motor one increment toward the target.
+		 *
+		 * @return {@code true} if the motor has reached the target power; {@code false} otherwise.
+		 */
+		boolean advance() {
+
+			final double powerCurrent = motor.getPower();
+			final double powerNew     = AarreRampMath.getPowerNew(powerCurrent, powerTarget, powerIncrement);
+
+			motor.setPower(powerNew);
+
+			return Math.abs(powerTarget - powerNew) <= powerTolerance;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * A handle on one or more ramps registered with an {@link AarreRampEngine}.
+ */
+public class AarreRampHandle {
+
+	// How long to wait for a ramp by default before giving up
+	private static final double DEFAULT_SECONDS_TIMEOUT = 5.0;
+
+	private final AarreRampEngine        engine;
+	private final AarreRampEngine.Ramp[] ramps;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	AarreRampHandle(final AarreRampEngine engine, final AarreRampEngine.Ramp[] ramps) {
+		this.engine = engine;
+		this.ramps = ramps;
+	}
+
+	/**
+	 * Determine whether all the ramps are done.
+	 *
+	 * @return {@code true} if every ramp has reached its target power or been cancelled; {@code false} otherwise.
+	 */
+	public boolean isDone() {
+		for (AarreRampEngine.Ramp ramp : ramps) {
+			if (!ramp.done) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine whether any of the ramps was cancelled before reaching its target power.
+	 * <p>
+	 * A ramp is cancelled by {@link #cancel()} or by registering another ramp for the same motor.
+	 *
+	 * @return {@code true} if any ramp was cancelled; {@code false} otherwise.
+	 */
+	public boolean isCancelled() {
+		for (AarreRampEngine.Ramp ramp : ramps) {
+			if (ramp.cancelled) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Wait for the ramps to finish, for up to the default timeout.
+	 *
+	 * @return {@code true} if the ramps are done; {@code false} otherwise.
+	 */
+	public boolean await() {
+		return await(DEFAULT_SECONDS_TIMEOUT);
+	}
+
+	/**
+	 * Wait for the ramps to finish. While waiting, the engine advances every other active ramp too.
+	 *
+	 * @param secondsTimeout
+	 * 		The maximum number of seconds to wait. Must be non-negative.
+	 *
+	 * @return {@code true} if the ramps are done; {@code false} if the opMode stopped or time ran out first.
+	 */
+	public boolean await(final double secondsTimeout) {
+		if (secondsTimeout < 0.0) {
+			throw new IllegalArgumentException("secondsTimeout expected to be non-negative");
+		}
+		return engine.await(this, secondsTimeout);
+	}
+
+	/**
+	 * Stop the ramps, leaving the motors at their current power.
+	 */
+	public void cancel() {
+		for (AarreRampEngine.Ramp ramp : ramps) {
+			engine.cancel(ramp);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package org.firstinspires.ftc.teamcode.src;
+
+/**
+ * The arithmetic of power ramps, kept apart from the motors so that it depends on nothing but the power value types.
+ * <p>
+ * {@link AarreMotor} and {@link AarreDriveMotors} call these methods in every cycle of a ramp, passing in whatever
+ * they know about the motor (how far it turns in a cycle, how fast its power may change). Because nothing here
+ * touches the FTC SDK, the JMH benchmarks in the TeamCodeBenchmark module can compile and measure exactly this code
+ * on an ordinary JVM.
+ */
+public final class AarreRampMath {
+
+	private AarreRampMath() {
+	}
+
+	/**
+	 * Get the power to apply in the next cycle of a ramp.
+	 *
+	 * @param powerVectorCurrent
+	 * 		The power now.
+	 * @param powerVectorRequested
+	 * 		The power at the end of the ramp.
+	 * @param powerMagnitudeIncrementPerCycle
+	 * 		How much the power may change in one cycle.
+	 *
+	 * @return The requested power, if it is within one increment of the current power; otherwise, the current power
+	 * 		moved one increment towards the requested power.
+	 */
+	public static AarrePowerVector getPowerVectorNew(final AarrePowerVector powerVectorCurrent, final
+	AarrePowerVector powerVectorRequested, final AarrePowerMagnitude powerMagnitudeIncrementPerCycle) {
+
+		final double powerNew = getPowerNew(powerVectorCurrent.asDouble(), powerVectorRequested.asDouble(),
+				powerMagnitudeIncrementPerCycle.asDouble());
+
+		return (powerNew == powerVectorRequested.asDouble()) ? powerVectorRequested : AarrePowerVector.valueOf
+				(powerNew);
+	}
+
+	/**
+	 * Get the power to apply in the next cycle of a ramp, without allocating.
+	 * <p>
+	 * This does not check its parameters; the powers must be in [-1, 1] and the increment in [0, 1].
+	 *
+	 * @param powerCurrent
+	 * 		The power now.
+	 * @param powerRequested
+	 * 		The power at the end of the ramp.
+	 * @param powerIncrementPerCycle
+	 * 		How much the power may change in one cycle.
+	 *
+	 * @return The requested power, if it is within one increment of the current power; otherwise, the current power
+	 * 		moved one increment towards the requested power.
+	 */
+	public static double getPowerNew(final double powerCurrent, final double powerRequested, final double
+			powerIncrementPerCycle) {
+
+		/*
+		 * The power change can be outside the range of a power.
+		 * For example, if the power requested is -1 and the current power is 1, then the power
+		 * change is -1 - 1 = -2.
+		 */
+		final double powerChange = powerRequested - powerCurrent;
+
+		if (Math.abs(powerChange) <= powerIncrementPerCycle) {
+			// Within one cycle, give them what they really want...
+			return powerRequested;
+		} else {
+			// Otherwise, give them what they need...
+			return powerCurrent + (Math.signum(powerChange) * powerIncrementPerCycle);
+		}
+	}
+
+	/**
+	 * Get the number of cycles for which a ramp (slowing down/speeding up) should last.
+	 *
+	 * @param ticksToMove
+	 * 		How far the motor may move during the ramp.
+	 * @param powerVectorCurrent
+	 * 		The power at the start of the ramp.
+	 * @param powerVectorRequested
+	 * 		The power at the end of the ramp.
+	 * @param powerMagnitudeIncrementPerCycle
+	 * 		How much the power changes in one cycle.
+	 * @param ticksPerCycleAtAveragePower
+	 * 		How far the motor turns in one cycle at the average of the current and requested power.
+	 * @param ticksPerCycleAtFullPower
+	 * 		How far the motor turns in one cycle at full power.
+	 *
+	 * @return The number of cycles to change the power as requested or to move the ticks, whichever is fewer.
+	 */
+	public static int getNumberOfCycles(final int ticksToMove, final AarrePowerVector powerVectorCurrent, final
+	AarrePowerVector powerVectorRequested, final AarrePowerMagnitude powerMagnitudeIncrementPerCycle, final double
+			                                    ticksPerCycleAtAveragePower, final double ticksPerCycleAtFullPower) {
+		return getNumberOfCycles(ticksToMove, powerVectorCurrent.asDouble(), powerVectorRequested.asDouble(),
+				powerMagnitudeIncrementPerCycle.asDouble(), ticksPerCycleAtAveragePower, ticksPerCycleAtFullPower);
+	}
+
+	/**
+	 * Get the number of cycles for which a ramp should last, without allocating.
+	 * <p>
+	 * This does not check its parameters; see {@link #getNumberOfCycles(int, AarrePowerVector, AarrePowerVector,
+	 * AarrePowerMagnitude, double, double)}.
+	 */
+	public static int getNumberOfCycles(final int ticksToMove, final double powerCurrent, final double
+			powerRequested, final double powerIncrementPerCycle, final double ticksPerCycleAtAveragePower, final
+	double ticksPerCycleAtFullPower) {
+
+		// The average number of ticks per cycle during the ramp
+		final double averageMagnitude     = (Math.abs(powerCurrent) + Math.abs(powerRequested)) / 2;
+		final double averageTicksPerCycle = averageMagnitude * ticksPerCycleAtAveragePower;
+
+		// The number of cycles required to change power as much as requested
+		final double numCyclesRequiredToChangePower = Math.abs(powerRequested - powerCurrent) /
+				powerIncrementPerCycle;
+
+		// The number of ticks the motor would move if we changed the power that much
+		final double potentialTicksInRamp = averageTicksPerCycle * numCyclesRequiredToChangePower;
+
+		// Return the number of cycles to change power or number of cycles to reach ticks,
+		// whichever is lower
+		double cyclesToChange = numCyclesRequiredToChangePower;
+		if (potentialTicksInRamp > ticksToMove) {
+			// TODO: Doesn't this assume that the motor is operating at full power?
+			cyclesToChange = ticksToMove / ticksPerCycleAtFullPower;
+		}
+
+		return (int) Math.round(cyclesToChange);
+	}
+
+	/**
+	 * Get the tick number at which to start slowing down so as to reach a lower power by the end of a period of
+	 * travel.
+	 *
+	 * @param tickNumberAtStartOfPeriod
+	 * 		The tick number at the start of the travel.
+	 * @param numberOfTicksInPeriod
+	 * 		How far the motor travels.
+	 * @param powerVectorAtStartOfPeriod
+	 * 		The power during the travel, before slowing down.
+	 * @param powerVectorAtEndOfPeriod
+	 * 		The power at the end of the travel. Its magnitude must be less than that of the power at the start.
+	 * @param powerMagnitudeIncrementPerCycle
+	 * 		How much the power changes in one cycle.
+	 * @param ticksPerCycle
+	 * 		How far the motor turns in one cycle.
+	 *
+	 * @return The tick number at which to start slowing down.
+	 */
+	public static double getTickNumberToStartSlowDown(final int tickNumberAtStartOfPeriod, final
+	AarrePositiveInteger numberOfTicksInPeriod, final AarrePowerVector powerVectorAtStartOfPeriod, final
+	AarrePowerVector powerVectorAtEndOfPeriod, final AarrePowerMagnitude powerMagnitudeIncrementPerCycle, final
+	double ticksPerCycle) {
+		return getTickNumberToStartSlowDown(tickNumberAtStartOfPeriod, numberOfTicksInPeriod.intValue(),
+				powerVectorAtStartOfPeriod.asDouble(), powerVectorAtEndOfPeriod.asDouble(),
+				powerMagnitudeIncrementPerCycle.asDouble(), ticksPerCycle);
+	}
+
+	/**
+	 * Get the tick number at which to start slowing down, without allocating.
+	 * <p>
+	 * This checks only that the power falls; see {@link #getTickNumberToStartSlowDown(int, AarrePositiveInteger,
+	 * AarrePowerVector, AarrePowerVector, AarrePowerMagnitude, double)}.
+	 */
+	public static double getTickNumberToStartSlowDown(final int tickNumberAtStartOfPeriod, final int
+			numberOfTicksInPeriod, final double powerAtStartOfPeriod, final double powerAtEndOfPeriod, final double
+			                                                  powerIncrementPerCycle, final double ticksPerCycle) {
+
+		if (Math.abs(powerAtStartOfPeriod) <= Math.abs(powerAtEndOfPeriod)) {
+			throw new IllegalArgumentException("When slowing down, the absolute value of the " + "power at the start "
+					+ "of the slowdown must be greater " + "than the absolute value of the power at the end " + "of "
+					+ "the " + "slowdown" + ".");
+		}
+
+		final double powerChange          = powerAtStartOfPeriod - powerAtEndOfPeriod;
+		final int    powerChangeDirection = (int) Math.signum(powerChange);
+
+		final double numberOfCyclesInSlowDown = Math.abs(powerChange) / powerIncrementPerCycle;
+		final double numberOfTicksInSlowDown  = numberOfCyclesInSlowDown * ticksPerCycle;
+		final double numberOfTicksToChange    = powerChangeDirection * numberOfTicksInSlowDown;
+		final double tickNumberAtEndOfPeriod = tickNumberAtStartOfPeriod + (numberOfTicksInPeriod *
+				powerChangeDirection);
+
+		return tickNumberAtEndOfPeriod - numberOfTicksToChange;
+	}
+
+	/**
+	 * Get how far the power of a pair of motors still has to go in a ramp.
+	 *
+	 * @param powerVectorCurrentLeft
+	 * 		The power of the left motor now.
+	 * @param powerVectorRequestedLeft
+	 * 		The power the left motor should reach.
+	 * @param powerVectorCurrentRight
+	 * 		The power of the right motor now.
+	 * @param powerVectorRequestedRight
+	 * 		The power the right motor should reach.
+	 *
+	 * @return The larger of the two differences between the current and requested power.
+	 */
+	public static AarrePowerMagnitude getGreatestPowerDelta(final AarrePowerVector powerVectorCurrentLeft, final
+	AarrePowerVector powerVectorRequestedLeft, final AarrePowerVector powerVectorCurrentRight, final
+	AarrePowerVector powerVectorRequestedRight) {
+		return AarrePowerMagnitude.valueOf(getGreatestPowerDelta(powerVectorCurrentLeft.asDouble(),
+				powerVectorRequestedLeft.asDouble(), powerVectorCurrentRight.asDouble(), powerVectorRequestedRight
+						.asDouble()));
+	}
+
+	/**
+	 * Get how far the power of a pair of motors still has to go in a ramp, without allocating.
+	 */
+	public static double getGreatestPowerDelta(final double powerCurrentLeft, final double powerRequestedLeft, final
+	double powerCurrentRight, final double powerRequestedRight) {
+		return Math.max(Math.abs(powerRequestedLeft - powerCurrentLeft), Math.abs(powerRequestedRight -
+				powerCurrentRight));
+	}
+}
@@ -0,0 +1,149 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Serve repeated hardware reads within one control cycle from a snapshot.
+ * <p>
+ * Every read of an encoder position, motor power or busy flag is a round trip to the hub, and one cycle of a ramp
+ * loop asks for the same values several times. Motors that share a cache read each value from the hardware the first
+ * time it is asked for in a cycle and keep it in a {@link Slot}; later reads in the same cycle return the kept value.
+ * <p>
+ * The loop calls {@link #invalidate()} at the start of every cycle (the {@link AarreCycleScheduler} does this when a
+ * cache has been set on it). As a safety net for reads outside a scheduled loop, a kept value also expires after a
+ * maximum age.
+ */
+public class AarreReadCache {
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	// No older than one cycle of the default ramp loops
+	private static final int DEFAULT_MILLISECONDS_MAXIMUM_AGE = 50;
+
+	private final AtomicLong generation     = new AtomicLong(0L);
+	private final AtomicLong numberOfHits   = new AtomicLong(0L);
+	private final AtomicLong numberOfMisses = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile AarreClock clock;
+	private volatile boolean    enabled               = true;
+	private volatile long       nanosecondsMaximumAge = DEFAULT_MILLISECONDS_MAXIMUM_AGE * NANOSECONDS_PER_MILLISECOND;
+
+	/**
+	 * One value kept by the cache, such as the encoder position of one motor.
+	 * <p>
+	 * Callers synchronize on the slot while they check, read and store it.
+	 */
+	static final class Slot {
+		private long generation = -1L;
+		private long nanoseconds;
+		private long value;
+	}
+
+	/**
+	 * Construct an empty cache.
+	 *
+	 * @param clock
+	 * 		The clock on which to measure the age of kept values.
+	 */
+	public AarreReadCache(final AarreClock clock) {
+		setClock(clock);
+	}
+
+	/**
+	 * Start a new cycle, so that the next read of every value goes to the hardware.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * Determine whether a slot holds a value read in this cycle, counting the answer as a hit or a miss.
+	 */
+	boolean isFresh(final Slot slot) {
+		final boolean fresh = enabled && (slot.generation == generation.get()) && ((clock.nanoTime() - slot
+				.nanoseconds) < nanosecondsMaximumAge);
+		if (fresh) {
+			numberOfHits.incrementAndGet();
+		} else {
+			numberOfMisses.incrementAndGet();
+		}
+		return fresh;
+	}
+
+	/**
+	 * Keep a value just read from (or written to) the hardware.
+	 */
+	void store(final Slot slot, final long value) {
+		slot.generation = generation.get();
+		slot.nanoseconds = clock.nanoTime();
+		slot.value = value;
+	}
+
+	/**
+	 * Forget the value in a slot, for example because a change of run mode has reset the encoder.
+	 */
+	static void clear(final Slot slot) {
+		slot.generation = -1L;
+	}
+
+	static long getValue(final Slot slot) {
+		return slot.value;
+	}
+
+	/**
+	 * @return The number of reads served from the cache.
+	 */
+	public long getNumberOfHits() {
+		return numberOfHits.get();
+	}
+
+	/**
+	 * @return The number of reads that went to the hardware.
+	 */
+	public long getNumberOfMisses() {
+		return numberOfMisses.get();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the clock on which to measure the age of kept values.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+	}
+
+	/**
+	 * Turn the cache on or off. When it is off, every read goes to the hardware.
+	 *
+	 * @param enabled
+	 * 		{@code true} to serve reads from the cache.
+	 */
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Set how long a kept value may be served, even if nobody invalidates the cache.
+	 *
+	 * @param millisecondsMaximumAge
+	 * 		The maximum age in milliseconds.
+	 */
+	public void setMillisecondsMaximumAge(final int millisecondsMaximumAge) {
+		if (millisecondsMaximumAge < 0) {
+			throw new IllegalArgumentException("millisecondsMaximumAge expected to be non-negative");
+		}
+		nanosecondsMaximumAge = millisecondsMaximumAge * NANOSECONDS_PER_MILLISECOND;
+	}
+}
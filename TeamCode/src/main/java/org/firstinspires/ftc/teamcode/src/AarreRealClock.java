@@ -0,0 +1,44 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * The real, monotonic clock used on the robot.
+ */
+public class AarreRealClock implements AarreClock {
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@Override
+	public long nanoTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Sleep the current thread.
+	 * <p>
+	 * As with LinearOpMode.sleep, an interrupt ends the sleep early and leaves the thread interrupted.
+	 *
+	 * @param milliseconds
+	 * 		How many milliseconds to sleep. Must be non-negative.
+	 */
+	@Override
+	public void sleep(final long milliseconds) {
+		if (milliseconds < 0L) {
+			throw new IllegalArgumentException("milliseconds expected to be non-negative");
+		}
+		try {
+			Thread.sleep(milliseconds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Yield the current thread, as LinearOpMode.idle does.
+	 */
+	@Override
+	public void idle() {
+		Thread.yield();
+	}
+}
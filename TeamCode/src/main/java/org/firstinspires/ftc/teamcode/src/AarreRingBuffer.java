@@ -0,0 +1,178 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+
+/**
+ * A bounded, lock-free queue that any number of threads can add to and remove from.
+ * <p>
+ * Each slot carries a sequence number that says whether it is ready to be written (by the producer whose turn it
+ * is) or read (by the consumer whose turn it is), so neither side ever takes a lock or waits for the other. When the
+ * queue is full, the overflow policy decides whether to drop the new element or make room by dropping the oldest
+ * one. Either way, the drop is counted.
+ *
+ * @param <E>
+ * 		The type of the elements in the queue.
+ */
+public class AarreRingBuffer<E> {
+
+	/**
+	 * What to do when adding to a full queue.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Drop the oldest element in the queue to make room for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * Drop the new element, leaving the queue as it was.
+		 */
+		DROP_NEWEST
+	}
+
+	private final int                     mask;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray         sequences;
+	private final AtomicLong              positionToAdd    = new AtomicLong(0L);
+	private final AtomicLong              positionToRemove = new AtomicLong(0L);
+	private final AtomicLong              numberDropped    = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+	/**
+	 * Construct an empty queue.
+	 *
+	 * @param capacity
+	 * 		The maximum number of elements in the queue. Must be a positive power of two.
+	 */
+	public AarreRingBuffer(final int capacity) {
+
+		if ((capacity <= 0) || ((capacity & (capacity - 1)) != 0)) {
+			throw new IllegalArgumentException("capacity expected to be a positive power of two");
+		}
+
+		mask = capacity - 1;
+		elements = new AtomicReferenceArray<>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Add an element to the end of the queue, dropping an element if the queue is full.
+	 *
+	 * @param element
+	 * 		The element to add. Must not be null.
+	 *
+	 * @return {@code true} if the element was added; {@code false} if it was dropped.
+	 */
+	public boolean offer(final E element) {
+
+		if (element == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: element");
+		}
+
+		while (!tryOffer(element)) {
+			if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+				numberDropped.incrementAndGet();
+				return false;
+			}
+			// Make room by dropping the oldest element. Another consumer may have made room already, in which case
+			// there is nothing to drop.
+			if (poll() != null) {
+				numberDropped.incrementAndGet();
+			}
+		}
+		return true;
+	}
+
+	private boolean tryOffer(final E element) {
+
+		long position = positionToAdd.get();
+		while (true) {
+			final int  index      = (int) (position & mask);
+			final long difference = sequences.get(index) - position;
+			if (difference == 0L) {
+				if (positionToAdd.compareAndSet(position, position + 1L)) {
+					elements.lazySet(index, element);
+					sequences.lazySet(index, position + 1L);
+					return true;
+				}
+				position = positionToAdd.get();
+			} else if (difference < 0L) {
+				// The slot still holds an element from one lap ago, so the queue is full
+				return false;
+			} else {
+				position = positionToAdd.get();
+			}
+		}
+	}
+
+	/**
+	 * Remove the element at the front of the queue.
+	 *
+	 * @return The oldest element, or {@code null} if the queue is empty.
+	 */
+	public E poll() {
+
+		long position = positionToRemove.get();
+		while (true) {
+			final int  index      = (int) (position & mask);
+			final long difference = sequences.get(index) - (position + 1L);
+			if (difference == 0L) {
+				if (positionToRemove.compareAndSet(position, position + 1L)) {
+					final E element = elements.get(index);
+					elements.lazySet(index, null);
+					sequences.lazySet(index, position + mask + 1L);
+					return element;
+				}
+				position = positionToRemove.get();
+			} else if (difference < 0L) {
+				// The slot has not been written since the last lap, so the queue is empty
+				return null;
+			} else {
+				position = positionToRemove.get();
+			}
+		}
+	}
+
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * @return The number of elements dropped because the queue was full.
+	 */
+	public long getNumberDropped() {
+		return numberDropped.get();
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+		if (overflowPolicy == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: overflowPolicy");
+		}
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Estimate the number of elements in the queue.
+	 * <p>
+	 * The estimate may be out of date by the time the caller sees it if other threads are adding or removing
+	 * elements.
+	 *
+	 * @return The number of elements in the queue.
+	 */
+	public int size() {
+		final long size = positionToAdd.get() - positionToRemove.get();
+		return (int) Math.max(0L, Math.min(size, (long) getCapacity()));
+	}
+}
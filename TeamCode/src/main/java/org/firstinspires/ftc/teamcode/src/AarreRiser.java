@@ -31,13 +31,19 @@ public class AarreRiser {
 	 * This value affects all methods that move the riser.
 	 */
 	private static final double              DEFAULT_SECONDS_TO_RUN_MAXIMUM = 7.0;
-	private static final AarrePowerMagnitude DEFAULT_POWER_MAGNITUDE        = new AarrePowerMagnitude(1.0);
+	private static final AarrePowerMagnitude DEFAULT_POWER_MAGNITUDE        = AarrePowerMagnitude.FULL;
 
 
 
-	private double               currentPosition;
+	// Reported by getCurrentPosition until a complete movement shows where the riser is
+	private static final double POSITION_UNKNOWN = 0.5;
+
+	// The absolute tick number at which the riser is fully lowered, once we know it
+	private boolean              tickNumberLoweredKnown;
+	private int                  tickNumberLowered;
 	private AarreMotorTorqueNADO motor;
 	private AarreTelemetry       telemetry;
+	private AarreLogger          log;
 	private LinearOpMode         opMode;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
@@ -61,8 +67,6 @@ public class AarreRiser {
 	 */
 	AarreRiser(final HardwareMap hardwareMap, final String nameOfRiserMotor, final AarreTelemetry telemetry, final LinearOpMode opMode) {
 
-		currentPosition = 0.5; // We have no idea where the riser is
-
 		// Make sure there is a hardwareMap parameter
 		if (hardwareMap == null) {
 			throw new IllegalArgumentException("Unexpected null parameter: hardwareMap");
@@ -75,29 +79,74 @@ public class AarreRiser {
 		}
 
 		this.telemetry = telemetry;
+		log = new AarreLogger(telemetry);
 
 		this.opMode = opMode;
 
 		motor = new AarreMotorTorqueNADO(opMode, nameOfRiserMotor);
 
-		motor.rampToPower(new AarrePowerVector(0.0));
-		motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+		motor.rampToPower(AarrePowerVector.ZERO);
 		motor.setDirection(DcMotorSimple.Direction.FORWARD);  // Positive power raises riser
-		motor.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+
+		// The riser moves by encoder ticks or time without speed control, so it stays in this mode. The motor
+		// reset its encoder when it was initialized.
+		motor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
 
 	}
 
 	/**
-	 * Best guess at current position of the riser. (We can't know exactly where the riser is
-	 * because the riser starts in an unknown physical position upon software initialization and
-	 * does not store any state information.) A value of 0.0 indicates that we believe the riser is
-	 * fully lowered, and a value of 1.0 indicates that we believe the riser is fully raised. The
-	 * riser generally should be either fully lowered or fully raised (except when it is in motion),
-	 * so values in the middle when the riser is stationary suggest uncertainty about where the
-	 * riser really is.
+	 * Best guess at current position of the riser. A value of 0.0 indicates that the riser is fully lowered, and a
+	 * value of 1.0 indicates that it is fully raised.
+	 * <p>
+	 * The riser starts in an unknown physical position upon software initialization, so until it has finished
+	 * lowering or raising, this returns 0.5. After that, the position comes from the encoder, so it is also right
+	 * while the riser is moving or if it has stopped part way.
 	 */
 	public double getCurrentPosition() {
-		return currentPosition;
+		if ((motor == null) || !tickNumberLoweredKnown) {
+			return POSITION_UNKNOWN;
+		}
+		final double position = (motor.getAbsoluteTickNumber() - tickNumberLowered) / getTicksOfTravel();
+		return Math.max(0.0, Math.min(1.0, position));
+	}
+
+	/**
+	 * Get the position of the riser relative to where it was when the robot was initialized.
+	 *
+	 * @return The number of motor shaft revolutions the riser has turned since initialization. Positive values mean
+	 * 		that the riser is higher than it started.
+	 */
+	public double getRevolutions() {
+		return getTickNumber() / motor.getTicksPerRevolution();
+	}
+
+	/**
+	 * Get the position of the riser relative to where it was when the robot was initialized.
+	 *
+	 * @return The number of encoder ticks the riser has turned since initialization.
+	 */
+	public int getTickNumber() {
+		return motor.getAbsoluteTickNumber();
+	}
+
+	private double getTicksOfTravel() {
+		return DEFAULT_REVOLUTIONS_RAISE * motor.getTicksPerRevolution();
+	}
+
+	/**
+	 * Remember that the riser is now fully lowered.
+	 */
+	private void setLowered() {
+		tickNumberLowered = motor.getAbsoluteTickNumber();
+		tickNumberLoweredKnown = true;
+	}
+
+	/**
+	 * Remember that the riser is now fully raised.
+	 */
+	private void setRaised() {
+		tickNumberLowered = motor.getAbsoluteTickNumber() - (int) Math.round(getTicksOfTravel());
+		tickNumberLoweredKnown = true;
 	}
 
 	/**
@@ -105,11 +154,11 @@ public class AarreRiser {
 	 */
 	public final void lower() {
 
-		telemetry.log("Riser - lowering riser");
+		log.info("Riser - lowering riser");
 		lowerByRevolutions();
-		telemetry.log("Riser - riser lowered");
+		log.info("Riser - riser lowered");
 
-		currentPosition = 0.0;
+		setLowered();
 	}
 
 	/**
@@ -134,7 +183,7 @@ public class AarreRiser {
 
 		motor.runByTime(powerVector, secondsToRun);
 
-		currentPosition = 0.0;
+		setLowered();
 	}
 
 
@@ -171,7 +220,7 @@ public class AarreRiser {
 			throw new IllegalArgumentException("secondsTimeout expected to be non-negative");
 		}
 
-		telemetry.log("Riser - Lower by revolutions, power: %f", powerMagnitude.asDouble());
+		log.fine("Riser - Lower by revolutions, power: %f", powerMagnitude.asDouble());
 		AarrePowerVector powerVector = new AarrePowerVector(powerMagnitude, AarrePowerVector
 				.REVERSE);
 		motor.runByRevolutions(powerVector, numberOfRevolutions, secondsTimeout);
@@ -190,19 +239,45 @@ public class AarreRiser {
 	}
 
 
+	/**
+	 * @return The measured cycle periods and hardware and telemetry times of the riser motor.
+	 */
+	public AarreCycleStatistics getCycleStatistics() {
+		return motor.getCycleStatistics();
+	}
+
+	/**
+	 * Write the state of the riser motor to a flight recorder in every cycle.
+	 *
+	 * @param flightRecorder
+	 * 		The flight recorder, or {@code null} to stop recording.
+	 */
+	public void setFlightRecorder(final AarreFlightRecorder flightRecorder) {
+		motor.setFlightRecorder(flightRecorder);
+	}
+
+	/**
+	 * Stop the riser immediately, without ramping down.
+	 * <p>
+	 * This is for stopping the riser after it has been interrupted, when there is no time to ramp.
+	 */
+	public final void stop() {
+		motor.setPowerVector(AarrePowerVector.ZERO);
+	}
+
 	/**
 	 * Raise the riser using the default method.
 	 */
 	public void raise() {
-		telemetry.log("Riser - raising riser");
+		log.info("Riser - raising riser");
 		raiseByRevolutions();
-		telemetry.log("Riser - riser raised");
+		log.info("Riser - riser raised");
 
 		/*
 		 * Hold the riser motor at the top so that gravity will not gently pull it down.
 		 */
 		motor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
-		currentPosition = 1.0;
+		setRaised();
 	}
 
 	/**
@@ -235,7 +310,7 @@ public class AarreRiser {
 		if (secondsTimeout < 0.0) {
 			throw new IllegalArgumentException("secondsTimeout expected to be non-negative");
 		}
-		telemetry.log("Riser - Raise by revolutions, power: %f", powerMagnitude.asDouble());
+		log.fine("Riser - Raise by revolutions, power: %f", powerMagnitude.asDouble());
 
 		AarrePowerVector powerVector = new AarrePowerVector(powerMagnitude, AarrePowerVector
 				.FORWARD);
@@ -268,7 +343,7 @@ public class AarreRiser {
 				.FORWARD);
 		motor.runByTime(powerVector, secondsToRun);
 
-		currentPosition = 1.0;
+		setRaised();
 	}
 
 	/**
@@ -278,7 +353,7 @@ public class AarreRiser {
 	 * continues to run irregularly as it attempts to push the riser higher than it can go.
 	 */
 	private void raiseUntilStall() {
-		motor.setStallTimeLimitInSeconds((double) DEFAULT_MILLISECONDS_STALL_TIME_WINDOW);
+		motor.setStallTimeLimitInMilliseconds(DEFAULT_MILLISECONDS_STALL_TIME_WINDOW);
 		motor.setStallDetectionToleranceInTicks(DEFAULT_TICKS_STALL_TOLERANCE);
 		AarrePowerVector powerVector = new AarrePowerVector(DEFAULT_POWER_MAGNITUDE,
 		                                                    AarrePowerVector.FORWARD);
@@ -7,6 +7,10 @@ import com.qualcomm.robotcore.hardware.Servo;
 import org.firstinspires.ftc.teamcode.opmode.AarreAutonomous;
 import org.firstinspires.ftc.teamcode.opmode.AarreAutonomousReady;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 import java.util.logging.Logger;
 
 /**
@@ -30,23 +34,58 @@ public class AarreRobot {
 	 */
 
 
-	AarreArm         arm;
-	AarreDriveMotors driveMotors;
-	AarreIMU         imu;
-	AarreRiser       riser;
-	AarreServo       hookServo;
-	CRServo          scoopServo;
-	HardwareMap      hardwareMap;
+	AarreArm            arm;
+	AarreCallStatistics callStatistics;
+	AarreDriveMotors    driveMotors;
+	AarreFlightRecorder flightRecorder;
+	AarreIMU            imu;
+	AarreRampEngine     rampEngine;
+	AarreRiser          riser;
+	AarreServo          hookServo;
+	CRServo             scoopServo;
+	HardwareMap         hardwareMap;
+
+	/**
+	 * How long each mechanism may take when the mechanisms move in parallel. These are a little longer than the
+	 * timeouts the mechanisms apply themselves, so they only matter if a mechanism gets stuck.
+	 */
+	private static final double SECONDS_TIMEOUT_ARM   = 2.0;
+	private static final double SECONDS_TIMEOUT_HOOK  = 2.0;
+	private static final double SECONDS_TIMEOUT_RISER = 8.0;
+
+	private static final double NANOSECONDS_PER_MILLISECOND = 1.0e6;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
+	private final AarreRobotConfiguration configuration;
+
+	private boolean mechanismsInParallel = true;
+	private double  secondsSavedByParallelMechanisms;
+
 	/**
-	 * Construct from opMode only
+	 * Construct from opMode only, without starting any of the optional services.
 	 *
 	 * @param opMode
 	 * 		The FTC opMode inside which this robot is running.
 	 */
 	public AarreRobot(final LinearOpMode opMode) {
+		this(opMode, new AarreRobotConfiguration());
+	}
+
+	/**
+	 * Construct from opMode and configuration.
+	 *
+	 * @param opMode
+	 * 		The FTC opMode inside which this robot is running.
+	 * @param configuration
+	 * 		Which of the optional services, such as the flight recorder, to start.
+	 */
+	public AarreRobot(final LinearOpMode opMode, final AarreRobotConfiguration configuration) {
+
+		if (configuration == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: configuration");
+		}
+		this.configuration = configuration;
 
 		telemetry = new AarreTelemetry(opMode.telemetry);
 
@@ -59,7 +98,14 @@ public class AarreRobot {
 		// must correspond to the names assigned in the robot configuration
 		// in the FTC Robot Controller app on the phone
 
+		// All mechanisms share one ramp engine so that their ramps can run at the same time
+		rampEngine = new AarreRampEngine(opMode, AarreSimulatedHardwareMap.clockFor(hardwareMap));
+
+		// Time every call, so that we can see where a routine spends its time
+		callStatistics = new AarreCallStatistics(AarreSimulatedHardwareMap.clockFor(hardwareMap));
+
 		driveMotors = new AarreDriveMotors(opMode);
+		driveMotors.setRampEngine(rampEngine);
 
 		arm = new AarreArm(opMode, "arm");
 		riser = new AarreRiser(hardwareMap, "riser", telemetry, opMode);
@@ -85,10 +131,30 @@ public class AarreRobot {
 		  Initialize the IMU.
 		 */
 		imu = new AarreIMU(opMode);
+		driveMotors.setIMU(imu);
 
 		// TODO: Initialize scoop servo
 		scoopServo = hardwareMap.get(CRServo.class, "scoop");
 
+		// Start whichever of the optional services the configuration asks for
+		if (configuration.getMillisecondsIMUSamplePeriod() > 0) {
+			imu.startSampling(configuration.getMillisecondsIMUSamplePeriod());
+		}
+		if (configuration.getFlightRecorderFile() != null) {
+			try {
+				setFlightRecorder(new AarreFlightRecorder(configuration.getFlightRecorderFile()));
+			} catch (IOException e) {
+				telemetry.log("Flight recorder unavailable", e.getMessage());
+			}
+		}
+		if (configuration.getCharacterizationDirectory() != null) {
+			try {
+				driveMotors.loadCharacterizations(configuration.getCharacterizationDirectory());
+			} catch (IOException e) {
+				telemetry.log("Drive motor characterization unavailable", e.getMessage());
+			}
+		}
+
 	}
 
 	/**
@@ -103,18 +169,73 @@ public class AarreRobot {
 	 */
 	public void drive(AarrePowerMagnitude powerMagnitude, double leftInches, double rightInches, double
 			secondsTimeout) {
+		final long nanosecondsStart = callStatistics.startTiming();
 
 		javaLog.fine(String.format("drive: powerMagnitude: %f", powerMagnitude.asDouble()));
 		javaLog.fine(String.format("drive: leftInches: %f", leftInches));
 		javaLog.fine(String.format("drive: rightInches: %f", rightInches));
 		javaLog.fine(String.format("drive: secondsTimeout: %f", secondsTimeout));
 		driveMotors.drive(powerMagnitude, leftInches, rightInches, secondsTimeout);
+		callStatistics.record("drive", nanosecondsStart);
 	}
 
 	public HardwareMap getHardwareMap() {
 		return hardwareMap;
 	}
 
+	/**
+	 * Determine whether the readiness routines move the arm, riser and hook at the same time.
+	 *
+	 * @return {@code true} if the mechanisms move in parallel; {@code false} if they move one after another.
+	 */
+	public boolean isMechanismsInParallel() {
+		return mechanismsInParallel;
+	}
+
+	/**
+	 * Summarize how the drive, arm, riser and ramp engine loops actually spent their time.
+	 *
+	 * @return One line for each loop, with the 50th and 99th percentiles and the maximum of the cycle period, the
+	 * 		time in each hardware call and the time in each telemetry call, then the numbers of drive motor writes
+	 * 		issued and suppressed.
+	 */
+	public String getCycleReport() {
+		final StringBuilder report = new StringBuilder();
+		report.append(driveMotors.getCycleStatistics().getReport("Drive"));
+		if (arm.getCycleStatistics() != null) {
+			report.append('\n').append(arm.getCycleStatistics().getReport("Arm"));
+		}
+		report.append('\n').append(riser.getCycleStatistics().getReport("Riser"));
+		report.append('\n').append(rampEngine.getCycleStatistics().getReport("Ramp engine"));
+		report.append('\n').append(String.format(Locale.US, "Drive writes - issued %d, suppressed %d",
+				driveMotors.getWriteCache().getNumberOfWritesIssued(), driveMotors.getWriteCache()
+						.getNumberOfWritesSuppressed()));
+		return report.toString();
+	}
+
+	/**
+	 * Get how long each kind of call to the robot has taken, for example to find the slowest step of a routine.
+	 */
+	public AarreCallStatistics getCallStatistics() {
+		return callStatistics;
+	}
+
+	public AarreFlightRecorder getFlightRecorder() {
+		return flightRecorder;
+	}
+
+	public AarreRampEngine getRampEngine() {
+		return rampEngine;
+	}
+
+	/**
+	 * @return The number of seconds the last readiness routine saved by moving the mechanisms in parallel rather
+	 * 		than one after another.
+	 */
+	public double getSecondsSavedByParallelMechanisms() {
+		return secondsSavedByParallelMechanisms;
+	}
+
 	public AarreTelemetry getTelemetry() {
 		return (telemetry);
 	}
@@ -122,32 +243,103 @@ public class AarreRobot {
 	public void gyroDrive(AarrePowerMagnitude powerMagnitude, double inchesDirectionAndDistance,
 	                      double
 			secondsTime) {
+		final long nanosecondsStart = callStatistics.startTiming();
 		driveMotors.gyroDrive(powerMagnitude
 				, inchesDirectionAndDistance, secondsTime);
+		callStatistics.record("gyroDrive", nanosecondsStart);
 	}
 
 	public void gyroHold(AarrePowerVector powerVector, double degreesHeading, double secondsTime) {
+		final long nanosecondsStart = callStatistics.startTiming();
 		driveMotors.gyroHold(powerVector, degreesHeading, secondsTime);
+		callStatistics.record("gyroHold", nanosecondsStart);
 	}
 
 	public void gyroTurn(final AarrePowerVector powerVector, final double angle) {
+		final long nanosecondsStart = callStatistics.startTiming();
 		driveMotors.gyroTurn(powerVector, angle);
+		callStatistics.record("gyroTurn", nanosecondsStart);
+	}
+
+	public void gyroTurnBy(final AarrePowerVector powerVector, final double degreesToTurn) {
+		final long nanosecondsStart = callStatistics.startTiming();
+		driveMotors.gyroTurnBy(powerVector, degreesToTurn);
+		callStatistics.record("gyroTurnBy", nanosecondsStart);
+	}
+
+	/**
+	 * Drive through a list of waypoints on the field in one continuous motion.
+	 *
+	 * @see AarreDriveMotors#followPath(AarrePowerMagnitude, List, double, double)
+	 */
+	public void followPath(final AarrePowerMagnitude powerMagnitude, final List<AarrePoint> waypoints, final double
+			inchesLookahead, final double secondsTimeout) {
+		final long nanosecondsStart = callStatistics.startTiming();
+		driveMotors.followPath(powerMagnitude, waypoints, inchesLookahead, secondsTimeout);
+		callStatistics.record("followPath", nanosecondsStart);
+	}
+
+	/**
+	 * Measure the speed of each drive motor at each of a number of powers, and save the results in the
+	 * characterization directory of the configuration, where the robot will load them whenever it starts. The robot
+	 * must be up on blocks.
+	 *
+	 * @return {@code true} if both motors were characterized, or {@code false} if the opMode stopped first.
+	 *
+	 * @throws IOException
+	 * 		If the configuration has no characterization directory, or a characterization cannot be saved.
+	 * @see AarreDriveMotors#characterize(File, int, double)
+	 */
+	public boolean characterizeDriveMotors(final int numberOfSteps, final double secondsPerStep) throws IOException {
+		if (configuration.getCharacterizationDirectory() == null) {
+			throw new IOException("No characterization directory configured");
+		}
+		return driveMotors.characterize(configuration.getCharacterizationDirectory(), numberOfSteps,
+				secondsPerStep);
+	}
+
+	/**
+	 * Make the current heading zero for the gyro methods. This is a software offset, so it is instant.
+	 */
+	public void resetHeading() {
+		driveMotors.resetHeading();
+	}
+
+	/**
+	 * Get where the robot is on the field, as of the latest cycle of the drive loops.
+	 */
+	public AarrePose getPose() {
+		return driveMotors.getPoseEstimator().getPose();
+	}
+
+	/**
+	 * Tell the robot where it is on the field, for example at the start of a match.
+	 *
+	 * @param pose
+	 * 		Where the robot now is.
+	 */
+	public void setPose(final AarrePose pose) {
+		driveMotors.getPoseEstimator().setPose(pose);
 	}
 
 	/**
 	 * Lower the arm to its downward position
 	 */
 	public void lowerArm() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		arm.lower();
+		callStatistics.record("lowerArm", nanosecondsStart);
 	}
 
 	/**
 	 * Lower the hook to its downward position
 	 */
 	public void lowerHook() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		telemetry.log("Hook servo - lowering hook");
 		hookServo.forward();
 		telemetry.log("Hook servo - hook lowered");
+		callStatistics.record("lowerHook", nanosecondsStart);
 	}
 
 	/**
@@ -155,23 +347,29 @@ public class AarreRobot {
 	 * need to be in at the beginning of the autonomous game when it is hanging from the lander.
 	 */
 	public void lowerRiser() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		riser.lower();
+		callStatistics.record("lowerRiser", nanosecondsStart);
 	}
 
 	/**
 	 * Raise the arm to its upward position
 	 */
 	public void raiseArm() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		arm.raise();
+		callStatistics.record("raiseArm", nanosecondsStart);
 	}
 
 	/**
 	 * Raise the hook to its upward position
 	 */
 	public void raiseHook() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		telemetry.log("Hook servo - raising hook");
 		hookServo.reverse();
 		telemetry.log("Hook servo - hook raised");
+		callStatistics.record("raiseHook", nanosecondsStart);
 	}
 
 	/**
@@ -179,7 +377,9 @@ public class AarreRobot {
 	 * need to be in near the end of the game just before it latches on to the lander.
 	 */
 	public void raiseRiser() {
+		final long nanosecondsStart = callStatistics.startTiming();
 		riser.raise();
+		callStatistics.record("raiseRiser", nanosecondsStart);
 	}
 
 	/**
@@ -196,9 +396,9 @@ public class AarreRobot {
 	 * mode raises the hook.
 	 */
 	public void readyForAutonomousEndgame() {
-		lowerArm();
-		raiseRiser();
-		raiseHook();
+		final long nanosecondsStart = callStatistics.startTiming();
+		readyMechanisms("Ready for autonomous endgame", this::raiseRiser, this::raiseHook);
+		callStatistics.record("readyForAutonomousEndgame", nanosecondsStart);
 	}
 
 	/**
@@ -214,9 +414,9 @@ public class AarreRobot {
 	 * mode raises the hook.
 	 */
 	public void readyForAutonomousGame() {
-		lowerArm();
-		lowerRiser();
-		raiseHook();
+		final long nanosecondsStart = callStatistics.startTiming();
+		readyMechanisms("Ready for autonomous game", this::lowerRiser, this::raiseHook);
+		callStatistics.record("readyForAutonomousGame", nanosecondsStart);
 	}
 
 	/**
@@ -232,11 +432,90 @@ public class AarreRobot {
 	 * this mode lowers the hook.
 	 */
 	public void readyForTransportation() {
-		lowerArm();
-		lowerRiser();
-		lowerHook();
+		final long nanosecondsStart = callStatistics.startTiming();
+		readyMechanisms("Ready for transportation", this::lowerRiser, this::lowerHook);
+		callStatistics.record("readyForTransportation", nanosecondsStart);
+	}
+
+	/**
+	 * Lower the arm and move the riser and hook, either in parallel or one after another.
+	 *
+	 * @param routineName
+	 * 		The name of the readiness routine, for telemetry.
+	 * @param riserAction
+	 * 		How to move the riser.
+	 * @param hookAction
+	 * 		How to move the hook.
+	 *
+	 */
+	private void readyMechanisms(final String routineName, final Runnable riserAction, final Runnable hookAction) {
+
+		if (!mechanismsInParallel) {
+			lowerArm();
+			riserAction.run();
+			hookAction.run();
+			secondsSavedByParallelMechanisms = 0.0;
+			return;
+		}
+
+		final AarreMechanismGroup group = new AarreMechanismGroup(routineName, AarreSimulatedHardwareMap.clockFor
+				(hardwareMap), telemetry);
+		group.add("arm", SECONDS_TIMEOUT_ARM, this::lowerArm, () -> arm.stop());
+		group.add("riser", SECONDS_TIMEOUT_RISER, riserAction, () -> riser.stop());
+		group.add("hook", SECONDS_TIMEOUT_HOOK, hookAction, null);
+		secondsSavedByParallelMechanisms = group.run();
 	}
 
+	/**
+	 * Write the state of the drive, arm and riser motors to a flight recorder in every cycle.
+	 *
+	 * @param flightRecorder
+	 * 		The flight recorder, or {@code null} to stop recording.
+	 */
+	public void setFlightRecorder(final AarreFlightRecorder flightRecorder) {
+		this.flightRecorder = flightRecorder;
+		driveMotors.setFlightRecorder(flightRecorder);
+		arm.setFlightRecorder(flightRecorder);
+		riser.setFlightRecorder(flightRecorder);
+	}
+
+	/**
+	 * Choose whether the readiness routines move the arm, riser and hook at the same time.
+	 * <p>
+	 * The mechanisms are mechanically independent, so by default they move in parallel. Moving them one after
+	 * another is useful when diagnosing a single mechanism.
+	 *
+	 * @param mechanismsInParallel
+	 * 		{@code true} to move the mechanisms in parallel; {@code false} to move them one after another.
+	 */
+	public void setMechanismsInParallel(final boolean mechanismsInParallel) {
+		this.mechanismsInParallel = mechanismsInParallel;
+	}
+
+
+	/**
+	 * Log the cycle report, for example when the opMode stops, so that a collapse in the loop rate shows up in the
+	 * log even if nobody was watching the driver station.
+	 */
+	public void reportCycleStatistics() {
+		for (final String line : getCycleReport().split("\n")) {
+			telemetry.log(line);
+		}
+		for (final String line : callStatistics.getReport().split("\n")) {
+			telemetry.log(line);
+		}
+		telemetry.flush();
+	}
+
+	/**
+	 * Show the drive cycle period on the driver station.
+	 */
+	public void updateCycleTelemetry() {
+		final AarreHistogram cyclePeriod = driveMotors.getCycleStatistics().getCyclePeriod();
+		telemetry.display("Cycle p50/p99/max", "%.1f/%.1f/%.1f ms", cyclePeriod.getValueAtPercentile(50.0) /
+				NANOSECONDS_PER_MILLISECOND, cyclePeriod.getValueAtPercentile(99.0) / NANOSECONDS_PER_MILLISECOND,
+				cyclePeriod.getMaximum() / NANOSECONDS_PER_MILLISECOND);
+	}
 
 	public void updateIMUTelemetry() {
 		imu.updateTelemetry();
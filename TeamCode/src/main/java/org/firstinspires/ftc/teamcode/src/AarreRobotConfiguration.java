@@ -0,0 +1,108 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.io.File;
+
+/**
+ * The optional services that {@link AarreRobot} starts when it is constructed.
+ * <p>
+ * A new configuration starts nothing, which suits unit tests and simulations: they run on a virtual clock that a
+ * background thread cannot keep up with, and there is no phone storage to write to. Opmodes on the robot use {@link
+ * #onRobot()}, which reads the IMU in the background, records every motor cycle and loads the measured speeds of the
+ * drive motors.
+ */
+public class AarreRobotConfiguration {
+
+	/**
+	 * Where the flight recorder file goes on the robot controller phone. Copy it off after the match and decode it
+	 * with {@link AarreFlightRecorderDecoder}.
+	 */
+	private static final String FLIGHT_RECORDER_PATH = "/sdcard/FIRST/AarreFlightRecorder.bin";
+
+	// Where the measured speeds of the drive motors are kept on the robot controller phone
+	private static final String CHARACTERIZATION_DIRECTORY = "/sdcard/FIRST";
+
+	/**
+	 * How often the IMU sampling thread reads the IMU on the robot. The BNO055 fuses its sensors at 100 Hz, so reading
+	 * it faster than this only returns the same values.
+	 */
+	private static final int MILLISECONDS_IMU_SAMPLE_PERIOD = 10;
+
+	private int  millisecondsIMUSamplePeriod;
+	private File flightRecorderFile;
+	private File characterizationDirectory;
+
+	/**
+	 * Construct a configuration that starts nothing.
+	 */
+	public AarreRobotConfiguration() {
+	}
+
+	/**
+	 * Get the configuration for a robot on the field.
+	 *
+	 * @return A configuration that samples the IMU, records to the phone and loads the drive motor characterizations
+	 * 		from the phone.
+	 */
+	public static AarreRobotConfiguration onRobot() {
+		final AarreRobotConfiguration configuration = new AarreRobotConfiguration();
+		configuration.setMillisecondsIMUSamplePeriod(MILLISECONDS_IMU_SAMPLE_PERIOD);
+		configuration.setFlightRecorderFile(new File(FLIGHT_RECORDER_PATH));
+		configuration.setCharacterizationDirectory(new File(CHARACTERIZATION_DIRECTORY));
+		return configuration;
+	}
+
+	/**
+	 * @return The directory from which the drive motor characterizations are loaded and to which they are saved, or
+	 * 		{@code null} if there is none.
+	 */
+	public File getCharacterizationDirectory() {
+		return characterizationDirectory;
+	}
+
+	/**
+	 * @return The file to which the flight recorder writes, or {@code null} to record nothing.
+	 */
+	public File getFlightRecorderFile() {
+		return flightRecorderFile;
+	}
+
+	/**
+	 * @return How often a background thread reads the IMU, in milliseconds, or zero to read it on the calling thread.
+	 */
+	public int getMillisecondsIMUSamplePeriod() {
+		return millisecondsIMUSamplePeriod;
+	}
+
+	/**
+	 * Set where the drive motor characterizations are kept.
+	 *
+	 * @param characterizationDirectory
+	 * 		The directory, or {@code null} to run without characterizations.
+	 */
+	public void setCharacterizationDirectory(final File characterizationDirectory) {
+		this.characterizationDirectory = characterizationDirectory;
+	}
+
+	/**
+	 * Set where the flight recorder writes.
+	 *
+	 * @param flightRecorderFile
+	 * 		The file, or {@code null} to record nothing.
+	 */
+	public void setFlightRecorderFile(final File flightRecorderFile) {
+		this.flightRecorderFile = flightRecorderFile;
+	}
+
+	/**
+	 * Set how often a background thread reads the IMU.
+	 *
+	 * @param millisecondsIMUSamplePeriod
+	 * 		The period in milliseconds, or zero to read the IMU on the calling thread. Must not be negative.
+	 */
+	public void setMillisecondsIMUSamplePeriod(final int millisecondsIMUSamplePeriod) {
+		if (millisecondsIMUSamplePeriod < 0) {
+			throw new IllegalArgumentException("millisecondsIMUSamplePeriod expected to be non-negative");
+		}
+		this.millisecondsIMUSamplePeriod = millisecondsIMUSamplePeriod;
+	}
+}
@@ -0,0 +1,71 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+/**
+ * An opMode that drives an {@link AarreRobot}.
+ * <p>
+ * The opMode builds its robot with {@link #newRobot()}, which uses the configuration for the field unless whoever
+ * runs the opMode sets another one first. That lets a simulation run the same opMode without the services that only
+ * make sense on the phone, and read the robot's statistics afterwards with {@link #getRobot()}.
+ * <p>
+ * Loops that only wait, such as waiting for STOP, should let time pass with {@link #idleRobot()} or {@link
+ * #waitForStop()}. On the robot that is the same as {@link #idle()}, but in a simulation it moves the virtual clock on,
+ * so the match still ends.
+ */
+public abstract class AarreRobotOpMode extends LinearOpMode {
+
+	private AarreRobotConfiguration robotConfiguration = AarreRobotConfiguration.onRobot();
+
+	private volatile AarreRobot robot;
+
+	/**
+	 * Build the robot for this opMode, with the robot configuration.
+	 *
+	 * @return The new robot.
+	 */
+	protected AarreRobot newRobot() {
+		robot = new AarreRobot(this, robotConfiguration);
+		return robot;
+	}
+
+	/**
+	 * Let one pass of a polling loop go by on the clock of the hardware map.
+	 */
+	protected final void idleRobot() {
+		AarreSimulatedHardwareMap.clockFor(hardwareMap).idle();
+	}
+
+	/**
+	 * Wait until the driver presses STOP or the match ends.
+	 */
+	protected final void waitForStop() {
+		while (opModeIsActive()) {
+			idleRobot();
+		}
+	}
+
+	/**
+	 * @return The robot this opMode built, or {@code null} if it has not built one yet.
+	 */
+	public AarreRobot getRobot() {
+		return robot;
+	}
+
+	public AarreRobotConfiguration getRobotConfiguration() {
+		return robotConfiguration;
+	}
+
+	/**
+	 * Set the configuration with which the opMode builds its robot. Call this before the opMode runs.
+	 *
+	 * @param robotConfiguration
+	 * 		The configuration.
+	 */
+	public void setRobotConfiguration(final AarreRobotConfiguration robotConfiguration) {
+		if (robotConfiguration == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: robotConfiguration");
+		}
+		this.robotConfiguration = robotConfiguration;
+	}
+}
@@ -3,7 +3,6 @@ package org.firstinspires.ftc.teamcode.src;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.Servo;
-import com.qualcomm.robotcore.util.ElapsedTime;
 
 import java.util.logging.Logger;
 
@@ -19,9 +18,15 @@ import java.util.logging.Logger;
 public class AarreServo {
 
 	private final Servo          servo;
+	private       AarreClock     clock;
 	private       AarreTelemetry telemetry;
+	private       AarreLogger    log;
 	private       LinearOpMode   opMode;
 
+	// The last position written to this servo, kept in the write cache
+	private       AarreWriteCache      writeCache        = new AarreWriteCache();
+	private final AarreWriteCache.Slot positionWriteSlot = new AarreWriteCache.Slot();
+
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
 	/**
@@ -36,8 +41,13 @@ public class AarreServo {
 
 		this.opMode = opMode;
 
+		telemetry = new AarreTelemetry(opMode.telemetry);
+		log = new AarreLogger(telemetry);
+
 		servo = hardwareMap.get(Servo.class, servoName);
 
+		clock = AarreSimulatedHardwareMap.clockFor(hardwareMap);
+
 		servo.setDirection(Servo.Direction.FORWARD);
 
 		// Upon construction, reset the servo to its full range of movement
@@ -61,11 +71,23 @@ public class AarreServo {
 		this(hardwareMap, servoName, opMode);
 
 		this.telemetry = telemetry;
+		log = new AarreLogger(telemetry);
 
 		this.opMode = opMode;
 
 	}
 
+	public AarreLogger getLogger() {
+		return log;
+	}
+
+	/**
+	 * Get the cache that suppresses redundant writes to this servo, for example to count them.
+	 */
+	public AarreWriteCache getWriteCache() {
+		return writeCache;
+	}
+
 	/**
 	 * Get the current position of this servo.
 	 * <p>
@@ -89,19 +111,19 @@ public class AarreServo {
 	 */
 	final void forward() {
 
-		telemetry.log("Servo - Preparing to move forward");
+		log.fine("Servo - Preparing to move forward");
 
 		final double startPosition = servo.getPosition();
-		telemetry.log("Servo - Current position is %f", startPosition);
+		log.fine("Servo - Current position is %f", startPosition);
 
 		final double maxPosition = servo.MAX_POSITION;
-		telemetry.log("Servo - Prescriptive max position is %f", maxPosition);
+		log.fine("Servo - Prescriptive max position is %f", maxPosition);
 
 		setPosition(maxPosition);
-		telemetry.log("Servo - Set to max");
+		log.fine("Servo - Set to max");
 
 		final double currentPosition = servo.getPosition();
-		telemetry.log("Servo - Purported max position is %f", currentPosition);
+		log.fine("Servo - Purported max position is %f", currentPosition);
 
 	}
 
@@ -113,19 +135,19 @@ public class AarreServo {
 	 */
 	void reverse() {
 
-		telemetry.log("Preparing to reverse the servo");
+		log.fine("Preparing to reverse the servo");
 
 		final double startPosition = servo.getPosition();
-		telemetry.log("Servo current position is %f", startPosition);
+		log.fine("Servo current position is %f", startPosition);
 
 		final double minPosition = servo.MIN_POSITION;
-		telemetry.log("Servo prescriptive min position is %f", minPosition);
+		log.fine("Servo prescriptive min position is %f", minPosition);
 
 		setPosition(minPosition);
-		telemetry.log("Servo set to min");
+		log.fine("Servo set to min");
 
 		final double currentPosition = getPurportedPosition();
-		telemetry.log("Servo purported min position is %f", currentPosition);
+		log.fine("Servo purported min position is %f", currentPosition);
 
 	}
 
@@ -141,6 +163,24 @@ public class AarreServo {
 
 		servo.scaleRange(min, max);
 
+		// The same position now means a different pulse width, so the next position must be written
+		clearPositionWriteSlot();
+
+	}
+
+	/**
+	 * Set the clock on which this servo measures time and waits.
+	 * <p>
+	 * By default, this is the clock of the simulated hardware map off-robot, or the real clock on the robot.
+	 *
+	 * @param clock
+	 * 		The clock to use.
+	 */
+	public void setClock(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
 	}
 
 	/**
@@ -158,6 +198,28 @@ public class AarreServo {
 
 		servo.setDirection(direction);
 
+		clearPositionWriteSlot();
+
+	}
+
+	private void clearPositionWriteSlot() {
+		synchronized (positionWriteSlot) {
+			AarreWriteCache.clear(positionWriteSlot);
+		}
+	}
+
+	/**
+	 * Keep the last position written to this servo in a shared cache.
+	 *
+	 * @param writeCache
+	 * 		The cache in which to keep the position written.
+	 */
+	public void setWriteCache(final AarreWriteCache writeCache) {
+		if (writeCache == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: writeCache");
+		}
+		this.writeCache = writeCache;
+		clearPositionWriteSlot();
 	}
 
 	/**
@@ -171,22 +233,26 @@ public class AarreServo {
 	private void setPosition(final double position) {
 
 		//telemetry.log("Setting servo to position %f", position);
-		servo.setPosition(position);
+		synchronized (positionWriteSlot) {
+			if (writeCache.shouldWrite(positionWriteSlot, position)) {
+				servo.setPosition(position);
+			}
+		}
 
-		long        millisecondsToWait;
-		long        millisecondsInterval;
-		ElapsedTime runtime;
-		double      millisecondsElapsed;
+		long       millisecondsToWait;
+		long       millisecondsInterval;
+		AarreTimer runtime;
+		double     millisecondsElapsed;
 
 		// Wait for the hardware to catch up
 
 		millisecondsToWait = (long) 1000;
 		millisecondsInterval = (long) 10;
-		runtime = new ElapsedTime();
+		runtime = new AarreTimer(clock);
 		millisecondsElapsed = runtime.milliseconds();
 
 		while ((millisecondsElapsed < (double) millisecondsToWait) && opMode.opModeIsActive()) {
-			opMode.sleep(millisecondsInterval);
+			clock.sleep(millisecondsInterval);
 			millisecondsElapsed = runtime.milliseconds();
 		}
 
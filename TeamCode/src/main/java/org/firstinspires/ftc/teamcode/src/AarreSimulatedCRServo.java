@@ -0,0 +1,100 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.ServoController;
+
+import java.util.logging.Logger;
+
+/**
+ * A simulated continuous rotation servo ({@link CRServo}) for running robot code off-robot.
+ * <p>
+ * A continuous rotation servo has no encoder, so all this needs to remember is its power and direction.
+ */
+public class AarreSimulatedCRServo implements CRServo {
+
+	private final int portNumber;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private Direction direction = Direction.FORWARD;
+	private double    power;
+
+	/**
+	 * Construct a simulated continuous rotation servo.
+	 *
+	 * @param portNumber
+	 * 		The (simulated) port number of the servo on its controller.
+	 */
+	public AarreSimulatedCRServo(final int portNumber) {
+		this.portNumber = portNumber;
+	}
+
+	/**
+	 * There is no servo controller off-robot.
+	 *
+	 * @return null
+	 */
+	@Override
+	public ServoController getController() {
+		return null;
+	}
+
+	@Override
+	public int getPortNumber() {
+		return portNumber;
+	}
+
+	@Override
+	public synchronized void setDirection(final Direction direction) {
+		this.direction = direction;
+	}
+
+	@Override
+	public synchronized Direction getDirection() {
+		return direction;
+	}
+
+	@Override
+	public synchronized void setPower(final double power) {
+		if ((power < -1.0) || (power > 1.0)) {
+			throw new IllegalArgumentException("power expected to be in the interval [-1, 1]");
+		}
+		this.power = power;
+	}
+
+	@Override
+	public synchronized double getPower() {
+		return power;
+	}
+
+	@Override
+	public Manufacturer getManufacturer() {
+		return Manufacturer.Other;
+	}
+
+	@Override
+	public String getDeviceName() {
+		return "Aarre Simulated CRServo";
+	}
+
+	@Override
+	public String getConnectionInfo() {
+		return "simulated port " + portNumber;
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public synchronized void resetDeviceConfigurationForOpMode() {
+		direction = Direction.FORWARD;
+		power = 0.0;
+	}
+
+	@Override
+	public synchronized void close() {
+		power = 0.0;
+	}
+}
@@ -0,0 +1,445 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import java.util.logging.Logger;
+
+/**
+ * A simulated {@link DcMotor} for running robot code off-robot (for example, on a plain Linux JVM).
+ * <p>
+ * The physics model is deliberately simple:
+ *
+ * <ul>
+ * <li>The no-load speed of the shaft is proportional to the applied power, scaled by the rated revolutions per
+ * minute and encoder ticks per revolution of the motor being simulated.</li>
+ * <li>Optionally, static friction holds the shaft still below some power, and the speed rises in proportion to the
+ * power above that, reaching the rated speed at full power.</li>
+ * <li>The shaft approaches that speed exponentially with a configurable time constant, which stands in for the
+ * inertia of the motor and whatever it is driving.</li>
+ * <li>The encoder counts ticks of shaft rotation, in the logical direction of the motor.</li>
+ * <li>Optional mechanical end stops stall the shaft at a fixed tick position.</li>
+ * </ul>
+ * <p>
+ * The state of the motor is advanced lazily, whenever it is read or written, to the current time on its
+ * {@link AarreClock}.
+ */
+public class AarreSimulatedDcMotor implements DcMotor {
+
+	private static final double SECONDS_PER_MINUTE      = 60.0;
+	private static final double NANOSECONDS_PER_SECOND  = 1.0e9;
+	private static final double MAXIMUM_SECONDS_PER_STEP = 0.005;
+
+	// How quickly the shaft responds to a change in power when the motor is driving or braking
+	private static final double DEFAULT_SECONDS_TIME_CONSTANT = 0.1;
+
+	// How much more slowly the shaft slows down when coasting (FLOAT) instead of braking
+	private static final double FLOAT_TIME_CONSTANT_MULTIPLIER = 4.0;
+
+	// How close to the target position counts as "there" in RUN_TO_POSITION mode
+	private static final int DEFAULT_TICKS_TARGET_TOLERANCE = 10;
+
+	// Over what fraction of a second of travel the RUN_TO_POSITION controller starts to slow down
+	private static final double SECONDS_TO_TARGET_SLOW_DOWN = 0.1;
+
+	private final AarreClock clock;
+	private final int        portNumber;
+	private final double     ticksPerSecondAtFullPower;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private double secondsTimeConstant = DEFAULT_SECONDS_TIME_CONSTANT;
+	private double proportionOfSpeedLost;
+	private double powerToOvercomeFriction;
+
+	private Direction         direction         = Direction.FORWARD;
+	private RunMode           mode              = RunMode.RUN_WITHOUT_ENCODER;
+	private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+
+	// Created when first asked for, because building the unspecified type starts the SDK's configuration manager,
+	// which needs an Android context that a plain JVM does not have
+	private MotorConfigurationType motorType;
+
+	private double power;
+	private int    targetPosition;
+
+	// Physical state of the shaft, in encoder ticks, in the direction the shaft actually turns
+	private double tickPosition;
+	private double ticksPerSecond;
+	private double tickPositionAtEncoderReset;
+
+	private double tickPositionMinimum = Double.NEGATIVE_INFINITY;
+	private double tickPositionMaximum = Double.POSITIVE_INFINITY;
+
+	private long nanosecondsAtLastUpdate;
+
+	/**
+	 * Construct a simulated motor.
+	 *
+	 * @param clock
+	 * 		The clock that determines how far the motor has turned.
+	 * @param portNumber
+	 * 		The (simulated) port number of the motor on its controller.
+	 * @param revolutionsPerMinute
+	 * 		The number of revolutions the shaft turns in one minute at full power under no load.
+	 * @param ticksPerRevolution
+	 * 		The number of encoder ticks in one revolution of the shaft.
+	 */
+	public AarreSimulatedDcMotor(final AarreClock clock, final int portNumber, final double revolutionsPerMinute,
+	                             final double ticksPerRevolution) {
+
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		if (revolutionsPerMinute <= 0.0) {
+			throw new IllegalArgumentException("revolutionsPerMinute expected to be positive");
+		}
+		if (ticksPerRevolution <= 0.0) {
+			throw new IllegalArgumentException("ticksPerRevolution expected to be positive");
+		}
+
+		this.clock = clock;
+		this.portNumber = portNumber;
+		this.ticksPerSecondAtFullPower = (revolutionsPerMinute * ticksPerRevolution) / SECONDS_PER_MINUTE;
+
+		nanosecondsAtLastUpdate = clock.nanoTime();
+	}
+
+	/**
+	 * Advance the simulated shaft to the current time.
+	 */
+	private void update() {
+
+		final long   nanosecondsNow  = clock.nanoTime();
+		final double secondsElapsed  = (double) (nanosecondsNow - nanosecondsAtLastUpdate) / NANOSECONDS_PER_SECOND;
+		nanosecondsAtLastUpdate = nanosecondsNow;
+
+		double secondsRemaining = secondsElapsed;
+		while (secondsRemaining > 0.0) {
+			final double secondsStep = Math.min(secondsRemaining, MAXIMUM_SECONDS_PER_STEP);
+			step(secondsStep);
+			secondsRemaining -= secondsStep;
+		}
+	}
+
+	/**
+	 * Advance the simulated shaft by a short step, during which the commanded power is treated as constant.
+	 */
+	private void step(final double seconds) {
+
+		final double powerCommanded = getPowerCommanded();
+
+		final double powerAboveFriction = Math.max(0.0, Math.abs(powerCommanded) - powerToOvercomeFriction) / (1.0 -
+				powerToOvercomeFriction);
+
+		final double ticksPerSecondTarget = getDirectionSign() * Math.signum(powerCommanded) * powerAboveFriction *
+				ticksPerSecondAtFullPower * (1.0 - proportionOfSpeedLost);
+
+		double timeConstant = secondsTimeConstant;
+		if ((powerCommanded == 0.0) && (zeroPowerBehavior == ZeroPowerBehavior.FLOAT)) {
+			timeConstant *= FLOAT_TIME_CONSTANT_MULTIPLIER;
+		}
+
+		ticksPerSecond += (ticksPerSecondTarget - ticksPerSecond) * (1.0 - Math.exp(-seconds / timeConstant));
+		tickPosition += ticksPerSecond * seconds;
+
+		// A mechanical end stop stalls the shaft
+		if (tickPosition < tickPositionMinimum) {
+			tickPosition = tickPositionMinimum;
+			ticksPerSecond = 0.0;
+		} else if (tickPosition > tickPositionMaximum) {
+			tickPosition = tickPositionMaximum;
+			ticksPerSecond = 0.0;
+		}
+	}
+
+	/**
+	 * Get the power the (simulated) motor controller is actually applying, in the logical direction of the motor,
+	 * which depends on the run mode.
+	 */
+	private double getPowerCommanded() {
+
+		final double powerCommanded;
+
+		switch (getModeCurrent()) {
+			case STOP_AND_RESET_ENCODER:
+				powerCommanded = 0.0;
+				break;
+			case RUN_TO_POSITION:
+				final double ticksToTarget = (double) targetPosition - getLogicalTickPosition();
+				if (Math.abs(ticksToTarget) <= (double) DEFAULT_TICKS_TARGET_TOLERANCE) {
+					powerCommanded = 0.0;
+				} else {
+					final double ticksToSlowDown = ticksPerSecondAtFullPower * SECONDS_TO_TARGET_SLOW_DOWN;
+					final double proportion      = Math.min(1.0, Math.abs(ticksToTarget) / ticksToSlowDown);
+					powerCommanded = Math.signum(ticksToTarget) * Math.abs(power) * proportion;
+				}
+				break;
+			default:
+				powerCommanded = power;
+				break;
+		}
+
+		return powerCommanded;
+	}
+
+	/**
+	 * Get the run mode, with the legacy names that older opmodes may still use mapped to their current equivalents.
+	 * <p>
+	 * This does the same as {@link RunMode#migrate()}, which is deprecated.
+	 */
+	private RunMode getModeCurrent() {
+		switch (mode) {
+			case RUN_USING_ENCODERS:
+				return RunMode.RUN_USING_ENCODER;
+			case RUN_WITHOUT_ENCODERS:
+				return RunMode.RUN_WITHOUT_ENCODER;
+			case RESET_ENCODERS:
+				return RunMode.STOP_AND_RESET_ENCODER;
+			default:
+				return mode;
+		}
+	}
+
+	private double getDirectionSign() {
+		return (direction == Direction.FORWARD) ? 1.0 : -1.0;
+	}
+
+	private double getLogicalTickPosition() {
+		return getDirectionSign() * (tickPosition - tickPositionAtEncoderReset);
+	}
+
+	/**
+	 * Get the physical position of the shaft, unaffected by direction or encoder resets.
+	 * <p>
+	 * Other simulated devices (such as {@link AarreSimulatedIMU}) use this to work out how the robot has moved.
+	 *
+	 * @return The physical position of the shaft in encoder ticks since the simulation started.
+	 */
+	public synchronized double getSimulatedTickPosition() {
+		update();
+		return tickPosition;
+	}
+
+	/**
+	 * Get the physical speed of the shaft, unaffected by direction.
+	 *
+	 * @return The physical speed of the shaft in encoder ticks per second.
+	 */
+	public synchronized double getSimulatedTicksPerSecond() {
+		update();
+		return ticksPerSecond;
+	}
+
+	/**
+	 * Set the time constant with which the shaft responds to changes in power.
+	 * <p>
+	 * Larger values simulate motors driving heavier mechanisms.
+	 *
+	 * @param seconds
+	 * 		The time constant in seconds. Must be positive.
+	 */
+	public synchronized void setSimulatedSecondsTimeConstant(final double seconds) {
+		if (seconds <= 0.0) {
+			throw new IllegalArgumentException("seconds expected to be positive");
+		}
+		update();
+		secondsTimeConstant = seconds;
+	}
+
+	/**
+	 * Set how much of its speed the shaft loses to load on the mechanism or a sagging battery.
+	 *
+	 * @param proportionOfSpeedLost
+	 * 		The proportion of the no-load speed lost at any power, in the interval [0, 1).
+	 */
+	public synchronized void setSimulatedProportionOfSpeedLost(final double proportionOfSpeedLost) {
+		if ((proportionOfSpeedLost < 0.0) || (proportionOfSpeedLost >= 1.0)) {
+			throw new IllegalArgumentException("proportionOfSpeedLost expected to be in the interval [0, 1)");
+		}
+		update();
+		this.proportionOfSpeedLost = proportionOfSpeedLost;
+	}
+
+	/**
+	 * Set how much power it takes to overcome static friction and start the shaft turning.
+	 *
+	 * @param powerToOvercomeFriction
+	 * 		The magnitude of power below which the shaft does not turn, in the interval [0, 1).
+	 */
+	public synchronized void setSimulatedPowerToOvercomeFriction(final double powerToOvercomeFriction) {
+		if ((powerToOvercomeFriction < 0.0) || (powerToOvercomeFriction >= 1.0)) {
+			throw new IllegalArgumentException("powerToOvercomeFriction expected to be in the interval [0, 1)");
+		}
+		update();
+		this.powerToOvercomeFriction = powerToOvercomeFriction;
+	}
+
+	/**
+	 * Install mechanical end stops at which the shaft will stall.
+	 *
+	 * @param tickPositionMinimum
+	 * 		The lowest physical position the shaft can reach, in encoder ticks.
+	 * @param tickPositionMaximum
+	 * 		The highest physical position the shaft can reach, in encoder ticks.
+	 */
+	public synchronized void setSimulatedTickPositionLimits(final double tickPositionMinimum, final double
+			tickPositionMaximum) {
+		if (tickPositionMinimum > tickPositionMaximum) {
+			throw new IllegalArgumentException("tickPositionMinimum expected to be no greater than tickPositionMaximum");
+		}
+		update();
+		this.tickPositionMinimum = tickPositionMinimum;
+		this.tickPositionMaximum = tickPositionMaximum;
+	}
+
+	@Override
+	public synchronized MotorConfigurationType getMotorType() {
+		if (motorType == null) {
+			motorType = MotorConfigurationType.getUnspecifiedMotorType();
+		}
+		return motorType;
+	}
+
+	@Override
+	public synchronized void setMotorType(final MotorConfigurationType motorType) {
+		this.motorType = motorType;
+	}
+
+	/**
+	 * There is no motor controller off-robot.
+	 *
+	 * @return null
+	 */
+	@Override
+	public DcMotorController getController() {
+		return null;
+	}
+
+	@Override
+	public int getPortNumber() {
+		return portNumber;
+	}
+
+	@Override
+	public synchronized void setZeroPowerBehavior(final ZeroPowerBehavior zeroPowerBehavior) {
+		update();
+		this.zeroPowerBehavior = zeroPowerBehavior;
+	}
+
+	@Override
+	public synchronized ZeroPowerBehavior getZeroPowerBehavior() {
+		return zeroPowerBehavior;
+	}
+
+	@Override
+	@Deprecated
+	public synchronized void setPowerFloat() {
+		setZeroPowerBehavior(ZeroPowerBehavior.FLOAT);
+		setPower(0.0);
+	}
+
+	@Override
+	public synchronized boolean getPowerFloat() {
+		return (zeroPowerBehavior == ZeroPowerBehavior.FLOAT) && (power == 0.0);
+	}
+
+	@Override
+	public synchronized void setTargetPosition(final int position) {
+		update();
+		targetPosition = position;
+	}
+
+	@Override
+	public synchronized int getTargetPosition() {
+		return targetPosition;
+	}
+
+	@Override
+	public synchronized boolean isBusy() {
+		update();
+		return (getModeCurrent() == RunMode.RUN_TO_POSITION) && (Math.abs((double) targetPosition -
+				getLogicalTickPosition()) > (double) DEFAULT_TICKS_TARGET_TOLERANCE);
+	}
+
+	@Override
+	public synchronized int getCurrentPosition() {
+		update();
+		return (int) Math.round(getLogicalTickPosition());
+	}
+
+	@Override
+	public synchronized void setMode(final RunMode mode) {
+		update();
+		this.mode = mode;
+		if (getModeCurrent() == RunMode.STOP_AND_RESET_ENCODER) {
+			tickPositionAtEncoderReset = tickPosition;
+			power = 0.0;
+		}
+	}
+
+	@Override
+	public synchronized RunMode getMode() {
+		return mode;
+	}
+
+	@Override
+	public synchronized void setDirection(final Direction direction) {
+		update();
+		this.direction = direction;
+	}
+
+	@Override
+	public synchronized Direction getDirection() {
+		return direction;
+	}
+
+	@Override
+	public synchronized void setPower(final double power) {
+		if ((power < -1.0) || (power > 1.0)) {
+			throw new IllegalArgumentException("power expected to be in the interval [-1, 1]");
+		}
+		update();
+		this.power = power;
+	}
+
+	@Override
+	public synchronized double getPower() {
+		return power;
+	}
+
+	@Override
+	public Manufacturer getManufacturer() {
+		return Manufacturer.Other;
+	}
+
+	@Override
+	public String getDeviceName() {
+		return "Aarre Simulated DcMotor";
+	}
+
+	@Override
+	public String getConnectionInfo() {
+		return "simulated port " + portNumber;
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public synchronized void resetDeviceConfigurationForOpMode() {
+		update();
+		direction = Direction.FORWARD;
+		mode = RunMode.RUN_WITHOUT_ENCODER;
+		zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+		power = 0.0;
+	}
+
+	@Override
+	public synchronized void close() {
+		setPower(0.0);
+	}
+}
@@ -0,0 +1,149 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.logging.Logger;
+
+/**
+ * A {@link HardwareMap} populated with simulated devices, so that {@link AarreRobot} and the classes it uses can run
+ * off-robot (for example, on a plain Linux JVM) instead of only on the phone.
+ * <p>
+ * The devices and their names match the robot configuration in the FTC Robot Controller app:
+ *
+ * <ul>
+ * <li>"left" and "right" - TorqueNADO drive motors ({@link AarreMotorTorqueNADO})</li>
+ * <li>"arm" - REV HD Core Hex arm motor ({@link AarreMotorRevHDCoreHex})</li>
+ * <li>"riser" - TorqueNADO riser motor</li>
+ * <li>"hook" - hook servo</li>
+ * <li>"scoop" - continuous rotation scoop servo</li>
+ * <li>"imu" - BNO055 IMU, which takes its heading from the drive motors</li>
+ * </ul>
+ * <p>
+ * To use it, assign an instance to the {@code hardwareMap} field of the opMode before constructing the robot. The
+ * devices all run on the clock of the hardware map, which the classes that use them pick up by calling
+ * {@link #clockFor(HardwareMap)}.
+ */
+public class AarreSimulatedHardwareMap extends HardwareMap {
+
+	private final AarreClock            clock;
+	private final AarreSimulatedDcMotor leftMotor;
+	private final AarreSimulatedDcMotor rightMotor;
+	private final AarreSimulatedDcMotor armMotor;
+	private final AarreSimulatedDcMotor riserMotor;
+	private final AarreSimulatedServo   hookServo;
+	private final AarreSimulatedCRServo scoopServo;
+	private final AarreSimulatedIMU     imu;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * Construct a simulated hardware map running on a new virtual clock, with the default track width.
+	 */
+	public AarreSimulatedHardwareMap() {
+		this(new AarreVirtualClock());
+	}
+
+	/**
+	 * Construct a simulated hardware map with the default track width.
+	 *
+	 * @param clock
+	 * 		The clock on which the simulated devices run. Use an {@link AarreRealClock} to simulate in real time.
+	 */
+	public AarreSimulatedHardwareMap(final AarreClock clock) {
+		this(clock, AarreSimulatedIMU.DEFAULT_INCHES_TRACK_WIDTH);
+	}
+
+	/**
+	 * Construct a simulated hardware map.
+	 *
+	 * @param clock
+	 * 		The clock on which the simulated devices run. Use an {@link AarreRealClock} to simulate in real time.
+	 * @param inchesTrackWidth
+	 * 		The distance between the centers of the left and right drive wheels, which determines how quickly the
+	 * 		robot turns.
+	 */
+	public AarreSimulatedHardwareMap(final AarreClock clock, final double inchesTrackWidth) {
+
+		// There is no Android application context off-robot
+		super(null);
+
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+
+		leftMotor = new AarreSimulatedDcMotor(clock, 0, AarreMotorTorqueNADO.TORQUENADO_REVOLUTIONS_PER_MINUTE,
+				AarreMotorTorqueNADO.TORQUENADO_TICKS_PER_REVOLUTION);
+		rightMotor = new AarreSimulatedDcMotor(clock, 1, AarreMotorTorqueNADO.TORQUENADO_REVOLUTIONS_PER_MINUTE,
+				AarreMotorTorqueNADO.TORQUENADO_TICKS_PER_REVOLUTION);
+		armMotor = new AarreSimulatedDcMotor(clock, 2, AarreMotorRevHDCoreHex.REV_CORE_HEX_REVOLUTIONS_PER_MINUTE,
+				AarreMotorRevHDCoreHex.REV_CORE_HEX_TICKS_PER_REVOLUTION);
+		riserMotor = new AarreSimulatedDcMotor(clock, 3, AarreMotorTorqueNADO.TORQUENADO_REVOLUTIONS_PER_MINUTE,
+				AarreMotorTorqueNADO.TORQUENADO_TICKS_PER_REVOLUTION);
+
+		hookServo = new AarreSimulatedServo(0);
+		scoopServo = new AarreSimulatedCRServo(1);
+
+		final double ticksPerInch = (AarreMotorTorqueNADO.TORQUENADO_TICKS_PER_REVOLUTION * AarreDriveMotor
+				.DRIVE_GEAR_REDUCTION) / (AarreDriveMotor.WHEEL_DIAMETER_INCHES * Math.PI);
+		imu = new AarreSimulatedIMU(clock, leftMotor, rightMotor, ticksPerInch, inchesTrackWidth);
+
+		put("left", leftMotor);
+		put("right", rightMotor);
+		put("arm", armMotor);
+		put("riser", riserMotor);
+		put("hook", hookServo);
+		put("scoop", scoopServo);
+		put("imu", imu);
+	}
+
+	/**
+	 * Get the clock to use with a hardware map.
+	 *
+	 * @param hardwareMap
+	 * 		The hardware map in use, which may be null off-robot.
+	 *
+	 * @return The clock of the hardware map if it is simulated; otherwise, the real clock.
+	 */
+	static AarreClock clockFor(final HardwareMap hardwareMap) {
+		final AarreClock clock;
+		if (hardwareMap instanceof AarreSimulatedHardwareMap) {
+			clock = ((AarreSimulatedHardwareMap) hardwareMap).getClock();
+		} else {
+			clock = new AarreRealClock();
+		}
+		return clock;
+	}
+
+	public AarreClock getClock() {
+		return clock;
+	}
+
+	public AarreSimulatedDcMotor getLeftMotor() {
+		return leftMotor;
+	}
+
+	public AarreSimulatedDcMotor getRightMotor() {
+		return rightMotor;
+	}
+
+	public AarreSimulatedDcMotor getArmMotor() {
+		return armMotor;
+	}
+
+	public AarreSimulatedDcMotor getRiserMotor() {
+		return riserMotor;
+	}
+
+	public AarreSimulatedServo getHookServo() {
+		return hookServo;
+	}
+
+	public AarreSimulatedCRServo getScoopServo() {
+		return scoopServo;
+	}
+
+	public AarreSimulatedIMU getIMU() {
+		return imu;
+	}
+}
@@ -0,0 +1,342 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.hardware.bosch.BNO055IMU;
+import com.qualcomm.robotcore.hardware.HardwareDevice;
+import org.firstinspires.ftc.robotcore.external.navigation.Acceleration;
+import org.firstinspires.ftc.robotcore.external.navigation.AngularVelocity;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.MagneticFlux;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.Position;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.external.navigation.Temperature;
+import org.firstinspires.ftc.robotcore.external.navigation.Velocity;
+
+import java.util.logging.Logger;
+
+/**
+ * A simulated {@link BNO055IMU} for running robot code off-robot.
+ * <p>
+ * The simulated IMU only knows about heading. It works out the heading of the robot from the difference in
+ * distance travelled by the wheels of a differential drive, so the left and right drive motors must be simulated
+ * too. The robot is assumed to be level and at rest apart from turning, so roll and pitch are always zero and the
+ * only acceleration is gravity.
+ * <p>
+ * As with the real IMU, heading is measured counterclockwise and is relative to the heading of the robot when
+ * {@link #initialize(Parameters)} was last called.
+ */
+public class AarreSimulatedIMU implements BNO055IMU, HardwareDevice {
+
+	// Distance between the centers of the left and right wheels
+	static final double DEFAULT_INCHES_TRACK_WIDTH = AarreDriveMotor.TRACK_WIDTH_INCHES;
+
+	private static final double METERS_PER_SECOND_SQUARED_GRAVITY = 9.80665;
+	private static final double DEGREES_CELSIUS_TEMPERATURE       = 25.0;
+
+	/*
+	 * Inside this class, AngleUnit refers to BNO055IMU.AngleUnit (which shadows the navigation AngleUnit), so
+	 * convert to the navigation AngleUnit where it is needed.
+	 */
+	private static final org.firstinspires.ftc.robotcore.external.navigation.AngleUnit RADIANS = AngleUnit.RADIANS
+			.toAngleUnit();
+
+	// All of system, gyro, accelerometer, and magnetometer fully calibrated
+	private static final int CALIBRATION_STATUS_FULLY_CALIBRATED = 0xFF;
+
+	private final AarreClock            clock;
+	private final AarreSimulatedDcMotor leftMotor;
+	private final AarreSimulatedDcMotor rightMotor;
+	private final double                ticksPerInch;
+	private final double                inchesTrackWidth;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private Parameters parameters = new Parameters();
+	private double     radiansHeadingAtInitialization;
+
+	// How many times the orientation has been read, as a stand-in for I2C transactions on the real IMU
+	private long numberOfReads;
+	private boolean    initialized;
+
+	/**
+	 * Construct a simulated IMU mounted on a robot with a differential drive.
+	 * <p>
+	 * Both motors are taken to be mounted so that positive physical rotation drives the right wheel forward and the
+	 * left wheel backward, as is the case when the left motor is reversed to make the robot drive straight.
+	 *
+	 * @param clock
+	 * 		The clock from which to take the acquisition time of readings.
+	 * @param leftMotor
+	 * 		The simulated motor driving the left wheel.
+	 * @param rightMotor
+	 * 		The simulated motor driving the right wheel.
+	 * @param ticksPerInch
+	 * 		The number of encoder ticks per inch travelled by each wheel.
+	 * @param inchesTrackWidth
+	 * 		The distance between the centers of the left and right wheels.
+	 */
+	public AarreSimulatedIMU(final AarreClock clock, final AarreSimulatedDcMotor leftMotor, final
+			AarreSimulatedDcMotor rightMotor, final double ticksPerInch, final double inchesTrackWidth) {
+
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		if ((leftMotor == null) || (rightMotor == null)) {
+			throw new IllegalArgumentException("Unexpected null parameter: motor");
+		}
+		if (ticksPerInch <= 0.0) {
+			throw new IllegalArgumentException("ticksPerInch expected to be positive");
+		}
+		if (inchesTrackWidth <= 0.0) {
+			throw new IllegalArgumentException("inchesTrackWidth expected to be positive");
+		}
+
+		this.clock = clock;
+		this.leftMotor = leftMotor;
+		this.rightMotor = rightMotor;
+		this.ticksPerInch = ticksPerInch;
+		this.inchesTrackWidth = inchesTrackWidth;
+	}
+
+	/**
+	 * Get the heading of the robot since the simulation started, without wrapping.
+	 */
+	private double getRadiansHeadingUnwrapped() {
+
+		// The left motor is mounted backward, so forward travel of the left wheel is negative physical rotation
+		final double inchesLeftForward  = -leftMotor.getSimulatedTickPosition() / ticksPerInch;
+		final double inchesRightForward = rightMotor.getSimulatedTickPosition() / ticksPerInch;
+
+		return (inchesRightForward - inchesLeftForward) / inchesTrackWidth;
+	}
+
+	private double getRadiansPerSecondTurn() {
+
+		final double inchesPerSecondLeftForward  = -leftMotor.getSimulatedTicksPerSecond() / ticksPerInch;
+		final double inchesPerSecondRightForward = rightMotor.getSimulatedTicksPerSecond() / ticksPerInch;
+
+		return (inchesPerSecondRightForward - inchesPerSecondLeftForward) / inchesTrackWidth;
+	}
+
+	@Override
+	public synchronized boolean initialize(final Parameters parameters) {
+		this.parameters = parameters;
+		radiansHeadingAtInitialization = getRadiansHeadingUnwrapped();
+		initialized = true;
+		return true;
+	}
+
+	@Override
+	public synchronized Parameters getParameters() {
+		return parameters;
+	}
+
+	@Override
+	public synchronized void close() {
+		initialized = false;
+	}
+
+	/**
+	 * Get how many times the orientation has been read since the simulated IMU was constructed.
+	 *
+	 * @return The number of reads.
+	 */
+	public synchronized long getNumberOfReads() {
+		return numberOfReads;
+	}
+
+	@Override
+	public synchronized Orientation getAngularOrientation() {
+		numberOfReads++;
+		final double radiansHeading = RADIANS.normalize(getRadiansHeadingUnwrapped() -
+				radiansHeadingAtInitialization);
+		final Orientation orientation = new Orientation(AxesReference.INTRINSIC, AxesOrder.ZYX, RADIANS, (float)
+				radiansHeading, 0.0f, 0.0f, clock.nanoTime());
+		return orientation.toAngleUnit(parameters.angleUnit.toAngleUnit());
+	}
+
+	@Override
+	public synchronized Orientation getAngularOrientation(final AxesReference reference, final AxesOrder order, final
+	org.firstinspires.ftc.robotcore.external.navigation.AngleUnit angleUnit) {
+		return getAngularOrientation().toAxesReference(reference).toAxesOrder(order).toAngleUnit(angleUnit);
+	}
+
+	@Override
+	public Acceleration getOverallAcceleration() {
+		return getGravity();
+	}
+
+	@Override
+	public synchronized AngularVelocity getAngularVelocity() {
+		final AngularVelocity angularVelocity = new AngularVelocity(RADIANS, 0.0f, 0.0f, (float)
+				getRadiansPerSecondTurn(), clock.nanoTime());
+		return angularVelocity.toAngleUnit(parameters.angleUnit.toAngleUnit());
+	}
+
+	@Override
+	public Acceleration getLinearAcceleration() {
+		return new Acceleration(DistanceUnit.METER, 0.0, 0.0, 0.0, clock.nanoTime());
+	}
+
+	@Override
+	public Acceleration getGravity() {
+		return new Acceleration(DistanceUnit.METER, 0.0, 0.0, METERS_PER_SECOND_SQUARED_GRAVITY, clock.nanoTime());
+	}
+
+	@Override
+	public Temperature getTemperature() {
+		// BNO055IMU declares a TempUnit of its own, so the navigation unit has to be named in full
+		return new Temperature(org.firstinspires.ftc.robotcore.external.navigation.TempUnit.CELSIUS,
+				DEGREES_CELSIUS_TEMPERATURE, clock.nanoTime());
+	}
+
+	@Override
+	public MagneticFlux getMagneticFieldStrength() {
+		return new MagneticFlux(0.0, 0.0, 0.0, clock.nanoTime());
+	}
+
+	@Override
+	public synchronized Quaternion getQuaternionOrientation() {
+		final double radiansHalfHeading = (getRadiansHeadingUnwrapped() - radiansHeadingAtInitialization) / 2.0;
+		return new Quaternion((float) Math.cos(radiansHalfHeading), 0.0f, 0.0f, (float) Math.sin
+				(radiansHalfHeading), clock.nanoTime());
+	}
+
+	/**
+	 * The simulated IMU does not integrate acceleration.
+	 *
+	 * @return The origin.
+	 */
+	@Override
+	public Position getPosition() {
+		return new Position();
+	}
+
+	/**
+	 * The simulated IMU does not integrate acceleration.
+	 *
+	 * @return Zero velocity.
+	 */
+	@Override
+	public Velocity getVelocity() {
+		return new Velocity();
+	}
+
+	@Override
+	public Acceleration getAcceleration() {
+		return getLinearAcceleration();
+	}
+
+	@Override
+	public void startAccelerationIntegration(final Position initialPosition, final Velocity initialVelocity, final
+	int msPollInterval) {
+		// The simulated IMU does not integrate acceleration
+	}
+
+	@Override
+	public void stopAccelerationIntegration() {
+		// The simulated IMU does not integrate acceleration
+	}
+
+	@Override
+	public synchronized SystemStatus getSystemStatus() {
+		return initialized ? SystemStatus.RUNNING_FUSION : SystemStatus.IDLE;
+	}
+
+	@Override
+	public SystemError getSystemError() {
+		return SystemError.NO_ERROR;
+	}
+
+	@Override
+	public CalibrationStatus getCalibrationStatus() {
+		return new CalibrationStatus(CALIBRATION_STATUS_FULLY_CALIBRATED);
+	}
+
+	@Override
+	public boolean isSystemCalibrated() {
+		return true;
+	}
+
+	@Override
+	public boolean isGyroCalibrated() {
+		return true;
+	}
+
+	@Override
+	public boolean isAccelerometerCalibrated() {
+		return true;
+	}
+
+	@Override
+	public boolean isMagnetometerCalibrated() {
+		return true;
+	}
+
+	@Override
+	public CalibrationData readCalibrationData() {
+		return new CalibrationData();
+	}
+
+	@Override
+	public void writeCalibrationData(final CalibrationData data) {
+		// There is nothing to calibrate off-robot
+	}
+
+	/**
+	 * There are no registers off-robot.
+	 *
+	 * @return 0
+	 */
+	@Override
+	public byte read8(final Register register) {
+		return 0;
+	}
+
+	/**
+	 * There are no registers off-robot.
+	 *
+	 * @return An array of zeroes.
+	 */
+	@Override
+	public byte[] read(final Register register, final int cb) {
+		return new byte[cb];
+	}
+
+	@Override
+	public void write8(final Register register, final int bVal) {
+		// There are no registers off-robot
+	}
+
+	@Override
+	public void write(final Register register, final byte[] data) {
+		// There are no registers off-robot
+	}
+
+	@Override
+	public Manufacturer getManufacturer() {
+		return Manufacturer.Other;
+	}
+
+	@Override
+	public String getDeviceName() {
+		return "Aarre Simulated BNO055 IMU";
+	}
+
+	@Override
+	public String getConnectionInfo() {
+		return "simulated I2C bus";
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public void resetDeviceConfigurationForOpMode() {
+		// Nothing to reset off-robot
+	}
+}
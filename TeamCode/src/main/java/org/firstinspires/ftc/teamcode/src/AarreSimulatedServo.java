@@ -0,0 +1,121 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.hardware.ServoController;
+
+import java.util.logging.Logger;
+
+/**
+ * A simulated {@link Servo} for running robot code off-robot.
+ * <p>
+ * Like a real servo, this reports the position it was last commanded to, not where the horn actually is. The
+ * scaled position (the one the horn would actually move to) is available from
+ * {@link #getSimulatedScaledPosition()}.
+ */
+public class AarreSimulatedServo implements Servo {
+
+	private final int portNumber;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private Direction direction = Direction.FORWARD;
+	private double    position;
+	private double    scaleMinimum = MIN_POSITION;
+	private double    scaleMaximum = MAX_POSITION;
+
+	/**
+	 * Construct a simulated servo.
+	 *
+	 * @param portNumber
+	 * 		The (simulated) port number of the servo on its controller.
+	 */
+	public AarreSimulatedServo(final int portNumber) {
+		this.portNumber = portNumber;
+	}
+
+	/**
+	 * Get the position the servo horn would actually move to, taking into account the direction and range scaling.
+	 *
+	 * @return The position in the interval [0, 1].
+	 */
+	public synchronized double getSimulatedScaledPosition() {
+		final double positionDirected = (direction == Direction.FORWARD) ? position : (MAX_POSITION - position);
+		return scaleMinimum + (positionDirected * (scaleMaximum - scaleMinimum));
+	}
+
+	/**
+	 * There is no servo controller off-robot.
+	 *
+	 * @return null
+	 */
+	@Override
+	public ServoController getController() {
+		return null;
+	}
+
+	@Override
+	public int getPortNumber() {
+		return portNumber;
+	}
+
+	@Override
+	public synchronized void setDirection(final Direction direction) {
+		this.direction = direction;
+	}
+
+	@Override
+	public synchronized Direction getDirection() {
+		return direction;
+	}
+
+	@Override
+	public synchronized void setPosition(final double position) {
+		this.position = Math.min(MAX_POSITION, Math.max(MIN_POSITION, position));
+	}
+
+	@Override
+	public synchronized double getPosition() {
+		return position;
+	}
+
+	@Override
+	public synchronized void scaleRange(final double min, final double max) {
+		if ((min < MIN_POSITION) || (max > MAX_POSITION) || (min >= max)) {
+			throw new IllegalArgumentException("scale range expected to be an ascending interval within [0, 1]");
+		}
+		scaleMinimum = min;
+		scaleMaximum = max;
+	}
+
+	@Override
+	public Manufacturer getManufacturer() {
+		return Manufacturer.Other;
+	}
+
+	@Override
+	public String getDeviceName() {
+		return "Aarre Simulated Servo";
+	}
+
+	@Override
+	public String getConnectionInfo() {
+		return "simulated port " + portNumber;
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@Override
+	public synchronized void resetDeviceConfigurationForOpMode() {
+		direction = Direction.FORWARD;
+		scaleMinimum = MIN_POSITION;
+		scaleMaximum = MAX_POSITION;
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release off-robot
+	}
+}
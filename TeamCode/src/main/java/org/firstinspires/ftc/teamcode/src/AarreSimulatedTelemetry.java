@@ -0,0 +1,297 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import org.firstinspires.ftc.robotcore.external.Func;
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Telemetry} that sends nothing anywhere, so that opModes and the classes they use can run off-robot.
+ * <p>
+ * The SDK's own telemetry sends each update to the driver station through the services of the running opMode, which
+ * do not exist on a plain JVM, and only sends once enough real time has passed since the last update. This telemetry
+ * accepts every call, keeps none of the data it is given and allocates nothing of its own, but it does run the actions
+ * added with {@link #addAction(Runnable)} and count the updates, so tests can see how much telemetry a loop does.
+ * <p>
+ * To use it, assign an instance to the {@code telemetry} field of the opMode before constructing the robot.
+ */
+public class AarreSimulatedTelemetry implements Telemetry {
+
+	// The same defaults as the SDK's telemetry
+	private static final int DEFAULT_MILLISECONDS_TRANSMISSION_INTERVAL = 250;
+	private static final int DEFAULT_LOG_CAPACITY                       = 9;
+
+	private final Item item = new SimulatedItem();
+	private final Line line = new SimulatedLine();
+	private final Log  log  = new SimulatedLog();
+
+	private final List<Runnable> actions = new ArrayList<>();
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private boolean autoClear              = true;
+	private int     msTransmissionInterval = DEFAULT_MILLISECONDS_TRANSMISSION_INTERVAL;
+	private String  itemSeparator          = " | ";
+	private String  captionValueSeparator  = " : ";
+	private long    numberOfUpdates;
+
+	/**
+	 * @return How many times {@link #update()} has been called.
+	 */
+	public synchronized long getNumberOfUpdates() {
+		return numberOfUpdates;
+	}
+
+	@Override
+	public Item addData(final String caption, final String format, final Object... args) {
+		return item;
+	}
+
+	@Override
+	public Item addData(final String caption, final Object value) {
+		return item;
+	}
+
+	@Override
+	public <T> Item addData(final String caption, final Func<T> valueProducer) {
+		return item;
+	}
+
+	@Override
+	public <T> Item addData(final String caption, final String format, final Func<T> valueProducer) {
+		return item;
+	}
+
+	@Override
+	public boolean removeItem(final Item item) {
+		return false;
+	}
+
+	@Override
+	public void clear() {
+	}
+
+	@Override
+	public void clearAll() {
+	}
+
+	@Override
+	public synchronized Object addAction(final Runnable action) {
+		actions.add(action);
+		return action;
+	}
+
+	@Override
+	public synchronized boolean removeAction(final Object token) {
+		return actions.remove(token);
+	}
+
+	/**
+	 * Run the actions and count the update.
+	 *
+	 * @return {@code true}, as if the update had been sent.
+	 */
+	@Override
+	public synchronized boolean update() {
+		for (int index = 0; index < actions.size(); index++) {
+			actions.get(index).run();
+		}
+		numberOfUpdates++;
+		return true;
+	}
+
+	@Override
+	public Line addLine() {
+		return line;
+	}
+
+	@Override
+	public Line addLine(final String lineCaption) {
+		return line;
+	}
+
+	@Override
+	public boolean removeLine(final Line line) {
+		return false;
+	}
+
+	@Override
+	public synchronized boolean isAutoClear() {
+		return autoClear;
+	}
+
+	@Override
+	public synchronized void setAutoClear(final boolean autoClear) {
+		this.autoClear = autoClear;
+	}
+
+	@Override
+	public synchronized int getMsTransmissionInterval() {
+		return msTransmissionInterval;
+	}
+
+	@Override
+	public synchronized void setMsTransmissionInterval(final int msTransmissionInterval) {
+		this.msTransmissionInterval = msTransmissionInterval;
+	}
+
+	@Override
+	public synchronized String getItemSeparator() {
+		return itemSeparator;
+	}
+
+	@Override
+	public synchronized void setItemSeparator(final String itemSeparator) {
+		this.itemSeparator = itemSeparator;
+	}
+
+	@Override
+	public synchronized String getCaptionValueSeparator() {
+		return captionValueSeparator;
+	}
+
+	@Override
+	public synchronized void setCaptionValueSeparator(final String captionValueSeparator) {
+		this.captionValueSeparator = captionValueSeparator;
+	}
+
+	@Override
+	public Log log() {
+		return log;
+	}
+
+	/**
+	 * An item that keeps nothing. Every caller shares the one instance.
+	 */
+	private final class SimulatedItem implements Item {
+
+		@Override
+		public String getCaption() {
+			return "";
+		}
+
+		@Override
+		public Item setCaption(final String caption) {
+			return this;
+		}
+
+		@Override
+		public Item setValue(final String format, final Object... args) {
+			return this;
+		}
+
+		@Override
+		public Item setValue(final Object value) {
+			return this;
+		}
+
+		@Override
+		public <T> Item setValue(final Func<T> valueProducer) {
+			return this;
+		}
+
+		@Override
+		public <T> Item setValue(final String format, final Func<T> valueProducer) {
+			return this;
+		}
+
+		@Override
+		public Item setRetained(final Boolean retained) {
+			return this;
+		}
+
+		@Override
+		public boolean isRetained() {
+			return false;
+		}
+
+		@Override
+		public Item addData(final String caption, final String format, final Object... args) {
+			return this;
+		}
+
+		@Override
+		public Item addData(final String caption, final Object value) {
+			return this;
+		}
+
+		@Override
+		public <T> Item addData(final String caption, final Func<T> valueProducer) {
+			return this;
+		}
+
+		@Override
+		public <T> Item addData(final String caption, final String format, final Func<T> valueProducer) {
+			return this;
+		}
+	}
+
+	/**
+	 * A line that keeps nothing.
+	 */
+	private final class SimulatedLine implements Line {
+
+		@Override
+		public Item addData(final String caption, final String format, final Object... args) {
+			return item;
+		}
+
+		@Override
+		public Item addData(final String caption, final Object value) {
+			return item;
+		}
+
+		@Override
+		public <T> Item addData(final String caption, final Func<T> valueProducer) {
+			return item;
+		}
+
+		@Override
+		public <T> Item addData(final String caption, final String format, final Func<T> valueProducer) {
+			return item;
+		}
+	}
+
+	/**
+	 * A log that keeps nothing.
+	 */
+	private static final class SimulatedLog implements Log {
+
+		private int          capacity     = DEFAULT_LOG_CAPACITY;
+		private DisplayOrder displayOrder = DisplayOrder.OLDEST_FIRST;
+
+		@Override
+		public synchronized int getCapacity() {
+			return capacity;
+		}
+
+		@Override
+		public synchronized void setCapacity(final int capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		public synchronized DisplayOrder getDisplayOrder() {
+			return displayOrder;
+		}
+
+		@Override
+		public synchronized void setDisplayOrder(final DisplayOrder displayOrder) {
+			this.displayOrder = displayOrder;
+		}
+
+		@Override
+		public void add(final String entry) {
+		}
+
+		@Override
+		public void add(final String format, final Object... args) {
+		}
+
+		@Override
+		public void clear() {
+		}
+	}
+}
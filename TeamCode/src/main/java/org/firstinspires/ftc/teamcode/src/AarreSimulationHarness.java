@@ -0,0 +1,253 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Run a whole opMode off-robot against simulated hardware and a virtual clock, and report how long it took.
+ * <p>
+ * The harness builds the opMode, gives it an {@link AarreSimulatedHardwareMap} on a new {@link AarreVirtualClock}
+ * and an {@link AarreSimulatedTelemetry}, presses PLAY, and runs it until {@code runOpMode()} returns. The match ends
+ * (as if the driver had pressed STOP) when the virtual clock reaches the length of the match, so opModes that loop
+ * until STOP finish too.
+ * <p>
+ * Because the robot's loops wait on the virtual clock, a 30-second autonomous typically runs in a second or two, and
+ * takes exactly the same virtual time on every run. Only the opMode moves the clock, so an opMode that waits for STOP
+ * must let the time pass on the clock, as {@link AarreRobotOpMode#waitForStop()} does; an empty {@code while
+ * (opModeIsActive())} loop would never reach the end of the match, and fails when the real-time timeout runs out.
+ * <p>
+ * Afterwards, the report gives the total virtual time, the time of each kind of call to {@link AarreRobot}, and the
+ * number of cycles of each control loop. From the command line:
+ *
+ * <pre>
+ * java org.firstinspires.ftc.teamcode.src.AarreSimulationHarness org.firstinspires.ftc.teamcode.opmode.AarreAutonomousDance
+ * </pre>
+ */
+public class AarreSimulationHarness {
+
+	private static final double DEFAULT_SECONDS_MATCH = 30.0;
+
+	// Give up if the opMode has not finished after this much real time
+	private static final long DEFAULT_MILLISECONDS_REAL_TIMEOUT = 120000L;
+
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final Class<? extends LinearOpMode> opModeClass;
+
+	private double secondsMatch            = DEFAULT_SECONDS_MATCH;
+	private long   millisecondsRealTimeout = DEFAULT_MILLISECONDS_REAL_TIMEOUT;
+
+	private LinearOpMode              opMode;
+	private AarreVirtualClock         clock;
+	private AarreSimulatedHardwareMap hardwareMap;
+
+	private volatile boolean stoppedAtEndOfMatch;
+	private volatile long    nanosecondsFinished;
+
+	/**
+	 * Construct a harness for an opMode.
+	 *
+	 * @param opModeClass
+	 * 		The class of the opMode to run, which must have a constructor without parameters.
+	 */
+	public AarreSimulationHarness(final Class<? extends LinearOpMode> opModeClass) {
+		if (opModeClass == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: opModeClass");
+		}
+		this.opModeClass = opModeClass;
+	}
+
+	/**
+	 * Run each opMode named on the command line and print its report.
+	 *
+	 * @param args
+	 * 		The fully qualified class names of the opModes to run.
+	 */
+	public static void main(final String[] args) throws ClassNotFoundException {
+		for (final String className : args) {
+			final AarreSimulationHarness harness = new AarreSimulationHarness(Class.forName(className).asSubclass
+					(LinearOpMode.class));
+			harness.run();
+			System.out.println(harness.getReport());
+			System.out.println();
+		}
+	}
+
+	/**
+	 * Build the opMode and run it to completion.
+	 *
+	 * @throws IllegalStateException
+	 * 		If the opMode throws, or does not finish within the real-time timeout.
+	 */
+	public void run() {
+
+		final LinearOpMode opMode;
+		try {
+			opMode = opModeClass.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Cannot construct " + opModeClass.getName(), e);
+		}
+		this.opMode = opMode;
+
+		// Off the robot there is no phone storage, and a background thread cannot keep up with the virtual clock
+		if (opMode instanceof AarreRobotOpMode) {
+			((AarreRobotOpMode) opMode).setRobotConfiguration(new AarreRobotConfiguration());
+		}
+
+		clock = new AarreVirtualClock();
+		hardwareMap = new AarreSimulatedHardwareMap(clock);
+		opMode.hardwareMap = hardwareMap;
+		opMode.telemetry = new AarreSimulatedTelemetry();
+		stoppedAtEndOfMatch = false;
+		nanosecondsFinished = 0L;
+
+		// The end of the match stops the opMode on whichever thread gets there, exactly on time
+		clock.setAlarm(getNanosecondsMatch(), () -> {
+			stoppedAtEndOfMatch = true;
+			opMode.stop();
+		});
+
+		final Throwable[] failure = new Throwable[1];
+		final Thread worker = new Thread(() -> {
+			try {
+				opMode.runOpMode();
+			} catch (Throwable e) {
+				failure[0] = e;
+			}
+			nanosecondsFinished = clock.nanoTime();
+		}, "Simulated " + opModeClass.getSimpleName());
+		worker.setDaemon(true);
+
+		// Press PLAY
+		opMode.start();
+		worker.start();
+
+		try {
+			worker.join(millisecondsRealTimeout);
+		} catch (InterruptedException e) {
+			opMode.stop();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while running " + opModeClass.getName(), e);
+		}
+		if (worker.isAlive()) {
+			opMode.stop();
+			worker.interrupt();
+			throw new IllegalStateException(opModeClass.getName() + " did not finish within " +
+					millisecondsRealTimeout + " ms of real time");
+		}
+
+		if (failure[0] != null) {
+			throw new IllegalStateException(opModeClass.getName() + " failed in simulation", failure[0]);
+		}
+	}
+
+	/**
+	 * Summarize the run.
+	 *
+	 * @return The total virtual time, then one line per kind of robot call and one line per control loop.
+	 */
+	public String getReport() {
+		final StringBuilder report = new StringBuilder();
+		report.append(String.format(Locale.US, "%s - %.2f s (%s), robot busy until %.2f s", opModeClass
+				.getSimpleName(), getSecondsElapsed(), stoppedAtEndOfMatch ? "stopped at end of match" :
+				"finished", getSecondsActive()));
+		final AarreRobot robot = getRobot();
+		if (robot != null) {
+			final String callReport = robot.getCallStatistics().getReport();
+			if (!callReport.isEmpty()) {
+				report.append('\n').append(callReport);
+			}
+			report.append('\n').append(robot.getCycleReport());
+		}
+		return report.toString();
+	}
+
+	/**
+	 * @return The virtual time from PLAY until the opMode returned from {@code runOpMode()}, in seconds.
+	 */
+	public double getSecondsElapsed() {
+		return nanosecondsFinished / NANOSECONDS_PER_SECOND;
+	}
+
+	/**
+	 * @return The virtual time from PLAY until the last call to the robot finished, in seconds, which leaves out any
+	 * 		time the opMode spent waiting for STOP.
+	 */
+	public double getSecondsActive() {
+		final AarreRobot robot = getRobot();
+		return (robot == null) ? 0.0 : (robot.getCallStatistics().getNanosecondsLastEnd() / NANOSECONDS_PER_SECOND);
+	}
+
+	/**
+	 * @return The number of cycles run by the drive, arm, riser and ramp engine loops together.
+	 */
+	public long getNumberOfCycles() {
+		final AarreRobot robot = getRobot();
+		if (robot == null) {
+			return 0L;
+		}
+		long numberOfCycles = robot.driveMotors.getCycleStatistics().getCyclePeriod().getCount();
+		if (robot.arm.getCycleStatistics() != null) {
+			numberOfCycles += robot.arm.getCycleStatistics().getCyclePeriod().getCount();
+		}
+		numberOfCycles += robot.riser.getCycleStatistics().getCyclePeriod().getCount();
+		numberOfCycles += robot.rampEngine.getCycleStatistics().getCyclePeriod().getCount();
+		return numberOfCycles;
+	}
+
+	/**
+	 * @return {@code true} if the match ended while the opMode was still running.
+	 */
+	public boolean isStoppedAtEndOfMatch() {
+		return stoppedAtEndOfMatch;
+	}
+
+	/**
+	 * @return The robot the opMode built, or {@code null} if it has not run or is not an {@link AarreRobotOpMode}.
+	 */
+	public AarreRobot getRobot() {
+		return (opMode instanceof AarreRobotOpMode) ? ((AarreRobotOpMode) opMode).getRobot() : null;
+	}
+
+	public AarreSimulatedHardwareMap getHardwareMap() {
+		return hardwareMap;
+	}
+
+	public double getSecondsMatch() {
+		return secondsMatch;
+	}
+
+	private long getNanosecondsMatch() {
+		return (long) (secondsMatch * NANOSECONDS_PER_SECOND);
+	}
+
+	/**
+	 * Set how long the match lasts, after which the opMode is stopped as if the driver had pressed STOP.
+	 *
+	 * @param secondsMatch
+	 * 		The length of the match in seconds; 30 for the autonomous period. Must be positive.
+	 */
+	public void setSecondsMatch(final double secondsMatch) {
+		if (secondsMatch <= 0.0) {
+			throw new IllegalArgumentException("secondsMatch expected to be positive");
+		}
+		this.secondsMatch = secondsMatch;
+	}
+
+	/**
+	 * Set how much real time to allow before giving up on an opMode that does not finish.
+	 *
+	 * @param millisecondsRealTimeout
+	 * 		The timeout in milliseconds of real time. Must be positive.
+	 */
+	public void setMillisecondsRealTimeout(final long millisecondsRealTimeout) {
+		if (millisecondsRealTimeout <= 0L) {
+			throw new IllegalArgumentException("millisecondsRealTimeout expected to be positive");
+		}
+		this.millisecondsRealTimeout = millisecondsRealTimeout;
+	}
+}
@@ -15,15 +15,25 @@ import java.util.logging.Logger;
  * <p>
  * This also makes it easier to switch back and forth between calling the Telemetry.addData and
  * Telemetry.log methods in other classes.
+ * <p>
+ * Logging is asynchronous. The log methods only queue the message and its arguments on an
+ * {@link AarreLogPipeline}, whose background thread formats the message and writes it to all three places. This
+ * keeps logging cheap enough to call from inside a control loop.
  */
 public class AarreTelemetry {
 
+	/**
+	 * All instances share one pipeline by default, so that messages come out in the order they were logged.
+	 */
+	private static final AarreLogPipeline DEFAULT_PIPELINE = new AarreLogPipeline();
+
 	private final Telemetry     underlyingTelemetry;
 	private final Telemetry.Log telemetryLog;
 
 	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
 
-	private boolean carefulLogging;
+	private boolean          carefulLogging;
+	private AarreLogPipeline pipeline;
 
 
 	/**
@@ -38,6 +48,7 @@ public class AarreTelemetry {
 		underlyingTelemetry.setAutoClear(false);
 		telemetryLog = telemetry.log();
 		carefulLogging = false;
+		pipeline = DEFAULT_PIPELINE;
 
 	}
 
@@ -113,6 +124,25 @@ public class AarreTelemetry {
 		log(caption, message, args);
 	}
 
+	/**
+	 * Add a formatted string to the driver station display without logging it.
+	 * <p>
+	 * This is for status that is redisplayed in every cycle of a control loop, where the caller decides separately
+	 * (for example, with an {@link AarreLogger}) whether it is worth logging.
+	 *
+	 * @param caption
+	 * 		A caption for the telemetry entry.
+	 * @param message
+	 * 		A printf-formatted telemetry message associated with the caption.
+	 * @param args
+	 * 		Arguments to the printf-formatted message.
+	 */
+	final void display(final java.lang.String caption, final java.lang.String message, final java.lang.Object...
+			args) {
+
+		underlyingTelemetry.addData(caption, message, args);
+	}
+
 	/**
 	 * Create and return a new line in the receiver {@link Telemetry}.
 	 */
@@ -123,33 +153,13 @@ public class AarreTelemetry {
 
 	/**
 	 * Append a simple message to the log.
-	 * <p>
-	 * All other methods should ultimately call this one, because it also appends the message to the
-	 * robot controller log.
 	 *
 	 * @param message
 	 * 		The message to append to the log.
 	 */
 	public void log(final java.lang.String message) {
 
-		final String TAG = "AarreTelemetry";
-
-		if (carefulLogging) {
-
-			// Wait a couple of milliseconds between log entries to ensure that every entry has its
-			// own line in the log. This can make it easier to find and read log entries. It is probably not
-			// a good idea to have this set during competition, though....
-
-			try {
-				Thread.sleep(2L);
-			} catch (final InterruptedException e) {
-				log("Sleep interrupted!");
-			}
-		}
-
-		syslog(TAG + message);
-		telemetryLog.add(TAG + ": " + message);
-		javaLog.info(message);
+		pipeline.enqueue(this, null, message, null);
 	}
 
 	/**
@@ -162,11 +172,13 @@ public class AarreTelemetry {
 	 */
 	public void log(final java.lang.String caption, final java.lang.String message) {
 
-		log(caption + ": " + message);
+		pipeline.enqueue(this, caption, message, null);
 	}
 
 	/**
 	 * Append a formatted message (without a caption) to the log.
+	 * <p>
+	 * The message is formatted later, on the pipeline thread.
 	 *
 	 * @param message
 	 * 		A printf-formatted message to be logged.
@@ -175,13 +187,13 @@ public class AarreTelemetry {
 	 */
 	public void log(final java.lang.String message, final java.lang.Object... args) {
 
-		final String logMessage = String.format(message, args);
-		log(logMessage);
-
+		pipeline.enqueue(this, null, message, args);
 	}
 
 	/**
 	 * Append a formatted message (with a caption) to the log.
+	 * <p>
+	 * The message is formatted later, on the pipeline thread.
 	 *
 	 * @param caption
 	 * 		A caption for the log entry.
@@ -193,9 +205,63 @@ public class AarreTelemetry {
 	public void log(final java.lang.String caption, final java.lang.String message, final java.lang
 			.Object... args) {
 
-		final String logMessage = caption + ": " + message;
-		log(logMessage, args);
+		pipeline.enqueue(this, caption, message, args);
+	}
+
+	/**
+	 * Write a formatted message to the robot controller log, the driver station log and the Java log.
+	 * <p>
+	 * The pipeline thread calls this for every message logged, so all the log methods ultimately end up here.
+	 *
+	 * @param message
+	 * 		The message to write.
+	 */
+	void write(final java.lang.String message) {
+
+		final String TAG = "AarreTelemetry";
+
+		if (carefulLogging) {
+
+			// Wait a couple of milliseconds between log entries to ensure that every entry has its
+			// own line in the log. This can make it easier to find and read log entries. It is probably not
+			// a good idea to have this set during competition, though....
+
+			try {
+				Thread.sleep(2L);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		syslog(TAG + message);
+		telemetryLog.add(TAG + ": " + message);
+		javaLog.info(message);
+	}
 
+	/**
+	 * Wait until every message logged so far has been written, for up to a second.
+	 *
+	 * @return {@code true} if every message has been written or dropped; {@code false} if time ran out first.
+	 */
+	public boolean flush() {
+		return pipeline.flush();
+	}
+
+	public AarreLogPipeline getPipeline() {
+		return pipeline;
+	}
+
+	/**
+	 * Use a different pipeline, for example to give this telemetry its own queue capacity or overflow policy.
+	 *
+	 * @param pipeline
+	 * 		The pipeline on which to queue messages.
+	 */
+	public void setPipeline(final AarreLogPipeline pipeline) {
+		if (pipeline == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: pipeline");
+		}
+		this.pipeline = pipeline;
 	}
 
 	/**
@@ -0,0 +1,54 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * Measure time elapsed on an {@link AarreClock}.
+ * <p>
+ * This plays the same role as the FTC ElapsedTime class, but works with a virtual clock off-robot as well as the real
+ * clock on the robot.
+ */
+public class AarreTimer {
+
+	private static final double NANOSECONDS_PER_MILLISECOND = 1.0e6;
+	private static final double NANOSECONDS_PER_SECOND      = 1.0e9;
+
+	private final AarreClock clock;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private long nanosecondsAtStart;
+
+	/**
+	 * Construct a timer, starting now.
+	 *
+	 * @param clock
+	 * 		The clock on which to measure time.
+	 */
+	public AarreTimer(final AarreClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Unexpected null parameter: clock");
+		}
+		this.clock = clock;
+		reset();
+	}
+
+	/**
+	 * Restart the timer from now.
+	 */
+	public final void reset() {
+		nanosecondsAtStart = clock.nanoTime();
+	}
+
+	public long nanoseconds() {
+		return clock.nanoTime() - nanosecondsAtStart;
+	}
+
+	public double milliseconds() {
+		return (double) nanoseconds() / NANOSECONDS_PER_MILLISECOND;
+	}
+
+	public double seconds() {
+		return (double) nanoseconds() / NANOSECONDS_PER_SECOND;
+	}
+}
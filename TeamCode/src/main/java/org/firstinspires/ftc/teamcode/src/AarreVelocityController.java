@@ -0,0 +1,184 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * A PIDF controller that chooses the power to apply to a motor so that it turns at a target velocity.
+ * <p>
+ * The feedforward term assumes that velocity is proportional to power, so on its own it would apply the power that
+ * turns the motor at the target velocity with no load and a full battery. A caller that knows better (for example
+ * from a {@link AarreMotorCharacterization}, which takes static friction into account) can supply the feedforward
+ * power itself with {@link #update(double, double, double, double)}. The proportional, integral and derivative
+ * terms work on the difference between the target and the velocity measured from the encoder, and make up for load
+ * and battery sag.
+ * <p>
+ * Velocities are divided by the velocity at full power before the gains are applied, so the same gains suit motors
+ * of different speeds. For example, a proportional gain of 1.0 adds 0.1 power when the motor is turning 10% of its
+ * full speed too slowly.
+ * <p>
+ * The integral stops growing while the output is at full power in the direction the integral would push it, so that
+ * it does not wind up while the motor cannot keep up.
+ */
+public class AarreVelocityController {
+
+	private static final double DEFAULT_PROPORTIONAL_GAIN = 1.0;
+	private static final double DEFAULT_INTEGRAL_GAIN     = 5.0;
+	private static final double DEFAULT_DERIVATIVE_GAIN   = 0.0;
+	private static final double DEFAULT_FEEDFORWARD_GAIN  = 1.0;
+
+	private static final double POWER_MAXIMUM = 1.0;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private double ticksPerSecondAtFullPower;
+
+	private double proportionalGain = DEFAULT_PROPORTIONAL_GAIN;
+	private double integralGain     = DEFAULT_INTEGRAL_GAIN;
+	private double derivativeGain   = DEFAULT_DERIVATIVE_GAIN;
+	private double feedforwardGain  = DEFAULT_FEEDFORWARD_GAIN;
+
+	private double  integral;
+	private double  errorPrevious;
+	private boolean hasErrorPrevious;
+
+	/**
+	 * Construct a controller with default gains.
+	 *
+	 * @param ticksPerSecondAtFullPower
+	 * 		How fast the motor turns at full power with no load, as given by its rated speed and encoder resolution.
+	 */
+	public AarreVelocityController(final double ticksPerSecondAtFullPower) {
+		setTicksPerSecondAtFullPower(ticksPerSecondAtFullPower);
+	}
+
+	/**
+	 * Choose the power for the next cycle.
+	 *
+	 * @param ticksPerSecondTarget
+	 * 		The velocity at which the motor should turn. Negative values turn it backward.
+	 * @param ticksPerSecondMeasured
+	 * 		The velocity at which the motor is turning, as measured from its encoder.
+	 * @param secondsElapsed
+	 * 		The time since the previous update. Must be non-negative.
+	 *
+	 * @return The power to apply, in the interval [-1, 1].
+	 */
+	public double update(final double ticksPerSecondTarget, final double ticksPerSecondMeasured, final double
+			secondsElapsed) {
+		return update(ticksPerSecondTarget, ticksPerSecondMeasured, secondsElapsed, ticksPerSecondTarget /
+				ticksPerSecondAtFullPower);
+	}
+
+	/**
+	 * Choose the power for the next cycle, starting from a given feedforward power.
+	 *
+	 * @param ticksPerSecondTarget
+	 * 		The velocity at which the motor should turn. Negative values turn it backward.
+	 * @param ticksPerSecondMeasured
+	 * 		The velocity at which the motor is turning, as measured from its encoder.
+	 * @param secondsElapsed
+	 * 		The time since the previous update. Must be non-negative.
+	 * @param powerFeedforward
+	 * 		The power that would turn the motor at the target velocity, with the same sign; the feedforward gain
+	 * 		multiplies it.
+	 *
+	 * @return The power to apply, in the interval [-1, 1].
+	 */
+	public double update(final double ticksPerSecondTarget, final double ticksPerSecondMeasured, final double
+			secondsElapsed, final double powerFeedforward) {
+
+		if (secondsElapsed < 0.0) {
+			throw new IllegalArgumentException("secondsElapsed expected to be non-negative");
+		}
+
+		final double target = ticksPerSecondTarget / ticksPerSecondAtFullPower;
+		final double error  = target - (ticksPerSecondMeasured / ticksPerSecondAtFullPower);
+
+		double derivative = 0.0;
+		if (hasErrorPrevious && (secondsElapsed > 0.0)) {
+			derivative = (error - errorPrevious) / secondsElapsed;
+		}
+		errorPrevious = error;
+		hasErrorPrevious = true;
+
+		final double powerWithoutIntegral = (feedforwardGain * powerFeedforward) + (proportionalGain * error) +
+				(derivativeGain * derivative);
+
+		// Only integrate if that would not push the output further past full power
+		final double integralNew = integral + (error * secondsElapsed);
+		final double powerNew    = powerWithoutIntegral + (integralGain * integralNew);
+		if ((Math.abs(powerNew) < POWER_MAXIMUM) || (Math.abs(integralNew) < Math.abs(integral))) {
+			integral = integralNew;
+		}
+
+		final double power = powerWithoutIntegral + (integralGain * integral);
+		return Math.max(-POWER_MAXIMUM, Math.min(POWER_MAXIMUM, power));
+	}
+
+	/**
+	 * Forget the integral and the previous error, for example before starting a new move.
+	 */
+	public void reset() {
+		integral = 0.0;
+		errorPrevious = 0.0;
+		hasErrorPrevious = false;
+	}
+
+	public double getDerivativeGain() {
+		return derivativeGain;
+	}
+
+	public double getFeedforwardGain() {
+		return feedforwardGain;
+	}
+
+	public double getIntegralGain() {
+		return integralGain;
+	}
+
+	public double getProportionalGain() {
+		return proportionalGain;
+	}
+
+	public double getTicksPerSecondAtFullPower() {
+		return ticksPerSecondAtFullPower;
+	}
+
+	/**
+	 * Set the gains of the controller.
+	 *
+	 * @param proportionalGain
+	 * 		Power per unit of velocity error. Must be non-negative.
+	 * @param integralGain
+	 * 		Power per unit of velocity error per second. Must be non-negative.
+	 * @param derivativeGain
+	 * 		Power per unit of velocity error per second of change. Must be non-negative.
+	 * @param feedforwardGain
+	 * 		Power per unit of target velocity; 1.0 if velocity is exactly proportional to power. Must be non-negative.
+	 */
+	public void setGains(final double proportionalGain, final double integralGain, final double derivativeGain,
+	                     final double feedforwardGain) {
+
+		if ((proportionalGain < 0.0) || (integralGain < 0.0) || (derivativeGain < 0.0) || (feedforwardGain < 0.0)) {
+			throw new IllegalArgumentException("Gains expected to be non-negative");
+		}
+
+		this.proportionalGain = proportionalGain;
+		this.integralGain = integralGain;
+		this.derivativeGain = derivativeGain;
+		this.feedforwardGain = feedforwardGain;
+	}
+
+	/**
+	 * Set how fast the motor turns at full power with no load.
+	 *
+	 * @param ticksPerSecondAtFullPower
+	 * 		The velocity in ticks per second. Must be positive.
+	 */
+	public void setTicksPerSecondAtFullPower(final double ticksPerSecondAtFullPower) {
+		if (ticksPerSecondAtFullPower <= 0.0) {
+			throw new IllegalArgumentException("ticksPerSecondAtFullPower expected to be positive");
+		}
+		this.ticksPerSecondAtFullPower = ticksPerSecondAtFullPower;
+	}
+}
@@ -0,0 +1,253 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.logging.Logger;
+
+/**
+ * Estimate the velocity and acceleration of a motor from the encoder readings of a recent window of time.
+ * <p>
+ * The readings are kept in a fixed-capacity ring of primitive arrays, and the estimates are least-squares fits of a
+ * straight line (for velocity) and a parabola (for acceleration) through all the readings in the window. Fitting many
+ * readings rather than differencing the last two means that one noisy or late reading moves the estimate only a
+ * little, and that the estimate covers the same span of time however fast or unevenly the loop runs.
+ * <p>
+ * The sums the fits need are kept up to date as readings arrive and leave the window, so adding a reading and asking
+ * for an estimate both take constant time. Times and positions in the sums are measured from the oldest reading in
+ * the ring, which is moved up (and the sums recomputed) once every time the ring wraps around, so that the sums stay
+ * small enough to be accurate.
+ */
+public class AarreVelocityEstimator {
+
+	private static final double NANOSECONDS_PER_SECOND = 1.0e9;
+
+	private static final int DEFAULT_CAPACITY = 32;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private final long[] nanoseconds;
+	private final int[]  tickNumbers;
+
+	// Index of the oldest reading in the window, and the number of readings in it
+	private int first;
+	private int size;
+
+	// Readings added since the sums were last recomputed
+	private int numberAddedSinceRebase;
+
+	private long nanosecondsWindow;
+
+	// The origin from which times and positions in the sums are measured
+	private long nanosecondsOrigin;
+	private int  tickNumberOrigin;
+
+	private double sumT;
+	private double sumT2;
+	private double sumT3;
+	private double sumT4;
+	private double sumX;
+	private double sumTX;
+	private double sumT2X;
+
+	/**
+	 * Construct an estimator with the default capacity.
+	 *
+	 * @param millisecondsWindow
+	 * 		How far back to look, in milliseconds.
+	 */
+	public AarreVelocityEstimator(final int millisecondsWindow) {
+		this(millisecondsWindow, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct an estimator.
+	 *
+	 * @param millisecondsWindow
+	 * 		How far back to look, in milliseconds. Must be positive.
+	 * @param capacity
+	 * 		The largest number of readings to keep. If readings arrive so fast that more than this many fall within
+	 * 		the window, only the most recent ones are used. Must be at least 3.
+	 */
+	public AarreVelocityEstimator(final int millisecondsWindow, final int capacity) {
+
+		if (capacity < 3) {
+			throw new IllegalArgumentException("capacity expected to be at least 3");
+		}
+
+		nanoseconds = new long[capacity];
+		tickNumbers = new int[capacity];
+		setMillisecondsWindow(millisecondsWindow);
+	}
+
+	/**
+	 * Add an encoder reading, and drop readings that have fallen out of the window.
+	 *
+	 * @param nanoseconds
+	 * 		When the reading was taken. Readings must be added in order of time.
+	 * @param tickNumber
+	 * 		The encoder reading.
+	 */
+	public synchronized void add(final long nanoseconds, final int tickNumber) {
+
+		if ((size > 0) && (nanoseconds < this.nanoseconds[getIndex(size - 1)])) {
+			throw new IllegalArgumentException("nanoseconds expected to be no earlier than the previous reading");
+		}
+
+		if (size == this.nanoseconds.length) {
+			removeFirst();
+		}
+
+		if (size == 0) {
+			nanosecondsOrigin = nanoseconds;
+			tickNumberOrigin = tickNumber;
+		}
+
+		final int index = getIndex(size);
+		this.nanoseconds[index] = nanoseconds;
+		tickNumbers[index] = tickNumber;
+		size++;
+		addToSums(nanoseconds, tickNumber, 1.0);
+
+		while ((size > 1) && ((nanoseconds - this.nanoseconds[first]) > nanosecondsWindow)) {
+			removeFirst();
+		}
+
+		numberAddedSinceRebase++;
+		if (numberAddedSinceRebase >= this.nanoseconds.length) {
+			rebase();
+		}
+	}
+
+	/**
+	 * Forget all the readings, for example because the motor has just been started from rest on purpose.
+	 */
+	public synchronized void reset() {
+		first = 0;
+		size = 0;
+		numberAddedSinceRebase = 0;
+		clearSums();
+	}
+
+	/**
+	 * Get the slope of the straight line that best fits the readings in the window.
+	 *
+	 * @return The velocity in ticks per second, or zero if there are fewer than two readings spread over time.
+	 */
+	public synchronized double getTicksPerSecond() {
+
+		final double n           = size;
+		final double denominator = (n * sumT2) - (sumT * sumT);
+		if ((size < 2) || (denominator <= 0.0)) {
+			return 0.0;
+		}
+		return ((n * sumTX) - (sumT * sumX)) / denominator;
+	}
+
+	/**
+	 * Get twice the leading coefficient of the parabola that best fits the readings in the window.
+	 *
+	 * @return The acceleration in ticks per second per second, or zero if there are fewer than three readings spread
+	 * 		over time.
+	 */
+	public synchronized double getTicksPerSecondSquared() {
+
+		if (size < 3) {
+			return 0.0;
+		}
+
+		// Solve the normal equations for x = a + b t + c t^2 by Cramer's rule
+		final double n           = size;
+		final double determinant = determinant(n, sumT, sumT2, sumT, sumT2, sumT3, sumT2, sumT3, sumT4);
+		if (Math.abs(determinant) < Double.MIN_NORMAL) {
+			return 0.0;
+		}
+		final double determinantC = determinant(n, sumT, sumX, sumT, sumT2, sumTX, sumT2, sumT3, sumT2X);
+		return (2.0 * determinantC) / determinant;
+	}
+
+	/**
+	 * @return How much time the readings in the window span, in nanoseconds.
+	 */
+	public synchronized long getNanosecondsSpanned() {
+		if (size < 2) {
+			return 0L;
+		}
+		return nanoseconds[getIndex(size - 1)] - nanoseconds[first];
+	}
+
+	/**
+	 * @return The number of readings in the window.
+	 */
+	public synchronized int getNumberOfSamples() {
+		return size;
+	}
+
+	public synchronized int getMillisecondsWindow() {
+		return (int) (nanosecondsWindow / 1000000L);
+	}
+
+	/**
+	 * Set how far back to look. A longer window gives steadier estimates that are slower to follow changes.
+	 *
+	 * @param millisecondsWindow
+	 * 		The window in milliseconds. Must be positive.
+	 */
+	public synchronized void setMillisecondsWindow(final int millisecondsWindow) {
+		if (millisecondsWindow <= 0) {
+			throw new IllegalArgumentException("millisecondsWindow expected to be positive");
+		}
+		nanosecondsWindow = millisecondsWindow * 1000000L;
+	}
+
+	private int getIndex(final int offset) {
+		return (first + offset) % nanoseconds.length;
+	}
+
+	private void removeFirst() {
+		addToSums(nanoseconds[first], tickNumbers[first], -1.0);
+		first = getIndex(1);
+		size--;
+	}
+
+	private void addToSums(final long nanoseconds, final int tickNumber, final double sign) {
+		final double t  = (nanoseconds - nanosecondsOrigin) / NANOSECONDS_PER_SECOND;
+		final double x  = tickNumber - tickNumberOrigin;
+		final double t2 = t * t;
+		sumT += sign * t;
+		sumT2 += sign * t2;
+		sumT3 += sign * t2 * t;
+		sumT4 += sign * t2 * t2;
+		sumX += sign * x;
+		sumTX += sign * t * x;
+		sumT2X += sign * t2 * x;
+	}
+
+	private void clearSums() {
+		sumT = 0.0;
+		sumT2 = 0.0;
+		sumT3 = 0.0;
+		sumT4 = 0.0;
+		sumX = 0.0;
+		sumTX = 0.0;
+		sumT2X = 0.0;
+	}
+
+	/**
+	 * Move the origin up to the oldest reading and recompute the sums from scratch, which also clears any rounding
+	 * error that adding and removing readings has built up.
+	 */
+	private void rebase() {
+		numberAddedSinceRebase = 0;
+		clearSums();
+		nanosecondsOrigin = nanoseconds[first];
+		tickNumberOrigin = tickNumbers[first];
+		for (int offset = 0; offset < size; offset++) {
+			final int index = getIndex(offset);
+			addToSums(nanoseconds[index], tickNumbers[index], 1.0);
+		}
+	}
+
+	private static double determinant(final double a11, final double a12, final double a13, final double a21, final
+	double a22, final double a23, final double a31, final double a32, final double a33) {
+		return ((a11 * ((a22 * a33) - (a23 * a32))) - (a12 * ((a21 * a33) - (a23 * a31)))) + (a13 * ((a21 * a32) -
+				(a22 * a31)));
+	}
+}
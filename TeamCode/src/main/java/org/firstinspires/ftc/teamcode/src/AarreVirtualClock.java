@@ -0,0 +1,213 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * A virtual clock for running off-robot.
+ * <p>
+ * Time stands still until something calls {@link #sleep(long)}, {@link #idle()} or {@link #advance(long)}, and then
+ * jumps forward immediately. A routine that spends most of its time waiting for the next cycle therefore runs many
+ * times faster than real time, and takes exactly the same (virtual) time on every run.
+ * <p>
+ * That only holds while one thread at a time lets time pass. If several threads slept on one shared time, each sleep
+ * would move time on for all of them, and how far each thread got would depend on how the operating system happened
+ * to schedule them. So a thread that runs alongside others (such as one mechanism of an {@link AarreMechanismGroup})
+ * gets a timeline of its own with {@link #startTimeline(long, long)}: on that thread, the clock reads and advances its
+ * own time, starting from a given time on the shared clock, and the other threads do not see it move. When the
+ * threads are done, whoever started them moves the shared time on by however long they took.
+ */
+public class AarreVirtualClock implements AarreClock {
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	// Roughly how long one pass through a polling loop takes on the robot
+	private static final long DEFAULT_NANOSECONDS_PER_IDLE = NANOSECONDS_PER_MILLISECOND;
+
+	private final AtomicLong nanoseconds = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile long nanosecondsPerIdle = DEFAULT_NANOSECONDS_PER_IDLE;
+
+	// An action to run once when the clock reaches a time, for example to end a simulated match
+	private final AtomicReference<Runnable> alarm = new AtomicReference<>();
+	private volatile long                   nanosecondsAlarm;
+
+	// The time of each thread that has a timeline of its own, which is null on every other thread
+	private final ThreadLocal<Timeline> timeline          = new ThreadLocal<>();
+	private final AtomicInteger         numberOfTimelines = new AtomicInteger(0);
+
+	@Override
+	public long nanoTime() {
+		final Timeline own = timeline.get();
+		return (own == null) ? nanoseconds.get() : own.nanoseconds;
+	}
+
+	/**
+	 * Advance the clock without sleeping.
+	 *
+	 * @param milliseconds
+	 * 		How many milliseconds to advance the clock. Must be non-negative.
+	 */
+	@Override
+	public void sleep(final long milliseconds) {
+		if (milliseconds < 0L) {
+			throw new IllegalArgumentException("milliseconds expected to be non-negative");
+		}
+		advance(milliseconds * NANOSECONDS_PER_MILLISECOND);
+	}
+
+	/**
+	 * Advance the clock by the time one pass through a polling loop would take.
+	 */
+	@Override
+	public void idle() {
+		advance(nanosecondsPerIdle);
+	}
+
+	/**
+	 * Advance the clock.
+	 * <p>
+	 * On a thread with a timeline of its own, this advances only that timeline, and does not set off the alarm.
+	 *
+	 * @param nanosecondsToAdvance
+	 * 		How many nanoseconds to advance the clock. Must be non-negative.
+	 */
+	public void advance(final long nanosecondsToAdvance) {
+		if (nanosecondsToAdvance < 0L) {
+			throw new IllegalArgumentException("nanosecondsToAdvance expected to be non-negative");
+		}
+		final Timeline own = timeline.get();
+		if (own != null) {
+			own.advance(nanosecondsToAdvance);
+			return;
+		}
+		final long nanosecondsNow = nanoseconds.addAndGet(nanosecondsToAdvance);
+		if (nanosecondsNow >= nanosecondsAlarm) {
+			final Runnable action = alarm.getAndSet(null);
+			if (action != null) {
+				action.run();
+			}
+		}
+	}
+
+	/**
+	 * Give the calling thread a timeline of its own, so that it can let time pass without moving the time of any other
+	 * thread.
+	 * <p>
+	 * When the time on the timeline reaches the deadline, the thread is interrupted, just as a thread on the robot
+	 * would be if it were still running when its time ran out. Because this happens at a fixed time on the timeline,
+	 * rather than whenever another thread notices, it happens at the same point on every run.
+	 *
+	 * @param nanosecondsStart
+	 * 		The time on the shared clock at which the timeline starts.
+	 * @param nanosecondsDeadline
+	 * 		The time at which to interrupt the thread, or {@link Long#MAX_VALUE} not to interrupt it.
+	 *
+	 * @throws IllegalStateException
+	 * 		If the calling thread already has a timeline.
+	 */
+	public void startTimeline(final long nanosecondsStart, final long nanosecondsDeadline) {
+		if (timeline.get() != null) {
+			throw new IllegalStateException("Thread already has a timeline of its own");
+		}
+		timeline.set(new Timeline(nanosecondsStart, nanosecondsDeadline));
+		numberOfTimelines.incrementAndGet();
+	}
+
+	/**
+	 * Return the calling thread to the shared time.
+	 *
+	 * @return The time the thread's own timeline had reached.
+	 *
+	 * @throws IllegalStateException
+	 * 		If the calling thread does not have a timeline.
+	 */
+	public long endTimeline() {
+		final Timeline own = timeline.get();
+		if (own == null) {
+			throw new IllegalStateException("Thread does not have a timeline of its own");
+		}
+		timeline.remove();
+		numberOfTimelines.decrementAndGet();
+		return own.nanoseconds;
+	}
+
+	/**
+	 * @return {@code true} if the calling thread's own timeline has reached its deadline.
+	 */
+	public boolean isTimelineDeadlinePassed() {
+		final Timeline own = timeline.get();
+		return (own != null) && own.deadlinePassed;
+	}
+
+	/**
+	 * @return How many threads have a timeline of their own at the moment.
+	 */
+	public int getNumberOfTimelines() {
+		return numberOfTimelines.get();
+	}
+
+	/**
+	 * Run an action once, on whichever thread advances the clock to (or past) a given time.
+	 * <p>
+	 * Only one alarm can be set at a time; setting another replaces it.
+	 *
+	 * @param nanosecondsAlarm
+	 * 		The time on the clock at which to run the action.
+	 * @param action
+	 * 		The action to run, or {@code null} to cancel the alarm.
+	 */
+	public void setAlarm(final long nanosecondsAlarm, final Runnable action) {
+		this.nanosecondsAlarm = nanosecondsAlarm;
+		alarm.set(action);
+	}
+
+	/**
+	 * @return The time at which the alarm is set to go off, or {@link Long#MAX_VALUE} if no alarm is set.
+	 */
+	public long getNanosecondsAlarm() {
+		return (alarm.get() == null) ? Long.MAX_VALUE : nanosecondsAlarm;
+	}
+
+	/**
+	 * Set how far each call to {@link #idle()} advances the clock.
+	 *
+	 * @param nanosecondsPerIdle
+	 * 		How many nanoseconds to advance the clock on each idle. Must be positive, or polling loops would never
+	 * 		end.
+	 */
+	public void setNanosecondsPerIdle(final long nanosecondsPerIdle) {
+		if (nanosecondsPerIdle <= 0L) {
+			throw new IllegalArgumentException("nanosecondsPerIdle expected to be positive");
+		}
+		this.nanosecondsPerIdle = nanosecondsPerIdle;
+	}
+
+	/**
+	 * The time of one thread that has a timeline of its own. Only that thread touches it.
+	 */
+	private static final class Timeline {
+
+		private final long nanosecondsDeadline;
+
+		private long    nanoseconds;
+		private boolean deadlinePassed;
+
+		Timeline(final long nanosecondsStart, final long nanosecondsDeadline) {
+			this.nanoseconds = nanosecondsStart;
+			this.nanosecondsDeadline = nanosecondsDeadline;
+		}
+
+		void advance(final long nanosecondsToAdvance) {
+			nanoseconds += nanosecondsToAdvance;
+			if (!deadlinePassed && (nanoseconds >= nanosecondsDeadline)) {
+				deadlinePassed = true;
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package org.firstinspires.ftc.teamcode.src;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Suppress hardware writes that would not change anything.
+ * <p>
+ * Every motor power, run mode, zero power behavior or servo position sent to the hub is a bus transaction, and the
+ * ramp and heading loops send the same values cycle after cycle. Each output keeps the last value written in a
+ * {@link Slot}; a new write is suppressed if it is equal to the kept value (within an epsilon, for powers and
+ * positions).
+ * <p>
+ * The kept value is only as good as our knowledge of the hardware, so owners clear a slot whenever something else
+ * may have changed the output (for example, a change of run mode may stop the motor).
+ */
+public class AarreWriteCache {
+
+	// Much finer than the resolution of the hub's motor power and servo pulse width
+	private static final double DEFAULT_EPSILON = 1.0e-4;
+
+	private final AtomicLong numberOfWritesIssued     = new AtomicLong(0L);
+	private final AtomicLong numberOfWritesSuppressed = new AtomicLong(0L);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	private volatile boolean enabled = true;
+	private volatile double  epsilon = DEFAULT_EPSILON;
+
+	/**
+	 * The last value written to one output, such as the power of one motor.
+	 * <p>
+	 * Callers synchronize on the slot while they check and write it.
+	 */
+	static final class Slot {
+		private boolean valid;
+		private double  value;
+	}
+
+	/**
+	 * Determine whether writing a value to an output would change it, counting the write as issued or suppressed.
+	 * <p>
+	 * If so, the value is kept as the last value written, so the caller must go on to write it.
+	 *
+	 * @return {@code true} if the caller should write the value; {@code false} if the write is redundant.
+	 */
+	boolean shouldWrite(final Slot slot, final double value) {
+		if (enabled && slot.valid && (Math.abs(value - slot.value) <= epsilon)) {
+			numberOfWritesSuppressed.incrementAndGet();
+			return false;
+		}
+		slot.valid = true;
+		slot.value = value;
+		numberOfWritesIssued.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Determine whether writing an exact value (such as an enum ordinal or a target position) would change an output.
+	 *
+	 * @see #shouldWrite(Slot, double)
+	 */
+	boolean shouldWrite(final Slot slot, final int value) {
+		if (enabled && slot.valid && (slot.value == value)) {
+			numberOfWritesSuppressed.incrementAndGet();
+			return false;
+		}
+		slot.valid = true;
+		slot.value = value;
+		numberOfWritesIssued.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Forget the last value written to an output, so that the next write goes to the hardware.
+	 */
+	static void clear(final Slot slot) {
+		slot.valid = false;
+	}
+
+	/**
+	 * @return The number of writes sent to the hardware.
+	 */
+	public long getNumberOfWritesIssued() {
+		return numberOfWritesIssued.get();
+	}
+
+	/**
+	 * @return The number of writes suppressed because they would not have changed anything.
+	 */
+	public long getNumberOfWritesSuppressed() {
+		return numberOfWritesSuppressed.get();
+	}
+
+	public double getEpsilon() {
+		return epsilon;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turn the cache on or off. When it is off, every write goes to the hardware.
+	 *
+	 * @param enabled
+	 * 		{@code true} to suppress redundant writes.
+	 */
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Set how close a new power or position must be to the last one written for the write to be suppressed.
+	 *
+	 * @param epsilon
+	 * 		The largest difference to treat as no change. Must be non-negative.
+	 */
+	public void setEpsilon(final double epsilon) {
+		if (epsilon < 0.0) {
+			throw new IllegalArgumentException("epsilon expected to be non-negative");
+		}
+		this.epsilon = epsilon;
+	}
+}
@@ -0,0 +1,56 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreAllocationMeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests for AarreAllocationMeter class
+ */
+class AarreAllocationMeterUnitTests {
+
+	private static final int BYTES_ARRAY = 100000;
+
+	private AarreAllocationMeter allocationMeter;
+
+	// Somewhere to keep the allocated array, so that it cannot be optimized away
+	private byte[] array;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void setUp() {
+		allocationMeter = new AarreAllocationMeter();
+	}
+
+	@Test
+	final void testNothingAllocatedReadsZero() {
+		assumeTrue(allocationMeter.isSupported(), "Cannot count allocated bytes on this JVM");
+
+		final long bytesStart = allocationMeter.getBytes();
+		assertEquals(0L, allocationMeter.getBytesSince(bytesStart));
+	}
+
+	@Test
+	final void testArrayCounted() {
+		assumeTrue(allocationMeter.isSupported(), "Cannot count allocated bytes on this JVM");
+
+		final long bytesStart = allocationMeter.getBytes();
+		array = new byte[BYTES_ARRAY];
+		final long bytes = allocationMeter.getBytesSince(bytesStart);
+
+		assertTrue(bytes >= BYTES_ARRAY);
+		assertTrue(bytes < (2 * BYTES_ARRAY));
+		assertEquals(BYTES_ARRAY, array.length);
+	}
+
+	@Test
+	final void testReadingCostNotNegative() {
+		assertTrue(allocationMeter.getBytesPerReading() >= 0L);
+	}
+}
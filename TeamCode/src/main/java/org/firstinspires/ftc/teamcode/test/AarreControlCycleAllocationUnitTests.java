@@ -0,0 +1,281 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreAllocationMeter;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotors;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedTelemetry;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Check that the control loops allocate nothing of their own in each cycle, so that a change cannot quietly bring the
+ * garbage collector back into them.
+ * <p>
+ * Each loop runs against simulated hardware, first to warm up and then twice more: once for a few cycles and once for
+ * many. The difference between the bytes allocated in the two runs, divided by the difference in the number of cycles,
+ * is what each cycle costs; whatever a call allocates once, before or after its loop, cancels out.
+ * <p>
+ * Some allocation in a cycle belongs to the FTC SDK rather than to us: every IMU read returns a new Orientation, and
+ * each line of telemetry passes its values to the SDK as boxed arguments. The opMode's telemetry is an {@link
+ * AarreSimulatedTelemetry}, which does no I/O and allocates nothing itself, so a telemetry update costs the same on
+ * every call. The test measures what one IMU read and one telemetry update cost on this JVM, counts the reads on the
+ * simulated IMU and the updates on the simulated telemetry, and allows each loop that much for each read and update it
+ * does. Anything more is the loop's own, and over budget. The budget is zero bytes per cycle unless the system
+ * property {@value #PROPERTY_BYTES_PER_CYCLE_BUDGET} says otherwise.
+ * <p>
+ * The test is skipped on JVMs that cannot count allocated bytes per thread, including the robot itself.
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Control Cycle Allocation Unit Tests", group = "Aarre")
+@Disabled
+public class AarreControlCycleAllocationUnitTests extends LinearOpMode {
+
+	private static final String PROPERTY_BYTES_PER_CYCLE_BUDGET = "aarre.allocation.bytesPerCycle";
+
+	private static final int NUMBER_OF_WARM_UP_RUNS = 20;
+
+	// Each run repeats a loop this many times, so that there are enough cycles to measure
+	private static final int NUMBER_OF_REPEATS = 10;
+
+	// How many times to read the IMU or update telemetry when measuring what the SDK allocates
+	private static final int NUMBER_OF_SDK_CALLS = 1000;
+
+	// A small power increment, so that a single motor ramp lasts many cycles
+	private static final double POWER_INCREMENT = 0.001;
+
+	private static final int    MILLISECONDS_CYCLE = 10;
+	private static final double POWER_TOLERANCE    = 0.0001;
+	private static final double SECONDS_TIMEOUT    = 60.0;
+
+	private static final double POWER_SHORT = 0.2;
+	private static final double POWER_LONG  = 1.0;
+
+	private static final AarrePowerVector POWER_VECTOR_TURN = new AarrePowerVector(0.2);
+
+	private static final double DEGREES_TURN_SHORT = 10.0;
+	private static final double DEGREES_TURN_LONG  = 90.0;
+
+	private AarreVirtualClock         clock;
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreSimulatedTelemetry   simulatedTelemetry;
+	private AarreMotor                motor;
+	private AarreDriveMotors          driveMotors;
+	private AarreIMU                  imu;
+	private AarreAllocationMeter      allocationMeter;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		simulatedTelemetry = new AarreSimulatedTelemetry();
+		telemetry = simulatedTelemetry;
+		motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		driveMotors = new AarreDriveMotors(this);
+		imu = new AarreIMU(this);
+		driveMotors.setIMU(imu);
+		allocationMeter = new AarreAllocationMeter();
+		start();
+	}
+
+	/**
+	 * A run of a control loop, either for a few cycles or for many.
+	 * <p>
+	 * The short and long runs must call the methods under test the same number of times, so that what each call
+	 * allocates outside its loop cancels out.
+	 */
+	private interface Run {
+
+		/**
+		 * Run the loop.
+		 *
+		 * @param isLong
+		 * 		{@code true} to run many cycles; {@code false} to run a few.
+		 *
+		 * @return The number of cycles the loop has run, in total, since the test started.
+		 */
+		long run(boolean isLong);
+	}
+
+	/**
+	 * A control loop to measure, with the name to report it under.
+	 */
+	private static final class ControlLoop {
+
+		private final String name;
+		private final Run    run;
+
+		ControlLoop(final String name, final Run run) {
+			this.name = name;
+			this.run = run;
+		}
+	}
+
+	private long getNumberOfMotorCycles() {
+		return motor.getCycleStatistics().getCyclePeriod().getCount();
+	}
+
+	private long getNumberOfDriveCycles() {
+		return driveMotors.getCycleStatistics().getCyclePeriod().getCount();
+	}
+
+	private long rampMotor(final boolean isLong) {
+		final double power = isLong ? POWER_LONG : POWER_SHORT;
+		for (int repeat = 0; repeat < NUMBER_OF_REPEATS; repeat++) {
+			motor.rampToPower(power, POWER_INCREMENT, MILLISECONDS_CYCLE, POWER_TOLERANCE, SECONDS_TIMEOUT);
+			motor.rampToPower(0.0, POWER_INCREMENT, MILLISECONDS_CYCLE, POWER_TOLERANCE, SECONDS_TIMEOUT);
+		}
+		return getNumberOfMotorCycles();
+	}
+
+	private long rampDriveMotors(final boolean isLong) {
+		final double power = isLong ? POWER_LONG : POWER_SHORT;
+		for (int repeat = 0; repeat < NUMBER_OF_REPEATS; repeat++) {
+			driveMotors.rampPowerTo(power, -power);
+			driveMotors.rampPowerTo(0.0, 0.0);
+		}
+		return getNumberOfDriveCycles();
+	}
+
+	private long turnOnHeading(final boolean isLong) {
+		final double degreesTurn = isLong ? DEGREES_TURN_LONG : DEGREES_TURN_SHORT;
+		for (int repeat = 0; repeat < NUMBER_OF_REPEATS; repeat++) {
+			driveMotors.gyroTurnBy(POWER_VECTOR_TURN, degreesTurn);
+			driveMotors.rampPowerTo(0.0, 0.0);
+		}
+		return getNumberOfDriveCycles();
+	}
+
+	/**
+	 * Measure how many bytes one read of the IMU allocates in the SDK.
+	 */
+	private double getBytesPerIMURead() {
+		double degreesHeading = 0.0;
+		for (int call = 0; call < NUMBER_OF_SDK_CALLS; call++) {
+			degreesHeading += imu.getHeading();
+		}
+		final long bytesStart = allocationMeter.getBytes();
+		for (int call = 0; call < NUMBER_OF_SDK_CALLS; call++) {
+			degreesHeading += imu.getHeading();
+		}
+		final long bytes = allocationMeter.getBytesSince(bytesStart);
+		javaLog.fine("Total heading read: " + degreesHeading);
+		return (double) bytes / NUMBER_OF_SDK_CALLS;
+	}
+
+	/**
+	 * Measure how many bytes it takes to display the lines that {@link AarreDriveMotors#gyroTurnBy} shows in each cycle
+	 * and then update telemetry. The simulated telemetry does the same work on every call, so this is the same on
+	 * every run.
+	 */
+	private double getBytesPerTelemetryUpdate() {
+		for (int call = 0; call < NUMBER_OF_SDK_CALLS; call++) {
+			updateTelemetry(call);
+		}
+		final long bytesStart = allocationMeter.getBytes();
+		for (int call = 0; call < NUMBER_OF_SDK_CALLS; call++) {
+			updateTelemetry(call);
+		}
+		final long bytes = allocationMeter.getBytesSince(bytesStart);
+		return (double) bytes / NUMBER_OF_SDK_CALLS;
+	}
+
+	private void updateTelemetry(final double value) {
+		telemetry.addData("Target", "%5.2f", value);
+		telemetry.addData("Err/St", "%5.2f/%5.2f", value, value);
+		telemetry.addData("Speed.", "%5.2f:%5.2f", value, value);
+		telemetry.update();
+	}
+
+	@Test
+	public final void testControlCyclesDoNotAllocate() {
+
+		assumeTrue(allocationMeter.isSupported(), "Cannot count allocated bytes on this JVM");
+
+		final double bytesPerCycleBudget = Double.parseDouble(System.getProperty(PROPERTY_BYTES_PER_CYCLE_BUDGET,
+				"0"));
+
+		final double bytesPerIMURead         = getBytesPerIMURead();
+		final double bytesPerTelemetryUpdate = getBytesPerTelemetryUpdate();
+
+		final ControlLoop[] controlLoops = {new ControlLoop("AarreMotor.rampToPower", this::rampMotor), new ControlLoop
+				("AarreDriveMotors.rampPowerTo", this::rampDriveMotors), new ControlLoop("AarreDriveMotors.isOnHeading",
+				this::turnOnHeading)};
+
+		final StringBuilder breakdown    = new StringBuilder();
+		boolean             isOverBudget = false;
+		for (final ControlLoop controlLoop : controlLoops) {
+
+			for (int warmUp = 0; warmUp < NUMBER_OF_WARM_UP_RUNS; warmUp++) {
+				controlLoop.run.run(warmUp % 2 == 0);
+			}
+			long cycles = controlLoop.run.run(false);
+
+			/*
+			 * Run the loop for a few cycles and then for many. Whatever each call allocates outside its loop is the
+			 * same in both runs, so the difference is what the extra cycles allocate.
+			 */
+			final double[] bytes     = new double[2];
+			final double[] bytesSDK  = new double[2];
+			final long[]   numCycles = new long[2];
+			for (int run = 0; run < 2; run++) {
+
+				final long numberOfIMUReadsStart = simulatedHardwareMap.getIMU().getNumberOfReads();
+				final long numberOfUpdatesStart  = simulatedTelemetry.getNumberOfUpdates();
+				final long bytesStart            = allocationMeter.getBytes();
+				final long cyclesEnd             = controlLoop.run.run(run == 1);
+				bytes[run] = allocationMeter.getBytesSince(bytesStart);
+
+				numCycles[run] = cyclesEnd - cycles;
+				cycles = cyclesEnd;
+
+				final long numberOfIMUReads = simulatedHardwareMap.getIMU().getNumberOfReads() - numberOfIMUReadsStart;
+				final long numberOfUpdates  = simulatedTelemetry.getNumberOfUpdates() - numberOfUpdatesStart;
+				bytesSDK[run] = (numberOfIMUReads * bytesPerIMURead) + (numberOfUpdates * bytesPerTelemetryUpdate);
+			}
+
+			assertTrue(numCycles[1] > numCycles[0], "Long run expected to have more cycles than short run");
+
+			final double numberOfExtraCycles = numCycles[1] - numCycles[0];
+			final double bytesPerCycle       = Math.max(0.0, (bytes[1] - bytes[0]) / numberOfExtraCycles);
+			final double bytesPerCycleSDK    = Math.max(0.0, (bytesSDK[1] - bytesSDK[0]) / numberOfExtraCycles);
+			final double bytesPerCycleOwn    = Math.max(0.0, bytesPerCycle - bytesPerCycleSDK);
+
+			breakdown.append(String.format("%n%-30s %8.1f bytes/cycle, %8.1f allowed for the SDK", controlLoop.name,
+					bytesPerCycle, bytesPerCycleSDK));
+			if (bytesPerCycleOwn > bytesPerCycleBudget) {
+				isOverBudget = true;
+				breakdown.append(" (over budget)");
+			}
+		}
+		javaLog.info("Allocation per control cycle:" + breakdown);
+
+		assertTrue(!isOverBudget, String.format("Control cycles allocated more than %.1f bytes/cycle of their own:%s",
+				bytesPerCycleBudget, breakdown));
+	}
+
+	/**
+	 * Must override runOpMode to avoid compiler error
+	 */
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
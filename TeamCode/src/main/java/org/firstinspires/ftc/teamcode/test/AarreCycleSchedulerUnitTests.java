@@ -0,0 +1,148 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreCycleScheduler;
+import org.firstinspires.ftc.teamcode.src.AarreCycleStatistics;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreCycleScheduler class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Cycle Scheduler Unit Tests", group = "Aarre")
+@Disabled
+public class AarreCycleSchedulerUnitTests extends LinearOpMode {
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	private CountingClock       clock;
+	private AarreCycleScheduler scheduler;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	/**
+	 * A virtual clock that counts how often the scheduler spins.
+	 */
+	private static final class CountingClock extends AarreVirtualClock {
+
+		private int numberOfIdles;
+
+		@Override
+		public void idle() {
+			numberOfIdles++;
+			super.idle();
+		}
+	}
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new CountingClock();
+		scheduler = new AarreCycleScheduler(this, clock, 50);
+		start();
+	}
+
+	@Test
+	public final void testConstructorRejectsNonPositivePeriod() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreCycleScheduler(this, clock, 0));
+	}
+
+	@Test
+	public final void testWorkDoesNotMakeCyclesDrift() {
+		scheduler.start();
+		for (int i = 0; i < 10; i++) {
+			clock.sleep(10L);
+			assertTrue(scheduler.awaitNextCycle());
+		}
+		assertEquals(500L * NANOSECONDS_PER_MILLISECOND, clock.nanoTime());
+		assertEquals(10L, scheduler.getNumberOfCycles());
+		assertEquals(0L, scheduler.getNumberOfOverruns());
+	}
+
+	@Test
+	public final void testSleepsBeforeSpinning() {
+		scheduler.start();
+		for (int i = 0; i < 10; i++) {
+			scheduler.awaitNextCycle();
+		}
+		// With the default 2 ms spin and 1 ms per idle, each cycle spins only a couple of times
+		assertTrue(clock.numberOfIdles <= 30);
+	}
+
+	@Test
+	public final void testOverrunIsCountedAndScheduleKept() {
+		scheduler.start();
+		clock.sleep(70L);
+		assertFalse(scheduler.awaitNextCycle());
+		assertEquals(1L, scheduler.getNumberOfOverruns());
+		assertEquals(0L, scheduler.getNumberOfCyclesSkipped());
+
+		// The next deadline is still at 100 ms, so this cycle catches up
+		assertTrue(scheduler.awaitNextCycle());
+		assertEquals(100L * NANOSECONDS_PER_MILLISECOND, clock.nanoTime());
+	}
+
+	@Test
+	public final void testLongOverrunSkipsCycles() {
+		scheduler.start();
+		clock.sleep(170L);
+		assertFalse(scheduler.awaitNextCycle());
+		assertEquals(2L, scheduler.getNumberOfCyclesSkipped());
+
+		// The schedule starts again from the end of the overrun
+		assertTrue(scheduler.awaitNextCycle());
+		assertEquals(220L * NANOSECONDS_PER_MILLISECOND, clock.nanoTime());
+	}
+
+	@Test
+	public final void testCycleStatistics() {
+		final AarreCycleStatistics statistics = new AarreCycleStatistics(clock);
+		scheduler.setCycleStatistics(statistics);
+		scheduler.start();
+		for (int i = 0; i < 4; i++) {
+			scheduler.awaitNextCycle();
+		}
+		assertEquals(4L, statistics.getCyclePeriod().getCount());
+		assertEquals(50L * NANOSECONDS_PER_MILLISECOND, statistics.getCyclePeriod().getMaximum());
+	}
+
+	@Test
+	public final void testSleepUntil() {
+		scheduler.sleepUntil(123L * NANOSECONDS_PER_MILLISECOND);
+		assertEquals(123L * NANOSECONDS_PER_MILLISECOND, clock.nanoTime());
+	}
+
+	@Test
+	public final void testMotorRampTakesOneCyclePerIncrement() {
+		final AarreSimulatedHardwareMap simulatedHardwareMap = new AarreSimulatedHardwareMap();
+		hardwareMap = simulatedHardwareMap;
+		final AarreMotor motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+
+		final long nanosecondsStart = simulatedHardwareMap.getClock().nanoTime();
+		motor.rampToPower(new AarrePowerVector(1.0));
+		final long nanosecondsElapsed = simulatedHardwareMap.getClock().nanoTime() - nanosecondsStart;
+
+		assertEquals(1.0, motor.getPowerVectorCurrent().asDouble(), 0.001);
+		final long numberOfCycles = motor.getCycleScheduler().getNumberOfCycles();
+		assertEquals(numberOfCycles * 50L * NANOSECONDS_PER_MILLISECOND, nanosecondsElapsed);
+		assertEquals(0L, motor.getCycleScheduler().getNumberOfOverruns());
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
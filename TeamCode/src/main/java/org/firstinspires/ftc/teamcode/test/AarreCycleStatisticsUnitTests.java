@@ -0,0 +1,85 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreCycleStatistics;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AarreCycleStatisticsUnitTests {
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000L;
+
+	private AarreVirtualClock    clock;
+	private AarreCycleStatistics statistics;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		clock = new AarreVirtualClock();
+		statistics = new AarreCycleStatistics(clock);
+	}
+
+	@Test
+	final void testConstructorRejectsNullClock() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreCycleStatistics(null));
+	}
+
+	@Test
+	final void testCyclePeriod() {
+		statistics.startLoop();
+		for (int i = 0; i < 10; i++) {
+			clock.sleep(50L);
+			statistics.endCycle();
+		}
+		assertEquals(10L, statistics.getCyclePeriod().getCount());
+		assertEquals(50L * NANOSECONDS_PER_MILLISECOND, statistics.getCyclePeriod().getMaximum());
+		assertEquals(50L * NANOSECONDS_PER_MILLISECOND, statistics.getCyclePeriod().getValueAtPercentile(50.0));
+	}
+
+	@Test
+	final void testPauseBeforeLoopIsNotACycle() {
+		clock.sleep(1000L);
+		statistics.endCycle();
+		assertEquals(0L, statistics.getCyclePeriod().getCount());
+	}
+
+	@Test
+	final void testHardwareAndTelemetry() {
+		long nanosecondsStart = statistics.startTiming();
+		clock.sleep(2L);
+		statistics.recordHardware(nanosecondsStart);
+
+		nanosecondsStart = statistics.startTiming();
+		clock.sleep(7L);
+		statistics.recordTelemetry(nanosecondsStart);
+
+		assertEquals(2L * NANOSECONDS_PER_MILLISECOND, statistics.getHardware().getMaximum());
+		assertEquals(7L * NANOSECONDS_PER_MILLISECOND, statistics.getTelemetry().getMaximum());
+	}
+
+	@Test
+	final void testReport() {
+		statistics.startLoop();
+		clock.sleep(50L);
+		statistics.endCycle();
+		final String report = statistics.getReport("Drive");
+		javaLog.info(report);
+		assertTrue(report.startsWith("Drive - cycle p50 50.0 p99 50.0 max 50.0 ms (n=1)"));
+	}
+
+	@Test
+	final void testReset() {
+		statistics.startLoop();
+		clock.sleep(50L);
+		statistics.endCycle();
+		statistics.reset();
+		clock.sleep(50L);
+		statistics.endCycle();
+		assertEquals(0L, statistics.getCyclePeriod().getCount());
+	}
+}
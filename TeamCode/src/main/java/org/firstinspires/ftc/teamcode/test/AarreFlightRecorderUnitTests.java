@@ -0,0 +1,123 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import org.firstinspires.ftc.teamcode.src.AarreFlightRecorder;
+import org.firstinspires.ftc.teamcode.src.AarreFlightRecorderDecoder;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorTorqueNADO;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreFlightRecorder and AarreFlightRecorderDecoder classes
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Flight Recorder Unit Tests", group = "Aarre")
+@Disabled
+public class AarreFlightRecorderUnitTests extends LinearOpMode {
+
+	private File                file;
+	private AarreFlightRecorder flightRecorder;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() throws IOException {
+		file = File.createTempFile("AarreFlightRecorder", ".bin");
+		flightRecorder = new AarreFlightRecorder(file, 4);
+	}
+
+	@AfterEach
+	public final void deleteFile() throws IOException {
+		flightRecorder.close();
+		assertTrue(file.delete());
+	}
+
+	private String[] decode() throws IOException {
+		flightRecorder.force();
+		final StringWriter writer = new StringWriter();
+		AarreFlightRecorderDecoder.decode(file, writer);
+		return writer.toString().split("\\r?\\n");
+	}
+
+	@Test
+	public final void testConstructorRejectsNonPositiveCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreFlightRecorder(file, 0));
+	}
+
+	@Test
+	public final void testEmptyFileDecodesToHeader() throws IOException {
+		final String[] lines = decode();
+		assertEquals(1, lines.length);
+		assertEquals("sequence,seconds,motor,tick,power_commanded,power_measured,run_mode,stalled", lines[0]);
+	}
+
+	@Test
+	public final void testRecordDecodes() throws IOException {
+		final int left = flightRecorder.registerMotor("left");
+		flightRecorder.record(1500000000L, left, 42, 0.5, 0.25, DcMotor.RunMode.RUN_USING_ENCODER.ordinal(), true);
+
+		final String[] lines = decode();
+		assertEquals(2, lines.length);
+		assertEquals("0,1.500000,left,42,0.5000,0.2500,RUN_USING_ENCODER,1", lines[1]);
+	}
+
+	@Test
+	public final void testRingKeepsNewestInOrder() throws IOException {
+		final int arm = flightRecorder.registerMotor("arm");
+		for (int i = 0; i < 6; i++) {
+			flightRecorder.record(i, arm, i, 0.0, 0.0, 0, false);
+		}
+
+		final String[] lines = decode();
+		assertEquals(5, lines.length);
+		assertTrue(lines[1].startsWith("2,"));
+		assertTrue(lines[4].startsWith("5,"));
+		assertEquals(6L, flightRecorder.getNumberRecorded());
+	}
+
+	@Test
+	public final void testDecodeRejectsOtherFiles() throws IOException {
+		final File other = File.createTempFile("NotAFlightRecorder", ".bin");
+		try {
+			assertThrows(IOException.class, () -> AarreFlightRecorderDecoder.decode(other, new StringWriter()));
+		} finally {
+			assertTrue(other.delete());
+		}
+	}
+
+	@Test
+	public final void testMotorRecordsEveryPowerChange() throws IOException {
+		hardwareMap = new AarreSimulatedHardwareMap();
+		final AarreMotor motor = new AarreMotorTorqueNADO(this, "riser");
+		motor.setFlightRecorder(flightRecorder);
+
+		motor.setPowerVector(new AarrePowerVector(0.3));
+		motor.setPowerVector(new AarrePowerVector(0.0));
+
+		final String[] lines = decode();
+		assertEquals(3, lines.length);
+		assertTrue(lines[1].contains(",riser,"));
+		assertTrue(lines[1].contains(",0.3000,"));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,124 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotors;
+import org.firstinspires.ftc.teamcode.src.AarreHeadingProvider;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedTelemetry;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreHeadingProvider class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Heading Provider Unit Tests", group = "Aarre")
+@Disabled
+public class AarreHeadingProviderUnitTests extends LinearOpMode {
+
+	private AarreVirtualClock         clock;
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreIMU                  imu;
+	private AarreHeadingProvider      headingProvider;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		telemetry = new AarreSimulatedTelemetry();
+		imu = new AarreIMU(this);
+		headingProvider = new AarreHeadingProvider(imu);
+		start();
+	}
+
+	/**
+	 * Spin the robot in place, reading the heading every cycle as a control loop would.
+	 *
+	 * @param power
+	 * 		Positive to spin counterclockwise.
+	 * @param milliseconds
+	 * 		How long to spin.
+	 */
+	private void spin(final double power, final int milliseconds) {
+
+		// The left motor is mounted backward, so the same power turns the wheels opposite ways
+		simulatedHardwareMap.getLeftMotor().setPower(power);
+		simulatedHardwareMap.getRightMotor().setPower(power);
+		for (int elapsed = 0; elapsed < milliseconds; elapsed += 50) {
+			clock.sleep(50L);
+			headingProvider.getDegreesHeading();
+		}
+		simulatedHardwareMap.getLeftMotor().setPower(0.0);
+		simulatedHardwareMap.getRightMotor().setPower(0.0);
+		for (int elapsed = 0; elapsed < 1000; elapsed += 50) {
+			clock.sleep(50L);
+			headingProvider.getDegreesHeading();
+		}
+	}
+
+	@Test
+	public final void testStartsAtIMUHeading() {
+		assertEquals(imu.getHeading(), headingProvider.getDegreesHeading(), 0.001);
+	}
+
+	@Test
+	public final void testUnwrapsPastHalfTurn() {
+		spin(0.5, 5000);
+
+		final double degreesRaw        = imu.getHeading();
+		final double degreesContinuous = headingProvider.getDegreesHeading();
+		assertTrue(degreesContinuous > 180.0);
+
+		// The continuous heading is the raw heading plus whole turns
+		final double turns = (degreesContinuous - degreesRaw) / 360.0;
+		assertEquals(Math.round(turns), turns, 0.001);
+	}
+
+	@Test
+	public final void testResetHeading() {
+		spin(-0.5, 1000);
+		headingProvider.resetHeading();
+		assertEquals(0.0, headingProvider.getDegreesHeading(), 0.001);
+
+		headingProvider.setDegreesHeading(90.0);
+		assertEquals(90.0, headingProvider.getDegreesHeading(), 0.001);
+	}
+
+	@Test
+	public final void testGyroTurnByMoreThanHalfTurn() {
+		final AarreDriveMotors driveMotors = new AarreDriveMotors(this);
+		driveMotors.setIMU(imu);
+		driveMotors.resetHeading();
+
+		// Three quarters of a turn counterclockwise ends up a quarter turn clockwise of where it started
+		driveMotors.gyroTurnBy(new AarrePowerVector(0.2), 270.0);
+		clock.sleep(1000L);
+
+		final AarreHeadingProvider check = new AarreHeadingProvider(imu);
+		assertEquals(-90.0, check.getDegreesHeading(), 5.0);
+	}
+
+	@Test
+	public final void testNullIMURejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreHeadingProvider(null));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,89 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AarreHistogramUnitTests {
+
+	private AarreHistogram histogram;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		histogram = new AarreHistogram();
+	}
+
+	@Test
+	final void testEmptyHistogram() {
+		assertEquals(0L, histogram.getCount());
+		assertEquals(0L, histogram.getMaximum());
+		assertEquals(0L, histogram.getValueAtPercentile(50.0));
+	}
+
+	@Test
+	final void testSmallValuesAreExact() {
+		for (long value = 1L; value <= 10L; value++) {
+			histogram.record(value);
+		}
+		assertEquals(5L, histogram.getValueAtPercentile(50.0));
+		assertEquals(10L, histogram.getValueAtPercentile(100.0));
+		assertEquals(1L, histogram.getValueAtPercentile(0.0));
+	}
+
+	@Test
+	final void testLargeValuesWithinOneEighth() {
+		final long nanosecondsPerMillisecond = 1000000L;
+		for (long milliseconds = 1L; milliseconds <= 100L; milliseconds++) {
+			histogram.record(milliseconds * nanosecondsPerMillisecond);
+		}
+		final long median = histogram.getValueAtPercentile(50.0);
+		assertTrue(median >= 50L * nanosecondsPerMillisecond);
+		assertTrue(median <= (50L * nanosecondsPerMillisecond * 9L) / 8L);
+		final long p99 = histogram.getValueAtPercentile(99.0);
+		assertTrue(p99 >= 99L * nanosecondsPerMillisecond);
+		assertTrue(p99 <= 100L * nanosecondsPerMillisecond);
+	}
+
+	@Test
+	final void testMaximumAndCount() {
+		histogram.record(7L);
+		histogram.record(123456789L);
+		histogram.record(42L);
+		assertEquals(3L, histogram.getCount());
+		assertEquals(123456789L, histogram.getMaximum());
+		assertEquals(123456789L, histogram.getValueAtPercentile(100.0));
+	}
+
+	@Test
+	final void testNegativeValuesCountAsZero() {
+		histogram.record(-5L);
+		assertEquals(1L, histogram.getCount());
+		assertEquals(0L, histogram.getValueAtPercentile(50.0));
+	}
+
+	@Test
+	final void testLongMaxValue() {
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50.0));
+	}
+
+	@Test
+	final void testPercentileOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1.0));
+		assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101.0));
+	}
+
+	@Test
+	final void testReset() {
+		histogram.record(1000L);
+		histogram.reset();
+		assertEquals(0L, histogram.getCount());
+		assertEquals(0L, histogram.getMaximum());
+	}
+}
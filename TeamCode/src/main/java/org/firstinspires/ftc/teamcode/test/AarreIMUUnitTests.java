@@ -4,11 +4,16 @@ import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.Disabled;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarreIMUSnapshot;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.logging.Logger;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 
 @Autonomous(name = "Aarre IMU Unit Tests", group = "Aarre")
 /*
@@ -26,6 +31,53 @@ public class AarreIMUUnitTests extends LinearOpMode {
 		imu = new AarreIMU(this);
 	}
 
+	@Test
+	public final void testStartSamplingWithoutIMU() {
+		assertThrows(IllegalStateException.class, () -> imu.startSampling(10));
+	}
+
+	@Test
+	public final void testSnapshotWithoutSampling() {
+		hardwareMap = new AarreSimulatedHardwareMap();
+		final AarreIMU simulatedIMU = new AarreIMU(this);
+
+		final AarreIMUSnapshot snapshot = simulatedIMU.getSnapshot();
+		assertFalse(simulatedIMU.isSampling());
+		assertEquals(0.0, snapshot.getDegreesHeading(), 0.001);
+		assertEquals(9.8, snapshot.getMetersPerSecondSquaredGravity(), 0.1);
+	}
+
+	@Test
+	public final void testSamplingFollowsHeading() throws InterruptedException {
+		final AarreVirtualClock         clock                = new AarreVirtualClock();
+		final AarreSimulatedHardwareMap simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		final AarreIMU simulatedIMU = new AarreIMU(this);
+
+		simulatedIMU.startSampling(1);
+		assertTrue(simulatedIMU.isSampling());
+
+		// Spin the robot in place (the left motor is mounted backward, so the same power turns the wheels opposite ways)
+		simulatedHardwareMap.getLeftMotor().setPower(0.2);
+		simulatedHardwareMap.getRightMotor().setPower(0.2);
+		clock.sleep(500L);
+		simulatedHardwareMap.getLeftMotor().setPower(0.0);
+		simulatedHardwareMap.getRightMotor().setPower(0.0);
+		clock.sleep(1000L);
+		final double degreesHeading = simulatedHardwareMap.getIMU().getAngularOrientation().firstAngle;
+		assertTrue(Math.abs(degreesHeading) > 1.0);
+
+		// Wait (in real time) for the sampling thread to catch up
+		for (int attempt = 0; (attempt < 1000) && (Math.abs(simulatedIMU.getHeading() - degreesHeading) > 0.001);
+		     attempt++) {
+			Thread.sleep(1L);
+		}
+		assertEquals(degreesHeading, simulatedIMU.getHeading(), 0.001);
+
+		simulatedIMU.stopSampling();
+		assertFalse(simulatedIMU.isSampling());
+	}
+
 	/**
 	 * Must override runOpMode to avoid compiler error
 	 */
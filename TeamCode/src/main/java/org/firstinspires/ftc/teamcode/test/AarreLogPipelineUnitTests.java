@@ -0,0 +1,80 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreLogPipeline;
+import org.firstinspires.ftc.teamcode.src.AarreRingBuffer;
+import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreLogPipeline class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Log Pipeline Unit Tests", group = "Aarre")
+@Disabled
+public class AarreLogPipelineUnitTests extends LinearOpMode {
+
+	private AarreLogPipeline pipeline;
+	private AarreTelemetry   aarreTelemetry;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		pipeline = new AarreLogPipeline(16);
+		aarreTelemetry = new AarreTelemetry(telemetry);
+		aarreTelemetry.setPipeline(pipeline);
+	}
+
+	@Test
+	public final void testFlushWritesEveryMessage() {
+		aarreTelemetry.log("plain");
+		aarreTelemetry.log("caption", "message");
+		aarreTelemetry.log("formatted %d", 1);
+		aarreTelemetry.log("caption", "formatted %f", 1.0);
+
+		assertTrue(aarreTelemetry.flush());
+		assertEquals(4L, pipeline.getNumberLogged());
+		assertEquals(4L, pipeline.getNumberWritten());
+		assertEquals(0L, pipeline.getNumberDropped());
+	}
+
+	@Test
+	public final void testBadFormatDoesNotThrow() {
+		aarreTelemetry.log("bad %d", "not a number");
+		aarreTelemetry.log("fine");
+
+		assertTrue(aarreTelemetry.flush());
+		assertEquals(2L, pipeline.getNumberWritten());
+	}
+
+	@Test
+	public final void testBurstIsWrittenOrDropped() {
+		pipeline.setOverflowPolicy(AarreRingBuffer.OverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < 1000; i++) {
+			aarreTelemetry.log("burst %d", i);
+		}
+
+		assertTrue(aarreTelemetry.flush());
+		assertEquals(1000L, pipeline.getNumberWritten() + pipeline.getNumberDropped());
+	}
+
+	@Test
+	public final void testSetPipelineRejectsNull() {
+		assertThrows(IllegalArgumentException.class, () -> aarreTelemetry.setPipeline(null));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
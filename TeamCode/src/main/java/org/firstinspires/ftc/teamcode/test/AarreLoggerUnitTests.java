@@ -0,0 +1,91 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreLogPipeline;
+import org.firstinspires.ftc.teamcode.src.AarreLogger;
+import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreLogger class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Logger Unit Tests", group = "Aarre")
+@Disabled
+public class AarreLoggerUnitTests extends LinearOpMode {
+
+	private AarreLogPipeline pipeline;
+	private AarreTelemetry   aarreTelemetry;
+	private AarreLogger      log;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		pipeline = new AarreLogPipeline(16);
+		aarreTelemetry = new AarreTelemetry(telemetry);
+		aarreTelemetry.setPipeline(pipeline);
+		log = new AarreLogger(aarreTelemetry);
+	}
+
+	@Test
+	public final void testConstructorRejectsNullTelemetry() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreLogger(null));
+	}
+
+	@Test
+	public final void testDefaultLevelIsInfo() {
+		assertTrue(log.isLoggable(Level.INFO));
+		assertTrue(log.isLoggable(Level.WARNING));
+		assertFalse(log.isLoggable(Level.FINE));
+	}
+
+	@Test
+	public final void testBelowLevelIsDiscarded() {
+		log.fine("fine %f", 1.0);
+		log.finest("finest %d", 1L);
+		log.fine("fine %d:%d", 1L, 2L);
+		assertEquals(0L, pipeline.getNumberLogged());
+	}
+
+	@Test
+	public final void testAtLevelIsWritten() {
+		log.setLevel(Level.FINEST);
+		log.info("info");
+		log.fine("fine %f", 1.0);
+		log.fine("fine %5.2f:%5.2f", 1.0, 2.0);
+		log.finest("finest %d", 1L);
+		log.log(Level.WARNING, "warning %s %d %f", "many", 1, 2.0);
+
+		assertTrue(aarreTelemetry.flush());
+		assertEquals(5L, pipeline.getNumberWritten());
+	}
+
+	@Test
+	public final void testOffDiscardsEverything() {
+		log.setLevel(Level.OFF);
+		log.info("info");
+		log.log(Level.SEVERE, "severe");
+		assertEquals(0L, pipeline.getNumberLogged());
+	}
+
+	@Test
+	public final void testSetLevelRejectsNull() {
+		assertThrows(IllegalArgumentException.class, () -> log.setLevel(null));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
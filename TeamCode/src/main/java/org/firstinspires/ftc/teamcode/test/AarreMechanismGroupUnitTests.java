@@ -0,0 +1,161 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreClock;
+import org.firstinspires.ftc.teamcode.src.AarreMechanismGroup;
+import org.firstinspires.ftc.teamcode.src.AarreTelemetry;
+import org.firstinspires.ftc.teamcode.src.AarreTimer;
+import org.firstinspires.ftc.teamcode.src.AarreRealClock;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreMechanismGroup class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Mechanism Group Unit Tests", group = "Aarre")
+@Disabled
+public class AarreMechanismGroupUnitTests extends LinearOpMode {
+
+	private AarreClock          clock;
+	private AarreMechanismGroup group;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		// Measure on the real clock, as on the robot; the tests on a virtual clock make their own group
+		clock = new AarreRealClock();
+		group = new AarreMechanismGroup("Test", clock, new AarreTelemetry(telemetry));
+	}
+
+	/**
+	 * Make an action that keeps a mechanism busy for a while on the clock.
+	 */
+	private Runnable busyFor(final long milliseconds) {
+		return () -> {
+			final AarreTimer timer = new AarreTimer(clock);
+			while ((timer.milliseconds() < (double) milliseconds) && !Thread.currentThread().isInterrupted()) {
+				clock.sleep(1L);
+			}
+		};
+	}
+
+	@Test
+	public final void testRunsMechanismsInParallel() {
+		group.add("short", 5.0, busyFor(300L), null);
+		group.add("long", 5.0, busyFor(500L), null);
+
+		final double secondsSaved = group.run();
+
+		// Together the mechanisms take as long as the longest one
+		assertEquals(0.5, group.getSecondsElapsed(), 0.1);
+		assertEquals(0.8, group.getSecondsSequential(), 0.1);
+		assertEquals(0.3, secondsSaved, 0.1);
+		assertFalse(group.isAnyTimedOut());
+	}
+
+	@Test
+	public final void testTimeoutInterruptsAndStops() {
+		final AtomicBoolean stopped = new AtomicBoolean(false);
+		group.add("stuck", 0.2, busyFor(60000L), () -> stopped.set(true));
+		group.add("quick", 5.0, busyFor(100L), null);
+
+		group.run();
+
+		assertTrue(group.isAnyTimedOut());
+		assertTrue(stopped.get());
+		assertTrue(group.getSecondsElapsed() >= 0.2);
+	}
+
+	@Test
+	public final void testSlowMechanismStoppedOnlyAfterItExits() {
+		final AtomicInteger power = new AtomicInteger(0);
+		group.add("slow", 0.1, () -> {
+			while (!Thread.currentThread().isInterrupted()) {
+				power.set(1);
+				clock.sleep(1L);
+			}
+			// Clear the interrupt and carry on driving for longer than the group waits between interrupts
+			Thread.interrupted();
+			final AarreTimer timer = new AarreTimer(clock);
+			while (timer.milliseconds() < 300.0) {
+				power.set(1);
+				Thread.yield();
+			}
+		}, () -> power.set(0));
+
+		group.run();
+
+		// The stop came after the last write of the loop, so it was not overwritten
+		assertTrue(group.isAnyTimedOut());
+		assertEquals(0, power.get());
+	}
+
+	@Test
+	public final void testFailureIsRethrownAfterJoin() {
+		group.add("broken", 5.0, () -> {
+			throw new IllegalStateException("broken");
+		}, null);
+		group.add("fine", 5.0, busyFor(100L), null);
+
+		assertThrows(IllegalStateException.class, () -> group.run());
+		assertEquals(0.1, group.getSecondsElapsed(), 0.1);
+	}
+
+	@Test
+	public final void testRunsMechanismsInParallelOnVirtualClock() {
+		final AarreVirtualClock virtualClock = new AarreVirtualClock();
+		clock = virtualClock;
+		group = new AarreMechanismGroup("Test", clock, new AarreTelemetry(telemetry));
+		group.add("short", 5.0, busyFor(300L), null);
+		group.add("long", 5.0, busyFor(500L), null);
+
+		final double secondsSaved = group.run();
+
+		// Each mechanism has its own time, so the result is exact however the threads were scheduled
+		assertEquals(0.5, group.getSecondsElapsed(), 1.0e-9);
+		assertEquals(0.8, group.getSecondsSequential(), 1.0e-9);
+		assertEquals(0.3, secondsSaved, 1.0e-9);
+		assertEquals(500000000L, virtualClock.nanoTime());
+		assertEquals(0, virtualClock.getNumberOfTimelines());
+	}
+
+	@Test
+	public final void testTimeoutOnVirtualClockIsExact() {
+		final AarreVirtualClock virtualClock = new AarreVirtualClock();
+		clock = virtualClock;
+		group = new AarreMechanismGroup("Test", clock, new AarreTelemetry(telemetry));
+		final AtomicBoolean stopped = new AtomicBoolean(false);
+		group.add("stuck", 0.2, busyFor(60000L), () -> stopped.set(true));
+		group.add("quick", 5.0, busyFor(100L), null);
+
+		group.run();
+
+		assertTrue(group.isAnyTimedOut());
+		assertTrue(stopped.get());
+		assertEquals(0.2, group.getSecondsElapsed(), 1.0e-9);
+		assertEquals(200000000L, virtualClock.nanoTime());
+	}
+
+	@Test
+	public final void testAddRejectsNegativeTimeout() {
+		assertThrows(IllegalArgumentException.class, () -> group.add("arm", -1.0, busyFor(1L), null));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,125 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreArm;
+import org.firstinspires.ftc.teamcode.src.AarreMotionProfile;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreMotionProfile class, and for following a profile with a simulated motor
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Motion Profile Unit Tests", group = "Aarre")
+@Disabled
+public class AarreMotionProfileUnitTests extends LinearOpMode {
+
+	private static final double TICKS_PER_SECOND = 1000.0;
+	private static final int    MILLISECONDS     = 50;
+	private static final double TOLERANCE        = 1.0e-9;
+
+	private AarreVirtualClock clock;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		hardwareMap = new AarreSimulatedHardwareMap(clock);
+		start();
+	}
+
+	@Test
+	public final void testProfileEndsAtTarget() {
+		final AarreMotionProfile profile = new AarreMotionProfile(1000, 0.8, 2.0, TICKS_PER_SECOND, MILLISECONDS);
+		final int                last    = profile.getNumberOfCycles() - 1;
+		assertEquals(1000.0, profile.getTickNumber(last), TOLERANCE);
+		assertEquals(1000.0, profile.getTickNumber(last + 10), TOLERANCE);
+		assertEquals(0.0, profile.getPower(last + 1), TOLERANCE);
+	}
+
+	@Test
+	public final void testTrapezoidRespectsLimits() {
+		final AarreMotionProfile profile = new AarreMotionProfile(2000, 0.8, 2.0, TICKS_PER_SECOND, MILLISECONDS);
+
+		double powerPrevious = 0.0;
+		double powerLargest  = 0.0;
+		for (int cycle = 0; cycle < profile.getNumberOfCycles(); cycle++) {
+			final double power = profile.getPower(cycle);
+			assertTrue(Math.abs(power - powerPrevious) <= (0.1 + TOLERANCE));
+			powerLargest = Math.max(powerLargest, power);
+			powerPrevious = power;
+		}
+		assertEquals(0.8, powerLargest, TOLERANCE);
+	}
+
+	@Test
+	public final void testShortMoveIsTriangle() {
+		final AarreMotionProfile profile = new AarreMotionProfile(100, 1.0, 2.0, TICKS_PER_SECOND, MILLISECONDS);
+
+		// Reaching full power takes 250 ticks, so a 100 tick move must turn back well before then
+		double powerLargest = 0.0;
+		for (int cycle = 0; cycle < profile.getNumberOfCycles(); cycle++) {
+			powerLargest = Math.max(powerLargest, profile.getPower(cycle));
+		}
+		assertTrue(powerLargest < 0.5);
+		assertEquals(100.0, profile.getTickNumber(profile.getNumberOfCycles() - 1), TOLERANCE);
+	}
+
+	@Test
+	public final void testSCurveRespectsJerkLimit() {
+		final AarreMotionProfile trapezoid = new AarreMotionProfile(2000, 0.8, 2.0, TICKS_PER_SECOND, MILLISECONDS);
+		final AarreMotionProfile sCurve    = new AarreMotionProfile(2000, 0.8, 2.0, 10.0, TICKS_PER_SECOND,
+				MILLISECONDS);
+
+		// Reaching full acceleration at the jerk limit takes 0.2 seconds, or 4 cycles
+		assertEquals(trapezoid.getNumberOfCycles() + 3, sCurve.getNumberOfCycles());
+
+		double changePrevious = 0.0;
+		for (int cycle = 0; cycle < sCurve.getNumberOfCycles(); cycle++) {
+			final double change = sCurve.getPower(cycle) - ((cycle == 0) ? 0.0 : sCurve.getPower(cycle - 1));
+			assertTrue(Math.abs(change) <= (0.1 + TOLERANCE));
+			assertTrue(Math.abs(change - changePrevious) <= (0.025 + TOLERANCE));
+			changePrevious = change;
+		}
+		assertEquals(2000.0, sCurve.getTickNumber(sCurve.getNumberOfCycles() - 1), TOLERANCE);
+	}
+
+	@Test
+	public final void testInvalidParametersRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotionProfile(0, 0.8, 2.0, TICKS_PER_SECOND,
+				MILLISECONDS));
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotionProfile(100, 1.5, 2.0, TICKS_PER_SECOND,
+				MILLISECONDS));
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotionProfile(100, 0.8, 0.0, TICKS_PER_SECOND,
+				MILLISECONDS));
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotionProfile(100, 0.8, 2.0, -1.0,
+				TICKS_PER_SECOND, MILLISECONDS));
+	}
+
+	@Test
+	public final void testArmFollowsProfileBothWays() {
+		final AarreArm arm = new AarreArm(this, "arm");
+
+		arm.raise();
+		assertEquals(120, arm.getTickNumber(), 5);
+
+		arm.lower();
+		assertEquals(0, arm.getTickNumber(), 5);
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,159 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreMotorCharacterization;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreMotorCharacterization class
+ */
+class AarreMotorCharacterizationUnitTests {
+
+	// A motor that does not turn below a quarter power, then speeds up in proportion
+	private static final double[] TICKS_PER_SECOND         = {0.0, 0.0, 400.0, 800.0, 1200.0};
+	private static final double[] TICKS_PER_SECOND_SQUARED = {0.0, 0.0, 4000.0, 8000.0, 12000.0};
+
+	private AarreMotorCharacterization characterization;
+	private File                       file;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void setUp() throws IOException {
+		characterization = new AarreMotorCharacterization(TICKS_PER_SECOND, TICKS_PER_SECOND_SQUARED);
+		file = File.createTempFile("AarreMotorCharacterizationUnitTests", ".csv");
+	}
+
+	@AfterEach
+	final void tearDown() {
+		//noinspection ResultOfMethodCallIgnored
+		file.delete();
+	}
+
+	private void writeFile(final String... lines) throws IOException {
+		final PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), Charset
+				.forName("UTF-8")));
+		try {
+			for (final String line : lines) {
+				writer.println(line);
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	@Test
+	final void testMeasuredPowerLevels() {
+		assertEquals(4, characterization.getNumberOfSteps());
+		assertEquals(0.5, characterization.getPowerMagnitude(2));
+		assertEquals(400.0, characterization.getTicksPerSecond(0.5));
+		assertEquals(1200.0, characterization.getTicksPerSecond(1.0));
+	}
+
+	@Test
+	final void testInterpolatesBetweenPowerLevels() {
+		assertEquals(0.0, characterization.getTicksPerSecond(0.2));
+		assertEquals(200.0, characterization.getTicksPerSecond(0.375), 1.0e-9);
+		assertEquals(10000.0, characterization.getTicksPerSecondSquared(0.875), 1.0e-9);
+	}
+
+	@Test
+	final void testClipsPowerOutsideRange() {
+		assertEquals(1200.0, characterization.getTicksPerSecond(1.5));
+		assertEquals(0.0, characterization.getTicksPerSecond(-0.5));
+	}
+
+	@Test
+	final void testInvertsSpeedToPower() {
+		assertEquals(0.5, characterization.getPowerMagnitudeForTicksPerSecond(400.0), 1.0e-9);
+		assertEquals(0.875, characterization.getPowerMagnitudeForTicksPerSecond(1000.0), 1.0e-9);
+
+		// The slowest speed still needs the power that overcomes static friction
+		assertEquals(0.25, characterization.getPowerMagnitudeForTicksPerSecond(1.0e-6), 1.0e-6);
+		assertEquals(0.0, characterization.getPowerMagnitudeForTicksPerSecond(0.0));
+		assertEquals(1.0, characterization.getPowerMagnitudeForTicksPerSecond(5000.0));
+	}
+
+	@Test
+	final void testInvertsNoisySpeeds() {
+		// A measurement that came out slower than the one below it
+		final AarreMotorCharacterization noisy = new AarreMotorCharacterization(new double[]{0.0, 500.0, 450.0,
+				1000.0}, new double[]{0.0, 1.0, 1.0, 1.0});
+
+		final double powerMagnitude = noisy.getPowerMagnitudeForTicksPerSecond(480.0);
+		assertTrue(powerMagnitude > 0.0);
+		assertTrue(powerMagnitude <= 1.0 / 3.0);
+		assertEquals(2.0 / 3.0 + 1.0 / 6.0, noisy.getPowerMagnitudeForTicksPerSecond(750.0), 1.0e-9);
+	}
+
+	@Test
+	final void testConstructorRejectsSingleLevel() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotorCharacterization(new double[]{1.0}, new
+				double[]{1.0}));
+	}
+
+	@Test
+	final void testConstructorRejectsMismatchedLengths() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotorCharacterization(TICKS_PER_SECOND, new
+				double[]{0.0, 1.0}));
+	}
+
+	@Test
+	final void testConstructorRejectsStationaryAtFullPower() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreMotorCharacterization(new double[]{0.0, 0.0},
+				new double[]{0.0, 0.0}));
+	}
+
+	@Test
+	final void testConstructorCopiesArrays() {
+		final double[] ticksPerSecond = TICKS_PER_SECOND.clone();
+		final AarreMotorCharacterization copy = new AarreMotorCharacterization(ticksPerSecond,
+				TICKS_PER_SECOND_SQUARED);
+		ticksPerSecond[4] = 0.0;
+		assertEquals(1200.0, copy.getTicksPerSecond(1.0));
+	}
+
+	@Test
+	final void testSaveAndLoad() throws IOException {
+		characterization.save(file);
+		final AarreMotorCharacterization loaded = AarreMotorCharacterization.load(file);
+
+		assertEquals(characterization.getNumberOfSteps(), loaded.getNumberOfSteps());
+		for (int step = 0; step <= loaded.getNumberOfSteps(); step++) {
+			final double powerMagnitude = loaded.getPowerMagnitude(step);
+			assertEquals(characterization.getTicksPerSecond(powerMagnitude), loaded.getTicksPerSecond(powerMagnitude),
+					0.001);
+			assertEquals(characterization.getTicksPerSecondSquared(powerMagnitude), loaded.getTicksPerSecondSquared
+					(powerMagnitude), 0.001);
+		}
+	}
+
+	@Test
+	final void testLoadRejectsWrongHeader() throws IOException {
+		writeFile("power,speed", "0,0", "1,100");
+		assertThrows(IOException.class, () -> AarreMotorCharacterization.load(file));
+	}
+
+	@Test
+	final void testLoadRejectsUnevenPowerLevels() throws IOException {
+		writeFile("power,ticks_per_second,ticks_per_second_squared", "0,0,0", "0.3,10,10", "1,100,100");
+		assertThrows(IOException.class, () -> AarreMotorCharacterization.load(file));
+	}
+
+	@Test
+	final void testGetFileNamedAfterMotor() {
+		assertEquals("AarreMotorCharacterization-left.csv", AarreMotorCharacterization.getFile(new File("/sdcard"),
+				"left").getName());
+	}
+}
@@ -0,0 +1,120 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorCharacterization;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for characterizing a motor with AarreMotor, against a simulated motor that needs a fifth of full power
+ * to overcome static friction
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Motor Characterize Unit Tests", group = "Aarre")
+@Disabled
+public class AarreMotorCharacterizeUnitTests extends LinearOpMode {
+
+	private static final double POWER_TO_OVERCOME_FRICTION = 0.2;
+	private static final int    NUMBER_OF_STEPS            = 10;
+	private static final double SECONDS_PER_STEP           = 1.0;
+
+	private AarreVirtualClock clock;
+	private AarreDriveMotor   motor;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		final AarreSimulatedHardwareMap simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		simulatedHardwareMap.getLeftMotor().setSimulatedPowerToOvercomeFriction(POWER_TO_OVERCOME_FRICTION);
+		motor = new AarreDriveMotor(this, "left");
+		simulatedHardwareMap.getLeftMotor().setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+		start();
+	}
+
+	@Test
+	public final void testCharacterizeFindsFriction() {
+		final double ticksPerSecondNameplate = motor.getTicksPerSecond();
+
+		final AarreMotorCharacterization characterization = motor.characterize(NUMBER_OF_STEPS, SECONDS_PER_STEP);
+
+		assertNotNull(characterization);
+		assertEquals(NUMBER_OF_STEPS, characterization.getNumberOfSteps());
+
+		// Below the friction threshold the motor does not turn, where the nameplate speed says it would
+		assertEquals(0.0, characterization.getTicksPerSecond(0.1), 1.0);
+		assertTrue(motor.getTicksPerSecond(0.1) > 0.0);
+
+		// Above it, the speed is in proportion to the power above the threshold
+		assertEquals(ticksPerSecondNameplate * 0.5, characterization.getTicksPerSecond(0.6),
+				ticksPerSecondNameplate * 0.02);
+		assertEquals(ticksPerSecondNameplate, characterization.getTicksPerSecond(1.0), ticksPerSecondNameplate *
+				0.02);
+		assertTrue(characterization.getTicksPerSecondSquared(1.0) > 0.0);
+
+		// The motor is left stopped
+		assertEquals(0.0, motor.getPower());
+	}
+
+	@Test
+	public final void testGetTicksPerSecondUsesCharacterization() {
+		final double ticksPerSecondNameplate = motor.getTicksPerSecond(0.5);
+
+		motor.setCharacterization(new AarreMotorCharacterization(new double[]{0.0, 100.0, 300.0}, new double[]{0.0,
+				1000.0, 1000.0}));
+		assertEquals(100.0, motor.getTicksPerSecond(0.5));
+		assertEquals(200.0, motor.getTicksPerSecond(0.75));
+		assertEquals(300.0, motor.getTicksPerSecond());
+
+		motor.setCharacterization(null);
+		assertEquals(ticksPerSecondNameplate, motor.getTicksPerSecond(0.5));
+	}
+
+	@Test
+	public final void testCharacterizedMotorReachesCommandedSpeed() {
+		final double ticksPerSecondTarget = motor.getTicksPerSecond() * 0.3;
+
+		// Without a characterization, 30% power only just overcomes friction, so the motor falls well short
+		final double ticksPerSecondNameplate = measureTicksPerSecondAt(ticksPerSecondTarget);
+		assertTrue(ticksPerSecondNameplate < (ticksPerSecondTarget * 0.5));
+
+		motor.setCharacterization(motor.characterize(NUMBER_OF_STEPS, SECONDS_PER_STEP));
+		assertEquals(ticksPerSecondTarget, measureTicksPerSecondAt(ticksPerSecondTarget), ticksPerSecondTarget *
+				0.05);
+	}
+
+	/**
+	 * Run the motor open-loop at a velocity, and measure how fast it actually turns once it has had time to speed up.
+	 */
+	private double measureTicksPerSecondAt(final double ticksPerSecondTarget) {
+		motor.runAtVelocity(ticksPerSecondTarget, SECONDS_PER_STEP);
+		final int tickNumberStart = motor.getCurrentTickNumber();
+		motor.runAtVelocity(ticksPerSecondTarget, SECONDS_PER_STEP);
+		final int tickNumberEnd = motor.getCurrentTickNumber();
+		return Math.abs(tickNumberEnd - tickNumberStart) / SECONDS_PER_STEP;
+	}
+
+	@Test
+	public final void testCharacterizeRejectsZeroSteps() {
+		assertThrows(IllegalArgumentException.class, () -> motor.characterize(0, SECONDS_PER_STEP));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,87 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedDcMotor;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the software encoder zero in AarreMotor
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Motor Tick Number Unit Tests", group = "Aarre")
+@Disabled
+public class AarreMotorTickNumberUnitTests extends LinearOpMode {
+
+	private AarreVirtualClock     clock;
+	private AarreSimulatedDcMotor simulatedMotor;
+	private AarreMotor            motor;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		final AarreSimulatedHardwareMap simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		simulatedMotor = simulatedHardwareMap.getArmMotor();
+		motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		simulatedMotor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+		start();
+	}
+
+	/**
+	 * Run the motor for a while so that the encoder is away from zero.
+	 */
+	private void turnMotor() {
+		simulatedMotor.setPower(0.5);
+		clock.sleep(1000L);
+		simulatedMotor.setPower(0.0);
+		clock.sleep(100L);
+	}
+
+	@Test
+	public final void testStartsAtZero() {
+		assertEquals(0, motor.getCurrentTickNumber());
+		assertEquals(0, motor.getAbsoluteTickNumber());
+	}
+
+	@Test
+	public final void testResetTickNumberZeroesRelativeOnly() {
+		turnMotor();
+		final int tickNumberAbsolute = motor.getAbsoluteTickNumber();
+		assertTrue(tickNumberAbsolute > 0);
+
+		motor.resetTickNumber();
+
+		assertEquals(0, motor.getCurrentTickNumber());
+		assertEquals(tickNumberAbsolute, motor.getAbsoluteTickNumber());
+		assertEquals(DcMotor.RunMode.RUN_WITHOUT_ENCODER, simulatedMotor.getMode());
+	}
+
+	@Test
+	public final void testRelativeTickNumberFollowsMotor() {
+		turnMotor();
+		motor.resetTickNumber();
+		turnMotor();
+		assertEquals(motor.getAbsoluteTickNumber() / 2, motor.getCurrentTickNumber(), 2);
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -613,4 +613,30 @@ public class AarreMotorTorqueNADOUnitTests extends AarreMotorUnitTests implement
 
 	}
 
+	/**
+	 * The primitive power step, which the ramp loops use, must agree with the one that takes power vectors.
+	 */
+	@Test
+	public final void whenPrimitiveOverloadUsed_thenSameResult() {
+
+		final double[] powers = {-1.0, -0.55, -0.1, 0.0, 0.05, 0.3, 0.95, 1.0};
+
+		for (final double powerCurrent : powers) {
+			for (final double powerRequested : powers) {
+
+				final AarrePowerVector powerVectorCurrent   = new AarrePowerVector(powerCurrent);
+				final AarrePowerVector powerVectorRequested = new AarrePowerVector(powerRequested);
+
+				assertEquals(motor.getPowerVectorNew(powerVectorCurrent, powerVectorRequested).asDouble(), motor
+						.getPowerVectorNew(powerCurrent, powerRequested), 1.0e-12);
+			}
+		}
+	}
+
+	@Test
+	public final void whenPowerOutOfRange_thenSetPowerThrows() {
+		assertThrows(IllegalArgumentException.class, () -> motor.setPower(1.5));
+		assertThrows(IllegalArgumentException.class, () -> motor.setPower(Double.NaN));
+	}
+
 }
@@ -51,5 +51,10 @@ public class AarreNonNegativeIntegerUnitTests {
 		assertEquals(randomPositiveInteger, returnValue);
 	}
 
+	@Test
+	public void whenStringRequested_thenReturnsValue() {
+		assertEquals("42", new AarreNonNegativeInteger(42).toString());
+		assertEquals(new AarreNonNegativeInteger(42), new AarreNonNegativeInteger(42));
+	}
 
 }
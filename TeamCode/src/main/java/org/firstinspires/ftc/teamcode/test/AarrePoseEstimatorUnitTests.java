@@ -0,0 +1,205 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotors;
+import org.firstinspires.ftc.teamcode.src.AarreHeadingProvider;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarrePose;
+import org.firstinspires.ftc.teamcode.src.AarrePoseEstimator;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarrePoseEstimator class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Pose Estimator Unit Tests", group = "Aarre")
+@Disabled
+public class AarrePoseEstimatorUnitTests extends LinearOpMode {
+
+	private static final int MILLISECONDS_PER_CYCLE = 50;
+
+	// TorqueNADO encoder on a 5.5 inch direct-drive wheel
+	private static final double TICKS_PER_INCH = 1440.0 / (5.5 * Math.PI);
+
+	private AarreVirtualClock         clock;
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreIMU                  imu;
+	private AarreDriveMotors          driveMotors;
+	private AarrePoseEstimator        poseEstimator;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		imu = new AarreIMU(this);
+		driveMotors = new AarreDriveMotors(this);
+		driveMotors.setIMU(imu);
+		poseEstimator = driveMotors.getPoseEstimator();
+		start();
+	}
+
+	/**
+	 * Run the drive wheels, updating the pose every cycle as a control loop would, then let the robot stop.
+	 *
+	 * @param powerLeft
+	 * 		Positive to drive the left wheel forward.
+	 * @param powerRight
+	 * 		Positive to drive the right wheel forward.
+	 * @param milliseconds
+	 * 		How long to run.
+	 */
+	private void run(final double powerLeft, final double powerRight, final int milliseconds) {
+
+		// The drive motors have set the direction of the left motor, which is mounted backward
+		simulatedHardwareMap.getLeftMotor().setPower(powerLeft);
+		simulatedHardwareMap.getRightMotor().setPower(powerRight);
+		for (int elapsed = 0; elapsed < milliseconds; elapsed += MILLISECONDS_PER_CYCLE) {
+			clock.sleep(MILLISECONDS_PER_CYCLE);
+			driveMotors.getReadCache().invalidate();
+			poseEstimator.update();
+		}
+		simulatedHardwareMap.getLeftMotor().setPower(0.0);
+		simulatedHardwareMap.getRightMotor().setPower(0.0);
+		for (int elapsed = 0; elapsed < 1000; elapsed += MILLISECONDS_PER_CYCLE) {
+			clock.sleep(MILLISECONDS_PER_CYCLE);
+			driveMotors.getReadCache().invalidate();
+			poseEstimator.update();
+		}
+	}
+
+	/**
+	 * @return How far the right wheel has moved forward since the simulation started.
+	 */
+	private double getInchesRight() {
+		return simulatedHardwareMap.getRightMotor().getSimulatedTickPosition() / TICKS_PER_INCH;
+	}
+
+	@Test
+	public final void testStartsAtOrigin() {
+		final AarrePose pose = poseEstimator.getPose();
+		assertEquals(0.0, pose.getInchesX(), 0.001);
+		assertEquals(0.0, pose.getInchesY(), 0.001);
+		assertEquals(0.0, pose.getDegreesHeading(), 0.001);
+	}
+
+	@Test
+	public final void testDriveStraight() {
+		poseEstimator.update();
+		run(0.5, 0.5, 2000);
+
+		final AarrePose pose = poseEstimator.getPose();
+		assertTrue(pose.getInchesX() > 10.0);
+		assertEquals(getInchesRight(), pose.getInchesX(), 0.1);
+		assertEquals(0.0, pose.getInchesY(), 0.1);
+		assertEquals(0.0, pose.getDegreesHeading(), 0.1);
+	}
+
+	@Test
+	public final void testSpinInPlace() {
+		poseEstimator.update();
+		run(-0.3, 0.3, 1000);
+
+		final AarrePose pose = poseEstimator.getPose();
+		assertEquals(0.0, pose.getInchesX(), 0.1);
+		assertEquals(0.0, pose.getInchesY(), 0.1);
+		assertEquals(new AarreHeadingProvider(imu).getDegreesHeading(), pose.getDegreesHeading(), 0.1);
+		assertTrue(pose.getDegreesHeading() > 10.0);
+	}
+
+	@Test
+	public final void testHeadingFromWheelsWithoutIMU() {
+		poseEstimator.setHeadingProvider(null);
+		poseEstimator.update();
+		run(0.3, -0.3, 1000);
+
+		// The simulated IMU works out its heading from the wheels too, so the two agree
+		assertEquals(new AarreHeadingProvider(imu).getDegreesHeading(), poseEstimator.getDegreesHeading(), 0.1);
+		assertTrue(poseEstimator.getDegreesHeading() < -10.0);
+	}
+
+	@Test
+	public final void testQuarterTurnThenStraight() {
+		poseEstimator.update();
+
+		// Spin left until the IMU reads a quarter turn
+		final AarreHeadingProvider headingProvider = new AarreHeadingProvider(imu);
+		simulatedHardwareMap.getLeftMotor().setPower(-0.2);
+		simulatedHardwareMap.getRightMotor().setPower(0.2);
+		while (headingProvider.getDegreesHeading() < 90.0) {
+			clock.sleep(10L);
+		}
+		simulatedHardwareMap.getLeftMotor().setPower(0.0);
+		simulatedHardwareMap.getRightMotor().setPower(0.0);
+		clock.sleep(1000L);
+		driveMotors.getReadCache().invalidate();
+		poseEstimator.update();
+
+		final double degreesHeading = poseEstimator.getDegreesHeading();
+		assertEquals(90.0, degreesHeading, 5.0);
+
+		final double inchesRightBefore = getInchesRight();
+		run(0.5, 0.5, 2000);
+		final double inches = getInchesRight() - inchesRightBefore;
+
+		// Now driving along the y axis
+		final AarrePose pose = poseEstimator.getPose();
+		assertEquals(inches * Math.cos(Math.toRadians(degreesHeading)), pose.getInchesX(), 0.2);
+		assertEquals(inches * Math.sin(Math.toRadians(degreesHeading)), pose.getInchesY(), 0.2);
+	}
+
+	@Test
+	public final void testSetPose() {
+		poseEstimator.setPose(new AarrePose(12.0, -24.0, 180.0));
+
+		AarrePose pose = poseEstimator.getPose();
+		assertEquals(12.0, pose.getInchesX(), 0.001);
+		assertEquals(-24.0, pose.getInchesY(), 0.001);
+		assertEquals(180.0, pose.getDegreesHeading(), 0.001);
+
+		// Facing back along the x axis, driving forward decreases x
+		run(0.5, 0.5, 1000);
+		pose = poseEstimator.getPose();
+		assertTrue(pose.getInchesX() < 6.0);
+		assertEquals(-24.0, pose.getInchesY(), 0.1);
+		assertEquals(180.0, pose.getDegreesHeading(), 0.1);
+	}
+
+	@Test
+	public final void testUpdatedByDriveLoop() {
+		final long numberOfUpdatesBefore = poseEstimator.getNumberOfUpdates();
+		driveMotors.rampPowerTo(new AarrePowerVector(0.5));
+		driveMotors.rampPowerTo(new AarrePowerVector(0.0));
+		assertTrue(poseEstimator.getNumberOfUpdates() > numberOfUpdatesBefore);
+		assertTrue(poseEstimator.getInchesX() > 1.0);
+	}
+
+	@Test
+	public final void testNullMotorRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarrePoseEstimator(null, null, 14.0));
+	}
+
+	@Test
+	public final void testNullPoseRejected() {
+		assertThrows(IllegalArgumentException.class, () -> poseEstimator.setPose(null));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
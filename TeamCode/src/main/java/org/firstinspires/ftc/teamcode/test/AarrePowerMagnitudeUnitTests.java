@@ -108,4 +108,21 @@ class AarrePowerMagnitudeUnitTests {
 	@Test
 	void subtract() {
 	}
+
+	@Test
+	void whenValueIsZeroOrOne_thenValueOfSharesConstant() {
+		assertSame(AarrePowerMagnitude.ZERO, AarrePowerMagnitude.valueOf(0.0));
+		assertSame(AarrePowerMagnitude.FULL, AarrePowerMagnitude.valueOf(1.0));
+		assertEquals(0.1, AarrePowerMagnitude.DEFAULT_INCREMENT.asDouble());
+		assertEquals(new AarrePowerMagnitude(0.5), AarrePowerMagnitude.valueOf(0.5));
+	}
+
+	@Test
+	void whenSubtractionGoesBelowZero_thenSaturatedSubtractionClips() {
+		AarrePowerMagnitude small = new AarrePowerMagnitude(0.2);
+		AarrePowerMagnitude large = new AarrePowerMagnitude(0.7);
+		assertThrows(IllegalArgumentException.class, () -> small.subtract(large));
+		assertSame(AarrePowerMagnitude.ZERO, small.subtractSaturated(large));
+		assertEquals(0.5, large.subtractSaturated(small).asDouble(), 0.0001);
+	}
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class AarrePowerVectorUnitTests {
@@ -151,6 +152,45 @@ class AarrePowerVectorUnitTests {
 
 	@Test
 	void testReverseDirection() {
+		AarrePowerVector forward = new AarrePowerVector(0.4);
+		AarrePowerVector reverse = forward.getReversed();
+		assertEquals(-0.4, reverse.asDouble());
+		assertEquals(0.4, forward.asDouble());
+		assertSame(AarrePowerVector.ZERO, AarrePowerVector.ZERO.getReversed());
+	}
+
+	/**
+	 * Test that zero and full power share the constants
+	 */
+	@Test
+	void testValueOfSharesConstants() {
+		assertSame(AarrePowerVector.ZERO, AarrePowerVector.valueOf(0.0));
+		assertSame(AarrePowerVector.ZERO, AarrePowerVector.valueOf(-0.0));
+		assertSame(AarrePowerVector.FULL_FORWARD, AarrePowerVector.valueOf(1.0));
+		assertSame(AarrePowerVector.FULL_REVERSE, AarrePowerVector.valueOf(-1.0));
+		assertSame(AarrePowerVector.ZERO, new AarrePowerVector(0.3).subtract(new AarrePowerVector(0.3)));
+		assertEquals(new AarrePowerVector(0.5), AarrePowerVector.valueOf(0.5));
+		assertEquals(new AarrePowerVector(0.5).hashCode(), AarrePowerVector.valueOf(0.5).hashCode());
+	}
+
+	/**
+	 * Test that the saturating arithmetic clips where the plain arithmetic throws
+	 */
+	@Test
+	void testSaturatedArithmetic() {
+		AarrePowerVector power = new AarrePowerVector(0.8);
+		AarrePowerVector steer = new AarrePowerVector(0.5);
+
+		assertThrows(IllegalArgumentException.class, () -> power.add(steer));
+		assertSame(AarrePowerVector.FULL_FORWARD, power.addSaturated(steer));
+		assertEquals(0.3, power.subtractSaturated(steer).asDouble(), 0.0001);
+		assertSame(AarrePowerVector.FULL_REVERSE, power.getReversed().subtractSaturated(steer));
+
+		assertThrows(IllegalArgumentException.class, () -> power.divideBy(0.5));
+		assertSame(AarrePowerVector.FULL_FORWARD, power.divideBySaturated(0.5));
+
+		assertSame(AarrePowerVector.FULL_REVERSE, AarrePowerVector.valueOfSaturated(-3.0));
+		assertThrows(IllegalArgumentException.class, () -> AarrePowerVector.valueOfSaturated(Double.NaN));
 	}
 
 	@Test
@@ -0,0 +1,153 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotors;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarrePoint;
+import org.firstinspires.ftc.teamcode.src.AarrePose;
+import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
+import org.firstinspires.ftc.teamcode.src.AarrePurePursuit;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarrePurePursuit class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Pure Pursuit Unit Tests", group = "Aarre")
+@Disabled
+public class AarrePurePursuitUnitTests extends LinearOpMode {
+
+	private static final double INCHES_TRACK_WIDTH = 14.0;
+	private static final double INCHES_LOOKAHEAD   = 12.0;
+
+	private AarreVirtualClock         clock;
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreDriveMotors          driveMotors;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		driveMotors = new AarreDriveMotors(this);
+		driveMotors.setIMU(new AarreIMU(this));
+		start();
+	}
+
+	private static List<AarrePoint> getPath(final double... inchesXY) {
+		final List<AarrePoint> path = new ArrayList<>();
+		for (int index = 0; index < inchesXY.length; index += 2) {
+			path.add(new AarrePoint(inchesXY[index], inchesXY[index + 1]));
+		}
+		return path;
+	}
+
+	@Test
+	public final void testStraightPathDrivesStraight() {
+		final AarrePurePursuit pursuit = new AarrePurePursuit(getPath(0.0, 0.0, 48.0, 0.0), INCHES_LOOKAHEAD,
+				INCHES_TRACK_WIDTH);
+		pursuit.update(0.0, 0.0, 0.0, 0.5);
+
+		assertEquals(0.0, pursuit.getCurvature(), 0.001);
+		assertEquals(0.5, pursuit.getPowerLeft(), 0.001);
+		assertEquals(0.5, pursuit.getPowerRight(), 0.001);
+		assertEquals(INCHES_LOOKAHEAD, pursuit.getInchesXTarget(), 0.001);
+		assertFalse(pursuit.isFinished());
+	}
+
+	@Test
+	public final void testSteersBackToPath() {
+		final AarrePurePursuit pursuit = new AarrePurePursuit(getPath(0.0, 0.0, 48.0, 0.0), INCHES_LOOKAHEAD,
+				INCHES_TRACK_WIDTH);
+
+		// Right of the path, so steer left
+		pursuit.update(6.0, -3.0, 0.0, 0.5);
+		assertTrue(pursuit.getCurvature() > 0.0);
+		assertTrue(pursuit.getPowerRight() > pursuit.getPowerLeft());
+		assertEquals(0.5, pursuit.getPowerRight(), 0.001);
+	}
+
+	@Test
+	public final void testLooksAheadRoundCorner() {
+		final AarrePurePursuit pursuit = new AarrePurePursuit(getPath(0.0, 0.0, 24.0, 0.0, 24.0, 24.0),
+				INCHES_LOOKAHEAD, INCHES_TRACK_WIDTH);
+
+		// Near the corner, the target is already on the second segment
+		pursuit.update(20.0, 0.0, 0.0, 0.5);
+		assertEquals(1, pursuit.getSegment());
+		assertEquals(24.0, pursuit.getInchesXTarget(), 0.001);
+		assertTrue(pursuit.getInchesYTarget() > 0.0);
+		assertTrue(pursuit.getCurvature() > 0.0);
+	}
+
+	@Test
+	public final void testTapersAndFinishesAtEnd() {
+		final AarrePurePursuit pursuit = new AarrePurePursuit(getPath(0.0, 0.0, 48.0, 0.0), INCHES_LOOKAHEAD,
+				INCHES_TRACK_WIDTH);
+
+		pursuit.update(42.0, 0.0, 0.0, 0.8);
+		assertEquals(0.4, pursuit.getPowerLeft(), 0.001);
+		assertFalse(pursuit.isFinished());
+
+		pursuit.update(47.5, 0.0, 0.0, 0.8);
+		assertTrue(pursuit.isFinished());
+		assertEquals(0.0, pursuit.getPowerLeft(), 0.001);
+		assertEquals(0.0, pursuit.getPowerRight(), 0.001);
+
+		pursuit.reset();
+		assertFalse(pursuit.isFinished());
+	}
+
+	@Test
+	public final void testFinishesWhenPastEnd() {
+		final AarrePurePursuit pursuit = new AarrePurePursuit(getPath(0.0, 0.0, 48.0, 0.0), INCHES_LOOKAHEAD,
+				INCHES_TRACK_WIDTH);
+		pursuit.update(49.0, 3.0, 0.0, 0.5);
+		assertTrue(pursuit.isFinished());
+	}
+
+	@Test
+	public final void testFollowPathInOneMotion() {
+		final List<AarrePoint> path = getPath(0.0, 0.0, 24.0, 0.0, 36.0, 24.0);
+		driveMotors.followPath(new AarrePowerMagnitude(0.5), path, INCHES_LOOKAHEAD, 10.0);
+
+		final AarrePose pose = driveMotors.getPoseEstimator().getPose();
+		assertEquals(0.0, pose.getInchesTo(36.0, 24.0), 3.0);
+
+		// The robot sweeps round the corner, so it ends up pointing roughly along the last leg
+		assertEquals(Math.toDegrees(Math.atan2(24.0, 12.0)), pose.getDegreesHeading(), 20.0);
+	}
+
+	@Test
+	public final void testInvalidParametersRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarrePurePursuit(null, INCHES_LOOKAHEAD,
+				INCHES_TRACK_WIDTH));
+		assertThrows(IllegalArgumentException.class, () -> new AarrePurePursuit(getPath(0.0, 0.0),
+				INCHES_LOOKAHEAD, INCHES_TRACK_WIDTH));
+		assertThrows(IllegalArgumentException.class, () -> new AarrePurePursuit(getPath(0.0, 0.0, 1.0, 0.0), 0.0,
+				INCHES_TRACK_WIDTH));
+		assertThrows(IllegalArgumentException.class, () -> new AarrePurePursuit(Arrays.asList(new AarrePoint(0.0,
+				0.0), null), INCHES_LOOKAHEAD, INCHES_TRACK_WIDTH));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,204 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreCycleScheduler;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarreMotorTorqueNADO;
+import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreRampEngine;
+import org.firstinspires.ftc.teamcode.src.AarreRampHandle;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreTimer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreRampEngine class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Ramp Engine Unit Tests", group = "Aarre")
+@Disabled
+public class AarreRampEngineUnitTests extends LinearOpMode {
+
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreRampEngine           rampEngine;
+	private AarreMotor                armMotor;
+	private AarreMotor                riserMotor;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		simulatedHardwareMap = new AarreSimulatedHardwareMap();
+		hardwareMap = simulatedHardwareMap;
+		armMotor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		riserMotor = new AarreMotorTorqueNADO(this, "riser");
+		rampEngine = new AarreRampEngine(this, simulatedHardwareMap.getClock());
+		start();
+	}
+
+	@Test
+	public final void testRegisterReturnsImmediately() {
+		final AarreRampHandle handle = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		assertFalse(handle.isDone());
+		assertEquals(0.0, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertEquals(1, rampEngine.getNumberOfActiveRamps());
+	}
+
+	@Test
+	public final void testTickAdvancesOneIncrement() {
+		armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		rampEngine.tick();
+		assertEquals(0.1, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		rampEngine.tick();
+		assertEquals(0.2, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testTickAdvancesAllMotors() {
+		final AarreRampHandle armHandle   = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(0.3));
+		final AarreRampHandle riserHandle = riserMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(-0.5));
+		for (int i = 0; i < 3; i++) {
+			rampEngine.tick();
+		}
+		assertEquals(0.3, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertEquals(-0.3, riserMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertTrue(armHandle.isDone());
+		assertFalse(riserHandle.isDone());
+		assertEquals(1, rampEngine.getNumberOfActiveRamps());
+	}
+
+	@Test
+	public final void testIncrementPerCycle() {
+		rampEngine.rampToPower(armMotor, new AarrePowerVector(1.0), new AarrePowerMagnitude(0.25));
+		rampEngine.tick();
+		assertEquals(0.25, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testSnapsToTarget() {
+		final AarreRampHandle handle = rampEngine.rampToPower(armMotor, new AarrePowerVector(0.35), new
+				AarrePowerMagnitude(0.1));
+		for (int i = 0; i < 4; i++) {
+			rampEngine.tick();
+		}
+		assertEquals(0.35, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertTrue(handle.isDone());
+		assertFalse(handle.isCancelled());
+	}
+
+	@Test
+	public final void testAwaitTakesExpectedTime() {
+		final AarreTimer      timer  = new AarreTimer(simulatedHardwareMap.getClock());
+		final AarreRampHandle handle = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		assertTrue(handle.await());
+		assertEquals(1.0, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+
+		// Ten increments of 0.1, one every 50 milliseconds
+		assertEquals(500.0, timer.milliseconds(), 60.0);
+	}
+
+	@Test
+	public final void testAwaitTimesOut() {
+		final AarreRampHandle handle = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		assertFalse(handle.await(0.1));
+		assertTrue(armMotor.getPowerVectorCurrent().asDouble() < 1.0);
+	}
+
+	@Test
+	public final void testGroupHandleFinishesWhenBothDone() {
+		final AarreRampHandle handle = rampEngine.rampToPower(armMotor, new AarrePowerVector(0.2), riserMotor, new
+				AarrePowerVector(0.5), new AarrePowerMagnitude(0.1));
+		rampEngine.tick();
+		rampEngine.tick();
+		assertFalse(handle.isDone());
+		assertTrue(handle.await());
+		assertEquals(0.2, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertEquals(0.5, riserMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testNewRampCancelsOld() {
+		final AarreRampHandle first  = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		final AarreRampHandle second = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(-1.0));
+		assertTrue(first.isDone());
+		assertTrue(first.isCancelled());
+		assertFalse(second.isDone());
+		assertEquals(1, rampEngine.getNumberOfActiveRamps());
+	}
+
+	@Test
+	public final void testCancelLeavesPower() {
+		final AarreRampHandle handle = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		rampEngine.tick();
+		handle.cancel();
+		rampEngine.tick();
+		assertTrue(handle.isCancelled());
+		assertEquals(0.1, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+		assertEquals(0, rampEngine.getNumberOfActiveRamps());
+	}
+
+	@Test
+	public final void testTickIfDueTicksOncePerCycle() {
+		armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		assertTrue(rampEngine.tickIfDue());
+		assertFalse(rampEngine.tickIfDue());
+		simulatedHardwareMap.getClock().sleep(rampEngine.getMillisecondsCycleLength());
+		assertTrue(rampEngine.tickIfDue());
+		assertEquals(0.2, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testSchedulerAdvancesRampsAtEngineRate() {
+		final AarreCycleScheduler scheduler = new AarreCycleScheduler(this, simulatedHardwareMap.getClock(), 10);
+		scheduler.setRampEngine(rampEngine);
+		armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+
+		// Ten cycles of 10 milliseconds span two cycles of the engine, at 10 and 60 milliseconds
+		scheduler.start();
+		for (int cycle = 0; cycle < 10; cycle++) {
+			scheduler.awaitNextCycle();
+		}
+
+		assertEquals(0.2, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testOnlyOwnerAdvancesRamps() throws InterruptedException {
+		final AarreRampHandle    handle  = armMotor.rampToPowerAsync(rampEngine, new AarrePowerVector(1.0));
+		final RuntimeException[] failure = new RuntimeException[1];
+
+		final Thread other = new Thread(() -> {
+			try {
+				handle.await();
+			} catch (RuntimeException e) {
+				failure[0] = e;
+			}
+		});
+		other.start();
+		other.join();
+
+		assertTrue(failure[0] instanceof IllegalStateException);
+		assertEquals(0.0, armMotor.getPowerVectorCurrent().asDouble(), 0.001);
+	}
+
+	@Test
+	public final void testSetMillisecondsCycleLengthRejectsZero() {
+		assertThrows(IllegalArgumentException.class, () -> rampEngine.setMillisecondsCycleLength(0));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,70 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarrePositiveInteger;
+import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreRampMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreRampMath class
+ */
+class AarreRampMathUnitTests {
+
+	private static final AarrePowerMagnitude POWER_INCREMENT = new AarrePowerMagnitude(0.1);
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@Test
+	final void testGetPowerVectorNewSteps() {
+		final AarrePowerVector powerVectorNew = AarreRampMath.getPowerVectorNew(new AarrePowerVector(0.2), new
+				AarrePowerVector(0.8), POWER_INCREMENT);
+		assertEquals(0.3, powerVectorNew.asDouble(), 0.0001);
+
+		final AarrePowerVector powerVectorReverse = AarreRampMath.getPowerVectorNew(new AarrePowerVector(0.2), new
+				AarrePowerVector(-0.8), POWER_INCREMENT);
+		assertEquals(0.1, powerVectorReverse.asDouble(), 0.0001);
+	}
+
+	@Test
+	final void testGetPowerVectorNewReachesRequested() {
+		final AarrePowerVector powerVectorRequested = new AarrePowerVector(0.75);
+		assertSame(powerVectorRequested, AarreRampMath.getPowerVectorNew(new AarrePowerVector(0.7),
+				powerVectorRequested, POWER_INCREMENT));
+	}
+
+	@Test
+	final void testGetNumberOfCycles() {
+
+		// Far to go: limited by how fast the power may change
+		assertEquals(8, AarreRampMath.getNumberOfCycles(10000, new AarrePowerVector(0.0), new AarrePowerVector
+				(0.8), POWER_INCREMENT, 48.0, 120.0));
+
+		// Not far to go: limited by the distance
+		assertEquals(1, AarreRampMath.getNumberOfCycles(100, new AarrePowerVector(0.0), new AarrePowerVector(0.8),
+				POWER_INCREMENT, 48.0, 120.0));
+	}
+
+	@Test
+	final void testGetTickNumberToStartSlowDown() {
+
+		// Slowing from 0.8 to 0 takes 8 cycles of 120 ticks
+		assertEquals(1100.0 - 960.0, AarreRampMath.getTickNumberToStartSlowDown(100, new AarrePositiveInteger(1000),
+				new AarrePowerVector(0.8), new AarrePowerVector(0.0), POWER_INCREMENT, 120.0), 0.0001);
+
+		assertThrows(IllegalArgumentException.class, () -> AarreRampMath.getTickNumberToStartSlowDown(100, new
+				AarrePositiveInteger(1000), new AarrePowerVector(0.2), new AarrePowerVector(0.8), POWER_INCREMENT,
+				120.0));
+	}
+
+	@Test
+	final void testGetGreatestPowerDelta() {
+		final AarrePowerMagnitude greatestPowerDelta = AarreRampMath.getGreatestPowerDelta(new AarrePowerVector
+				(0.2), new AarrePowerVector(0.5), new AarrePowerVector(0.0), new AarrePowerVector(-0.6));
+		assertEquals(0.6, greatestPowerDelta.asDouble(), 0.0001);
+	}
+}
@@ -0,0 +1,107 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreReadCache;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreReadCache class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Read Cache Unit Tests", group = "Aarre")
+@Disabled
+public class AarreReadCacheUnitTests extends LinearOpMode {
+
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreVirtualClock         clock;
+	private AarreMotor                motor;
+	private AarreReadCache            readCache;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		clock = new AarreVirtualClock();
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(clock);
+		hardwareMap = simulatedHardwareMap;
+		motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		readCache = motor.getReadCache();
+		start();
+	}
+
+	@Test
+	public final void testSecondReadInCycleIsHit() {
+		readCache.invalidate();
+		motor.getCurrentTickNumber();
+		motor.getCurrentTickNumber();
+		motor.getCurrentTickNumber();
+		assertEquals(1L, readCache.getNumberOfMisses());
+		assertEquals(2L, readCache.getNumberOfHits());
+	}
+
+	@Test
+	public final void testInvalidateReadsAgain() {
+		motor.getPower();
+		readCache.invalidate();
+		motor.getPower();
+		assertEquals(2L, readCache.getNumberOfMisses());
+		assertEquals(0L, readCache.getNumberOfHits());
+	}
+
+	@Test
+	public final void testWriteIsSeenWithoutReading() {
+		motor.getPower();
+		motor.setPowerVector(new AarrePowerVector(0.4));
+		assertEquals(0.4, motor.getPower(), 0.0001);
+		assertEquals(1L, readCache.getNumberOfHits());
+	}
+
+	@Test
+	public final void testValuesExpire() {
+		motor.getPower();
+		simulatedHardwareMap.getArmMotor().setPower(0.7);
+		assertEquals(0.0, motor.getPower(), 0.0001);
+		clock.sleep(100L);
+		assertEquals(0.7, motor.getPower(), 0.0001);
+	}
+
+	@Test
+	public final void testDisabled() {
+		readCache.setEnabled(false);
+		motor.getCurrentTickNumber();
+		motor.getCurrentTickNumber();
+		assertEquals(0L, readCache.getNumberOfHits());
+	}
+
+	@Test
+	public final void testRampReadsEachValueOncePerCycle() {
+		motor.rampToPower(new AarrePowerVector(1.0));
+		final long numberOfCycles = motor.getCycleScheduler().getNumberOfCycles();
+		assertTrue(readCache.getNumberOfMisses() <= numberOfCycles);
+		assertEquals(1.0, motor.getPower(), 0.0001);
+	}
+
+	@Test
+	public final void testSetMillisecondsMaximumAgeRejectsNegative() {
+		assertThrows(IllegalArgumentException.class, () -> readCache.setMillisecondsMaximumAge(-1));
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,108 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreRingBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AarreRingBufferUnitTests {
+
+	private AarreRingBuffer<Integer> ring;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		ring = new AarreRingBuffer<>(4);
+	}
+
+	@Test
+	final void testConstructorRejectsCapacityNotPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreRingBuffer<Integer>(3));
+		assertThrows(IllegalArgumentException.class, () -> new AarreRingBuffer<Integer>(0));
+	}
+
+	@Test
+	final void testOfferRejectsNull() {
+		assertThrows(IllegalArgumentException.class, () -> ring.offer(null));
+	}
+
+	@Test
+	final void testPollEmptyReturnsNull() {
+		assertNull(ring.poll());
+	}
+
+	@Test
+	final void testFirstInFirstOut() {
+		for (int i = 0; i < 10; i++) {
+			assertTrue(ring.offer(i));
+			assertEquals(Integer.valueOf(i), ring.poll());
+		}
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	final void testDropOldest() {
+		for (int i = 0; i < 6; i++) {
+			assertTrue(ring.offer(i));
+		}
+		assertEquals(4, ring.size());
+		assertEquals(2L, ring.getNumberDropped());
+		assertEquals(Integer.valueOf(2), ring.poll());
+	}
+
+	@Test
+	final void testDropNewest() {
+		ring.setOverflowPolicy(AarreRingBuffer.OverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.offer(i));
+		}
+		assertFalse(ring.offer(4));
+		assertEquals(1L, ring.getNumberDropped());
+		assertEquals(Integer.valueOf(0), ring.poll());
+	}
+
+	@Test
+	final void testConcurrentProducersLoseNothing() throws InterruptedException {
+
+		final AarreRingBuffer<Integer> bigRing         = new AarreRingBuffer<>(1024);
+		final int                      numberProducers = 4;
+		final int                      numberEach      = 10000;
+		final AtomicLong               sum             = new AtomicLong(0L);
+
+		bigRing.setOverflowPolicy(AarreRingBuffer.OverflowPolicy.DROP_NEWEST);
+
+		final Thread[] producers = new Thread[numberProducers];
+		for (int p = 0; p < numberProducers; p++) {
+			producers[p] = new Thread(() -> {
+				for (int i = 1; i <= numberEach; i++) {
+					while (!bigRing.offer(i)) {
+						Thread.yield();
+					}
+				}
+			});
+			producers[p].start();
+		}
+
+		long received = 0L;
+		while (received < ((long) numberProducers * numberEach)) {
+			final Integer value = bigRing.poll();
+			if (value == null) {
+				Thread.yield();
+			} else {
+				sum.addAndGet(value);
+				received++;
+			}
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		assertEquals((long) numberProducers * numberEach * (numberEach + 1) / 2, sum.get());
+		assertNull(bigRing.poll());
+	}
+}
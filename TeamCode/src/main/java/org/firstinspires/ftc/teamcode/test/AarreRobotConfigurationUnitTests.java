@@ -0,0 +1,38 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreRobotConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreRobotConfiguration class
+ */
+class AarreRobotConfigurationUnitTests {
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@Test
+	final void testNewConfigurationStartsNothing() {
+		final AarreRobotConfiguration configuration = new AarreRobotConfiguration();
+		assertEquals(0, configuration.getMillisecondsIMUSamplePeriod());
+		assertNull(configuration.getFlightRecorderFile());
+		assertNull(configuration.getCharacterizationDirectory());
+	}
+
+	@Test
+	final void testOnRobotStartsEverything() {
+		final AarreRobotConfiguration configuration = AarreRobotConfiguration.onRobot();
+		assertTrue(configuration.getMillisecondsIMUSamplePeriod() > 0);
+		assertNotNull(configuration.getFlightRecorderFile());
+		assertNotNull(configuration.getCharacterizationDirectory());
+	}
+
+	@Test
+	final void testNegativeSamplePeriodRejected() {
+		final AarreRobotConfiguration configuration = new AarreRobotConfiguration();
+		assertThrows(IllegalArgumentException.class, () -> configuration.setMillisecondsIMUSamplePeriod(-1));
+	}
+}
@@ -0,0 +1,142 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedDcMotor;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AarreSimulatedDcMotorUnitTests {
+
+	// Simulate a TorqueNADO motor, which turns 2400 ticks per second at full power
+	private static final double REVOLUTIONS_PER_MINUTE = 100.0;
+	private static final double TICKS_PER_REVOLUTION   = 1440.0;
+
+	private AarreVirtualClock     clock;
+	private AarreSimulatedDcMotor motor;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		clock = new AarreVirtualClock();
+		motor = new AarreSimulatedDcMotor(clock, 0, REVOLUTIONS_PER_MINUTE, TICKS_PER_REVOLUTION);
+	}
+
+	@Test
+	final void testConstructorRejectsZeroRevolutionsPerMinute() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreSimulatedDcMotor(clock, 0, 0.0,
+				TICKS_PER_REVOLUTION));
+	}
+
+	@Test
+	final void testSetPowerRejectsOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> motor.setPower(1.5));
+	}
+
+	@Test
+	final void testStationaryWithoutPower() {
+		clock.sleep(50);
+		assertEquals(0, motor.getCurrentPosition());
+	}
+
+	@Test
+	final void testForwardPowerCountsUp() {
+		motor.setPower(1.0);
+		clock.sleep(200);
+		final int ticks = motor.getCurrentPosition();
+		assertTrue(ticks > 0);
+
+		// Inertia means the motor cannot have turned as far as it would have at full speed
+		assertTrue(ticks < (int) (2400.0 * 0.2));
+	}
+
+	@Test
+	final void testReverseDirectionCountsUpForPositivePower() {
+		motor.setDirection(DcMotorSimple.Direction.REVERSE);
+		motor.setPower(1.0);
+		clock.sleep(100);
+		assertTrue(motor.getCurrentPosition() > 0);
+		assertTrue(motor.getSimulatedTickPosition() < 0.0);
+	}
+
+	@Test
+	final void testStopAndResetEncoder() {
+		motor.setPower(1.0);
+		clock.sleep(100);
+		motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+		assertEquals(0, motor.getCurrentPosition());
+		assertEquals(0.0, motor.getPower());
+	}
+
+	@Test
+	final void testRunToPosition() {
+		motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+		motor.setTargetPosition(500);
+		motor.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+		motor.setPower(1.0);
+		assertTrue(motor.isBusy());
+
+		for (int millisecondsElapsed = 0; motor.isBusy() && (millisecondsElapsed < 2000); millisecondsElapsed += 10) {
+			clock.sleep(10);
+		}
+
+		assertFalse(motor.isBusy());
+		assertEquals(500, motor.getCurrentPosition(), 50);
+	}
+
+	@Test
+	final void testEndStopStallsMotor() {
+		motor.setSimulatedTickPositionLimits(-100.0, 100.0);
+		motor.setPower(1.0);
+		clock.sleep(200);
+		assertEquals(100, motor.getCurrentPosition());
+		assertEquals(0.0, motor.getSimulatedTicksPerSecond());
+	}
+
+	@Test
+	final void testFrictionHoldsShaftAtLowPower() {
+		motor.setSimulatedPowerToOvercomeFriction(0.2);
+		motor.setPower(0.15);
+		clock.sleep(500);
+		assertEquals(0, motor.getCurrentPosition());
+	}
+
+	@Test
+	final void testFrictionSlowsShaftAboveThreshold() {
+		motor.setSimulatedPowerToOvercomeFriction(0.2);
+		motor.setPower(0.6);
+		clock.sleep(1000);
+
+		// Half of the power above the threshold, so half of full speed
+		assertEquals(1200.0, motor.getSimulatedTicksPerSecond(), 1.0);
+	}
+
+	@Test
+	final void testFrictionRejectsOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> motor.setSimulatedPowerToOvercomeFriction(1.0));
+	}
+
+	@Test
+	final void testDeterministic() {
+		final AarreVirtualClock     otherClock = new AarreVirtualClock();
+		final AarreSimulatedDcMotor otherMotor = new AarreSimulatedDcMotor(otherClock, 0, REVOLUTIONS_PER_MINUTE,
+				TICKS_PER_REVOLUTION);
+		motor.setPower(0.7);
+		otherMotor.setPower(0.7);
+		clock.sleep(333);
+		otherClock.sleep(333);
+		assertEquals(motor.getCurrentPosition(), otherMotor.getCurrentPosition());
+	}
+
+	@Test
+	final void testNotBusyUnlessRunningToPosition() {
+		motor.setTargetPosition(1000);
+		assertFalse(motor.isBusy());
+	}
+}
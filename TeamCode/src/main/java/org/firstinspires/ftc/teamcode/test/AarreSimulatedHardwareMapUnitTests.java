@@ -0,0 +1,115 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.hardware.bosch.BNO055IMU;
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.Servo;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.teamcode.src.AarreIMU;
+import org.firstinspires.ftc.teamcode.src.AarreRobot;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreSimulatedHardwareMap class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Simulated Hardware Map Unit Tests", group = "Aarre")
+@Disabled
+public class AarreSimulatedHardwareMapUnitTests extends LinearOpMode {
+
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		simulatedHardwareMap = new AarreSimulatedHardwareMap();
+		hardwareMap = simulatedHardwareMap;
+	}
+
+	@Test
+	public final void testGetDevicesByName() {
+		assertSame(simulatedHardwareMap.getLeftMotor(), hardwareMap.get(DcMotor.class, "left"));
+		assertSame(simulatedHardwareMap.getRightMotor(), hardwareMap.get(DcMotor.class, "right"));
+		assertSame(simulatedHardwareMap.getArmMotor(), hardwareMap.get(DcMotor.class, "arm"));
+		assertSame(simulatedHardwareMap.getRiserMotor(), hardwareMap.get(DcMotor.class, "riser"));
+		assertSame(simulatedHardwareMap.getHookServo(), hardwareMap.get(Servo.class, "hook"));
+		assertSame(simulatedHardwareMap.getScoopServo(), hardwareMap.get(CRServo.class, "scoop"));
+		assertSame(simulatedHardwareMap.getIMU(), hardwareMap.get(BNO055IMU.class, "imu"));
+	}
+
+	@Test
+	public final void testRobotConstructsOffRobot() {
+		final AarreRobot robot = new AarreRobot(this);
+		assertSame(simulatedHardwareMap, robot.getHardwareMap());
+	}
+
+	@Test
+	public final void testHeadingZeroAtInitialization() {
+		final AarreIMU imu = new AarreIMU(this);
+		assertEquals(0.0, imu.getHeading(), 0.001);
+	}
+
+	@Test
+	public final void testTurnLeftIncreasesHeading() {
+
+		final AarreIMU imu = new AarreIMU(this);
+
+		// Spin in place counterclockwise, with the left motor reversed as on the robot
+		final DcMotor leftMotor  = simulatedHardwareMap.getLeftMotor();
+		final DcMotor rightMotor = simulatedHardwareMap.getRightMotor();
+		leftMotor.setDirection(DcMotorSimple.Direction.REVERSE);
+		leftMotor.setPower(-0.2);
+		rightMotor.setPower(0.2);
+		simulatedHardwareMap.getClock().sleep(100);
+		leftMotor.setPower(0.0);
+		rightMotor.setPower(0.0);
+
+		assertTrue(imu.getHeading() > 0.0);
+	}
+
+	@Test
+	public final void testHeadingFollowsWheelTravel() {
+
+		// A quarter turn means each wheel travels a quarter of the circumference of the track circle
+		final double ticksPerInch = 1440.0 / (5.5 * Math.PI);
+		final double inchesArc    = (Math.PI * 14.0) / 4.0;
+		final double degrees      = simulatedHardwareMap.getIMU().getAngularOrientation(AxesReference.INTRINSIC,
+				AxesOrder.ZYX, AngleUnit.DEGREES).firstAngle;
+		assertEquals(0.0, degrees, 0.001);
+
+		// The left motor is mounted backward, so turning its shaft forward drives the left wheel backward
+		simulatedHardwareMap.getLeftMotor().setSimulatedTickPositionLimits(0.0, inchesArc * ticksPerInch);
+		simulatedHardwareMap.getRightMotor().setSimulatedTickPositionLimits(0.0, inchesArc * ticksPerInch);
+		simulatedHardwareMap.getLeftMotor().setPower(1.0);
+		simulatedHardwareMap.getRightMotor().setPower(1.0);
+
+		simulatedHardwareMap.getClock().sleep(2000);
+
+		final double degreesAfter = simulatedHardwareMap.getIMU().getAngularOrientation(AxesReference.INTRINSIC,
+				AxesOrder.ZYX, AngleUnit.DEGREES).firstAngle;
+		assertEquals(90.0, degreesAfter, 0.5);
+	}
+
+	/**
+	 * Must override runOpMode to avoid compiler error
+	 */
+	@Test
+	@Override
+	public final void runOpMode() {
+		stop();
+	}
+}
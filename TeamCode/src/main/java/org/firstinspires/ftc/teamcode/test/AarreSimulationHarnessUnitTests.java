@@ -0,0 +1,114 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.opmode.AarreAutonomous;
+import org.firstinspires.ftc.teamcode.opmode.AarreAutonomousDance;
+import org.firstinspires.ftc.teamcode.opmode.AarreAutonomousDriveByGyro;
+import org.firstinspires.ftc.teamcode.opmode.AarreAutonomousEndgame;
+import org.firstinspires.ftc.teamcode.opmode.AarreAutonomousReady;
+import org.firstinspires.ftc.teamcode.src.AarreCallStatistics;
+import org.firstinspires.ftc.teamcode.src.AarreSimulationHarness;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreSimulationHarness class
+ */
+class AarreSimulationHarnessUnitTests {
+
+	private static final double SECONDS_MATCH = 30.0;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@Test
+	final void testDanceFinishesBeforeEndOfMatch() {
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomousDance.class);
+		harness.run();
+
+		assertFalse(harness.isStoppedAtEndOfMatch());
+		assertTrue(harness.getSecondsElapsed() > 0.0);
+		assertTrue(harness.getSecondsElapsed() < SECONDS_MATCH);
+		assertTrue(harness.getNumberOfCycles() > 0L);
+
+		final AarreCallStatistics callStatistics = harness.getRobot().getCallStatistics();
+		assertEquals(4L, callStatistics.getNumberOfCalls("drive"));
+		assertEquals(1L, callStatistics.getNumberOfCalls("raiseArm"));
+		assertEquals(1L, callStatistics.getNumberOfCalls("lowerRiser"));
+		assertTrue(callStatistics.getNanosecondsTotal("drive") > 0L);
+		assertTrue(harness.getReport().contains("drive - n=4"));
+	}
+
+	@Test
+	final void testRobotBuiltWithoutPhoneServices() {
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomousDance.class);
+		harness.run();
+
+		assertNotNull(harness.getRobot());
+		assertNull(harness.getRobot().getFlightRecorder());
+	}
+
+	@Test
+	final void testRunIsDeterministic() {
+		assertDeterministic(AarreAutonomousDance.class);
+	}
+
+	@Test
+	final void testRunWithParallelMechanismsIsDeterministic() {
+		// These opModes move the arm, riser and hook on threads of their own, then wait for STOP
+		assertDeterministic(AarreAutonomousEndgame.class);
+		assertDeterministic(AarreAutonomousReady.class);
+	}
+
+	private static void assertDeterministic(final Class<? extends LinearOpMode> opModeClass) {
+		final AarreSimulationHarness first = new AarreSimulationHarness(opModeClass);
+		first.run();
+		final AarreSimulationHarness second = new AarreSimulationHarness(opModeClass);
+		second.run();
+
+		assertEquals(first.getSecondsElapsed(), second.getSecondsElapsed());
+		assertEquals(first.getSecondsActive(), second.getSecondsActive());
+		assertEquals(first.getNumberOfCycles(), second.getNumberOfCycles());
+	}
+
+	@Test
+	final void testEndgameWaitsForEndOfMatch() {
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomousEndgame.class);
+		harness.run();
+
+		// The opMode lets the time pass on the clock until STOP, so it runs to the end of the match
+		assertTrue(harness.isStoppedAtEndOfMatch());
+		assertEquals(SECONDS_MATCH, harness.getSecondsElapsed(), 0.001);
+		assertTrue(harness.getSecondsActive() < SECONDS_MATCH);
+		assertEquals(1L, harness.getRobot().getCallStatistics().getNumberOfCalls("readyForAutonomousEndgame"));
+	}
+
+	@Test
+	final void testEndOfMatchStopsLoopingOpMode() {
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomous.class);
+		harness.setSecondsMatch(5.0);
+		harness.run();
+
+		assertTrue(harness.isStoppedAtEndOfMatch());
+		assertEquals(5.0, harness.getSecondsElapsed(), 0.1);
+	}
+
+	@Test
+	final void testFailureReported() {
+
+		// This opMode uses a gyro that it never initializes
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomousDriveByGyro.class);
+		assertThrows(IllegalStateException.class, harness::run);
+	}
+
+	@Test
+	final void testInvalidParametersRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreSimulationHarness(null));
+
+		final AarreSimulationHarness harness = new AarreSimulationHarness(AarreAutonomousDance.class);
+		assertThrows(IllegalArgumentException.class, () -> harness.setSecondsMatch(0.0));
+		assertThrows(IllegalArgumentException.class, () -> harness.setMillisecondsRealTimeout(0L));
+	}
+}
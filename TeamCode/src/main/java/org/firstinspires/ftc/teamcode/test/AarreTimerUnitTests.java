@@ -0,0 +1,51 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreTimer;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AarreTimerUnitTests {
+
+	private AarreVirtualClock clock;
+	private AarreTimer        timer;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		clock = new AarreVirtualClock();
+		clock.sleep(1000L);
+		timer = new AarreTimer(clock);
+	}
+
+	@Test
+	final void testConstructorRejectsNullClock() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreTimer(null));
+	}
+
+	@Test
+	final void testStartsAtZero() {
+		assertEquals(0.0, timer.milliseconds());
+	}
+
+	@Test
+	final void testMeasuresElapsedTime() {
+		clock.sleep(1500L);
+		assertEquals(1500.0, timer.milliseconds(), 1.0e-9);
+		assertEquals(1.5, timer.seconds(), 1.0e-9);
+	}
+
+	@Test
+	final void testReset() {
+		clock.sleep(1500L);
+		timer.reset();
+		clock.sleep(20L);
+		assertEquals(20.0, timer.milliseconds(), 1.0e-9);
+	}
+}
@@ -0,0 +1,112 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreVelocityController;
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreVelocityController class, and for velocity control of a simulated motor
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Velocity Controller Unit Tests", group = "Aarre")
+@Disabled
+public class AarreVelocityControllerUnitTests extends LinearOpMode {
+
+	private static final double TICKS_PER_SECOND = 1000.0;
+	private static final double TOLERANCE        = 1.0e-9;
+
+	// Encoder readings are whole ticks, so a velocity is only good to about one tick per 50 ms cycle
+	private static final double TICKS_PER_SECOND_RESOLUTION = 20.0;
+
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreVelocityController   controller;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		simulatedHardwareMap = new AarreSimulatedHardwareMap(new AarreVirtualClock());
+		hardwareMap = simulatedHardwareMap;
+		controller = new AarreVelocityController(TICKS_PER_SECOND);
+		start();
+	}
+
+	@Test
+	public final void testFeedforwardAtTargetVelocity() {
+		assertEquals(0.4, controller.update(400.0, 400.0, 0.05), TOLERANCE);
+		assertEquals(-0.4, controller.update(-400.0, -400.0, 0.05), TOLERANCE);
+	}
+
+	@Test
+	public final void testTooSlowAddsPower() {
+		final double powerFirst  = controller.update(400.0, 300.0, 0.05);
+		final double powerSecond = controller.update(400.0, 300.0, 0.05);
+		assertTrue(powerFirst > 0.4);
+		assertTrue(powerSecond > powerFirst);
+	}
+
+	@Test
+	public final void testOutputIsClamped() {
+		assertEquals(1.0, controller.update(2000.0, 0.0, 0.05), TOLERANCE);
+		assertEquals(-1.0, controller.update(-2000.0, 0.0, 0.05), TOLERANCE);
+	}
+
+	@Test
+	public final void testIntegralDoesNotWindUp() {
+		for (int cycle = 0; cycle < 100; cycle++) {
+			controller.update(1000.0, 500.0, 0.05);
+		}
+
+		// Once the motor catches up, the power should come straight back from full
+		assertTrue(controller.update(1000.0, 1000.0, 0.05) < 1.5);
+		assertTrue(controller.update(500.0, 1000.0, 0.05) < 1.0);
+	}
+
+	@Test
+	public final void testResetForgetsIntegral() {
+		controller.update(400.0, 300.0, 0.5);
+		controller.reset();
+		controller.setGains(0.0, 2.0, 0.0, 1.0);
+		assertEquals(0.4, controller.update(400.0, 400.0, 0.05), TOLERANCE);
+	}
+
+	@Test
+	public final void testInvalidParametersRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreVelocityController(0.0));
+		assertThrows(IllegalArgumentException.class, () -> controller.setGains(-1.0, 0.0, 0.0, 1.0));
+		assertThrows(IllegalArgumentException.class, () -> controller.update(0.0, 0.0, -1.0));
+	}
+
+	@Test
+	public final void testMotorHoldsVelocityUnderLoad() {
+		simulatedHardwareMap.getArmMotor().setSimulatedProportionOfSpeedLost(0.3);
+
+		final AarreMotor motor          = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		final double     ticksPerSecond = motor.getTicksPerSecond() / 2.0;
+
+		motor.runAtVelocity(ticksPerSecond, 2.0);
+		assertEquals(0.7 * ticksPerSecond, motor.getTicksPerSecondMeasured(), TICKS_PER_SECOND_RESOLUTION);
+
+		motor.setVelocityController(new AarreVelocityController(motor.getTicksPerSecond()));
+		motor.runAtVelocity(ticksPerSecond, 2.0);
+		assertEquals(ticksPerSecond, motor.getTicksPerSecondMeasured(), TICKS_PER_SECOND_RESOLUTION);
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
@@ -0,0 +1,105 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreVelocityEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AarreVelocityEstimatorUnitTests {
+
+	private static final long NANOSECONDS_PER_CYCLE = 50000000L;
+
+	private AarreVelocityEstimator estimator;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		estimator = new AarreVelocityEstimator(200);
+	}
+
+	@Test
+	final void testEmptyEstimatorIsStill() {
+		assertEquals(0.0, estimator.getTicksPerSecond());
+		assertEquals(0.0, estimator.getTicksPerSecondSquared());
+		estimator.add(0L, 100);
+		assertEquals(0.0, estimator.getTicksPerSecond());
+	}
+
+	@Test
+	final void testConstantVelocity() {
+		for (int cycle = 0; cycle < 10; cycle++) {
+			estimator.add(cycle * NANOSECONDS_PER_CYCLE, 1000 + (10 * cycle));
+		}
+		assertEquals(200.0, estimator.getTicksPerSecond(), 1.0e-6);
+		assertEquals(0.0, estimator.getTicksPerSecondSquared(), 1.0e-3);
+	}
+
+	@Test
+	final void testConstantAcceleration() {
+		// x = 500 t^2, so the acceleration is 1000 ticks/s^2
+		for (int cycle = 0; cycle <= 20; cycle++) {
+			final double seconds = cycle * 0.05;
+			estimator.add(cycle * NANOSECONDS_PER_CYCLE, (int) Math.round(500.0 * seconds * seconds));
+		}
+		// Readings are rounded to whole ticks, which matters for a fit over only five of them
+		assertEquals(1000.0, estimator.getTicksPerSecondSquared(), 50.0);
+		assertEquals(900.0, estimator.getTicksPerSecond(), 20.0);
+	}
+
+	@Test
+	final void testOldReadingsLeaveWindow() {
+		for (int cycle = 0; cycle < 10; cycle++) {
+			estimator.add(cycle * NANOSECONDS_PER_CYCLE, 10 * cycle);
+		}
+
+		// Stop moving; after a full window only the readings at rest are left
+		for (int cycle = 10; cycle < 15; cycle++) {
+			estimator.add(cycle * NANOSECONDS_PER_CYCLE, 90);
+		}
+		assertEquals(5, estimator.getNumberOfSamples());
+		assertEquals(200000000L, estimator.getNanosecondsSpanned());
+		assertEquals(0.0, estimator.getTicksPerSecond(), 1.0e-6);
+	}
+
+	@Test
+	final void testOneLateReadingMovesEstimateLittle() {
+		for (int cycle = 0; cycle < 4; cycle++) {
+			estimator.add(cycle * NANOSECONDS_PER_CYCLE, 10 * cycle);
+		}
+
+		// The loop stalls for half a cycle, and the reading arrives late
+		estimator.add((4 * NANOSECONDS_PER_CYCLE) + (NANOSECONDS_PER_CYCLE / 2), 45);
+		assertEquals(200.0, estimator.getTicksPerSecond(), 1.0e-6);
+	}
+
+	@Test
+	final void testStaysAccurateOverLongRun() {
+		final AarreVelocityEstimator small = new AarreVelocityEstimator(1000, 4);
+		for (int cycle = 0; cycle < 100000; cycle++) {
+			small.add(cycle * NANOSECONDS_PER_CYCLE, 7 * cycle);
+		}
+		assertEquals(140.0, small.getTicksPerSecond(), 1.0e-6);
+		assertEquals(4, small.getNumberOfSamples());
+	}
+
+	@Test
+	final void testReset() {
+		estimator.add(0L, 0);
+		estimator.add(NANOSECONDS_PER_CYCLE, 10);
+		estimator.reset();
+		assertEquals(0, estimator.getNumberOfSamples());
+		assertEquals(0.0, estimator.getTicksPerSecond());
+	}
+
+	@Test
+	final void testInvalidParametersRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new AarreVelocityEstimator(0));
+		assertThrows(IllegalArgumentException.class, () -> new AarreVelocityEstimator(100, 2));
+		estimator.add(NANOSECONDS_PER_CYCLE, 0);
+		assertThrows(IllegalArgumentException.class, () -> estimator.add(0L, 0));
+	}
+}
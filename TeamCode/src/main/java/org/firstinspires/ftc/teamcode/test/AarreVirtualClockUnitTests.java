@@ -0,0 +1,122 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import org.firstinspires.ftc.teamcode.src.AarreVirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AarreVirtualClockUnitTests {
+
+	private AarreVirtualClock clock;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	final void testConstructor() {
+		clock = new AarreVirtualClock();
+	}
+
+	@Test
+	final void testStartsAtZero() {
+		assertEquals(0L, clock.nanoTime());
+	}
+
+	@Test
+	final void testStandsStill() {
+		final long before = clock.nanoTime();
+		assertEquals(before, clock.nanoTime());
+	}
+
+	@Test
+	final void testSleepAdvances() {
+		clock.sleep(50L);
+		assertEquals(50000000L, clock.nanoTime());
+	}
+
+	@Test
+	final void testIdleAdvances() {
+		clock.setNanosecondsPerIdle(2000000L);
+		clock.idle();
+		clock.idle();
+		assertEquals(4000000L, clock.nanoTime());
+	}
+
+	@Test
+	final void testSleepRejectsNegative() {
+		assertThrows(IllegalArgumentException.class, () -> clock.sleep(-1L));
+	}
+
+	@Test
+	final void testNanosecondsPerIdleRejectsZero() {
+		assertThrows(IllegalArgumentException.class, () -> clock.setNanosecondsPerIdle(0L));
+	}
+
+	@Test
+	final void testAlarmRunsOnceWhenDue() {
+		final int[] numberOfAlarms = new int[1];
+		clock.setAlarm(5000000L, () -> numberOfAlarms[0]++);
+		assertEquals(5000000L, clock.getNanosecondsAlarm());
+
+		clock.sleep(4L);
+		assertEquals(0, numberOfAlarms[0]);
+		clock.sleep(1L);
+		assertEquals(1, numberOfAlarms[0]);
+		clock.sleep(10L);
+		assertEquals(1, numberOfAlarms[0]);
+		assertEquals(Long.MAX_VALUE, clock.getNanosecondsAlarm());
+	}
+
+	@Test
+	final void testTimelineDoesNotMoveSharedTime() {
+		clock.sleep(10L);
+		clock.startTimeline(clock.nanoTime(), Long.MAX_VALUE);
+		clock.sleep(5L);
+		assertEquals(15000000L, clock.nanoTime());
+		assertEquals(15000000L, clock.endTimeline());
+		assertEquals(10000000L, clock.nanoTime());
+		assertEquals(0, clock.getNumberOfTimelines());
+	}
+
+	@Test
+	final void testTimelineInterruptsAtDeadline() {
+		clock.startTimeline(0L, 5000000L);
+		try {
+			clock.sleep(4L);
+			assertFalse(Thread.currentThread().isInterrupted());
+			clock.sleep(1L);
+			assertTrue(clock.isTimelineDeadlinePassed());
+			assertTrue(Thread.interrupted());
+			clock.sleep(1L);
+			assertFalse(Thread.interrupted());
+		} finally {
+			clock.endTimeline();
+		}
+	}
+
+	@Test
+	final void testTimelineDoesNotRunAlarm() {
+		final int[] numberOfAlarms = new int[1];
+		clock.setAlarm(5000000L, () -> numberOfAlarms[0]++);
+		clock.startTimeline(0L, Long.MAX_VALUE);
+		clock.sleep(10L);
+		clock.endTimeline();
+		assertEquals(0, numberOfAlarms[0]);
+	}
+
+	@Test
+	final void testTimelineRejectsNesting() {
+		clock.startTimeline(0L, Long.MAX_VALUE);
+		try {
+			assertThrows(IllegalStateException.class, () -> clock.startTimeline(0L, Long.MAX_VALUE));
+		} finally {
+			clock.endTimeline();
+		}
+		assertThrows(IllegalStateException.class, () -> clock.endTimeline());
+	}
+}
@@ -0,0 +1,93 @@
+package org.firstinspires.ftc.teamcode.test;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.Disabled;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import org.firstinspires.ftc.teamcode.src.AarreDriveMotors;
+import org.firstinspires.ftc.teamcode.src.AarreMotor;
+import org.firstinspires.ftc.teamcode.src.AarreMotorRevHDCoreHex;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreSimulatedHardwareMap;
+import org.firstinspires.ftc.teamcode.src.AarreWriteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AarreWriteCache class
+ * <p>
+ * Remove or comment out the @Disabled line to add this opmode to the Driver Station OpMode list
+ */
+@Autonomous(name = "Aarre Write Cache Unit Tests", group = "Aarre")
+@Disabled
+public class AarreWriteCacheUnitTests extends LinearOpMode {
+
+	private AarreSimulatedHardwareMap simulatedHardwareMap;
+	private AarreMotor                motor;
+	private AarreWriteCache           writeCache;
+
+	private final Logger javaLog = Logger.getLogger(this.getClass().getName());
+
+	@BeforeEach
+	public final void testConstructor() {
+		simulatedHardwareMap = new AarreSimulatedHardwareMap();
+		hardwareMap = simulatedHardwareMap;
+		motor = AarreMotorRevHDCoreHex.createAarreMotorRevHDCoreHex(this, "arm");
+		writeCache = motor.getWriteCache();
+		start();
+	}
+
+	@Test
+	public final void testUnchangedPowerIsSuppressed() {
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		assertEquals(1L, writeCache.getNumberOfWritesIssued());
+		assertEquals(1L, writeCache.getNumberOfWritesSuppressed());
+		assertEquals(0.5, simulatedHardwareMap.getArmMotor().getPower(), 0.0001);
+	}
+
+	@Test
+	public final void testChangedPowerIsWritten() {
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		motor.setPowerVector(new AarrePowerVector(0.6));
+		assertEquals(2L, writeCache.getNumberOfWritesIssued());
+		assertEquals(0.6, simulatedHardwareMap.getArmMotor().getPower(), 0.0001);
+	}
+
+	@Test
+	public final void testEpsilon() {
+		writeCache.setEpsilon(0.01);
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		motor.setPowerVector(new AarrePowerVector(0.505));
+		assertEquals(1L, writeCache.getNumberOfWritesSuppressed());
+		assertThrows(IllegalArgumentException.class, () -> writeCache.setEpsilon(-0.1));
+	}
+
+	@Test
+	public final void testDisabled() {
+		writeCache.setEnabled(false);
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		motor.setPowerVector(new AarrePowerVector(0.5));
+		assertEquals(2L, writeCache.getNumberOfWritesIssued());
+		assertEquals(0L, writeCache.getNumberOfWritesSuppressed());
+	}
+
+	@Test
+	public final void testRepeatedDriveRampIsSuppressed() {
+		final AarreDriveMotors driveMotors = new AarreDriveMotors(this);
+		driveMotors.rampPowerTo(new AarrePowerVector(0.5));
+		final long numberOfWritesIssued = driveMotors.getWriteCache().getNumberOfWritesIssued();
+		driveMotors.rampPowerTo(new AarrePowerVector(0.5));
+		assertEquals(numberOfWritesIssued, driveMotors.getWriteCache().getNumberOfWritesIssued());
+		assertTrue(driveMotors.getWriteCache().getNumberOfWritesSuppressed() >= 2L);
+	}
+
+	@Override
+	@Test
+	public void runOpMode() {
+		stop();
+	}
+}
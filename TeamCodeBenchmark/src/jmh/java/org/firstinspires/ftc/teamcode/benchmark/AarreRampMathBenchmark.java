@@ -0,0 +1,87 @@
+package org.firstinspires.ftc.teamcode.benchmark;
+
+import org.firstinspires.ftc.teamcode.src.AarrePowerMagnitude;
+import org.firstinspires.ftc.teamcode.src.AarrePowerVector;
+import org.firstinspires.ftc.teamcode.src.AarreRampMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the power arithmetic that the motors run in every cycle of a ramp.
+ * <p>
+ * Each benchmark is one call as the robot makes it, so ns/op is the cost per motor per cycle, and the gc profiler's
+ * gc.alloc.rate.norm is the garbage it leaves behind. {@link #getPowerNewRamping()} and {@link #getPowerNewReached()}
+ * are the step that {@code AarreMotor.getPowerVectorNew(double, double)}, {@code AarreMotor.rampToPower} and {@code
+ * AarreRampEngine.tick} take for each motor; {@link #rampCycle()} is the whole of the arithmetic in one cycle of
+ * {@code AarreDriveMotors.rampPowerTo}, for both motors. The power value types are built once per call to the robot,
+ * as the powers it is given, and unwrapped before the loop starts.
+ */
+@State(Scope.Thread)
+public class AarreRampMathBenchmark {
+
+	private AarrePowerMagnitude powerMagnitudeIncrement;
+	private AarrePowerVector    powerVectorFast;
+
+	// Kept in fields, rather than constants, so that the JIT cannot fold them away
+	private double proportion;
+	private double powerIncrement;
+	private double powerStopped;
+	private double powerSlow;
+	private double powerFast;
+	private double powerReverse;
+
+	@Setup
+	public void setUp() {
+		powerMagnitudeIncrement = new AarrePowerMagnitude(0.1);
+		powerVectorFast = new AarrePowerVector(0.8);
+		proportion = 0.5;
+		powerIncrement = 0.1;
+		powerStopped = 0.0;
+		powerSlow = 0.2;
+		powerFast = 0.8;
+		powerReverse = -0.5;
+	}
+
+	@Benchmark
+	public AarrePowerVector newPowerVector() {
+		return new AarrePowerVector(proportion);
+	}
+
+	@Benchmark
+	public AarrePowerMagnitude newPowerMagnitude() {
+		return new AarrePowerMagnitude(proportion);
+	}
+
+	@Benchmark
+	public double unwrapPowers() {
+		return powerVectorFast.asDouble() + powerMagnitudeIncrement.asDouble();
+	}
+
+	@Benchmark
+	public double getPowerNewRamping() {
+		return AarreRampMath.getPowerNew(powerSlow, powerFast, powerIncrement);
+	}
+
+	@Benchmark
+	public double getPowerNewReached() {
+		return AarreRampMath.getPowerNew(powerFast, powerFast, powerIncrement);
+	}
+
+	@Benchmark
+	public double getGreatestPowerDelta() {
+		return AarreRampMath.getGreatestPowerDelta(powerSlow, powerFast, powerStopped, powerReverse);
+	}
+
+	@Benchmark
+	public double rampCycle() {
+		final double powerNewLeft       = AarreRampMath.getPowerNew(powerSlow, powerFast, powerIncrement);
+		final double powerNewRight      = AarreRampMath.getPowerNew(powerStopped, powerReverse, powerIncrement);
+		final double greatestPowerDelta = AarreRampMath.getGreatestPowerDelta(powerSlow, powerFast, powerStopped,
+				powerReverse);
+
+		// Combine the results so that none of them can be optimized away
+		return powerNewLeft + powerNewRight + greatestPowerDelta;
+	}
+}